@@ -0,0 +1,195 @@
+package com.paklog.wes.pick.benchmark;
+
+import com.paklog.wes.pick.PickExecutionServiceApplication;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.PickSessionRepository;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.domain.valueobject.Priority;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load test of the mobile API with one benchmark thread per handheld, against the running
+ * service on embedded MongoDB, with request handling on platform threads and on virtual threads.
+ * One operation is a scan: read the current instruction, then confirm it.
+ * Kafka is not needed; its listener containers are stopped after startup.
+ * Pinned virtual threads are recorded through JFR and printed with their top application frame.
+ * Run with e.g. {@code -Djmh.args="HandheldLoadBenchmark -t 5000"} for 5k handhelds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(1000)
+public class HandheldLoadBenchmark {
+
+    private static final Pattern INSTRUCTION_ID = Pattern.compile("\"instructionId\":\"([^\"]+)\"");
+    private static final int INSTRUCTIONS_PER_SESSION = 50;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private ConfigurableApplicationContext context;
+    private PickSessionRepository repository;
+    private HttpClient client;
+    private URI baseUri;
+    private RecordingStream pinning;
+    private final Map<String, LongAdder> pinnedAt = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicInteger nextSession = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void start(BenchmarkParams params) {
+        mongod = Mongod.instance().start(Version.Main.V6_0);
+        context = new SpringApplicationBuilder(PickExecutionServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.data.mongodb.uri=mongodb://" + mongod.current().getServerAddress() + "/pick_execution",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.kafka.admin.auto-create=false",
+                        "pick.live-feed.enabled=false",
+                        "pick.archive.enabled=false",
+                        "pick.session-state.enabled=false",
+                        "pick.consumer.backpressure.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.paklog.wes.pick=WARN",
+                        "logging.level.org.apache.kafka=OFF")
+                .run();
+        context.getBean(KafkaListenerEndpointRegistry.class).stop();
+        repository = context.getBean(PickSessionRepository.class);
+        baseUri = URI.create("http://localhost:"
+                + ((ServletWebServerApplicationContext) context).getWebServer().getPort()
+                + "/api/v1/mobile/picks/");
+
+        for (int i = 0; i < params.getThreads(); i++) {
+            repository.save(session("WORKER-" + i));
+        }
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        pinning = new RecordingStream();
+        pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1)).withStackTrace();
+        pinning.onEvent("jdk.VirtualThreadPinned", event ->
+                pinnedAt.computeIfAbsent(topFrame(event), frame -> new LongAdder()).increment());
+        pinning.startAsync();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        pinning.close();
+        System.out.printf("%nvirtualThreads=%s failed scans=%d pinned virtual threads=%d%n",
+                virtualThreads, failures.sum(), pinnedAt.values().stream().mapToLong(LongAdder::sum).sum());
+        pinnedAt.forEach((frame, count) -> System.out.printf("  pinned %d x at %s%n", count.sum(), frame));
+        client.close();
+        context.close();
+        mongod.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Handheld {
+
+        private static final AtomicInteger NEXT_WORKER = new AtomicInteger();
+
+        private String workerId;
+
+        @Setup(Level.Trial)
+        public void assign() {
+            workerId = "WORKER-" + NEXT_WORKER.getAndIncrement();
+        }
+    }
+
+    @Benchmark
+    public int scan(Handheld handheld) throws Exception {
+        HttpResponse<String> current = client.send(HttpRequest.newBuilder(baseUri.resolve("current-instruction"))
+                .header("X-Worker-Id", handheld.workerId)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (current.statusCode() == 404 || current.statusCode() == 204) {
+            // Session finished; hand the worker the next one
+            repository.save(session(handheld.workerId));
+            return current.statusCode();
+        }
+        Matcher instruction = INSTRUCTION_ID.matcher(current.body());
+        if (current.statusCode() != 200 || !instruction.find()) {
+            failures.increment();
+            return current.statusCode();
+        }
+
+        HttpResponse<Void> confirmed = client.send(HttpRequest.newBuilder(baseUri.resolve("confirm"))
+                .header("X-Worker-Id", handheld.workerId)
+                .header("Content-Type", "application/json")
+                .header("Prefer", "return=minimal")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"instructionId\":\"" + instruction.group(1) + "\",\"quantity\":1}"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        if (confirmed.statusCode() != 200) {
+            failures.increment();
+        }
+        return confirmed.statusCode();
+    }
+
+    private PickSession session(String workerId) {
+        int id = nextSession.getAndIncrement();
+        List<PickInstruction> instructions = new ArrayList<>(INSTRUCTIONS_PER_SESSION);
+        List<PickPath.PathNode> nodes = new ArrayList<>(INSTRUCTIONS_PER_SESSION);
+        for (int i = 0; i < INSTRUCTIONS_PER_SESSION; i++) {
+            Location location = new Location("A" + (i / 20), String.format("%02d", i % 20), "01", "01");
+            instructions.add(new PickInstruction("INST-" + i, "SKU-" + i, "Item " + i, 1, location,
+                    "ORDER-" + id, Priority.NORMAL));
+            nodes.add(new PickPath.PathNode("INST-" + i, location, i, i));
+        }
+        PickSession session = PickSession.create("TASK-" + id, workerId, "WH-1", PickStrategy.BATCH,
+                "CART-" + id, instructions);
+        session.start(new PickPath(nodes, INSTRUCTIONS_PER_SESSION, Duration.ofMinutes(30), "LOAD"));
+        return session;
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith("com.paklog"))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .orElse("unknown");
+    }
+}
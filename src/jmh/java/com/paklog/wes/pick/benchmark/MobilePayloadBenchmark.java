@@ -0,0 +1,81 @@
+package com.paklog.wes.pick.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pick.adapter.rest.dto.PickInstructionDto;
+import com.paklog.wes.pick.adapter.rest.dto.SessionResponse;
+import com.paklog.wes.pick.domain.valueobject.InstructionStatus;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.domain.valueobject.Priority;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import com.paklog.wes.pick.infrastructure.config.WebMvcConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost and payload size of the mobile session response as JSON and as CBOR.
+ * Bytes per response for each encoding are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MobilePayloadBenchmark {
+
+    @Param({"10", "300"})
+    private int instructions;
+
+    private final ObjectMapper jsonMapper = new Jackson2ObjectMapperBuilder().build();
+    private final ObjectMapper cborMapper = WebMvcConfig.cborMapper(new Jackson2ObjectMapperBuilder());
+    private SessionResponse response;
+    private byte[] jsonEncoded;
+    private byte[] cborEncoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<PickInstructionDto> dtos = new ArrayList<>(instructions);
+        for (int i = 0; i < instructions; i++) {
+            dtos.add(new PickInstructionDto("INST-" + i, "SKU-" + i, "Item " + i, 2, i < instructions / 2 ? 2 : 0,
+                    new Location("A", String.format("%02d", i % 40), "01", String.format("%02d", i / 40)),
+                    "ORDER-" + i, i < instructions / 2 ? InstructionStatus.PICKED : InstructionStatus.PENDING,
+                    i, Priority.NORMAL));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        response = new SessionResponse("SESSION-1", "TASK-1", "WORKER-1", "WH-1", PickStrategy.BATCH,
+                SessionStatus.IN_PROGRESS, "CART-1", dtos, instructions / 2, now, now, null,
+                50.0, 100.0, instructions / 2, instructions, 0, 7L);
+        jsonEncoded = encodeJson();
+        cborEncoded = encodeCbor();
+        System.out.printf("%nbytes/response instructions=%d json=%d cbor=%d%n",
+                instructions, jsonEncoded.length, cborEncoded.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public void decodeJson(Blackhole blackhole) throws IOException {
+        blackhole.consume(jsonMapper.readValue(jsonEncoded, SessionResponse.class));
+    }
+
+    @Benchmark
+    public void decodeCbor(Blackhole blackhole) throws IOException {
+        blackhole.consume(cborMapper.readValue(cborEncoded, SessionResponse.class));
+    }
+}
@@ -0,0 +1,70 @@
+package com.paklog.wes.pick.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.paklog.wes.pick.events.PickingStartedEvent;
+import com.paklog.wes.pick.infrastructure.events.codec.PickEventCodecs;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost and payload size of the compact pick event codecs against Jackson JSON.
+ * Bytes per event for each encoding are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PickEventEncodingBenchmark {
+
+    @Param({"5", "50"})
+    private int locations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final PickEventCodecs codecs = new PickEventCodecs();
+    private PickingStartedEvent event;
+    private byte[] jsonEncoded;
+    private byte[] compactEncoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> sequence = new ArrayList<>(locations);
+        for (int i = 0; i < locations; i++) {
+            sequence.add("A" + (i / 50) + "-" + String.format("%02d", i % 50) + "-01-01");
+        }
+        event = new PickingStartedEvent("SESSION-" + locations, "TASK-1", "WAVE-1", "WORKER-1",
+                sequence, locations * 2, Instant.now(), 10.0 * locations);
+        jsonEncoded = encodeJson();
+        compactEncoded = encodeCompact();
+        System.out.printf("%nbytes/event locations=%d json=%d compact=%d%n",
+                locations, jsonEncoded.length, compactEncoded.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] encodeCompact() {
+        return codecs.encode(event);
+    }
+
+    @Benchmark
+    public void decodeJson(Blackhole blackhole) throws IOException {
+        blackhole.consume(objectMapper.readValue(jsonEncoded, PickingStartedEvent.class));
+    }
+
+    @Benchmark
+    public void decodeCompact(Blackhole blackhole) {
+        blackhole.consume(codecs.decode(PickingStartedEvent.EVENT_TYPE, compactEncoded));
+    }
+}
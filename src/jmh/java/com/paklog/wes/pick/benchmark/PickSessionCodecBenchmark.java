@@ -0,0 +1,107 @@
+package com.paklog.wes.pick.benchmark;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.domain.valueobject.Priority;
+import com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionCodecProvider;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of the hand-written {@code PickSessionCodec} against Spring Data's
+ * reflective {@link MappingMongoConverter}, measured down to BSON bytes on both sides.
+ * Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PickSessionCodecBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int lines;
+
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private Codec<PickSession> sessionCodec;
+    private MappingMongoConverter converter;
+    private PickSession session;
+    private RawBsonDocument codecEncoded;
+    private RawBsonDocument converterEncoded;
+
+    @Setup
+    public void setUp() {
+        sessionCodec = new PickSessionCodecProvider().get(PickSession.class, null);
+
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        session = session(lines);
+        codecEncoded = encodeWithCodec();
+        converterEncoded = encodeWithConverter();
+    }
+
+    @Benchmark
+    public RawBsonDocument encodeWithCodec() {
+        return new RawBsonDocument(session, sessionCodec);
+    }
+
+    @Benchmark
+    public RawBsonDocument encodeWithConverter() {
+        Document document = new Document();
+        converter.write(session, document);
+        return new RawBsonDocument(document, documentCodec);
+    }
+
+    @Benchmark
+    public PickSession decodeWithCodec() {
+        return codecEncoded.decode(sessionCodec);
+    }
+
+    @Benchmark
+    public PickSession decodeWithConverter() {
+        return converter.read(PickSession.class, converterEncoded.decode(documentCodec));
+    }
+
+    static PickSession session(int lines) {
+        List<PickInstruction> instructions = new ArrayList<>(lines);
+        List<PickPath.PathNode> nodes = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Location location = new Location("A" + (i / 50), String.format("%02d", i % 50), "01", "01");
+            instructions.add(new PickInstruction("INST-" + i, "SKU-" + i, "Item " + i, 1 + i % 5,
+                    location, "ORDER-" + (i / 10), Priority.NORMAL));
+            nodes.add(new PickPath.PathNode("INST-" + i, location, i, i == 0 ? 0.0 : 10.0));
+        }
+
+        PickSession session = PickSession.create("TASK-1", "WORKER-1", "WH-1", PickStrategy.WAVE, "CART-1", instructions);
+        session.start(new PickPath(nodes, 10.0 * lines, Duration.ofMinutes(lines), "S_SHAPE"));
+        for (int i = 0; i < lines / 2; i++) {
+            PickInstruction instruction = session.getPickInstructions().get(i);
+            session.confirmPick(instruction.getInstructionId(), instruction.getExpectedQuantity());
+        }
+        session.clearDomainEvents();
+        session.setVersion((long) lines);
+        return session;
+    }
+}
@@ -2,12 +2,14 @@ package com.paklog.wes.pick;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Pick Execution Service - WES
  * Handles picking operations, put wall management, and pick path optimization
  */
 @SpringBootApplication
+@EnableScheduling
 public class PickExecutionServiceApplication {
 
     public static void main(String[] args) {
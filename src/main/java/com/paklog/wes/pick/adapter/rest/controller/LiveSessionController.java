@@ -0,0 +1,48 @@
+package com.paklog.wes.pick.adapter.rest.controller;
+
+import com.paklog.wes.pick.adapter.sse.SupervisorFloorBroadcaster;
+import com.paklog.wes.pick.application.projection.LiveSessionProjection;
+import com.paklog.wes.pick.application.projection.LiveSessionView;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * REST controller for supervisor dashboards
+ * Serves the in-memory live session projection instead of querying MongoDB
+ */
+@RestController
+@RequestMapping("/api/v1/picks")
+public class LiveSessionController {
+
+    private final LiveSessionProjection liveSessionProjection;
+    private final SupervisorFloorBroadcaster floorBroadcaster;
+
+    public LiveSessionController(LiveSessionProjection liveSessionProjection,
+                                 SupervisorFloorBroadcaster floorBroadcaster) {
+        this.liveSessionProjection = liveSessionProjection;
+        this.floorBroadcaster = floorBroadcaster;
+    }
+
+    /**
+     * Get live sessions for warehouse
+     */
+    @GetMapping("/sessions/live")
+    public ResponseEntity<List<LiveSessionView>> getLiveSessions(@RequestParam String warehouseId) {
+        return ResponseEntity.ok(liveSessionProjection.snapshot(warehouseId));
+    }
+
+    /**
+     * Stream live sessions for warehouse: a snapshot, then coalesced deltas
+     */
+    @GetMapping(path = "/sessions/live/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLiveSessions(@RequestParam String warehouseId) {
+        return floorBroadcaster.open(warehouseId);
+    }
+}
@@ -1,46 +1,100 @@
 package com.paklog.wes.pick.adapter.rest.controller;
 
 import com.paklog.wes.pick.adapter.rest.dto.ConfirmPickRequest;
+import com.paklog.wes.pick.adapter.rest.dto.JournalReplayResponse;
+import com.paklog.wes.pick.adapter.rest.dto.PickDeltaResponse;
 import com.paklog.wes.pick.adapter.rest.dto.PickInstructionDto;
+import com.paklog.wes.pick.adapter.rest.dto.PickJournalRequest;
+import com.paklog.wes.pick.adapter.rest.dto.PrefetchResponse;
 import com.paklog.wes.pick.adapter.rest.dto.SessionResponse;
 import com.paklog.wes.pick.adapter.rest.dto.ShortPickRequest;
 import com.paklog.wes.pick.application.command.ConfirmPickCommand;
 import com.paklog.wes.pick.application.command.HandleShortPickCommand;
+import com.paklog.wes.pick.application.command.ReplayPickJournalCommand;
 import com.paklog.wes.pick.application.service.PickSessionService;
 import com.paklog.wes.pick.domain.aggregate.PickSession;
 import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Mobile-optimized REST controller for workers
  * Simplified API for warehouse floor operations
+ * Scans answered with {@code Prefer: return=minimal} return a {@link PickDeltaResponse}
+ * instead of the full session; clients resynchronize through {@code /my-session/changes}.
+ * Reads carry version-derived ETags, so idle polling with If-None-Match gets a 304;
+ * devices without WebSockets long-poll {@code /current-instruction/wait} instead.
+ * Requests and responses may be CBOR ({@code application/cbor}) instead of JSON.
+ * Handhelds working out of coverage prefetch upcoming instructions and upload the scans
+ * they recorded as one journal when they reconnect.
  */
 @RestController
 @RequestMapping("/api/v1/mobile/picks")
 public class MobilePickController {
 
+    static final String PREFER_HEADER = "Prefer";
+    static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    static final String RETURN_MINIMAL = "return=minimal";
+    static final int MAX_PREFETCH = 200;
+
     private final PickSessionService pickSessionService;
+    private final NextInstructionLongPoll longPoll;
 
-    public MobilePickController(PickSessionService pickSessionService) {
+    public MobilePickController(PickSessionService pickSessionService, NextInstructionLongPoll longPoll) {
         this.pickSessionService = pickSessionService;
+        this.longPoll = longPoll;
     }
 
     /**
      * Get worker's active session
      */
     @GetMapping("/my-session")
-    public ResponseEntity<SessionResponse> getMySession(@RequestHeader("X-Worker-Id") String workerId) {
+    public ResponseEntity<SessionResponse> getMySession(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        ResponseEntity<SessionResponse> notModified = checkNotModified(workerId, ifNoneMatch, false);
+        if (notModified != null) {
+            return notModified;
+        }
+
+        Optional<PickSession> session = pickSessionService.getActiveSessionForWorker(workerId);
+
+        if (session.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return SessionETags.ok(toResponse(session.get()), SessionETags.strong(session.get()));
+    }
+
+    /**
+     * Get the full session state if it changed after the version the client holds
+     */
+    @GetMapping("/my-session/changes")
+    public ResponseEntity<SessionResponse> getMySessionChanges(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @RequestParam("sinceVersion") long sinceVersion
+    ) {
         Optional<PickSession> session = pickSessionService.getActiveSessionForWorker(workerId);
 
         if (session.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
+        Long version = session.get().getVersion();
+        if (version != null && version <= sinceVersion) {
+            return ResponseEntity.noContent().build();
+        }
+
         return ResponseEntity.ok(toResponse(session.get()));
     }
 
@@ -48,7 +102,15 @@ public class MobilePickController {
      * Get current instruction to pick
      */
     @GetMapping("/current-instruction")
-    public ResponseEntity<PickInstructionDto> getCurrentInstruction(@RequestHeader("X-Worker-Id") String workerId) {
+    public ResponseEntity<PickInstructionDto> getCurrentInstruction(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        ResponseEntity<PickInstructionDto> notModified = checkNotModified(workerId, ifNoneMatch, false);
+        if (notModified != null) {
+            return notModified;
+        }
+
         Optional<PickSession> session = pickSessionService.getActiveSessionForWorker(workerId);
 
         if (session.isEmpty()) {
@@ -60,15 +122,28 @@ public class MobilePickController {
             return ResponseEntity.noContent().build();
         }
 
-        return ResponseEntity.ok(toInstructionDto(instruction));
+        return SessionETags.ok(toInstructionDto(instruction), SessionETags.strong(session.get()));
+    }
+
+    /**
+     * Wait for the current instruction to change from the one the client holds;
+     * 304 when nothing changed before the poll timed out
+     */
+    @GetMapping("/current-instruction/wait")
+    public DeferredResult<ResponseEntity<PickInstructionDto>> awaitCurrentInstruction(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return longPoll.await(workerId, ifNoneMatch);
     }
 
     /**
      * Confirm current pick (simplified - no instruction ID needed)
      */
     @PostMapping("/confirm")
-    public ResponseEntity<SessionResponse> confirmPick(
+    public ResponseEntity<?> confirmPick(
             @RequestHeader("X-Worker-Id") String workerId,
+            @RequestHeader(value = PREFER_HEADER, required = false) String prefer,
             @Valid @RequestBody ConfirmPickRequest request
     ) {
         Optional<PickSession> session = pickSessionService.getActiveSessionForWorker(workerId);
@@ -84,15 +159,16 @@ public class MobilePickController {
         );
 
         PickSession updatedSession = pickSessionService.confirmPick(command);
-        return ResponseEntity.ok(toResponse(updatedSession));
+        return respond(updatedSession, request.instructionId(), prefer);
     }
 
     /**
      * Report short pick
      */
     @PostMapping("/short-pick")
-    public ResponseEntity<SessionResponse> shortPick(
+    public ResponseEntity<?> shortPick(
             @RequestHeader("X-Worker-Id") String workerId,
+            @RequestHeader(value = PREFER_HEADER, required = false) String prefer,
             @Valid @RequestBody ShortPickRequest request
     ) {
         Optional<PickSession> session = pickSessionService.getActiveSessionForWorker(workerId);
@@ -109,14 +185,22 @@ public class MobilePickController {
         );
 
         PickSession updatedSession = pickSessionService.handleShortPick(command);
-        return ResponseEntity.ok(toResponse(updatedSession));
+        return respond(updatedSession, request.instructionId(), prefer);
     }
 
     /**
      * Get session progress
      */
     @GetMapping("/progress")
-    public ResponseEntity<PickSessionService.SessionProgress> getProgress(@RequestHeader("X-Worker-Id") String workerId) {
+    public ResponseEntity<PickSessionService.SessionProgress> getProgress(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        ResponseEntity<PickSessionService.SessionProgress> notModified = checkNotModified(workerId, ifNoneMatch, true);
+        if (notModified != null) {
+            return notModified;
+        }
+
         Optional<PickSession> session = pickSessionService.getActiveSessionForWorker(workerId);
 
         if (session.isEmpty()) {
@@ -124,12 +208,131 @@ public class MobilePickController {
         }
 
         PickSessionService.SessionProgress progress = pickSessionService.getSessionProgress(session.get().getSessionId());
-        return ResponseEntity.ok(progress);
+        String etag = session.get().getVersion() != null
+                ? SessionETags.weak(new SessionVersion(session.get().getSessionId(), session.get().getVersion()))
+                : null;
+        return SessionETags.ok(progress, etag);
+    }
+
+    /**
+     * Get the next instructions to pick, for use while out of coverage
+     */
+    @GetMapping("/prefetch")
+    public ResponseEntity<PrefetchResponse> prefetch(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @RequestParam(value = "limit", defaultValue = "25") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        ResponseEntity<PrefetchResponse> notModified = checkNotModified(workerId, ifNoneMatch, false);
+        if (notModified != null) {
+            return notModified;
+        }
+
+        Optional<PickSession> session = pickSessionService.getActiveSessionForWorker(workerId);
+
+        if (session.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        PickSession pickSession = session.get();
+        PrefetchResponse response = new PrefetchResponse(
+                pickSession.getSessionId(),
+                pickSession.getVersion(),
+                pickSession.getStatus(),
+                pickSession.getUpcomingInstructions(Math.max(1, Math.min(limit, MAX_PREFETCH))).stream()
+                        .map(MobilePickController::toInstructionDto)
+                        .toList(),
+                pickSession.getPickInstructions().size() - pickSession.getCompletedInstructionCount()
+        );
+        return SessionETags.ok(response, SessionETags.strong(pickSession));
+    }
+
+    /**
+     * Upload the scans recorded while offline; they are replayed in order in one write
+     */
+    @PostMapping("/journal")
+    public ResponseEntity<JournalReplayResponse> uploadJournal(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @Valid @RequestBody PickJournalRequest request
+    ) {
+        ReplayPickJournalCommand command = new ReplayPickJournalCommand(
+                request.sessionId(),
+                workerId,
+                request.entries().stream()
+                        .map(entry -> new ReplayPickJournalCommand.Entry(
+                                entry.type(), entry.instructionId(), entry.quantity(), entry.reason()))
+                        .toList()
+        );
+
+        PickSessionService.JournalReplayResult result = pickSessionService.replayJournal(command);
+        PickSession session = result.session();
+        PickInstruction next = session.getCurrentInstruction();
+        return ResponseEntity.ok(new JournalReplayResponse(
+                session.getSessionId(),
+                session.getVersion(),
+                session.getStatus(),
+                result.entries(),
+                next != null ? toInstructionDto(next) : null,
+                session.getCompletedInstructionCount(),
+                session.getPickInstructions().size()
+        ));
     }
 
     // Helper methods
 
-    private SessionResponse toResponse(PickSession session) {
+    /**
+     * Answer a conditional read from the version of the worker's session alone
+     *
+     * @return 304 when the client's copy is current, otherwise null
+     */
+    private <T> ResponseEntity<T> checkNotModified(String workerId, String ifNoneMatch, boolean weak) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        Optional<SessionVersion> version = pickSessionService.getActiveSessionVersionForWorker(workerId);
+        if (version.isEmpty()) {
+            return null;
+        }
+        String etag = weak ? SessionETags.weak(version.get()) : SessionETags.strong(version.get());
+        return SessionETags.matches(ifNoneMatch, etag) ? SessionETags.notModified(etag) : null;
+    }
+
+    static ResponseEntity<?> respond(PickSession session, String instructionId, String prefer) {
+        if (!prefersMinimal(prefer)) {
+            return ResponseEntity.ok(toResponse(session));
+        }
+        return ResponseEntity.ok()
+                .header(PREFERENCE_APPLIED_HEADER, RETURN_MINIMAL)
+                .body(toDelta(session, instructionId));
+    }
+
+    static boolean prefersMinimal(String prefer) {
+        return prefer != null && Arrays.stream(prefer.split(","))
+                .map(String::trim)
+                .anyMatch(RETURN_MINIMAL::equalsIgnoreCase);
+    }
+
+    static PickDeltaResponse toDelta(PickSession session, String instructionId) {
+        PickInstruction updated = session.getPickInstructions().stream()
+                .filter(instruction -> Objects.equals(instruction.getInstructionId(), instructionId))
+                .findFirst()
+                .orElse(null);
+        PickInstruction next = session.getCurrentInstruction();
+        return new PickDeltaResponse(
+                session.getSessionId(),
+                session.getVersion(),
+                session.getStatus(),
+                updated != null ? toInstructionDto(updated) : null,
+                next != null ? toInstructionDto(next) : null,
+                session.getCurrentInstructionIndex(),
+                session.getCompletedInstructionCount(),
+                session.getPickInstructions().size(),
+                session.getShortPickCount(),
+                session.getProgress()
+        );
+    }
+
+    static SessionResponse toResponse(PickSession session) {
         return new SessionResponse(
                 session.getSessionId(),
                 session.getTaskId(),
@@ -139,7 +342,7 @@ public class MobilePickController {
                 session.getStatus(),
                 session.getCartId(),
                 session.getPickInstructions().stream()
-                        .map(this::toInstructionDto)
+                        .map(MobilePickController::toInstructionDto)
                         .collect(Collectors.toList()),
                 session.getCurrentInstructionIndex(),
                 session.getCreatedAt(),
@@ -149,11 +352,12 @@ public class MobilePickController {
                 session.calculateAccuracy(),
                 session.getCompletedInstructionCount(),
                 session.getPickInstructions().size(),
-                session.getShortPickCount()
+                session.getShortPickCount(),
+                session.getVersion()
         );
     }
 
-    private PickInstructionDto toInstructionDto(PickInstruction instruction) {
+    static PickInstructionDto toInstructionDto(PickInstruction instruction) {
         return new PickInstructionDto(
                 instruction.getInstructionId(),
                 instruction.getItemSku(),
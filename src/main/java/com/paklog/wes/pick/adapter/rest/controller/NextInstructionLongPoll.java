@@ -0,0 +1,191 @@
+package com.paklog.wes.pick.adapter.rest.controller;
+
+import com.paklog.wes.pick.adapter.rest.dto.PickInstructionDto;
+import com.paklog.wes.pick.application.projection.PickSessionChangeListener;
+import com.paklog.wes.pick.application.service.PickSessionService;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-poll for the current instruction, for handhelds that cannot hold a WebSocket.
+ * A poll whose If-None-Match is current is parked as an async request, holding no thread,
+ * and is answered from the change stream when the worker's session changes, without
+ * reading the session again. Each poll costs one version read; on timeout it gets a 304.
+ * Every instance tails the change stream, so polls are answered by whichever instance holds them.
+ */
+@Component
+public class NextInstructionLongPoll implements PickSessionChangeListener {
+
+    private final PickSessionService pickSessionService;
+    private final Duration timeout;
+    private final int maxWaiters;
+    private final Map<String, Set<Waiter>> waitersByWorker = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+
+    public NextInstructionLongPoll(
+            PickSessionService pickSessionService,
+            MeterRegistry meterRegistry,
+            @Value("${pick.long-poll.timeout:30s}") Duration timeout,
+            @Value("${pick.long-poll.max-waiters:10000}") int maxWaiters
+    ) {
+        this.pickSessionService = pickSessionService;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.maxWaiters = maxWaiters;
+        Gauge.builder("pick.long-poll.waiting", waiting, AtomicInteger::get)
+                .description("Parked next-instruction polls on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answer at once when the client's copy is stale, otherwise when the session changes or the poll times out
+     */
+    public DeferredResult<ResponseEntity<PickInstructionDto>> await(String workerId, String ifNoneMatch) {
+        Waiter waiter = new Waiter(workerId, new DeferredResult<>(timeout.toMillis()));
+        waiter.result.onTimeout(() -> waiter.complete(waiter.timeoutResponse(), "timeout"));
+        waiter.result.onCompletion(() -> leave(waiter));
+        waiter.result.onError(error -> leave(waiter));
+
+        // Park before reading the version, so a change landing in between still wakes the poll
+        boolean parked = park(waiter);
+
+        Optional<SessionVersion> version = pickSessionService.getActiveSessionVersionForWorker(workerId);
+        if (version.isPresent() && !SessionETags.matches(ifNoneMatch, SessionETags.strong(version.get()))) {
+            Optional<PickSession> session = pickSessionService.getActiveSessionForWorker(workerId);
+            if (session.isPresent()) {
+                waiter.complete(answer(session.get()), "immediate");
+                return waiter.result;
+            }
+            version = Optional.empty();
+        }
+
+        waiter.arm(version.orElse(null));
+        if (!parked) {
+            // Over capacity the poll degrades to a plain conditional read
+            waiter.complete(waiter.timeoutResponse(), "rejected");
+        }
+        return waiter.result;
+    }
+
+    @Override
+    public void onChange(PickSession session) {
+        String workerId = session.getWorkerId();
+        Set<Waiter> waiters = workerId != null ? waitersByWorker.get(workerId) : null;
+        if (waiters == null) {
+            return;
+        }
+        ResponseEntity<PickInstructionDto> response = null;
+        for (Waiter waiter : waiters) {
+            if (waiter.isWokenBy(session)) {
+                if (response == null) {
+                    response = answer(session);
+                }
+                waiter.complete(response, "changed");
+            }
+        }
+    }
+
+    @Override
+    public void onDelete(String sessionId) {
+        // Archived sessions are terminal; their last change already woke any poll
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+
+    private boolean park(Waiter waiter) {
+        if (waiting.incrementAndGet() > maxWaiters) {
+            waiting.decrementAndGet();
+            return false;
+        }
+        waitersByWorker.computeIfAbsent(waiter.workerId, id -> ConcurrentHashMap.newKeySet()).add(waiter);
+        return true;
+    }
+
+    private void leave(Waiter waiter) {
+        waitersByWorker.computeIfPresent(waiter.workerId, (id, waiters) -> {
+            if (waiters.remove(waiter)) {
+                waiting.decrementAndGet();
+            }
+            return waiters.isEmpty() ? null : waiters;
+        });
+    }
+
+    private static ResponseEntity<PickInstructionDto> answer(PickSession session) {
+        PickInstruction instruction = session.getCurrentInstruction();
+        if (instruction == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return SessionETags.ok(MobilePickController.toInstructionDto(instruction), SessionETags.strong(session));
+    }
+
+    private static boolean isActive(PickSession session) {
+        return session.getStatus() == SessionStatus.IN_PROGRESS || session.getStatus() == SessionStatus.PAUSED;
+    }
+
+    /**
+     * A parked poll and the session version its client holds
+     */
+    private final class Waiter {
+
+        private final String workerId;
+        private final DeferredResult<ResponseEntity<PickInstructionDto>> result;
+        private volatile boolean armed;
+        private volatile SessionVersion known;
+
+        private Waiter(String workerId, DeferredResult<ResponseEntity<PickInstructionDto>> result) {
+            this.workerId = workerId;
+            this.result = result;
+        }
+
+        void arm(SessionVersion version) {
+            known = version;
+            armed = true;
+        }
+
+        /**
+         * Until the version is known, any change of the worker's sessions wakes the poll
+         */
+        boolean isWokenBy(PickSession session) {
+            if (!armed) {
+                return true;
+            }
+            SessionVersion current = known;
+            if (current == null || !current.sessionId().equals(session.getSessionId())) {
+                return isActive(session);
+            }
+            return session.getVersion() == null || session.getVersion() > current.version();
+        }
+
+        ResponseEntity<PickInstructionDto> timeoutResponse() {
+            SessionVersion current = known;
+            return current != null
+                    ? SessionETags.notModified(SessionETags.strong(current))
+                    : ResponseEntity.notFound().build();
+        }
+
+        void complete(ResponseEntity<PickInstructionDto> response, String outcome) {
+            leave(this);
+            if (result.setResult(response)) {
+                meterRegistry.counter("pick.long-poll.responses", "outcome", outcome).increment();
+            }
+        }
+    }
+}
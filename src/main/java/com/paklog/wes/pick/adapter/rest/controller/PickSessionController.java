@@ -8,16 +8,23 @@ import com.paklog.wes.pick.application.command.StartPickSessionCommand;
 import com.paklog.wes.pick.application.service.PickSessionService;
 import com.paklog.wes.pick.domain.aggregate.PickSession;
 import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * REST controller for pick session management
+ * Session reads carry an ETag derived from the session version; a matching
+ * If-None-Match is answered with 304 from a version lookup, without loading the session.
+ * Session reads take a {@code fields=} list of response properties; only the session parts
+ * those need are read from MongoDB, and only those properties are written.
  */
 @RestController
 @RequestMapping("/api/v1/picks")
@@ -65,9 +72,27 @@ public class PickSessionController {
      * Get session by ID
      */
     @GetMapping("/sessions/{id}")
-    public ResponseEntity<SessionResponse> getSession(@PathVariable String id) {
+    public ResponseEntity<?> getSession(
+            @PathVariable String id,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        Optional<SessionFieldSelection> selection = parseFields(fields);
+        if (fields != null && selection.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (ifNoneMatch != null) {
+            Optional<SessionVersion> version = pickSessionService.getSessionVersion(id);
+            if (version.isPresent() && SessionETags.matches(ifNoneMatch, SessionETags.strong(version.get()))) {
+                return SessionETags.notModified(SessionETags.strong(version.get()));
+            }
+        }
+        if (selection.isPresent()) {
+            PickSession session = pickSessionService.getSession(id, selection.get().fields());
+            return SessionETags.ok(selection.get().render(session), SessionETags.strong(session));
+        }
         PickSession session = pickSessionService.getSession(id);
-        return ResponseEntity.ok(toResponse(session));
+        return SessionETags.ok(toResponse(session), SessionETags.strong(session));
     }
 
     /**
@@ -144,16 +169,34 @@ public class PickSessionController {
      * Get session progress
      */
     @GetMapping("/sessions/{id}/progress")
-    public ResponseEntity<PickSessionService.SessionProgress> getProgress(@PathVariable String id) {
+    public ResponseEntity<PickSessionService.SessionProgress> getProgress(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        // Read before the progress, so the tag never claims a newer version than the body
+        Optional<SessionVersion> version = pickSessionService.getSessionVersion(id);
+        String etag = version.map(SessionETags::weak).orElse(null);
+        if (SessionETags.matches(ifNoneMatch, etag)) {
+            return SessionETags.notModified(etag);
+        }
         PickSessionService.SessionProgress progress = pickSessionService.getSessionProgress(id);
-        return ResponseEntity.ok(progress);
+        return SessionETags.ok(progress, etag);
     }
 
     /**
      * Get all active sessions
      */
     @GetMapping("/sessions/active")
-    public ResponseEntity<List<SessionResponse>> getActiveSessions() {
+    public ResponseEntity<List<?>> getActiveSessions(@RequestParam(value = "fields", required = false) String fields) {
+        Optional<SessionFieldSelection> selection = parseFields(fields);
+        if (fields != null && selection.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (selection.isPresent()) {
+            return ResponseEntity.ok(pickSessionService.getActiveSessions(selection.get().fields()).stream()
+                    .map(selection.get()::render)
+                    .toList());
+        }
         List<PickSession> sessions = pickSessionService.getActiveSessions();
         List<SessionResponse> responses = sessions.stream()
                 .map(this::toResponse)
@@ -165,13 +208,35 @@ public class PickSessionController {
      * Get current instruction for session
      */
     @GetMapping("/sessions/{id}/current-instruction")
-    public ResponseEntity<PickInstructionDto> getCurrentInstruction(@PathVariable String id) {
+    public ResponseEntity<PickInstructionDto> getCurrentInstruction(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        Optional<SessionVersion> version = pickSessionService.getSessionVersion(id);
+        String etag = version.map(SessionETags::strong).orElse(null);
+        if (SessionETags.matches(ifNoneMatch, etag)) {
+            return SessionETags.notModified(etag);
+        }
         PickInstruction instruction = pickSessionService.getCurrentInstruction(id);
-        return ResponseEntity.ok(toInstructionDto(instruction));
+        return SessionETags.ok(toInstructionDto(instruction), etag);
     }
 
     // Helper methods
 
+    /**
+     * @return empty when no fields were requested or a requested field is unknown
+     */
+    private static Optional<SessionFieldSelection> parseFields(String fields) {
+        if (fields == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(SessionFieldSelection.parse(fields));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     private SessionResponse toResponse(PickSession session) {
         return new SessionResponse(
                 session.getSessionId(),
@@ -192,7 +257,8 @@ public class PickSessionController {
                 session.calculateAccuracy(),
                 session.getCompletedInstructionCount(),
                 session.getPickInstructions().size(),
-                session.getShortPickCount()
+                session.getShortPickCount(),
+                session.getVersion()
         );
     }
 
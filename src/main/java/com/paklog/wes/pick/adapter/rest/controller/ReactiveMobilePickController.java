@@ -0,0 +1,124 @@
+package com.paklog.wes.pick.adapter.rest.controller;
+
+import com.paklog.wes.pick.adapter.rest.dto.ConfirmPickRequest;
+import com.paklog.wes.pick.adapter.rest.dto.PickInstructionDto;
+import com.paklog.wes.pick.adapter.rest.dto.SessionResponse;
+import com.paklog.wes.pick.adapter.rest.dto.ShortPickRequest;
+import com.paklog.wes.pick.application.service.PickSessionService;
+import com.paklog.wes.pick.application.service.ReactivePickSessionService;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking variant of the mobile API, served next to {@link MobilePickController}
+ * with the same request and response shapes.
+ * Handlers return without waiting on MongoDB; the servlet request stays open
+ * asynchronously and holds no thread until the reactive driver answers.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive/mobile/picks")
+public class ReactiveMobilePickController {
+
+    private final ReactivePickSessionService pickSessionService;
+
+    public ReactiveMobilePickController(ReactivePickSessionService pickSessionService) {
+        this.pickSessionService = pickSessionService;
+    }
+
+    /**
+     * Get worker's active session
+     */
+    @GetMapping("/my-session")
+    public Mono<ResponseEntity<SessionResponse>> getMySession(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return conditionalRead(workerId, ifNoneMatch, false, () -> pickSessionService.getActiveSessionForWorker(workerId)
+                .map(session -> SessionETags.ok(MobilePickController.toResponse(session), SessionETags.strong(session))));
+    }
+
+    /**
+     * Get current instruction to pick
+     */
+    @GetMapping("/current-instruction")
+    public Mono<ResponseEntity<PickInstructionDto>> getCurrentInstruction(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return conditionalRead(workerId, ifNoneMatch, false, () -> pickSessionService.getActiveSessionForWorker(workerId)
+                .map(session -> {
+                    PickInstruction instruction = session.getCurrentInstruction();
+                    if (instruction == null) {
+                        return ResponseEntity.noContent().<PickInstructionDto>build();
+                    }
+                    return SessionETags.ok(MobilePickController.toInstructionDto(instruction), SessionETags.strong(session));
+                }));
+    }
+
+    /**
+     * Confirm current pick
+     */
+    @PostMapping("/confirm")
+    public Mono<ResponseEntity<?>> confirmPick(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @RequestHeader(value = MobilePickController.PREFER_HEADER, required = false) String prefer,
+            @Valid @RequestBody ConfirmPickRequest request
+    ) {
+        return pickSessionService.confirmPick(workerId, request.instructionId(), request.quantity())
+                .<ResponseEntity<?>>map(session -> MobilePickController.respond(session, request.instructionId(), prefer))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Report short pick
+     */
+    @PostMapping("/short-pick")
+    public Mono<ResponseEntity<?>> shortPick(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @RequestHeader(value = MobilePickController.PREFER_HEADER, required = false) String prefer,
+            @Valid @RequestBody ShortPickRequest request
+    ) {
+        return pickSessionService.handleShortPick(workerId, request.instructionId(), request.actualQuantity(), request.reason())
+                .<ResponseEntity<?>>map(session -> MobilePickController.respond(session, request.instructionId(), prefer))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get session progress
+     */
+    @GetMapping("/progress")
+    public Mono<ResponseEntity<PickSessionService.SessionProgress>> getProgress(
+            @RequestHeader("X-Worker-Id") String workerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return conditionalRead(workerId, ifNoneMatch, true, () -> pickSessionService.getActiveSessionForWorker(workerId)
+                .map(session -> SessionETags.ok(PickSessionService.SessionProgress.of(session),
+                        session.getVersion() != null
+                                ? SessionETags.weak(new SessionVersion(session.getSessionId(), session.getVersion()))
+                                : null)));
+    }
+
+    /**
+     * Answer a conditional read from the session version alone, otherwise run the full read;
+     * 404 when the worker has no active session
+     */
+    private <T> Mono<ResponseEntity<T>> conditionalRead(String workerId, String ifNoneMatch, boolean weak,
+                                                        Supplier<Mono<ResponseEntity<T>>> read) {
+        Mono<ResponseEntity<T>> conditional = ifNoneMatch == null
+                ? Mono.empty()
+                : pickSessionService.getActiveSessionVersionForWorker(workerId)
+                        .map(version -> weak ? SessionETags.weak(version) : SessionETags.strong(version))
+                        .filter(etag -> SessionETags.matches(ifNoneMatch, etag))
+                        .map(etag -> SessionETags.<T>notModified(etag));
+        return conditional
+                .switchIfEmpty(Mono.defer(read))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,74 @@
+package com.paklog.wes.pick.adapter.rest.controller;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Entity tags for session reads, derived from the session's optimistic-lock version.
+ * Every saved change bumps the version, so a matching tag means the client's copy is
+ * current and the read can be answered with 304 before the session is loaded.
+ */
+final class SessionETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private SessionETags() {
+    }
+
+    static String strong(SessionVersion version) {
+        return strong(version.sessionId(), version.version());
+    }
+
+    /**
+     * @return the tag, or null for a session that was never saved
+     */
+    static String strong(PickSession session) {
+        return session.getVersion() != null ? strong(session.getSessionId(), session.getVersion()) : null;
+    }
+
+    /**
+     * Weak tag for representations that also change with the clock, such as elapsed durations
+     */
+    static String weak(SessionVersion version) {
+        return WEAK_PREFIX + strong(version);
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header against a tag, as GET requires
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String expected = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ("*".equals(trimmed) || opaque(trimmed).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(body);
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    private static String strong(String sessionId, long version) {
+        return "\"" + sessionId + ":" + version + "\"";
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+    }
+}
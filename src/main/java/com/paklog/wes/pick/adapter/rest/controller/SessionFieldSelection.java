@@ -0,0 +1,108 @@
+package com.paklog.wes.pick.adapter.rest.controller;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.repository.SessionField;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldset of a session read, from a {@code fields=} parameter naming properties of
+ * {@code SessionResponse}. It decides which session parts are read from MongoDB, and only the
+ * selected properties are mapped and written; {@code sessionId} is always included.
+ */
+final class SessionFieldSelection {
+
+    private enum Property {
+        SESSION_ID("sessionId", PickSession::getSessionId),
+        TASK_ID("taskId", PickSession::getTaskId, SessionField.TASK_ID),
+        WORKER_ID("workerId", PickSession::getWorkerId, SessionField.WORKER_ID),
+        WAREHOUSE_ID("warehouseId", PickSession::getWarehouseId, SessionField.WAREHOUSE_ID),
+        STRATEGY("strategy", PickSession::getStrategy, SessionField.STRATEGY),
+        STATUS("status", PickSession::getStatus, SessionField.STATUS),
+        CART_ID("cartId", PickSession::getCartId, SessionField.CART_ID),
+        INSTRUCTIONS("instructions", session -> session.getPickInstructions().stream()
+                .map(MobilePickController::toInstructionDto)
+                .toList(), SessionField.INSTRUCTIONS),
+        CURRENT_INSTRUCTION_INDEX("currentInstructionIndex", PickSession::getCurrentInstructionIndex,
+                SessionField.CURRENT_INDEX),
+        CREATED_AT("createdAt", PickSession::getCreatedAt, SessionField.CREATED_AT),
+        STARTED_AT("startedAt", PickSession::getStartedAt, SessionField.STARTED_AT),
+        COMPLETED_AT("completedAt", PickSession::getCompletedAt, SessionField.COMPLETED_AT),
+        PROGRESS("progress", session -> session.getCounters().progress(), SessionField.COUNTERS),
+        ACCURACY("accuracy", session -> session.getCounters().accuracy(), SessionField.COUNTERS),
+        COMPLETED_INSTRUCTIONS("completedInstructions", session -> session.getCounters().completedInstructions(),
+                SessionField.COUNTERS),
+        TOTAL_INSTRUCTIONS("totalInstructions", session -> session.getCounters().totalInstructions(),
+                SessionField.COUNTERS),
+        SHORT_PICKS("shortPicks", session -> session.getCounters().shortPicks(), SessionField.COUNTERS),
+        VERSION("version", PickSession::getVersion);
+
+        private static final Map<String, Property> BY_NAME = Arrays.stream(values())
+                .collect(Collectors.toUnmodifiableMap(property -> property.name, property -> property));
+
+        private final String name;
+        private final Function<PickSession, Object> accessor;
+        private final Set<SessionField> reads;
+
+        Property(String name, Function<PickSession, Object> accessor, SessionField... reads) {
+            this.name = name;
+            this.accessor = accessor;
+            this.reads = reads.length == 0 ? Collections.emptySet() : EnumSet.copyOf(Arrays.asList(reads));
+        }
+    }
+
+    private final Set<Property> properties;
+    private final Set<SessionField> fields;
+
+    private SessionFieldSelection(Set<Property> properties) {
+        this.properties = properties;
+        this.fields = EnumSet.noneOf(SessionField.class);
+        properties.forEach(property -> fields.addAll(property.reads));
+    }
+
+    /**
+     * Parse a comma-separated list of property names
+     *
+     * @throws IllegalArgumentException for a name that is not a session property
+     */
+    static SessionFieldSelection parse(String fields) {
+        Set<Property> properties = EnumSet.of(Property.SESSION_ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Property property = Property.BY_NAME.get(trimmed);
+            if (property == null) {
+                throw new IllegalArgumentException("Unknown session field: " + trimmed);
+            }
+            properties.add(property);
+        }
+        return new SessionFieldSelection(properties);
+    }
+
+    /**
+     * Session parts the selected properties are computed from
+     */
+    Set<SessionField> fields() {
+        return Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * The selected properties of a session, in the order of the full response
+     */
+    Map<String, Object> render(PickSession session) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        for (Property property : properties) {
+            body.put(property.name, property.accessor.apply(session));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,43 @@
+package com.paklog.wes.pick.adapter.rest.controller;
+
+import com.paklog.wes.pick.adapter.rest.dto.DltReplayResponse;
+import com.paklog.wes.pick.infrastructure.events.TaskEventDltReplayer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for operating the task event pipeline
+ */
+@RestController
+@RequestMapping("/api/v1/admin/task-events")
+public class TaskEventAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventAdminController.class);
+
+    private static final int MAX_REPLAY_LIMIT = 10_000;
+
+    private final TaskEventDltReplayer dltReplayer;
+
+    public TaskEventAdminController(TaskEventDltReplayer dltReplayer) {
+        this.dltReplayer = dltReplayer;
+    }
+
+    /**
+     * Replay dead-lettered task events
+     */
+    @PostMapping("/dlt/replay")
+    public ResponseEntity<DltReplayResponse> replayDeadLetters(@RequestParam(defaultValue = "100") int limit) {
+        if (limit <= 0 || limit > MAX_REPLAY_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        logger.info("Replaying up to {} dead-lettered task events", limit);
+
+        int replayed = dltReplayer.replay(limit);
+        return ResponseEntity.ok(new DltReplayResponse(dltReplayer.deadLetterTopic(), replayed));
+    }
+}
@@ -0,0 +1,10 @@
+package com.paklog.wes.pick.adapter.rest.dto;
+
+/**
+ * Response of a dead-letter replay
+ */
+public record DltReplayResponse(
+        String topic,
+        int replayed
+) {
+}
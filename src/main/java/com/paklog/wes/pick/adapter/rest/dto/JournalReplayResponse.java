@@ -0,0 +1,20 @@
+package com.paklog.wes.pick.adapter.rest.dto;
+
+import com.paklog.wes.pick.application.service.PickSessionService;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+
+import java.util.List;
+
+/**
+ * Outcome of every uploaded journal entry and the session counters after the replay
+ */
+public record JournalReplayResponse(
+        String sessionId,
+        Long version,
+        SessionStatus status,
+        List<PickSessionService.JournalEntryResult> entries,
+        PickInstructionDto nextInstruction,
+        int completedInstructions,
+        int totalInstructions
+) {
+}
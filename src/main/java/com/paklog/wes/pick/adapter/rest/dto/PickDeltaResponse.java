@@ -0,0 +1,21 @@
+package com.paklog.wes.pick.adapter.rest.dto;
+
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+
+/**
+ * Minimal response to a scan: the instruction it changed, the one to pick next
+ * and the session counters, instead of every instruction of the session
+ */
+public record PickDeltaResponse(
+        String sessionId,
+        Long version,
+        SessionStatus status,
+        PickInstructionDto updatedInstruction,
+        PickInstructionDto nextInstruction,
+        int currentInstructionIndex,
+        int completedInstructions,
+        int totalInstructions,
+        int shortPicks,
+        double progress
+) {
+}
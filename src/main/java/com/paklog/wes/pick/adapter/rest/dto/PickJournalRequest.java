@@ -0,0 +1,49 @@
+package com.paklog.wes.pick.adapter.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.paklog.wes.pick.application.command.ReplayPickJournalCommand;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Scans a handheld recorded while offline, uploaded in the order they were made
+ */
+public record PickJournalRequest(
+        @NotBlank(message = "Session ID is required")
+        String sessionId,
+
+        @NotEmpty(message = "Entries are required")
+        @Size(max = 500, message = "At most 500 entries per upload")
+        List<@Valid @NotNull Entry> entries
+) {
+
+    /**
+     * One recorded confirm or short pick
+     */
+    public record Entry(
+            @NotNull(message = "Entry type is required")
+            ReplayPickJournalCommand.EntryType type,
+
+            @NotBlank(message = "Instruction ID is required")
+            String instructionId,
+
+            @PositiveOrZero(message = "Quantity cannot be negative")
+            int quantity,
+
+            String reason
+    ) {
+
+        @JsonIgnore
+        @AssertTrue(message = "Reason is required for a short pick")
+        public boolean isReasonGiven() {
+            return type != ReplayPickJournalCommand.EntryType.SHORT_PICK || (reason != null && !reason.isBlank());
+        }
+    }
+}
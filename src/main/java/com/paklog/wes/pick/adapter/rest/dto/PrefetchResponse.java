@@ -0,0 +1,17 @@
+package com.paklog.wes.pick.adapter.rest.dto;
+
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+
+import java.util.List;
+
+/**
+ * Upcoming instructions a handheld keeps so it can go on picking without a connection
+ */
+public record PrefetchResponse(
+        String sessionId,
+        Long version,
+        SessionStatus status,
+        List<PickInstructionDto> instructions,
+        int remainingInstructions
+) {
+}
@@ -26,6 +26,7 @@ public record SessionResponse(
         double accuracy,
         int completedInstructions,
         int totalInstructions,
-        int shortPicks
+        int shortPicks,
+        Long version
 ) {
 }
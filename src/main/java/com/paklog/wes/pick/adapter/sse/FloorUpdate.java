@@ -0,0 +1,17 @@
+package com.paklog.wes.pick.adapter.sse;
+
+import com.paklog.wes.pick.application.projection.LiveSessionView;
+
+import java.util.List;
+
+/**
+ * One event on the supervisor floor stream.
+ * A snapshot carries every live session of the warehouse; a delta carries the
+ * sessions changed and removed since the previous event, latest state only.
+ */
+public record FloorUpdate(
+        String warehouseId,
+        List<LiveSessionView> updated,
+        List<String> removed
+) {
+}
@@ -0,0 +1,222 @@
+package com.paklog.wes.pick.adapter.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pick.application.projection.LiveSessionListener;
+import com.paklog.wes.pick.application.projection.LiveSessionProjection;
+import com.paklog.wes.pick.application.projection.LiveSessionView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Streams the live floor of a warehouse to supervisor dashboards as Server-Sent Events.
+ * All viewers of a warehouse share one subscription to the live session projection;
+ * changes are coalesced per session between flushes, and each flush is serialized once
+ * and written to every viewer, so the cost of a warehouse does not grow with its viewers.
+ */
+@Component
+public class SupervisorFloorBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupervisorFloorBroadcaster.class);
+
+    public static final String SNAPSHOT_EVENT = "snapshot";
+    public static final String DELTA_EVENT = "delta";
+
+    private final LiveSessionProjection projection;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final Clock clock;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final Counter eventCounter;
+    private final Counter coalescedCounter;
+
+    public SupervisorFloorBroadcaster(
+            LiveSessionProjection projection,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${pick.supervisor-stream.timeout:30m}") Duration timeout,
+            @Value("${pick.supervisor-stream.heartbeat:15s}") Duration heartbeat
+    ) {
+        this(projection, objectMapper, meterRegistry, timeout, heartbeat, Clock.systemUTC());
+    }
+
+    SupervisorFloorBroadcaster(LiveSessionProjection projection, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               Duration timeout, Duration heartbeat, Clock clock) {
+        this.projection = projection;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.clock = clock;
+        this.eventCounter = Counter.builder("pick.supervisor.stream.events")
+                .description("Floor updates flushed to supervisor viewers, counted once per warehouse")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("pick.supervisor.stream.coalesced")
+                .description("Session changes folded into a change already pending for the same session")
+                .register(meterRegistry);
+        Gauge.builder("pick.supervisor.stream.viewers", channels,
+                        map -> map.values().stream().mapToInt(channel -> channel.viewers.size()).sum())
+                .description("Open supervisor floor streams on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream for a warehouse; the first event is a snapshot of its live sessions
+     */
+    public SseEmitter open(String warehouseId) {
+        SseEmitter emitter = createEmitter(timeout.toMillis());
+        channels.compute(warehouseId, (id, existing) -> {
+            Channel channel = existing != null ? existing : new Channel(id);
+            channel.viewers.add(emitter);
+            return channel;
+        });
+        emitter.onCompletion(() -> leave(warehouseId, emitter));
+        emitter.onTimeout(() -> leave(warehouseId, emitter));
+        emitter.onError(error -> leave(warehouseId, emitter));
+
+        FloorUpdate snapshot = new FloorUpdate(warehouseId, projection.snapshot(warehouseId), List.of());
+        send(warehouseId, emitter, SseEmitter.event().name(SNAPSHOT_EVENT).data(json(snapshot)).build());
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${pick.supervisor-stream.flush-interval:PT1S}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Flushing supervisor floor streams failed", e);
+        }
+    }
+
+    /**
+     * Write the pending changes of every watched warehouse to its viewers
+     *
+     * @return number of warehouses that had changes to send
+     */
+    public int flush() {
+        int flushed = 0;
+        Instant now = clock.instant();
+        for (Channel channel : channels.values()) {
+            FloorUpdate update = channel.drain();
+            if (update != null) {
+                broadcast(channel, SseEmitter.event().name(DELTA_EVENT).data(json(update)).build(), now);
+                eventCounter.increment();
+                flushed++;
+            } else if (!channel.lastSentAt.plus(heartbeat).isAfter(now)) {
+                broadcast(channel, SseEmitter.event().comment("keepalive").build(), now);
+            }
+        }
+        return flushed;
+    }
+
+    int viewerCount(String warehouseId) {
+        Channel channel = channels.get(warehouseId);
+        return channel != null ? channel.viewers.size() : 0;
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void broadcast(Channel channel, Set<DataWithMediaType> event, Instant now) {
+        channel.lastSentAt = now;
+        for (SseEmitter viewer : channel.viewers) {
+            send(channel.warehouseId, viewer, event);
+        }
+    }
+
+    private void send(String warehouseId, SseEmitter emitter, Set<DataWithMediaType> event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // The viewer went away; the servlet container completes the emitter
+            logger.debug("Dropping supervisor viewer of warehouse {}: {}", warehouseId, e.toString());
+            leave(warehouseId, emitter);
+        }
+    }
+
+    private void leave(String warehouseId, SseEmitter emitter) {
+        channels.computeIfPresent(warehouseId, (id, channel) -> {
+            channel.viewers.remove(emitter);
+            if (!channel.viewers.isEmpty()) {
+                return channel;
+            }
+            channel.unsubscribe.run();
+            return null;
+        });
+    }
+
+    private String json(FloorUpdate update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize floor update for warehouse " + update.warehouseId(), e);
+        }
+    }
+
+    /**
+     * Viewers of one warehouse and the changes pending for them
+     */
+    private final class Channel implements LiveSessionListener {
+
+        private final String warehouseId;
+        private final Set<SseEmitter> viewers = new CopyOnWriteArraySet<>();
+        private final Map<String, LiveSessionView> updated = new LinkedHashMap<>();
+        private final Set<String> removed = new LinkedHashSet<>();
+        private final Runnable unsubscribe;
+        private volatile Instant lastSentAt;
+
+        private Channel(String warehouseId) {
+            this.warehouseId = warehouseId;
+            this.lastSentAt = clock.instant();
+            this.unsubscribe = projection.subscribe(warehouseId, this);
+        }
+
+        @Override
+        public synchronized void onUpdate(LiveSessionView view) {
+            removed.remove(view.sessionId());
+            if (updated.put(view.sessionId(), view) != null) {
+                coalescedCounter.increment();
+            }
+        }
+
+        @Override
+        public synchronized void onRemove(String warehouseId, String sessionId) {
+            if (updated.remove(sessionId) != null) {
+                coalescedCounter.increment();
+            }
+            removed.add(sessionId);
+        }
+
+        private synchronized FloorUpdate drain() {
+            if (updated.isEmpty() && removed.isEmpty()) {
+                return null;
+            }
+            FloorUpdate update = new FloorUpdate(warehouseId, new ArrayList<>(updated.values()), new ArrayList<>(removed));
+            updated.clear();
+            removed.clear();
+            return update;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.paklog.wes.pick.adapter.websocket;
+
+import com.paklog.wes.pick.application.service.PickSessionService;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+
+/**
+ * STOMP entry point for handhelds.
+ * A client subscribes to {@code /user/queue/picks} for pushes, then to {@code /app/picks/resume}
+ * with a {@code resume-version} header holding the last session version it applied; the
+ * reply brings it up to date before the pushes continue.
+ */
+@Controller
+public class MobilePushController {
+
+    static final String RESUME_VERSION_HEADER = "resume-version";
+
+    private final PickSessionService pickSessionService;
+    private final WorkerInstructionPusher pusher;
+
+    public MobilePushController(PickSessionService pickSessionService, WorkerInstructionPusher pusher) {
+        this.pickSessionService = pickSessionService;
+        this.pusher = pusher;
+    }
+
+    @SubscribeMapping("/picks/resume")
+    public WorkerPushMessage resume(
+            Principal worker,
+            @Header(name = RESUME_VERSION_HEADER, required = false) Long resumeVersion
+    ) {
+        return pickSessionService.getActiveSessionForWorker(worker.getName())
+                .map(session -> pusher.resume(session, resumeVersion))
+                .orElseGet(WorkerPushMessage::noActiveSession);
+    }
+}
@@ -0,0 +1,61 @@
+package com.paklog.wes.pick.adapter.websocket;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Binds a handheld connection to its worker, taken from the X-Worker-Id header
+ * like the mobile REST API, or from a workerId query parameter for clients that
+ * cannot set handshake headers. Connections without a worker are refused.
+ * Registered both as the handshake handler and as its interceptor: the interceptor
+ * resolves the worker before the upgrade, the handler turns it into the principal.
+ */
+public class WorkerHandshakeHandler extends DefaultHandshakeHandler implements HandshakeInterceptor {
+
+    static final String WORKER_HEADER = "X-Worker-Id";
+    static final String WORKER_PARAMETER = "workerId";
+    private static final String WORKER_ATTRIBUTE = WorkerHandshakeHandler.class.getName() + ".worker";
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String workerId = request.getHeaders().getFirst(WORKER_HEADER);
+        if (!StringUtils.hasText(workerId)) {
+            workerId = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst(WORKER_PARAMETER);
+        }
+        if (!StringUtils.hasText(workerId)) {
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return false;
+        }
+        attributes.put(WORKER_ATTRIBUTE, workerId);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+                                      Map<String, Object> attributes) {
+        return new WorkerPrincipal((String) attributes.get(WORKER_ATTRIBUTE));
+    }
+
+    private record WorkerPrincipal(String workerId) implements Principal {
+
+        @Override
+        public String getName() {
+            return workerId;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.paklog.wes.pick.adapter.websocket;
+
+import com.paklog.wes.pick.adapter.rest.dto.PickInstructionDto;
+import com.paklog.wes.pick.adapter.websocket.WorkerPushMessage.Type;
+import com.paklog.wes.pick.application.projection.PickSessionChangeListener;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes session changes to the handheld of the session's worker over STOMP.
+ * Only workers connected to this instance are pushed to; every instance tails the
+ * change stream, so each one serves its own connections. The last state pushed to
+ * each worker decides the message type and drops changes older than what the
+ * worker already has.
+ */
+@Component
+public class WorkerInstructionPusher implements PickSessionChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerInstructionPusher.class);
+
+    public static final String DESTINATION = "/queue/picks";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PushedState> pushedByWorker = new ConcurrentHashMap<>();
+
+    public WorkerInstructionPusher(SimpMessagingTemplate messagingTemplate,
+                                   SimpUserRegistry userRegistry,
+                                   MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onChange(PickSession session) {
+        String workerId = session.getWorkerId();
+        if (workerId == null || userRegistry.getUser(workerId) == null) {
+            return;
+        }
+
+        PushedState next = PushedState.of(session);
+        Type[] type = {null};
+        pushedByWorker.compute(workerId, (id, previous) -> {
+            if (previous != null && previous.sessionId().equals(next.sessionId()) && !next.isNewerThan(previous)) {
+                return previous;
+            }
+            type[0] = classify(previous, next);
+            return next;
+        });
+        if (type[0] != null) {
+            send(workerId, toMessage(type[0], session));
+        }
+    }
+
+    @Override
+    public void onDelete(String sessionId) {
+        // Archived sessions are terminal; their workers already received the transition
+    }
+
+    /**
+     * Answer a resuming client: the full state when it is behind, otherwise a short acknowledgement.
+     * Later pushes are diffed against the state the client now holds.
+     */
+    public WorkerPushMessage resume(PickSession session, Long resumeVersion) {
+        pushedByWorker.put(session.getWorkerId(), PushedState.of(session));
+        Long version = session.getVersion();
+        if (resumeVersion != null && version != null && version <= resumeVersion) {
+            return WorkerPushMessage.upToDate(session.getSessionId(), version);
+        }
+        count(Type.SNAPSHOT);
+        return toMessage(Type.SNAPSHOT, session);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Principal user = event.getUser();
+        if (user != null && userRegistry.getUser(user.getName()) == null) {
+            pushedByWorker.remove(user.getName());
+        }
+    }
+
+    int trackedWorkers() {
+        return pushedByWorker.size();
+    }
+
+    private void send(String workerId, WorkerPushMessage message) {
+        try {
+            messagingTemplate.convertAndSendToUser(workerId, DESTINATION, message);
+            count(message.type());
+        } catch (MessagingException e) {
+            // The outbound channel is bounded; a client that misses a push resumes from its version
+            logger.warn("Could not push {} for session {} to worker {}: {}",
+                    message.type(), message.sessionId(), workerId, e.toString());
+        }
+    }
+
+    private void count(Type type) {
+        meterRegistry.counter("pick.push.messages", "type", type.name()).increment();
+    }
+
+    private static Type classify(PushedState previous, PushedState next) {
+        if (previous == null || !previous.sessionId().equals(next.sessionId()) || previous.status() != next.status()) {
+            return Type.STATUS_CHANGED;
+        }
+        if (!Objects.equals(previous.path(), next.path())) {
+            return Type.ROUTE_CHANGED;
+        }
+        if (previous.currentIndex() != next.currentIndex()) {
+            return Type.NEXT_INSTRUCTION;
+        }
+        return Type.SESSION_UPDATED;
+    }
+
+    private static WorkerPushMessage toMessage(Type type, PickSession session) {
+        boolean withRoute = type == Type.SNAPSHOT || type == Type.STATUS_CHANGED || type == Type.ROUTE_CHANGED;
+        PickInstruction next = session.getCurrentInstruction();
+        return new WorkerPushMessage(
+                type,
+                session.getSessionId(),
+                session.getVersion(),
+                session.getStatus(),
+                next != null ? toInstructionDto(next) : null,
+                withRoute ? remainingRoute(session) : null,
+                session.getCompletedInstructionCount(),
+                session.getPickInstructions().size()
+        );
+    }
+
+    private static List<String> remainingRoute(PickSession session) {
+        PickPath path = session.getOptimizedPath();
+        if (path == null) {
+            return List.of();
+        }
+        Set<String> done = session.getPickInstructions().stream()
+                .filter(PickInstruction::isComplete)
+                .map(PickInstruction::getInstructionId)
+                .collect(Collectors.toSet());
+        return path.nodes().stream()
+                .filter(node -> !done.contains(node.instructionId()))
+                .map(node -> node.location().toDisplayString())
+                .toList();
+    }
+
+    private static PickInstructionDto toInstructionDto(PickInstruction instruction) {
+        return new PickInstructionDto(
+                instruction.getInstructionId(),
+                instruction.getItemSku(),
+                instruction.getItemDescription(),
+                instruction.getExpectedQuantity(),
+                instruction.getPickedQuantity(),
+                instruction.getLocation(),
+                instruction.getOrderId(),
+                instruction.getStatus(),
+                instruction.getSequenceNumber(),
+                instruction.getPriority()
+        );
+    }
+
+    /**
+     * What a worker's handheld was last sent
+     */
+    private record PushedState(String sessionId, Long version, SessionStatus status, int currentIndex, PickPath path) {
+
+        static PushedState of(PickSession session) {
+            return new PushedState(session.getSessionId(), session.getVersion(), session.getStatus(),
+                    session.getCurrentInstructionIndex(), session.getOptimizedPath());
+        }
+
+        boolean isNewerThan(PushedState other) {
+            return version == null || other.version() == null || version > other.version();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.paklog.wes.pick.adapter.websocket;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.paklog.wes.pick.adapter.rest.dto.PickInstructionDto;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+
+import java.util.List;
+
+/**
+ * Message pushed to a worker's handheld; the remaining route is only sent
+ * with snapshots, status transitions and route changes
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WorkerPushMessage(
+        Type type,
+        String sessionId,
+        Long version,
+        SessionStatus status,
+        PickInstructionDto nextInstruction,
+        List<String> remainingRoute,
+        Integer completedInstructions,
+        Integer totalInstructions
+) {
+
+    public enum Type {
+        /** Full state, sent when a client resumes behind the current version */
+        SNAPSHOT,
+        /** The client's version is current; nothing to apply */
+        UP_TO_DATE,
+        /** The worker has no active session */
+        NO_ACTIVE_SESSION,
+        STATUS_CHANGED,
+        ROUTE_CHANGED,
+        NEXT_INSTRUCTION,
+        /** Any other change to the session */
+        SESSION_UPDATED
+    }
+
+    static WorkerPushMessage noActiveSession() {
+        return new WorkerPushMessage(Type.NO_ACTIVE_SESSION, null, null, null, null, null, null, null);
+    }
+
+    static WorkerPushMessage upToDate(String sessionId, Long version) {
+        return new WorkerPushMessage(Type.UP_TO_DATE, sessionId, version, null, null, null, null, null);
+    }
+}
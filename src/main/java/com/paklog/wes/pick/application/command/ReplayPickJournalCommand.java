@@ -0,0 +1,54 @@
+package com.paklog.wes.pick.application.command;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Command to replay the scans a handheld recorded while offline, in the order they were made
+ */
+public record ReplayPickJournalCommand(
+        String sessionId,
+        String workerId,
+        List<Entry> entries
+) {
+    public ReplayPickJournalCommand {
+        Objects.requireNonNull(sessionId, "Session ID cannot be null");
+        Objects.requireNonNull(workerId, "Worker ID cannot be null");
+        Objects.requireNonNull(entries, "Entries cannot be null");
+
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("Journal must have at least one entry");
+        }
+        entries = List.copyOf(entries);
+    }
+
+    /**
+     * Kind of scan recorded in the journal
+     */
+    public enum EntryType {
+        CONFIRM,
+        SHORT_PICK
+    }
+
+    /**
+     * One recorded scan; the quantity is the picked quantity for either type
+     */
+    public record Entry(
+            EntryType type,
+            String instructionId,
+            int quantity,
+            String reason
+    ) {
+        public Entry {
+            Objects.requireNonNull(type, "Entry type cannot be null");
+            Objects.requireNonNull(instructionId, "Instruction ID cannot be null");
+
+            if (quantity < 0) {
+                throw new IllegalArgumentException("Quantity cannot be negative");
+            }
+            if (type == EntryType.SHORT_PICK) {
+                Objects.requireNonNull(reason, "Reason cannot be null");
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.paklog.wes.pick.application.projection;
+
+/**
+ * Receives changes to the live session projection of one warehouse
+ */
+public interface LiveSessionListener {
+
+    /**
+     * A session was added or changed
+     */
+    void onUpdate(LiveSessionView view);
+
+    /**
+     * A session left the live set, e.g. because it finished
+     */
+    void onRemove(String warehouseId, String sessionId);
+}
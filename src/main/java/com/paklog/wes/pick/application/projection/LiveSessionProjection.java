@@ -0,0 +1,121 @@
+package com.paklog.wes.pick.application.projection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory projection of live (non-terminal) pick sessions, grouped by warehouse.
+ * Fed from the session change stream and fanned out to dashboard listeners,
+ * so dashboard reads never hit MongoDB.
+ */
+@Component
+public class LiveSessionProjection {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveSessionProjection.class);
+
+    private final Map<String, Map<String, LiveSessionView>> sessionsByWarehouse = new ConcurrentHashMap<>();
+    private final Map<String, String> warehouseBySession = new ConcurrentHashMap<>();
+    private final Map<String, Set<LiveSessionListener>> listenersByWarehouse = new ConcurrentHashMap<>();
+
+    /**
+     * Apply a session change; older versions than the one held are ignored
+     */
+    public void apply(LiveSessionView view) {
+        if (view.status().isTerminal()) {
+            remove(view.sessionId());
+            return;
+        }
+
+        Map<String, LiveSessionView> sessions = sessionsByWarehouse
+                .computeIfAbsent(view.warehouseId(), id -> new ConcurrentHashMap<>());
+        boolean[] changed = {false};
+        sessions.compute(view.sessionId(), (id, existing) -> {
+            if (existing != null && existing.version() >= view.version()) {
+                return existing;
+            }
+            changed[0] = true;
+            return view;
+        });
+
+        if (changed[0]) {
+            warehouseBySession.put(view.sessionId(), view.warehouseId());
+            notify(view.warehouseId(), listener -> listener.onUpdate(view));
+        }
+    }
+
+    /**
+     * Drop a session from the live set
+     */
+    public void remove(String sessionId) {
+        String warehouseId = warehouseBySession.remove(sessionId);
+        if (warehouseId == null) {
+            return;
+        }
+        Map<String, LiveSessionView> sessions = sessionsByWarehouse.get(warehouseId);
+        if (sessions != null && sessions.remove(sessionId) != null) {
+            notify(warehouseId, listener -> listener.onRemove(warehouseId, sessionId));
+        }
+    }
+
+    /**
+     * Drop every session from the live set
+     */
+    public void clear() {
+        List.copyOf(warehouseBySession.keySet()).forEach(this::remove);
+    }
+
+    /**
+     * Current live sessions of a warehouse
+     */
+    public List<LiveSessionView> snapshot(String warehouseId) {
+        Map<String, LiveSessionView> sessions = sessionsByWarehouse.get(warehouseId);
+        if (sessions == null) {
+            return List.of();
+        }
+        return sessions.values().stream()
+                .sorted(Comparator.comparing(LiveSessionView::workerId))
+                .toList();
+    }
+
+    /**
+     * Number of live sessions across all warehouses
+     */
+    public int size() {
+        return warehouseBySession.size();
+    }
+
+    /**
+     * Register a listener for one warehouse
+     *
+     * @return handle that unregisters the listener when run
+     */
+    public Runnable subscribe(String warehouseId, LiveSessionListener listener) {
+        Set<LiveSessionListener> listeners = listenersByWarehouse
+                .computeIfAbsent(warehouseId, id -> new CopyOnWriteArraySet<>());
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    private void notify(String warehouseId, Consumer<LiveSessionListener> action) {
+        Set<LiveSessionListener> listeners = listenersByWarehouse.get(warehouseId);
+        if (listeners == null) {
+            return;
+        }
+        for (LiveSessionListener listener : listeners) {
+            try {
+                action.accept(listener);
+            } catch (RuntimeException e) {
+                logger.warn("Live session listener failed for warehouse {}", warehouseId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.paklog.wes.pick.application.projection;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+
+/**
+ * Compact live view of a pick session for supervisor dashboards
+ */
+public record LiveSessionView(
+        String sessionId,
+        String warehouseId,
+        String workerId,
+        String taskId,
+        SessionStatus status,
+        double progress,
+        int completedInstructions,
+        int totalInstructions,
+        Location currentLocation,
+        long version
+) {
+
+    public static LiveSessionView from(PickSession session) {
+        PickInstruction current = session.getCurrentInstruction();
+        return new LiveSessionView(
+                session.getSessionId(),
+                session.getWarehouseId(),
+                session.getWorkerId(),
+                session.getTaskId(),
+                session.getStatus(),
+                session.getProgress(),
+                session.getCompletedInstructionCount(),
+                session.getPickInstructions().size(),
+                current != null ? current.getLocation() : null,
+                session.getVersion() != null ? session.getVersion() : 0L
+        );
+    }
+}
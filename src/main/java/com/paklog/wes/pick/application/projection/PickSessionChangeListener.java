@@ -0,0 +1,19 @@
+package com.paklog.wes.pick.application.projection;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+
+/**
+ * Receives every change to the pick_sessions collection, as seen by the change stream
+ */
+public interface PickSessionChangeListener {
+
+    /**
+     * A session was inserted or changed; called with the full current document
+     */
+    void onChange(PickSession session);
+
+    /**
+     * A session was deleted from the hot collection, e.g. because it was archived
+     */
+    void onDelete(String sessionId);
+}
@@ -2,21 +2,35 @@ package com.paklog.wes.pick.application.service;
 
 import com.paklog.wes.pick.application.command.ConfirmPickCommand;
 import com.paklog.wes.pick.application.command.HandleShortPickCommand;
+import com.paklog.wes.pick.application.command.ReplayPickJournalCommand;
 import com.paklog.wes.pick.application.command.StartPickSessionCommand;
 import com.paklog.wes.pick.domain.aggregate.PickSession;
 import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.BulkInsertResult;
 import com.paklog.wes.pick.domain.repository.PickSessionRepository;
+import com.paklog.wes.pick.domain.repository.SessionField;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
+import com.paklog.wes.pick.domain.repository.WorkerAssignment;
 import com.paklog.wes.pick.domain.service.PathOptimizationService;
+import com.paklog.wes.pick.domain.valueobject.InstructionStatus;
 import com.paklog.wes.pick.domain.valueobject.Location;
 import com.paklog.wes.pick.domain.valueobject.PickPath;
 import com.paklog.wes.pick.domain.valueobject.SessionStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Application service for managing pick sessions
@@ -27,8 +41,13 @@ public class PickSessionService {
 
     private static final Logger logger = LoggerFactory.getLogger(PickSessionService.class);
 
+    private static final int TASK_SESSION_CACHE_SIZE = 10_000;
+    private static final int JOURNAL_REPLAY_ATTEMPTS = 3;
+
     private final PickSessionRepository sessionRepository;
     private final PathOptimizationService pathOptimizationService;
+    // Assignments usually follow creation closely, so most resolve without a lookup
+    private final TaskSessionCache taskSessions = new TaskSessionCache(TASK_SESSION_CACHE_SIZE);
 
     public PickSessionService(
             PickSessionRepository sessionRepository,
@@ -45,42 +64,145 @@ public class PickSessionService {
     public PickSession createSession(StartPickSessionCommand command) {
         logger.info("Creating pick session for task: {}, worker: {}", command.taskId(), command.workerId());
 
-        // Check if worker already has active session
-        Optional<PickSession> existingSession = sessionRepository.findActiveSessionByWorkerId(command.workerId());
-        if (existingSession.isPresent()) {
-            throw new IllegalStateException(
-                    "Worker " + command.workerId() + " already has an active session: " + existingSession.get().getSessionId()
-            );
+        // Check if worker already has active session; any number of sessions may await a picker
+        if (isAssigned(command.workerId())) {
+            Optional<PickSession> existingSession = sessionRepository.findActiveSessionByWorkerId(command.workerId());
+            if (existingSession.isPresent()) {
+                throw new IllegalStateException(
+                        "Worker " + command.workerId() + " already has an active session: " + existingSession.get().getSessionId()
+                );
+            }
         }
 
-        // Create session
-        PickSession session = PickSession.create(
-                command.taskId(),
-                command.workerId(),
-                command.warehouseId(),
-                command.strategy(),
-                command.cartId(),
-                command.instructions()
-        );
-
-        // Optimize path
-        Location startLocation = getWorkerStartLocation(command.workerId());
-        PickPath optimizedPath = pathOptimizationService.optimizePath(command.instructions(), startLocation);
-
-        logger.info("Path optimized: {} instructions, distance: {}, duration: {}",
-                optimizedPath.getTotalPicks(), optimizedPath.totalDistance(), optimizedPath.estimatedDuration());
-
-        // Start session with optimized path
-        session.start(optimizedPath);
+        PickSession session = buildStartedSession(command);
 
         // Save
-        PickSession savedSession = sessionRepository.save(session);
+        PickSession savedSession;
+        try {
+            savedSession = sessionRepository.save(session);
+        } catch (DuplicateKeyException e) {
+            // A concurrent creation or assignment won the unique active worker index
+            Optional<PickSession> winner = sessionRepository.findActiveSessionByWorkerId(command.workerId());
+            if (winner.isPresent()) {
+                throw new IllegalStateException(
+                        "Worker " + command.workerId() + " already has an active session: " + winner.get().getSessionId(), e);
+            }
+            throw e;
+        }
+        taskSessions.put(savedSession.getTaskId(), savedSession.getSessionId());
 
         logger.info("Pick session created: {}", savedSession.getSessionId());
 
         return savedSession;
     }
 
+    /**
+     * Create and start many pick sessions at once, e.g. on wave release.
+     * The worker guard is checked in one query, paths are optimized in parallel
+     * and all sessions are inserted in one unordered write; a failing session
+     * does not prevent the others from being created.
+     * Creation is idempotent per task: a task that already has a session is
+     * reported with that session instead of getting a second one.
+     */
+    public BulkCreateResult createSessions(List<StartPickSessionCommand> commands) {
+        logger.info("Creating {} pick sessions in bulk", commands.size());
+
+        Map<String, PickSession> existing = byTaskId(sessionRepository.findByTaskIdIn(
+                commands.stream().map(StartPickSessionCommand::taskId).distinct().toList()));
+        Set<String> busyWorkers = sessionRepository.findWorkersWithActiveSessions(
+                commands.stream().map(StartPickSessionCommand::workerId).filter(PickSessionService::isAssigned).distinct().toList());
+
+        List<CreateFailure> failures = new ArrayList<>();
+        List<StartPickSessionCommand> accepted = new ArrayList<>(commands.size());
+        Set<String> claimedTasks = new HashSet<>();
+        Set<String> claimedWorkers = new HashSet<>();
+        for (StartPickSessionCommand command : commands) {
+            if (existing.containsKey(command.taskId()) || !claimedTasks.add(command.taskId())) {
+                continue; // Redelivered task: its session exists or is created by an earlier command
+            }
+            if (isAssigned(command.workerId())
+                    && (busyWorkers.contains(command.workerId()) || !claimedWorkers.add(command.workerId()))) {
+                failures.add(new CreateFailure(command.taskId(), command.workerId(),
+                        "Worker " + command.workerId() + " already has an active session"));
+            } else {
+                accepted.add(command);
+            }
+        }
+
+        List<PreparedSession> prepared = accepted.parallelStream()
+                .map(this::prepareSession)
+                .toList();
+
+        List<PickSession> sessions = new ArrayList<>(prepared.size());
+        for (PreparedSession result : prepared) {
+            if (result.session() != null) {
+                sessions.add(result.session());
+            } else {
+                failures.add(new CreateFailure(result.command().taskId(), result.command().workerId(), result.error()));
+            }
+        }
+
+        BulkInsertResult insertResult = sessionRepository.insertAll(sessions);
+        insertResult.inserted().forEach(session -> taskSessions.put(session.getTaskId(), session.getSessionId()));
+        if (!insertResult.failures().isEmpty()) {
+            // A concurrent delivery of the same task may have won the unique task index
+            Map<String, PickSession> raced = byTaskId(sessionRepository.findByTaskIdIn(insertResult.failures().stream()
+                    .map(failure -> failure.session().getTaskId())
+                    .toList()));
+            existing.putAll(raced);
+            // Or a concurrent creation or assignment won the unique active worker index
+            List<BulkInsertResult.Failure> lost = insertResult.failures().stream()
+                    .filter(failure -> !raced.containsKey(failure.session().getTaskId()))
+                    .toList();
+            Set<String> nowBusy = lost.isEmpty() ? Set.of() : sessionRepository.findWorkersWithActiveSessions(
+                    lost.stream().map(failure -> failure.session().getWorkerId()).filter(PickSessionService::isAssigned)
+                            .distinct().toList());
+            for (BulkInsertResult.Failure failure : lost) {
+                String workerId = failure.session().getWorkerId();
+                failures.add(new CreateFailure(failure.session().getTaskId(), workerId, nowBusy.contains(workerId)
+                        ? "Worker " + workerId + " already has an active session"
+                        : failure.reason()));
+            }
+        }
+        existing.values().forEach(session -> taskSessions.put(session.getTaskId(), session.getSessionId()));
+
+        logger.info("Bulk session creation finished: {} created, {} already existed, {} failed",
+                insertResult.inserted().size(), existing.size(), failures.size());
+
+        return new BulkCreateResult(insertResult.inserted(), failures, List.copyOf(existing.values()));
+    }
+
+    /**
+     * Bind the worker a task was assigned to onto the task's session
+     *
+     * @return false when the task has no active session
+     */
+    public boolean assignWorker(String taskId, String workerId) {
+        String sessionId = taskSessions.get(taskId);
+        if (sessionId == null) {
+            Optional<String> found = sessionRepository.findSessionIdByTaskId(taskId);
+            if (found.isEmpty()) {
+                return false;
+            }
+            sessionId = found.get();
+            taskSessions.put(taskId, sessionId);
+        }
+
+        WorkerAssignment assignment = sessionRepository.assignWorker(sessionId, workerId);
+        switch (assignment) {
+            case WORKER_BUSY -> throw new IllegalStateException(
+                    "Worker " + workerId + " already has an active session");
+            case NOT_ACTIVE -> {
+                taskSessions.evict(taskId);
+                return false;
+            }
+            default -> {
+                logger.info("Worker {} bound to session {} for task {} ({})", workerId, sessionId, taskId, assignment);
+                return true;
+            }
+        }
+    }
+
     /**
      * Confirm a pick
      */
@@ -109,6 +231,43 @@ public class PickSessionService {
         return sessionRepository.save(session);
     }
 
+    /**
+     * Replay a journal of scans recorded offline against the session in one load and one save.
+     * Entries are applied in order and each gets an outcome: an instruction the server already
+     * completed the same way is a duplicate, one it completed differently is a conflict and keeps
+     * the server's state, and an entry the session refuses is rejected; none stops the replay.
+     * A concurrent write replays the whole journal again against the fresh session.
+     */
+    public JournalReplayResult replayJournal(ReplayPickJournalCommand command) {
+        for (int attempt = 1; ; attempt++) {
+            PickSession session = findSessionById(command.sessionId());
+            if (!command.workerId().equals(session.getWorkerId())) {
+                throw new IllegalArgumentException(
+                        "Session " + command.sessionId() + " is not assigned to worker " + command.workerId());
+            }
+
+            List<JournalEntryResult> results = new ArrayList<>(command.entries().size());
+            for (int i = 0; i < command.entries().size(); i++) {
+                results.add(applyJournalEntry(session, i, command.entries().get(i)));
+            }
+            if (results.stream().noneMatch(result -> result.outcome() == JournalEntryOutcome.APPLIED)) {
+                return new JournalReplayResult(session, results);
+            }
+
+            try {
+                PickSession saved = sessionRepository.save(session);
+                logger.info("Replayed journal of {} entries on session {}: {}",
+                        results.size(), saved.getSessionId(), countByOutcome(results));
+                return new JournalReplayResult(saved, results);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= JOURNAL_REPLAY_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Session {} changed during journal replay, replaying again", command.sessionId());
+            }
+        }
+    }
+
     /**
      * Pause session
      */
@@ -173,6 +332,14 @@ public class PickSessionService {
         return findSessionById(sessionId);
     }
 
+    /**
+     * Get session by ID with only the given parts loaded, for reading only
+     */
+    public PickSession getSession(String sessionId, Set<SessionField> fields) {
+        return sessionRepository.findById(sessionId, fields)
+                .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionId));
+    }
+
     /**
      * Get current instruction for session
      */
@@ -187,6 +354,20 @@ public class PickSessionService {
         return current;
     }
 
+    /**
+     * Get the version of a session without loading it
+     */
+    public Optional<SessionVersion> getSessionVersion(String sessionId) {
+        return sessionRepository.findVersionById(sessionId);
+    }
+
+    /**
+     * Get the ID and version of a worker's active session without loading it
+     */
+    public Optional<SessionVersion> getActiveSessionVersionForWorker(String workerId) {
+        return sessionRepository.findActiveSessionVersionByWorkerId(workerId);
+    }
+
     /**
      * Get active session for worker
      */
@@ -198,18 +379,7 @@ public class PickSessionService {
      * Get session progress
      */
     public SessionProgress getSessionProgress(String sessionId) {
-        PickSession session = findSessionById(sessionId);
-
-        return new SessionProgress(
-                session.getSessionId(),
-                session.getStatus(),
-                session.getProgress(),
-                session.getCompletedInstructionCount(),
-                session.getPickInstructions().size(),
-                session.getShortPickCount(),
-                session.calculateAccuracy(),
-                session.getDuration()
-        );
+        return SessionProgress.of(findSessionById(sessionId));
     }
 
     /**
@@ -219,6 +389,13 @@ public class PickSessionService {
         return sessionRepository.findByStatus(SessionStatus.IN_PROGRESS);
     }
 
+    /**
+     * Get all active sessions with only the given parts loaded, for reading only
+     */
+    public List<PickSession> getActiveSessions(Set<SessionField> fields) {
+        return sessionRepository.findByStatus(SessionStatus.IN_PROGRESS, fields);
+    }
+
     /**
      * Get sessions by warehouse
      */
@@ -233,6 +410,90 @@ public class PickSessionService {
                 .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionId));
     }
 
+    private static JournalEntryResult applyJournalEntry(PickSession session, int index,
+                                                        ReplayPickJournalCommand.Entry entry) {
+        PickInstruction instruction = session.getPickInstructions().stream()
+                .filter(candidate -> candidate.getInstructionId().equals(entry.instructionId()))
+                .findFirst()
+                .orElse(null);
+        if (instruction == null) {
+            return new JournalEntryResult(index, entry.instructionId(), JournalEntryOutcome.REJECTED,
+                    "Instruction not found");
+        }
+        if (instruction.isComplete()) {
+            boolean sameOutcome = instruction.getPickedQuantity() == entry.quantity()
+                    && (instruction.getStatus() == InstructionStatus.SHORT_PICKED
+                    || (instruction.getStatus() == InstructionStatus.PICKED
+                    && entry.type() == ReplayPickJournalCommand.EntryType.CONFIRM));
+            return sameOutcome
+                    ? new JournalEntryResult(index, entry.instructionId(), JournalEntryOutcome.DUPLICATE, null)
+                    : new JournalEntryResult(index, entry.instructionId(), JournalEntryOutcome.CONFLICT,
+                            "Already " + instruction.getStatus() + " with quantity " + instruction.getPickedQuantity());
+        }
+
+        try {
+            switch (entry.type()) {
+                case CONFIRM -> session.confirmPick(entry.instructionId(), entry.quantity());
+                case SHORT_PICK -> session.shortPick(entry.instructionId(), entry.quantity(), entry.reason());
+            }
+            return new JournalEntryResult(index, entry.instructionId(), JournalEntryOutcome.APPLIED, null);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return new JournalEntryResult(index, entry.instructionId(), JournalEntryOutcome.REJECTED, e.getMessage());
+        }
+    }
+
+    private static Map<JournalEntryOutcome, Long> countByOutcome(List<JournalEntryResult> results) {
+        Map<JournalEntryOutcome, Long> counts = new EnumMap<>(JournalEntryOutcome.class);
+        results.forEach(result -> counts.merge(result.outcome(), 1L, Long::sum));
+        return counts;
+    }
+
+    private PickSession buildStartedSession(StartPickSessionCommand command) {
+        // Create session
+        PickSession session = PickSession.create(
+                command.taskId(),
+                command.workerId(),
+                command.warehouseId(),
+                command.strategy(),
+                command.cartId(),
+                command.instructions()
+        );
+
+        // Optimize path
+        Location startLocation = getWorkerStartLocation(command.workerId());
+        PickPath optimizedPath = pathOptimizationService.optimizePath(command.instructions(), startLocation);
+
+        logger.debug("Path optimized for task {}: {} instructions, distance: {}, duration: {}",
+                command.taskId(), optimizedPath.getTotalPicks(), optimizedPath.totalDistance(),
+                optimizedPath.estimatedDuration());
+
+        // Start session with optimized path
+        session.start(optimizedPath);
+        return session;
+    }
+
+    private PreparedSession prepareSession(StartPickSessionCommand command) {
+        try {
+            return new PreparedSession(command, buildStartedSession(command), null);
+        } catch (RuntimeException e) {
+            logger.warn("Could not prepare pick session for task {}: {}", command.taskId(), e.getMessage());
+            return new PreparedSession(command, null, e.getMessage());
+        }
+    }
+
+    private static Map<String, PickSession> byTaskId(List<PickSession> sessions) {
+        Map<String, PickSession> byTaskId = new LinkedHashMap<>();
+        sessions.forEach(session -> byTaskId.putIfAbsent(session.getTaskId(), session));
+        return byTaskId;
+    }
+
+    /**
+     * Sessions of tasks awaiting a picker share the placeholder worker and are not held to one per worker
+     */
+    private static boolean isAssigned(String workerId) {
+        return !PickSession.UNASSIGNED_WORKER.equals(workerId);
+    }
+
     private Location getWorkerStartLocation(String workerId) {
         // TODO: Get actual worker location from worker service
         // For now, return default location
@@ -251,5 +512,73 @@ public class PickSessionService {
             int shortPicks,
             double accuracy,
             java.time.Duration duration
+    ) {
+
+        public static SessionProgress of(PickSession session) {
+            return new SessionProgress(
+                    session.getSessionId(),
+                    session.getStatus(),
+                    session.getProgress(),
+                    session.getCompletedInstructionCount(),
+                    session.getPickInstructions().size(),
+                    session.getShortPickCount(),
+                    session.calculateAccuracy(),
+                    session.getDuration()
+            );
+        }
+    }
+
+    /**
+     * Outcome of a bulk session creation
+     *
+     * @param existing sessions of tasks that already had one
+     */
+    public record BulkCreateResult(
+            List<PickSession> created,
+            List<CreateFailure> failures,
+            List<PickSession> existing
+    ) {
+        public BulkCreateResult(List<PickSession> created, List<CreateFailure> failures) {
+            this(created, failures, List.of());
+        }
+    }
+
+    /**
+     * A start command that did not produce a session
+     */
+    public record CreateFailure(
+            String taskId,
+            String workerId,
+            String reason
+    ) {}
+
+    /**
+     * Outcome of a journal replay and the session after it
+     */
+    public record JournalReplayResult(
+            PickSession session,
+            List<JournalEntryResult> entries
     ) {}
+
+    /**
+     * What the replay did with one journal entry
+     *
+     * @param index position of the entry in the uploaded journal
+     * @param detail why the entry was not applied, null otherwise
+     */
+    public record JournalEntryResult(
+            int index,
+            String instructionId,
+            JournalEntryOutcome outcome,
+            String detail
+    ) {}
+
+    public enum JournalEntryOutcome {
+        APPLIED,
+        DUPLICATE,
+        CONFLICT,
+        REJECTED
+    }
+
+    private record PreparedSession(StartPickSessionCommand command, PickSession session, String error) {}
 }
@@ -0,0 +1,65 @@
+package com.paklog.wes.pick.application.service;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.repository.ReactivePickSessionRepository;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link PickSessionService} for the worker's own session.
+ * Applies the same aggregate operations; only the persistence calls differ.
+ */
+@Service
+public class ReactivePickSessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePickSessionService.class);
+
+    private final ReactivePickSessionRepository sessionRepository;
+
+    public ReactivePickSessionService(ReactivePickSessionRepository sessionRepository) {
+        this.sessionRepository = sessionRepository;
+    }
+
+    /**
+     * Get active session for worker
+     */
+    public Mono<PickSession> getActiveSessionForWorker(String workerId) {
+        return sessionRepository.findActiveSessionByWorkerId(workerId);
+    }
+
+    /**
+     * Get the id and version of the worker's active session
+     */
+    public Mono<SessionVersion> getActiveSessionVersionForWorker(String workerId) {
+        return sessionRepository.findActiveSessionVersionByWorkerId(workerId);
+    }
+
+    /**
+     * Confirm a pick in the worker's active session; empty when the worker has none
+     */
+    public Mono<PickSession> confirmPick(String workerId, String instructionId, int quantity) {
+        return sessionRepository.findActiveSessionByWorkerId(workerId)
+                .flatMap(session -> {
+                    logger.debug("Confirming pick: session={}, instruction={}, quantity={}",
+                            session.getSessionId(), instructionId, quantity);
+                    session.confirmPick(instructionId, quantity);
+                    return sessionRepository.save(session);
+                });
+    }
+
+    /**
+     * Handle a short pick in the worker's active session; empty when the worker has none
+     */
+    public Mono<PickSession> handleShortPick(String workerId, String instructionId, int actualQuantity, String reason) {
+        return sessionRepository.findActiveSessionByWorkerId(workerId)
+                .flatMap(session -> {
+                    logger.warn("Short pick: session={}, instruction={}, actual={}, reason={}",
+                            session.getSessionId(), instructionId, actualQuantity, reason);
+                    session.shortPick(instructionId, actualQuantity, reason);
+                    return sessionRepository.save(session);
+                });
+    }
+}
@@ -0,0 +1,42 @@
+package com.paklog.wes.pick.application.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used map from task ID to pick session ID.
+ * Sessions never change task, so entries only go stale when a session is gone,
+ * which callers detect and evict.
+ */
+class TaskSessionCache {
+
+    private final Map<String, String> sessionIds;
+
+    TaskSessionCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        this.sessionIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    synchronized String get(String taskId) {
+        return sessionIds.get(taskId);
+    }
+
+    synchronized void put(String taskId, String sessionId) {
+        sessionIds.put(taskId, sessionId);
+    }
+
+    synchronized void evict(String taskId) {
+        sessionIds.remove(taskId);
+    }
+
+    synchronized int size() {
+        return sessionIds.size();
+    }
+}
@@ -11,10 +11,13 @@ import com.paklog.wes.pick.domain.event.ShortPickEvent;
 import com.paklog.wes.pick.domain.valueobject.InstructionStatus;
 import com.paklog.wes.pick.domain.valueobject.PickPath;
 import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.domain.valueobject.SessionCounters;
 import com.paklog.wes.pick.domain.valueobject.SessionStatus;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -32,6 +35,11 @@ import java.util.stream.Collectors;
 @Document(collection = "pick_sessions")
 public class PickSession {
 
+    /**
+     * Worker of a session created for a task no picker is assigned to yet
+     */
+    public static final String UNASSIGNED_WORKER = "UNASSIGNED";
+
     @Id
     private String sessionId;
 
@@ -43,18 +51,30 @@ public class PickSession {
     private String warehouseId;
     private PickStrategy strategy;
     private SessionStatus status;
+    @Field("cart")
     private String cartId;
+    @Field("ins")
     private List<PickInstruction> pickInstructions;
+    @Field("p")
     private PickPath optimizedPath;
     private LocalDateTime createdAt;
+    @Field("sa")
     private LocalDateTime startedAt;
     private LocalDateTime completedAt;
+    @Field("pa")
     private LocalDateTime pausedAt;
+    @Field("ci")
     private int currentInstructionIndex;
+    @Field("cr")
     private String cancellationReason;
 
+    @Transient
     private List<DomainEvent> domainEvents = new ArrayList<>();
 
+    // Computed by the store for partial reads that leave the instructions out
+    @Transient
+    private SessionCounters counters;
+
     // For MongoDB/persistence
     public PickSession() {
         this.pickInstructions = new ArrayList<>();
@@ -332,6 +352,13 @@ public class PickSession {
                 .count();
     }
 
+    /**
+     * Counters over the instructions, or those the store computed for a partial read
+     */
+    public SessionCounters getCounters() {
+        return counters != null ? counters : SessionCounters.of(pickInstructions);
+    }
+
     /**
      * Check if there are pending instructions
      */
@@ -340,6 +367,20 @@ public class PickSession {
                 .anyMatch(i -> !i.isComplete());
     }
 
+    /**
+     * Get the open instructions from the current one on, in pick sequence
+     */
+    public List<PickInstruction> getUpcomingInstructions(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        return pickInstructions.stream()
+                .skip(currentInstructionIndex)
+                .filter(i -> !i.isComplete())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get all instructions with specific status
      */
@@ -444,6 +485,13 @@ public class PickSession {
         return workerId;
     }
 
+    /**
+     * Whether a real picker is bound, rather than the placeholder of a task awaiting assignment
+     */
+    public boolean hasAssignedWorker() {
+        return workerId != null && !UNASSIGNED_WORKER.equals(workerId);
+    }
+
     public void setWorkerId(String workerId) {
         this.workerId = workerId;
     }
@@ -488,6 +536,10 @@ public class PickSession {
         this.pickInstructions = pickInstructions;
     }
 
+    public void setCounters(SessionCounters counters) {
+        this.counters = counters;
+    }
+
     public PickPath getOptimizedPath() {
         return optimizedPath;
     }
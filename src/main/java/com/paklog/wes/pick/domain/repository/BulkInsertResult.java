@@ -0,0 +1,23 @@
+package com.paklog.wes.pick.domain.repository;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+
+import java.util.List;
+
+/**
+ * Outcome of inserting many sessions in one unordered write
+ */
+public record BulkInsertResult(
+        List<PickSession> inserted,
+        List<Failure> failures
+) {
+    public BulkInsertResult {
+        inserted = List.copyOf(inserted);
+        failures = List.copyOf(failures);
+    }
+
+    /**
+     * A session that could not be inserted
+     */
+    public record Failure(PickSession session, String reason) {}
+}
@@ -1,66 +1,29 @@
 package com.paklog.wes.pick.domain.repository;
 
 import com.paklog.wes.pick.domain.aggregate.PickSession;
-import com.paklog.wes.pick.domain.valueobject.SessionStatus;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for PickSession aggregate
  */
 @Repository
-public interface PickSessionRepository extends MongoRepository<PickSession, String> {
+public interface PickSessionRepository extends MongoRepository<PickSession, String>, PickSessionRepositoryCustom {
 
     /**
-     * Find session by task ID
+     * Save session through the codec-backed fragment
      */
-    Optional<PickSession> findByTaskId(String taskId);
+    @Override
+    <S extends PickSession> S save(S session);
 
     /**
-     * Find active session for worker
+     * Find session by ID through the codec-backed fragment
      */
-    @Query("{ 'workerId': ?0, 'status': { $in: ['IN_PROGRESS', 'PAUSED'] } }")
-    Optional<PickSession> findActiveSessionByWorkerId(String workerId);
-
-    /**
-     * Find all sessions for worker
-     */
-    List<PickSession> findByWorkerId(String workerId);
-
-    /**
-     * Find sessions by status
-     */
-    List<PickSession> findByStatus(SessionStatus status);
-
-    /**
-     * Find sessions by warehouse and status
-     */
-    List<PickSession> findByWarehouseIdAndStatus(String warehouseId, SessionStatus status);
-
-    /**
-     * Find sessions in warehouse
-     */
-    List<PickSession> findByWarehouseId(String warehouseId);
-
-    /**
-     * Find sessions created after date
-     */
-    List<PickSession> findByCreatedAtAfter(LocalDateTime date);
-
-    /**
-     * Find sessions completed after date
-     */
-    List<PickSession> findByCompletedAtAfter(LocalDateTime date);
-
-    /**
-     * Find sessions by worker and status
-     */
-    List<PickSession> findByWorkerIdAndStatus(String workerId, SessionStatus status);
+    @Override
+    Optional<PickSession> findById(String sessionId);
 
     /**
      * Count active sessions
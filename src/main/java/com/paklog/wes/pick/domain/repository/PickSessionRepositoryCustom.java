@@ -0,0 +1,119 @@
+package com.paklog.wes.pick.domain.repository;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repository operations served through the native pick session codec
+ * instead of Spring Data's reflective mapping.
+ * Lookups that can match terminal sessions also search the archive collection.
+ */
+public interface PickSessionRepositoryCustom {
+
+    /**
+     * Insert or version-checked replace of a session
+     */
+    <S extends PickSession> S save(S session);
+
+    /**
+     * Insert new sessions in one unordered write, reporting failures per session
+     */
+    BulkInsertResult insertAll(List<PickSession> sessions);
+
+    /**
+     * Find which of the given workers already have an active session
+     */
+    Set<String> findWorkersWithActiveSessions(Collection<String> workerIds);
+
+    /**
+     * Find session by ID, falling back to the archive
+     */
+    Optional<PickSession> findById(String sessionId);
+
+    /**
+     * Find session by ID with only the given parts read, falling back to the archive
+     */
+    Optional<PickSession> findById(String sessionId, Set<SessionField> fields);
+
+    /**
+     * Find active session for worker
+     */
+    Optional<PickSession> findActiveSessionByWorkerId(String workerId);
+
+    /**
+     * Find session by task ID, falling back to the archive
+     */
+    Optional<PickSession> findByTaskId(String taskId);
+
+    /**
+     * Find the sessions of the given tasks, consulting the archive only for tasks not found in the hot collection
+     */
+    List<PickSession> findByTaskIdIn(Collection<String> taskIds);
+
+    /**
+     * Find the ID of a task's session in the hot collection without loading the session.
+     * Archived sessions are terminal, so a task found only in the archive has no session to act on.
+     */
+    Optional<String> findSessionIdByTaskId(String taskId);
+
+    /**
+     * Find the version of a session without loading it, falling back to the archive
+     */
+    Optional<SessionVersion> findVersionById(String sessionId);
+
+    /**
+     * Find the ID and version of a worker's active session without loading it
+     */
+    Optional<SessionVersion> findActiveSessionVersionByWorkerId(String workerId);
+
+    /**
+     * Bind a worker to an active session in a single conditional update
+     */
+    WorkerAssignment assignWorker(String sessionId, String workerId);
+
+    /**
+     * Find all sessions for worker
+     */
+    List<PickSession> findByWorkerId(String workerId);
+
+    /**
+     * Find sessions by status
+     */
+    List<PickSession> findByStatus(SessionStatus status);
+
+    /**
+     * Find sessions by status with only the given parts read
+     */
+    List<PickSession> findByStatus(SessionStatus status, Set<SessionField> fields);
+
+    /**
+     * Find sessions by warehouse and status
+     */
+    List<PickSession> findByWarehouseIdAndStatus(String warehouseId, SessionStatus status);
+
+    /**
+     * Find sessions in warehouse
+     */
+    List<PickSession> findByWarehouseId(String warehouseId);
+
+    /**
+     * Find sessions created after date
+     */
+    List<PickSession> findByCreatedAtAfter(LocalDateTime date);
+
+    /**
+     * Find sessions completed after date
+     */
+    List<PickSession> findByCompletedAtAfter(LocalDateTime date);
+
+    /**
+     * Find sessions by worker and status
+     */
+    List<PickSession> findByWorkerIdAndStatus(String workerId, SessionStatus status);
+}
@@ -0,0 +1,26 @@
+package com.paklog.wes.pick.domain.repository;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking pick session operations used by the reactive mobile API.
+ * Same documents, codec and optimistic locking as {@link PickSessionRepository}.
+ */
+public interface ReactivePickSessionRepository {
+
+    /**
+     * Find active session for worker
+     */
+    Mono<PickSession> findActiveSessionByWorkerId(String workerId);
+
+    /**
+     * Find the id and version of the worker's active session without loading it
+     */
+    Mono<SessionVersion> findActiveSessionVersionByWorkerId(String workerId);
+
+    /**
+     * Insert or version-checked replace of a session
+     */
+    Mono<PickSession> save(PickSession session);
+}
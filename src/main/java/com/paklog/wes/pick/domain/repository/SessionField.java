@@ -0,0 +1,22 @@
+package com.paklog.wes.pick.domain.repository;
+
+/**
+ * Parts of a pick session a read can be limited to; the ID and version are always read.
+ * A session read with a subset of its parts is partial and must not be saved.
+ */
+public enum SessionField {
+    TASK_ID,
+    WORKER_ID,
+    WAREHOUSE_ID,
+    STRATEGY,
+    STATUS,
+    CART_ID,
+    /** The instruction lines, and with them every counter derived from them */
+    INSTRUCTIONS,
+    /** Only the counters derived from the instruction lines, computed by the store without reading them */
+    COUNTERS,
+    CURRENT_INDEX,
+    CREATED_AT,
+    STARTED_AT,
+    COMPLETED_AT
+}
@@ -0,0 +1,7 @@
+package com.paklog.wes.pick.domain.repository;
+
+/**
+ * Identity and optimistic-lock version of a session, read without loading the session
+ */
+public record SessionVersion(String sessionId, long version) {
+}
@@ -0,0 +1,15 @@
+package com.paklog.wes.pick.domain.repository;
+
+/**
+ * Outcome of binding a worker to a pick session
+ */
+public enum WorkerAssignment {
+    /** The worker is now bound to the session */
+    ASSIGNED,
+    /** The worker was already bound to the session */
+    UNCHANGED,
+    /** The worker is bound to another active session */
+    WORKER_BUSY,
+    /** The session does not exist or is no longer active */
+    NOT_ACTIVE
+}
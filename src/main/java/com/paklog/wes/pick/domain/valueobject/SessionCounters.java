@@ -0,0 +1,56 @@
+package com.paklog.wes.pick.domain.valueobject;
+
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+
+import java.util.List;
+
+/**
+ * Counters derived from a session's instruction lines.
+ * The picked quantity only counts complete instructions, as in {@code PickSession.calculateAccuracy}.
+ */
+public record SessionCounters(
+        int totalInstructions,
+        int completedInstructions,
+        int shortPicks,
+        int pickedQuantity,
+        int expectedQuantity
+) {
+
+    public static SessionCounters of(List<PickInstruction> instructions) {
+        int completed = 0;
+        int shortPicks = 0;
+        int picked = 0;
+        int expected = 0;
+        for (PickInstruction instruction : instructions) {
+            expected += instruction.getExpectedQuantity();
+            if (instruction.isComplete()) {
+                completed++;
+                picked += instruction.getPickedQuantity();
+            }
+            if (instruction.isShortPick()) {
+                shortPicks++;
+            }
+        }
+        return new SessionCounters(instructions.size(), completed, shortPicks, picked, expected);
+    }
+
+    /**
+     * Percentage of instructions complete; a session without instructions is done
+     */
+    public double progress() {
+        if (totalInstructions == 0) {
+            return 100.0;
+        }
+        return (completedInstructions / (double) totalInstructions) * 100.0;
+    }
+
+    /**
+     * Percentage of the expected quantity picked
+     */
+    public double accuracy() {
+        if (totalInstructions == 0 || expectedQuantity == 0) {
+            return 100.0;
+        }
+        return (pickedQuantity / (double) expectedQuantity) * 100.0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.paklog.wes.pick.events;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+
+/**
+ * Latest state of a pick session, published to the compacted session-state topic keyed by session id.
+ * A null value on that topic (tombstone) means the session left the hot store.
+ */
+public record PickSessionStateSnapshot(
+    @JsonProperty("session_id") String sessionId,
+    @JsonProperty("task_id") String taskId,
+    @JsonProperty("warehouse_id") String warehouseId,
+    @JsonProperty("worker_id") String workerId,
+    @JsonProperty("status") String status,
+    @JsonProperty("version") Long version,
+    @JsonProperty("total_instructions") int totalInstructions,
+    @JsonProperty("completed_instructions") int completedInstructions,
+    @JsonProperty("short_picks") int shortPicks,
+    @JsonProperty("progress_percentage") double progressPercentage,
+    @JsonProperty("current_instruction") CurrentInstruction currentInstruction,
+    @JsonProperty("captured_at") Instant capturedAt
+) {
+
+    public record CurrentInstruction(
+        @JsonProperty("instruction_id") String instructionId,
+        @JsonProperty("sku") String sku,
+        @JsonProperty("location") String location,
+        @JsonProperty("expected_quantity") int expectedQuantity
+    ) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.paklog.wes.pick.infrastructure.config;
+
+import com.paklog.wes.pick.infrastructure.persistence.ProcessedEventStore;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.annotation.EnableKafkaRetryTopic;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Kafka consumer configuration
+ * Task events are consumed in batches as raw bytes and parsed by the listener,
+ * which acknowledges each batch itself once its events have been handled.
+ * Failed events are consumed one record at a time from the retry topics.
+ * In exactly-once mode the batch container runs every batch in a Kafka transaction
+ * and only reads committed records.
+ * With spring.threads.virtual.enabled the consumers poll on virtual threads.
+ */
+@Configuration
+@EnableKafkaRetryTopic
+public class KafkaConsumerConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> taskEventListenerContainerFactory(
+            KafkaProperties kafkaProperties,
+            ProcessedEventStore processedEventStore,
+            Environment environment
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(taskEventConsumerFactory(kafkaProperties));
+        applyThreading(factory, environment, "task-event-consumer-");
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        // Newly assigned partitions are redelivered from their last commit; learn what their previous owner handled
+        factory.getContainerProperties().setConsumerRebalanceListener(new ConsumerRebalanceListener() {
+            @Override
+            public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            }
+
+            @Override
+            public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                if (!partitions.isEmpty()) {
+                    processedEventStore.refresh();
+                }
+            }
+        });
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> taskEventRetryContainerFactory(
+            KafkaProperties kafkaProperties,
+            Environment environment
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(taskEventConsumerFactory(kafkaProperties));
+        applyThreading(factory, environment, "task-event-retry-consumer-");
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> taskEventTransactionalContainerFactory(
+            KafkaProperties kafkaProperties,
+            @Qualifier("taskEventTransactionalKafkaTemplate") KafkaTemplate<String, Object> transactionalTemplate,
+            Environment environment
+    ) {
+        Map<String, Object> properties = kafkaProperties.buildConsumerProperties(null);
+        properties.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(
+                properties, new StringDeserializer(), new ByteArrayDeserializer()));
+        applyThreading(factory, environment, "task-event-tx-consumer-");
+        factory.setBatchListener(true);
+        // Offsets are sent to the transaction that carries the batch's output
+        factory.getContainerProperties().setTransactionManager(
+                new KafkaTransactionManager<>(transactionalTemplate.getProducerFactory()));
+        return factory;
+    }
+
+    // Not a bean: declaring one would replace Boot's consumer factory for every other listener
+    private static DefaultKafkaConsumerFactory<String, byte[]> taskEventConsumerFactory(KafkaProperties kafkaProperties) {
+        return new DefaultKafkaConsumerFactory<>(
+                kafkaProperties.buildConsumerProperties(null),
+                new StringDeserializer(),
+                new ByteArrayDeserializer()
+        );
+    }
+
+    // Boot only applies virtual threads to the listener containers it configures itself
+    private static void applyThreading(ConcurrentKafkaListenerContainerFactory<?, ?> factory,
+                                       Environment environment, String threadNamePrefix) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.paklog.wes.pick.infrastructure.config;
+
+import com.paklog.wes.pick.infrastructure.events.CloudEventBinarySerializer;
+import com.paklog.wes.pick.infrastructure.events.CloudEventJsonSerializer;
+import com.paklog.wes.pick.infrastructure.events.PickEventEncoding;
+import io.cloudevents.CloudEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Kafka producer configuration
+ * Pick events get their own tuned producer. Task events are forwarded to the retry
+ * and dead-letter topics as the raw bytes they were consumed with, so their payload
+ * and headers reach the next attempt unchanged.
+ * The exactly-once task event listener writes both through one transactional producer.
+ * Session-state snapshots go to a log-compacted topic that this service owns
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    /**
+     * Default template; declaring any template otherwise switches off Boot's own
+     */
+    @Bean
+    @Primary
+    public KafkaTemplate<?, ?> kafkaTemplate(ProducerFactory<Object, Object> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * Template for pick events: idempotent, compressed and batched per partition.
+     * JSON encoding writes structured-mode CloudEvents, COMPACT writes binary mode
+     */
+    @Bean
+    public KafkaTemplate<String, CloudEvent> pickEventKafkaTemplate(
+            KafkaProperties kafkaProperties,
+            MeterRegistry meterRegistry,
+            @Value("${pick.events.producer.linger:20ms}") Duration linger,
+            @Value("${pick.events.producer.batch-size:65536}") int batchSize,
+            @Value("${pick.events.producer.compression-type:lz4}") String compressionType,
+            @Value("${pick.events.producer.delivery-timeout:2m}") Duration deliveryTimeout,
+            @Value("${pick.events.encoding:JSON}") PickEventEncoding encoding
+    ) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties(null);
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, (int) linger.toMillis());
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        properties.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        properties.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, (int) deliveryTimeout.toMillis());
+
+        DefaultKafkaProducerFactory<String, CloudEvent> producerFactory = new DefaultKafkaProducerFactory<>(
+                properties, new StringSerializer(), cloudEventSerializer(encoding));
+        // Producer client metrics, including batch size and compression rate
+        producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * Transactional template shared by the pick events and forwarded task events of the
+     * exactly-once listener; its producer factory backs the listener's transaction manager
+     */
+    @Bean
+    public KafkaTemplate<String, Object> taskEventTransactionalKafkaTemplate(
+            KafkaProperties kafkaProperties,
+            @Value("${pick.consumer.exactly-once.transaction-id-prefix:pick-execution-tx-}") String transactionIdPrefix,
+            @Value("${pick.events.producer.compression-type:lz4}") String compressionType,
+            @Value("${pick.events.encoding:JSON}") PickEventEncoding encoding
+    ) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties(null);
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+
+        DefaultKafkaProducerFactory<String, Object> producerFactory = new DefaultKafkaProducerFactory<>(
+                properties, new StringSerializer(), new DelegatingByTypeSerializer(Map.of(
+                        byte[].class, new ByteArraySerializer(),
+                        CloudEvent.class, cloudEventSerializer(encoding)
+                ), true));
+        producerFactory.setTransactionIdPrefix(transactionIdPrefix);
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> taskEventKafkaTemplate(KafkaProperties kafkaProperties) {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                kafkaProperties.buildProducerProperties(null),
+                new StringSerializer(),
+                new ByteArraySerializer()
+        ));
+    }
+
+    /**
+     * Template for session-state snapshots; a null value is written as a tombstone
+     */
+    @Bean
+    public KafkaTemplate<String, byte[]> sessionStateKafkaTemplate(
+            KafkaProperties kafkaProperties,
+            @Value("${pick.events.producer.linger:20ms}") Duration linger,
+            @Value("${pick.events.producer.compression-type:lz4}") String compressionType
+    ) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties(null);
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, (int) linger.toMillis());
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                properties, new StringSerializer(), new ByteArraySerializer()));
+    }
+
+    /**
+     * Compacted session-state topic, created with the broker's default partitions and replication
+     */
+    @Bean
+    public NewTopic sessionStateTopic(
+            @Value("${paklog.kafka.topics.session-state:wes-pick-session-state}") String topic,
+            @Value("${pick.session-state.min-compaction-lag:1m}") Duration minCompactionLag
+    ) {
+        return TopicBuilder.name(topic)
+                .compact()
+                .config(TopicConfig.MIN_COMPACTION_LAG_MS_CONFIG, String.valueOf(minCompactionLag.toMillis()))
+                .build();
+    }
+
+    private static Serializer<CloudEvent> cloudEventSerializer(PickEventEncoding encoding) {
+        return encoding == PickEventEncoding.COMPACT ? new CloudEventBinarySerializer() : new CloudEventJsonSerializer();
+    }
+}
@@ -0,0 +1,36 @@
+package com.paklog.wes.pick.infrastructure.config;
+
+import com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionCodecProvider;
+import com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionReadingConverter;
+import com.mongodb.MongoClientSettings;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+/**
+ * Registers the hand-written pick session codecs with the MongoDB driver
+ * and with Spring Data's converter
+ */
+@Configuration
+public class MongoCodecConfig {
+
+    private static final CodecRegistry CODEC_REGISTRY = CodecRegistries.fromRegistries(
+            CodecRegistries.fromProviders(new PickSessionCodecProvider()),
+            MongoClientSettings.getDefaultCodecRegistry()
+    );
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer pickSessionCodecCustomizer() {
+        return builder -> builder.codecRegistry(CODEC_REGISTRY);
+    }
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new PickSessionReadingConverter(CODEC_REGISTRY)));
+    }
+}
@@ -1,14 +1,21 @@
 package com.paklog.wes.pick.infrastructure.config;
 
 import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.infrastructure.persistence.ProcessedEventStore;
+import com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionSchema;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.Duration;
 
 /**
  * MongoDB configuration and index creation
@@ -19,9 +26,15 @@ public class MongoConfig {
     private static final Logger logger = LoggerFactory.getLogger(MongoConfig.class);
 
     private final MongoTemplate mongoTemplate;
+    private final Duration archiveTtl;
+    private final Duration dedupTtl;
 
-    public MongoConfig(MongoTemplate mongoTemplate) {
+    public MongoConfig(MongoTemplate mongoTemplate,
+                       @Value("${pick.archive.ttl:}") Duration archiveTtl,
+                       @Value("${pick.dedup.ttl:7d}") Duration dedupTtl) {
         this.mongoTemplate = mongoTemplate;
+        this.archiveTtl = archiveTtl;
+        this.dedupTtl = dedupTtl;
     }
 
     @PostConstruct
@@ -32,9 +45,13 @@ public class MongoConfig {
 
         // Index for session ID (already created by MongoDB as _id)
 
-        // Index for task ID
-        indexOps.ensureIndex(new Index().on("taskId", Sort.Direction.ASC)
-                .named("idx_task_id"));
+        // Unique index for task ID: a task has exactly one session, however often its event is delivered.
+        // The non-unique index it replaces is only dropped once the unique one is built.
+        if (ensureUniqueIndex(indexOps, new Index().on("taskId", Sort.Direction.ASC)
+                .unique()
+                .named("idx_task_id_unique"), "tasks with more than one session")) {
+            dropLegacyIndex(indexOps, "idx_task_id");
+        }
 
         // Compound index for worker and status queries
         indexOps.ensureIndex(new Index()
@@ -42,6 +59,13 @@ public class MongoConfig {
                 .on("status", Sort.Direction.ASC)
                 .named("idx_worker_status"));
 
+        // At most one active session per worker; concurrent creations and assignments cannot both win.
+        // Sessions awaiting a picker share the placeholder worker and carry no flag, so any number may exist.
+        ensureUniqueIndex(indexOps, new Index().on("workerId", Sort.Direction.ASC)
+                .unique()
+                .partial(PartialIndexFilter.of(Criteria.where(PickSessionSchema.ASSIGNED_ACTIVE).is(true)))
+                .named("idx_worker_active_unique"), "workers with more than one active session");
+
         // Index for warehouse and status queries
         indexOps.ensureIndex(new Index()
                 .on("warehouseId", Sort.Direction.ASC)
@@ -68,6 +92,75 @@ public class MongoConfig {
                 .on("createdAt", Sort.Direction.DESC)
                 .named("idx_warehouse_created"));
 
+        // Compound index for the archiver's terminal session scan
+        indexOps.ensureIndex(new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("completedAt", Sort.Direction.ASC)
+                .named("idx_status_completed_at"));
+
+        initArchiveIndexes();
+        initDedupIndexes();
+
         logger.info("MongoDB indexes created successfully");
     }
+
+    /**
+     * Build a unique index over existing sessions; documents that already violate it fail the build,
+     * which is reported instead of stopping the service, leaving only the application checks in place
+     *
+     * @return whether the index exists
+     */
+    private boolean ensureUniqueIndex(IndexOperations indexOps, Index index, String violations) {
+        try {
+            indexOps.ensureIndex(index);
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Could not create unique index {}: the collection holds {}. Resolve them and restart "
+                    + "to enforce the constraint", index.getIndexOptions().get("name"), violations, e);
+            return false;
+        }
+    }
+
+    private void dropLegacyIndex(IndexOperations indexOps, String name) {
+        if (indexOps.getIndexInfo().stream().anyMatch(index -> name.equals(index.getName()))) {
+            logger.info("Dropping superseded index {}", name);
+            indexOps.dropIndex(name);
+        }
+    }
+
+    private void initArchiveIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(PickSessionSchema.ARCHIVE_COLLECTION);
+
+        // Index for completed timestamp, expiring archived sessions when a TTL is configured
+        Index completedAt = new Index().on("completedAt", Sort.Direction.ASC)
+                .named("idx_archive_completed_at");
+        if (archiveTtl != null && !archiveTtl.isZero()) {
+            completedAt.expire(archiveTtl);
+        }
+        indexOps.ensureIndex(completedAt);
+
+        // Index for task ID
+        indexOps.ensureIndex(new Index().on("taskId", Sort.Direction.ASC)
+                .named("idx_archive_task_id"));
+
+        // Compound index for worker history queries
+        indexOps.ensureIndex(new Index()
+                .on("workerId", Sort.Direction.ASC)
+                .on("status", Sort.Direction.ASC)
+                .named("idx_archive_worker_status"));
+
+        // Compound index for warehouse history queries
+        indexOps.ensureIndex(new Index()
+                .on("warehouseId", Sort.Direction.ASC)
+                .on("status", Sort.Direction.ASC)
+                .named("idx_archive_warehouse_status"));
+    }
+
+    private void initDedupIndexes() {
+        // Processed task event markers expire once redelivery of their event is no longer possible
+        mongoTemplate.indexOps(ProcessedEventStore.COLLECTION).ensureIndex(new Index()
+                .on(ProcessedEventStore.PROCESSED_AT, Sort.Direction.ASC)
+                .expire(dedupTtl)
+                .named("idx_processed_at"));
+    }
 }
@@ -0,0 +1,53 @@
+package com.paklog.wes.pick.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC configuration.
+ * Handhelds may send and accept application/cbor instead of JSON; JSON stays the default.
+ * The CBOR mapper is built from the application's Jackson configuration and uses Blackbird,
+ * which generates property accessors once per type instead of reflecting on every call.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public WebMvcConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MappingJackson2CborHttpMessageConverter cbor = new MappingJackson2CborHttpMessageConverter(
+                cborMapper(objectMapperBuilder));
+        // Replace the default CBOR converter, which does not see the application's Jackson settings
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        int json = -1;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                json = i;
+            }
+        }
+        converters.add(json >= 0 ? json + 1 : converters.size(), cbor);
+    }
+
+    /**
+     * CBOR mapper for mobile payloads
+     */
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory())
+                .build()
+                .registerModule(new BlackbirdModule());
+    }
+}
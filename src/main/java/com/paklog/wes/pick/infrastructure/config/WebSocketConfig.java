@@ -0,0 +1,78 @@
+package com.paklog.wes.pick.infrastructure.config;
+
+import com.paklog.wes.pick.adapter.websocket.WorkerHandshakeHandler;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
+
+/**
+ * STOMP over WebSocket for pushing instructions to handhelds.
+ * The in-memory broker heartbeats every connection. Each connection has a bounded
+ * send buffer: a client that cannot keep up is disconnected instead of buffering
+ * without limit, and resumes from its last version when it reconnects.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final TaskScheduler messageBrokerTaskScheduler;
+    private final Duration heartbeat;
+    private final DataSize sendBufferSizeLimit;
+    private final Duration sendTimeLimit;
+    private final int outboundQueueCapacity;
+
+    public WebSocketConfig(
+            @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler,
+            @Value("${pick.push.heartbeat:10s}") Duration heartbeat,
+            @Value("${pick.push.send-buffer-size-limit:64KB}") DataSize sendBufferSizeLimit,
+            @Value("${pick.push.send-time-limit:10s}") Duration sendTimeLimit,
+            @Value("${pick.push.outbound-queue-capacity:10000}") int outboundQueueCapacity
+    ) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+        this.heartbeat = heartbeat;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.sendTimeLimit = sendTimeLimit;
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        WorkerHandshakeHandler handshakeHandler = new WorkerHandshakeHandler();
+        registry.addEndpoint("/ws/picks")
+                .setHandshakeHandler(handshakeHandler)
+                .addInterceptors(handshakeHandler);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/queue")
+                .setHeartbeatValue(new long[]{heartbeat.toMillis(), heartbeat.toMillis()})
+                .setTaskScheduler(messageBrokerTaskScheduler);
+        registry.setApplicationDestinationPrefixes("/app");
+        registry.setUserDestinationPrefix("/user");
+        // Instruction pushes of one connection must arrive in version order
+        registry.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit((int) sendBufferSizeLimit.toBytes());
+        registration.setSendTimeLimit((int) sendTimeLimit.toMillis());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor().queueCapacity(outboundQueueCapacity);
+    }
+}
@@ -0,0 +1,58 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import io.cloudevents.CloudEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes CloudEvents in Kafka binary mode.
+ * Attributes travel as {@code ce_*} headers with {@code content-type} for the data
+ * content type; the record value is the event data unchanged.
+ */
+public class CloudEventBinarySerializer implements Serializer<CloudEvent> {
+
+    static final String HEADER_PREFIX = "ce_";
+    static final String CONTENT_TYPE_HEADER = "content-type";
+
+    @Override
+    public byte[] serialize(String topic, CloudEvent event) {
+        throw new SerializationException("Binary mode CloudEvents need record headers");
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, CloudEvent event) {
+        if (event == null) {
+            return null;
+        }
+        header(headers, "specversion", event.getSpecVersion().toString());
+        header(headers, "id", event.getId());
+        header(headers, "source", event.getSource().toString());
+        header(headers, "type", event.getType());
+        header(headers, "subject", event.getSubject());
+        if (event.getTime() != null) {
+            header(headers, "time", DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(event.getTime()));
+        }
+        for (String name : event.getExtensionNames()) {
+            Object value = event.getExtension(name);
+            if (value != null) {
+                header(headers, name, value.toString());
+            }
+        }
+        if (event.getDataContentType() != null) {
+            headers.remove(CONTENT_TYPE_HEADER);
+            headers.add(CONTENT_TYPE_HEADER, event.getDataContentType().getBytes(StandardCharsets.UTF_8));
+        }
+        return event.getData() != null ? event.getData().toBytes() : null;
+    }
+
+    private static void header(Headers headers, String attribute, String value) {
+        if (value != null) {
+            headers.remove(HEADER_PREFIX + attribute);
+            headers.add(HEADER_PREFIX + attribute, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
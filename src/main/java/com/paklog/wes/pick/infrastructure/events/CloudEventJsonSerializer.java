@@ -0,0 +1,72 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.cloudevents.CloudEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes CloudEvents in structured JSON mode.
+ * JSON data is embedded as is instead of being re-parsed; any other
+ * content type is carried base64 encoded in {@code data_base64}.
+ */
+public class CloudEventJsonSerializer implements Serializer<CloudEvent> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Override
+    public byte[] serialize(String topic, CloudEvent event) {
+        if (event == null) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("specversion", event.getSpecVersion().toString());
+            generator.writeStringField("id", event.getId());
+            generator.writeStringField("source", event.getSource().toString());
+            generator.writeStringField("type", event.getType());
+            writeOptional(generator, "datacontenttype", event.getDataContentType());
+            writeOptional(generator, "subject", event.getSubject());
+            if (event.getTime() != null) {
+                generator.writeStringField("time", DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(event.getTime()));
+            }
+            for (String name : event.getExtensionNames()) {
+                Object value = event.getExtension(name);
+                if (value != null) {
+                    generator.writeStringField(name, value.toString());
+                }
+            }
+            if (event.getData() != null) {
+                byte[] data = event.getData().toBytes();
+                if (isJson(event.getDataContentType())) {
+                    generator.writeFieldName("data");
+                    generator.writeRawValue(new String(data, StandardCharsets.UTF_8));
+                } else {
+                    generator.writeFieldName("data_base64");
+                    generator.writeBinary(data);
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new SerializationException("Could not serialize CloudEvent " + event.getId(), e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeOptional(JsonGenerator generator, String field, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType == null || contentType.startsWith("application/json") || contentType.endsWith("+json");
+    }
+}
@@ -0,0 +1,136 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs event handling on virtual threads, in parallel across keys and in
+ * submission order within a key. The number of submitted but unfinished tasks is
+ * bounded; submitting beyond the bound blocks the caller, which throttles the consumer.
+ * The bound can be lowered at runtime to shed load while the database is degraded.
+ */
+@Component
+public class KeyedTaskExecutor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyedTaskExecutor.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final int maxInFlight;
+    private final ResizableSemaphore permits;
+    private int limit;
+
+    public KeyedTaskExecutor(@Value("${pick.consumer.max-in-flight:256}") int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight tasks must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        this.limit = maxInFlight;
+        this.permits = new ResizableSemaphore(maxInFlight);
+    }
+
+    /**
+     * Run a task after every task previously submitted for the same key
+     */
+    public CompletableFuture<Void> submit(String key, Runnable task) {
+        return submit(List.of(key), task);
+    }
+
+    /**
+     * Run a task after every task previously submitted for any of the keys;
+     * later tasks for those keys wait for this one
+     */
+    public CompletableFuture<Void> submit(Collection<String> keys, Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight tasks", e);
+        }
+
+        CompletableFuture<Void> next;
+        synchronized (tails) {
+            CompletableFuture<?>[] previous = keys.stream()
+                    .distinct()
+                    .map(tails::get)
+                    .filter(tail -> tail != null)
+                    // A failed predecessor must not stall the rest of the key
+                    .map(tail -> tail.handle((result, error) -> null))
+                    .toArray(CompletableFuture[]::new);
+            next = CompletableFuture.allOf(previous).thenRunAsync(task, executor);
+            keys.forEach(key -> tails.put(key, next));
+        }
+
+        next.whenComplete((result, error) -> {
+            permits.release();
+            keys.forEach(key -> tails.remove(key, next));
+            if (error != null) {
+                logger.error("Event handling failed for keys {}", keys, error);
+            }
+        });
+        return next;
+    }
+
+    /**
+     * Change the in-flight bound, between one and the configured maximum.
+     * Lowering it lets running tasks finish; new submissions block until the
+     * in-flight count is below the new bound.
+     */
+    public synchronized void limit(int newLimit) {
+        int bounded = Math.max(1, Math.min(newLimit, maxInFlight));
+        int delta = bounded - limit;
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            permits.reduce(-delta);
+        }
+        limit = bounded;
+    }
+
+    /**
+     * Current in-flight bound
+     */
+    public synchronized int limit() {
+        return limit;
+    }
+
+    /**
+     * Number of submitted tasks that have not finished yet
+     */
+    public synchronized int inFlight() {
+        return limit - permits.availablePermits();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Semaphore whose permits can be withdrawn while they are held
+     */
+    private static final class ResizableSemaphore extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backs the task event consumers off while MongoDB is degraded, so that mobile
+ * requests keep the database to themselves.
+ * <p>
+ * Every sample reads the repository invocation timers of {@code PickSessionRepository}
+ * and derives the mean latency and error rate since the previous sample. Slow calls
+ * throttle the consumers by lowering the in-flight bound of the {@link KeyedTaskExecutor};
+ * very slow or failing calls pause every listener container. Escalation is immediate,
+ * recovery goes one level at a time after enough healthy samples.
+ */
+@Component
+public final class PersistenceBackpressureController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistenceBackpressureController.class);
+
+    static final String REPOSITORY = "PickSessionRepository";
+
+    public enum Level { NORMAL, THROTTLED, PAUSED }
+
+    private final MeterRegistry meterRegistry;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final KeyedTaskExecutor keyedTaskExecutor;
+    private final String metricName;
+    private final boolean enabled;
+    private final long throttleLatencyNanos;
+    private final long pauseLatencyNanos;
+    private final double pauseErrorRate;
+    private final int throttledInFlight;
+    private final int recoverySamples;
+
+    private volatile Level level = Level.NORMAL;
+    private long lastCount;
+    private long lastErrors;
+    private double lastTotalNanos;
+    private int healthySamples;
+
+    public PersistenceBackpressureController(
+            MeterRegistry meterRegistry,
+            KafkaListenerEndpointRegistry listenerRegistry,
+            KeyedTaskExecutor keyedTaskExecutor,
+            @Value("${management.metrics.data.repository.metric-name:spring.data.repository.invocations}") String metricName,
+            @Value("${pick.consumer.backpressure.enabled:true}") boolean enabled,
+            @Value("${pick.consumer.backpressure.throttle-latency:50ms}") Duration throttleLatency,
+            @Value("${pick.consumer.backpressure.pause-latency:250ms}") Duration pauseLatency,
+            @Value("${pick.consumer.backpressure.pause-error-rate:0.2}") double pauseErrorRate,
+            @Value("${pick.consumer.backpressure.throttled-in-flight:16}") int throttledInFlight,
+            @Value("${pick.consumer.backpressure.recovery-samples:3}") int recoverySamples
+    ) {
+        if (pauseLatency.compareTo(throttleLatency) < 0) {
+            throw new IllegalArgumentException("Pause latency must not be below throttle latency");
+        }
+        this.meterRegistry = meterRegistry;
+        this.listenerRegistry = listenerRegistry;
+        this.keyedTaskExecutor = keyedTaskExecutor;
+        this.metricName = metricName;
+        this.enabled = enabled;
+        this.throttleLatencyNanos = throttleLatency.toNanos();
+        this.pauseLatencyNanos = pauseLatency.toNanos();
+        this.pauseErrorRate = pauseErrorRate;
+        this.throttledInFlight = throttledInFlight;
+        this.recoverySamples = Math.max(1, recoverySamples);
+        Gauge.builder("pick.consumer.backpressure.level", this, controller -> controller.level().ordinal())
+                .description("Task event consumer backpressure: 0 normal, 1 throttled, 2 paused")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${pick.consumer.backpressure.sample-interval:PT5S}")
+    public void scheduledSample() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            sample();
+        } catch (Exception e) {
+            logger.error("Sampling persistence latency failed", e);
+        }
+    }
+
+    /**
+     * Compare the repository timers with the previous sample and adjust the consumers
+     *
+     * @return level in effect after the sample
+     */
+    public synchronized Level sample() {
+        long count = 0;
+        long errors = 0;
+        double totalNanos = 0;
+        for (Timer timer : meterRegistry.find(metricName).tag("repository", REPOSITORY).timers()) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+            if ("ERROR".equals(timer.getId().getTag("state"))) {
+                errors += timer.count();
+            }
+        }
+        long calls = count - lastCount;
+        long failed = errors - lastErrors;
+        double elapsedNanos = totalNanos - lastTotalNanos;
+        lastCount = count;
+        lastErrors = errors;
+        lastTotalNanos = totalNanos;
+
+        // Without calls there is no signal; count the sample as healthy so a paused consumer probes again
+        Level observed = calls > 0 ? classify(elapsedNanos / calls, failed / (double) calls) : Level.NORMAL;
+        if (observed.compareTo(level) > 0) {
+            apply(observed, calls, elapsedNanos, failed);
+        } else if (observed.compareTo(level) < 0 && ++healthySamples >= recoverySamples) {
+            apply(Level.values()[level.ordinal() - 1], calls, elapsedNanos, failed);
+        } else if (observed == level) {
+            healthySamples = 0;
+        }
+        return level;
+    }
+
+    public Level level() {
+        return level;
+    }
+
+    private Level classify(double meanNanos, double errorRate) {
+        if (meanNanos >= pauseLatencyNanos || errorRate >= pauseErrorRate) {
+            return Level.PAUSED;
+        }
+        if (meanNanos >= throttleLatencyNanos || errorRate > 0) {
+            return Level.THROTTLED;
+        }
+        return Level.NORMAL;
+    }
+
+    private void apply(Level next, long calls, double elapsedNanos, long failed) {
+        logger.warn("Task event backpressure {} -> {} ({} repository calls, mean {} ms, {} failed)", level, next,
+                calls, calls > 0 ? Math.round(elapsedNanos / calls / 1_000_000) : 0, failed);
+        keyedTaskExecutor.limit(next == Level.NORMAL ? Integer.MAX_VALUE : throttledInFlight);
+        for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+            if (next == Level.PAUSED && container.isRunning()) {
+                container.pause();
+            } else if (next != Level.PAUSED && container.isPauseRequested()) {
+                container.resume();
+            }
+        }
+        level = next;
+        healthySamples = 0;
+    }
+}
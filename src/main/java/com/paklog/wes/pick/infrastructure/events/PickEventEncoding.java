@@ -0,0 +1,11 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+/**
+ * Wire format of published pick events, see {@code pick.events.encoding}
+ */
+public enum PickEventEncoding {
+    /** Structured-mode CloudEvents with JSON data */
+    JSON,
+    /** Binary-mode CloudEvents: attributes in headers, compact schema-encoded data in the value */
+    COMPACT
+}
@@ -0,0 +1,79 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import com.paklog.wes.pick.events.PickSessionStateSnapshot;
+import com.paklog.wes.pick.events.PickingStartedEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maps pick sessions to the integration events published for them
+ */
+public final class PickEventMapper {
+
+    private PickEventMapper() {
+    }
+
+    /**
+     * Build the started event of a session
+     */
+    public static PickingStartedEvent started(PickSession session) {
+        PickPath path = session.getOptimizedPath();
+        List<String> locationSequence = path != null
+                ? path.nodes().stream().map(node -> node.location().toDisplayString()).toList()
+                : List.of();
+        Instant startedAt = session.getStartedAt() != null
+                ? session.getStartedAt().atZone(ZoneId.systemDefault()).toInstant()
+                : null;
+        return new PickingStartedEvent(
+                session.getSessionId(),
+                session.getTaskId(),
+                null, // Sessions do not keep the wave of their task
+                session.getWorkerId(),
+                locationSequence,
+                session.getPickInstructions().stream().mapToInt(PickInstruction::getExpectedQuantity).sum(),
+                startedAt,
+                path != null ? path.totalDistance() : 0.0
+        );
+    }
+
+    /**
+     * CloudEvent id of a session's started event; the same on every redelivery,
+     * so consumers can drop repeats by id
+     */
+    public static String startedEventId(PickSession session) {
+        return UUID.nameUUIDFromBytes((PickingStartedEvent.EVENT_TYPE + ":" + session.getSessionId())
+                .getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Build the session-state snapshot of a session
+     */
+    public static PickSessionStateSnapshot snapshot(PickSession session) {
+        PickInstruction current = session.getCurrentInstruction();
+        return new PickSessionStateSnapshot(
+                session.getSessionId(),
+                session.getTaskId(),
+                session.getWarehouseId(),
+                session.getWorkerId(),
+                session.getStatus() != null ? session.getStatus().name() : null,
+                session.getVersion(),
+                session.getPickInstructions().size(),
+                session.getCompletedInstructionCount(),
+                session.getShortPickCount(),
+                session.getProgress(),
+                current != null ? new PickSessionStateSnapshot.CurrentInstruction(
+                        current.getInstructionId(),
+                        current.getItemSku(),
+                        current.getLocation() != null ? current.getLocation().toDisplayString() : null,
+                        current.getExpectedQuantity()) : null,
+                Instant.now()
+        );
+    }
+}
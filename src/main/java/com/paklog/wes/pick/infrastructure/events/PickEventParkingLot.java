@@ -0,0 +1,179 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Durable holding area for pick events the producer gave up on.
+ * Parked events keep their CloudEvent id, so consumers can recognise a
+ * republished event, and are sent again on a fixed delay until the broker takes them.
+ * A republish run waits at most {@code pick.events.parking.send-timeout} for the whole
+ * batch; events not acknowledged by then stay parked for the next run.
+ */
+@Component
+public class PickEventParkingLot {
+
+    private static final Logger logger = LoggerFactory.getLogger(PickEventParkingLot.class);
+
+    public static final String COLLECTION = "parked_pick_events";
+
+    private final MongoTemplate mongoTemplate;
+    private final KafkaTemplate<String, CloudEvent> kafkaTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Counter parkedCounter;
+    private final Counter republishedCounter;
+
+    public PickEventParkingLot(
+            MongoTemplate mongoTemplate,
+            @Qualifier("pickEventKafkaTemplate") KafkaTemplate<String, CloudEvent> kafkaTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${pick.events.parking.batch-size:200}") int batchSize,
+            @Value("${pick.events.parking.send-timeout:30s}") Duration sendTimeout
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.parkedCounter = Counter.builder("pick.events.parked")
+                .description("Pick events parked after the producer gave up on them")
+                .register(meterRegistry);
+        this.republishedCounter = Counter.builder("pick.events.republished")
+                .description("Parked pick events delivered on a later attempt")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Park an event that could not be delivered. Event ids are deterministic, so an event
+     * already parked under the same id is refreshed and keeps its place in the queue.
+     */
+    public void park(String topic, String key, CloudEvent event, Throwable cause) {
+        collection().updateOne(Filters.eq("_id", event.getId()), Updates.combine(
+                Updates.set("topic", topic),
+                Updates.set("key", key),
+                Updates.set("type", event.getType()),
+                Updates.set("source", event.getSource().toString()),
+                Updates.set("time", event.getTime() != null ? Date.from(event.getTime().toInstant()) : null),
+                Updates.set("contentType", event.getDataContentType()),
+                Updates.set("data", event.getData() != null ? new Binary(event.getData().toBytes()) : null),
+                Updates.set("error", String.valueOf(cause)),
+                Updates.inc("attempts", 1),
+                Updates.setOnInsert("parkedAt", new Date())
+        ), new UpdateOptions().upsert(true));
+        parkedCounter.increment();
+        logger.warn("Parked pick event {} of type {} for topic {}: {}", event.getId(), event.getType(), topic, cause.toString());
+    }
+
+    @Scheduled(fixedDelayString = "${pick.events.parking.retry-interval:PT30S}",
+            initialDelayString = "${pick.events.parking.initial-delay:PT30S}")
+    public void scheduledRepublish() {
+        try {
+            republish();
+        } catch (Exception e) {
+            logger.error("Republishing parked pick events failed", e);
+        }
+    }
+
+    /**
+     * Send the oldest parked events again and wait for all of them under one deadline
+     *
+     * @return number of events delivered
+     */
+    public int republish() {
+        List<Document> parked = collection().find()
+                .sort(Sorts.ascending("parkedAt"))
+                .limit(batchSize)
+                .into(new ArrayList<>());
+        if (parked.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(parked.size());
+        for (Document document : parked) {
+            sends.add(kafkaTemplate.send(document.getString("topic"), document.getString("key"), toEvent(document)));
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Outcomes are recorded per event below
+        }
+
+        List<Object> delivered = new ArrayList<>(parked.size());
+        for (int i = 0; i < parked.size(); i++) {
+            Object id = parked.get(i).get("_id");
+            CompletableFuture<?> send = sends.get(i);
+            if (send.state() == Future.State.SUCCESS) {
+                delivered.add(id);
+                continue;
+            }
+            Object error = send.state() == Future.State.FAILED
+                    ? send.exceptionNow()
+                    : "No broker acknowledgement within " + sendTimeout;
+            collection().updateOne(Filters.eq("_id", id), Updates.combine(
+                    Updates.inc("attempts", 1),
+                    Updates.set("error", String.valueOf(error))));
+        }
+        if (!delivered.isEmpty()) {
+            collection().deleteMany(Filters.in("_id", delivered));
+        }
+
+        republishedCounter.increment(delivered.size());
+        logger.info("Republished {} of {} parked pick events", delivered.size(), parked.size());
+        return delivered.size();
+    }
+
+    private CloudEvent toEvent(Document document) {
+        CloudEventBuilder builder = CloudEventBuilder.v1()
+                .withId(document.getString("_id"))
+                .withSource(URI.create(document.getString("source")))
+                .withType(document.getString("type"))
+                .withDataContentType(document.getString("contentType"));
+        Date time = document.getDate("time");
+        if (time != null) {
+            builder.withTime(OffsetDateTime.ofInstant(time.toInstant(), ZoneOffset.UTC));
+        }
+        Binary data = document.get("data", Binary.class);
+        if (data != null) {
+            builder.withData(data.getData());
+        }
+        return builder.build();
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
@@ -1,19 +1,44 @@
 package com.paklog.wes.pick.infrastructure.events;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pick.infrastructure.events.codec.PickEventCodecs;
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.builder.CloudEventBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
 import java.time.OffsetDateTime;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 /**
  * Publisher for Pick Execution events using CloudEvents format
+ * Sends never block the caller: the producer batches records per partition
+ * (see {@code pick.events.producer.*}) and every send completes a future.
+ * Events the producer gives up on after its own retries are parked for republishing.
+ * With {@code pick.events.encoding=COMPACT} the known pick events are encoded with
+ * their compact codec; anything else still carries JSON data.
+ * <p>
+ * Called inside a Kafka transaction, e.g. from the exactly-once task event listener,
+ * events are sent through the transactional producer instead: they become visible
+ * only when the transaction commits, and a failed send aborts it rather than parking.
  */
 @Service
 public class PickEventPublisher {
@@ -22,29 +47,149 @@ public class PickEventPublisher {
     private static final String SOURCE = "paklog://pick-execution-service";
 
     private final KafkaTemplate<String, CloudEvent> kafkaTemplate;
+    private final KafkaTemplate<String, Object> transactionalTemplate;
     private final ObjectMapper objectMapper;
+    private final PickEventParkingLot parkingLot;
+    private final MeterRegistry meterRegistry;
+    private final PickEventCodecs codecs;
+    private final PickEventEncoding encoding;
+    private final Counter failedCounter;
+    private final Map<String, SendTimers> sendTimers = new ConcurrentHashMap<>();
+    // Parking writes to MongoDB; keep them off the producer's network thread
+    private final Executor parkingExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("pick-event-parking-", 0).factory());
 
-    public PickEventPublisher(KafkaTemplate<String, CloudEvent> kafkaTemplate, ObjectMapper objectMapper) {
+    public PickEventPublisher(@Qualifier("pickEventKafkaTemplate") KafkaTemplate<String, CloudEvent> kafkaTemplate,
+                              @Qualifier("taskEventTransactionalKafkaTemplate") KafkaTemplate<String, Object> transactionalTemplate,
+                              ObjectMapper objectMapper,
+                              PickEventParkingLot parkingLot,
+                              MeterRegistry meterRegistry,
+                              PickEventCodecs codecs,
+                              @Value("${pick.events.encoding:JSON}") PickEventEncoding encoding) {
         this.kafkaTemplate = kafkaTemplate;
+        this.transactionalTemplate = transactionalTemplate;
         this.objectMapper = objectMapper;
+        this.parkingLot = parkingLot;
+        this.meterRegistry = meterRegistry;
+        this.codecs = codecs;
+        this.encoding = encoding;
+        this.failedCounter = Counter.builder("pick.events.failed")
+                .description("Pick event sends the producer gave up on")
+                .register(meterRegistry);
     }
 
+    /**
+     * Publish an event without waiting for the outcome
+     */
     public void publish(String topic, String key, String eventType, Object eventData) {
+        publishAsync(topic, key, eventType, eventData);
+    }
+
+    /**
+     * Publish an event
+     *
+     * @return completes once the event is acknowledged by the broker or parked;
+     *         fails only when it could be neither
+     */
+    public CompletableFuture<PublishResult> publishAsync(String topic, String key, String eventType, Object eventData) {
+        return publishAsync(topic, key, UUID.randomUUID().toString(), eventType, eventData);
+    }
+
+    /**
+     * Publish an event under a caller-chosen id, e.g. one derived from the aggregate
+     * so that a redelivered command re-emits the same event
+     */
+    public CompletableFuture<PublishResult> publishAsync(String topic, String key, String eventId, String eventType,
+                                                         Object eventData) {
+        CloudEvent cloudEvent;
         try {
-            CloudEvent cloudEvent = CloudEventBuilder.v1()
-                .withId(UUID.randomUUID().toString())
+            CloudEventBuilder builder = CloudEventBuilder.v1()
+                .withId(eventId)
                 .withSource(URI.create(SOURCE))
                 .withType(eventType)
-                .withDataContentType("application/json")
-                .withTime(OffsetDateTime.now())
-                .withData(objectMapper.writeValueAsBytes(eventData))
-                .build();
-
-            kafkaTemplate.send(topic, key, cloudEvent);
-            log.info("Event published: type={}, key={}, topic={}", eventType, key, topic);
-        } catch (Exception e) {
-            log.error("Failed to publish event: type={}, key={}", eventType, key, e);
-            throw new RuntimeException("Failed to publish event", e);
+                .withTime(OffsetDateTime.now());
+            if (encoding == PickEventEncoding.COMPACT && codecs.supports(eventData)) {
+                builder.withDataContentType(PickEventCodecs.CONTENT_TYPE)
+                        .withData(codecs.encode(eventData));
+            } else {
+                builder.withDataContentType("application/json")
+                        .withData(objectMapper.writeValueAsBytes(eventData));
+            }
+            cloudEvent = builder.build();
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize event: type={}, key={}", eventType, key, e);
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Failed to serialize event " + eventType, e));
+        }
+        return send(topic, key, cloudEvent);
+    }
+
+    private CompletableFuture<PublishResult> send(String topic, String key, CloudEvent cloudEvent) {
+        if (transactionalTemplate.inTransaction()) {
+            return sendInTransaction(topic, key, cloudEvent);
         }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<SendResult<String, CloudEvent>> sent;
+        try {
+            sent = kafkaTemplate.send(topic, key, cloudEvent);
+        } catch (RuntimeException e) {
+            // e.g. the producer buffer stayed full for max.block.ms
+            sent = CompletableFuture.failedFuture(e);
+        }
+
+        return sent.handle((result, error) -> {
+            sample.stop(sendTimer(topic, error == null));
+            if (error == null) {
+                RecordMetadata metadata = result.getRecordMetadata();
+                log.debug("Event published: type={}, key={}, topic={}, partition={}, offset={}",
+                        cloudEvent.getType(), key, topic, metadata.partition(), metadata.offset());
+                return CompletableFuture.completedFuture(
+                        new PublishResult(cloudEvent.getId(), topic, metadata.partition(), metadata.offset(), false));
+            }
+            failedCounter.increment();
+            return CompletableFuture.supplyAsync(() -> {
+                parkingLot.park(topic, key, cloudEvent, error);
+                return new PublishResult(cloudEvent.getId(), topic, -1, -1, true);
+            }, parkingExecutor);
+        }).thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<PublishResult> sendInTransaction(String topic, String key, CloudEvent cloudEvent) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // Failures propagate: the transaction aborts and its input is redelivered
+        return transactionalTemplate.send(topic, key, cloudEvent).handle((result, error) -> {
+            sample.stop(sendTimer(topic, error == null));
+            if (error != null) {
+                failedCounter.increment();
+                throw new CompletionException(error);
+            }
+            RecordMetadata metadata = result.getRecordMetadata();
+            return new PublishResult(cloudEvent.getId(), topic, metadata.partition(), metadata.offset(), false);
+        });
+    }
+
+    private Timer sendTimer(String topic, boolean success) {
+        SendTimers timers = sendTimers.computeIfAbsent(topic, name -> new SendTimers(
+                latencyTimer(name, "success"), latencyTimer(name, "failure")));
+        return success ? timers.success() : timers.failure();
+    }
+
+    private Timer latencyTimer(String topic, String outcome) {
+        return Timer.builder("pick.events.publish.latency")
+                .description("Time from send until the broker acknowledged or the producer gave up")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Latency timers of one topic, registered on its first send
+     */
+    private record SendTimers(Timer success, Timer failure) {
+    }
+
+    /**
+     * Outcome of a publish; parked events have no partition or offset yet
+     */
+    public record PublishResult(String eventId, String topic, int partition, long offset, boolean parked) {
     }
 }
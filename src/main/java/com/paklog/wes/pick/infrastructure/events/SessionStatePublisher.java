@@ -0,0 +1,201 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pick.application.projection.PickSessionChangeListener;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.events.PickSessionStateSnapshot;
+import com.paklog.wes.pick.infrastructure.persistence.MongoLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes the latest state of each pick session to a log-compacted topic keyed by session id.
+ * Changes are coalesced per session between flushes, so a burst of confirms on one session
+ * produces a single record per flush interval; sessions leaving the hot store become tombstones.
+ * <p>
+ * Every replica sees every change, but only the holder of the session-state lease publishes,
+ * so records of a session are never interleaved by two producers and compaction keeps the newest.
+ * Standby replicas keep the changes of the last two lease periods, enough to take over
+ * without a gap once the owner stops renewing. A failed send is only retried when no newer
+ * record of its session has been handed to the producer since.
+ */
+@Component
+public class SessionStatePublisher implements PickSessionChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionStatePublisher.class);
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    private final boolean enabled;
+    private final MongoLease lease;
+    private final Duration standbyRetention;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    // Latest record per session handed to the producer and not yet acknowledged
+    private final Map<String, Pending> inFlight = new ConcurrentHashMap<>();
+    private final Counter publishedCounter;
+    private final Counter coalescedCounter;
+
+    @Autowired
+    public SessionStatePublisher(
+            @Qualifier("sessionStateKafkaTemplate") KafkaTemplate<String, byte[]> kafkaTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            MongoTemplate mongoTemplate,
+            @Value("${paklog.kafka.topics.session-state:wes-pick-session-state}") String topic,
+            @Value("${pick.session-state.enabled:true}") boolean enabled,
+            @Value("${pick.session-state.lease-ttl:PT15S}") Duration leaseTtl
+    ) {
+        this(kafkaTemplate, objectMapper, meterRegistry, new MongoLease(mongoTemplate, "session-state", leaseTtl),
+                leaseTtl.multipliedBy(2), topic, enabled);
+    }
+
+    SessionStatePublisher(KafkaTemplate<String, byte[]> kafkaTemplate, ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry, MongoLease lease, Duration standbyRetention,
+                          String topic, boolean enabled) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.lease = lease;
+        this.standbyRetention = standbyRetention;
+        this.topic = topic;
+        this.enabled = enabled;
+        this.publishedCounter = Counter.builder("pick.session.state.published")
+                .description("Session-state records written to the compacted topic")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("pick.session.state.coalesced")
+                .description("Session changes folded into a pending session-state record")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onChange(PickSession session) {
+        offer(session);
+    }
+
+    @Override
+    public void onDelete(String sessionId) {
+        tombstone(sessionId);
+    }
+
+    /**
+     * Queue the current state of a session; a newer version replaces any pending one
+     */
+    public void offer(PickSession session) {
+        if (!enabled) {
+            return;
+        }
+        queue(session.getSessionId(), new Pending(PickEventMapper.snapshot(session), System.nanoTime()));
+    }
+
+    /**
+     * Queue a tombstone for a session that left the hot store
+     */
+    public void tombstone(String sessionId) {
+        if (!enabled) {
+            return;
+        }
+        queue(sessionId, new Pending(null, System.nanoTime()));
+    }
+
+    @Scheduled(fixedDelayString = "${pick.session-state.flush-interval:PT1S}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Flushing session-state records failed", e);
+        }
+    }
+
+    /**
+     * Send one record per session changed since the last flush, if this replica holds the lease
+     *
+     * @return number of records handed to the producer
+     */
+    public int flush() {
+        if (!enabled) {
+            return 0;
+        }
+        if (!lease.acquire()) {
+            long cutoff = System.nanoTime() - standbyRetention.toNanos();
+            pending.values().removeIf(state -> state.queuedAt() - cutoff < 0);
+            return 0;
+        }
+        int sent = 0;
+        for (String sessionId : pending.keySet()) {
+            Pending state = pending.remove(sessionId);
+            if (state == null) {
+                continue;
+            }
+            byte[] value;
+            try {
+                value = state.snapshot() != null ? objectMapper.writeValueAsBytes(state.snapshot()) : null;
+            } catch (JsonProcessingException e) {
+                logger.error("Could not serialize session state of {}", sessionId, e);
+                continue;
+            }
+            inFlight.put(sessionId, state);
+            kafkaTemplate.send(topic, sessionId, value).whenComplete((result, ex) -> {
+                boolean latest = inFlight.remove(sessionId, state);
+                if (ex == null) {
+                    return;
+                }
+                if (latest) {
+                    // Put the state back unless a newer change is already waiting
+                    queue(sessionId, state);
+                    logger.warn("Could not publish session state of {}, retrying on next flush: {}", sessionId, ex.toString());
+                } else {
+                    logger.debug("Dropping failed session state of {}; a newer record was sent since", sessionId);
+                }
+            });
+            sent++;
+        }
+        publishedCounter.increment(sent);
+        return sent;
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void queue(String sessionId, Pending state) {
+        pending.compute(sessionId, (id, current) -> {
+            if (current == null) {
+                return state;
+            }
+            coalescedCounter.increment();
+            return state.supersedes(current) ? state : current;
+        });
+    }
+
+    /**
+     * A record waiting to be sent; a null snapshot is a tombstone
+     */
+    private record Pending(PickSessionStateSnapshot snapshot, long queuedAt) {
+
+        /**
+         * Tombstones win; otherwise the change stream may hand over versions out of order
+         */
+        boolean supersedes(Pending current) {
+            if (snapshot == null || current.snapshot() == null) {
+                return snapshot == null;
+            }
+            Long version = snapshot.version();
+            Long currentVersion = current.snapshot().version();
+            return version == null || currentVersion == null || version >= currentVersion;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Re-injects dead-lettered task events into the main task event topic once the
+ * cause of their failure has been fixed. Replayed offsets are committed under a
+ * dedicated consumer group, so each parked event is replayed once.
+ */
+@Component
+public class TaskEventDltReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventDltReplayer.class);
+
+    private static final List<String> FAILURE_HEADER_PREFIXES = List.of("x-", "kafka_", "retry_topic-");
+
+    private final Supplier<Consumer<String, byte[]>> consumerFactory;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final String deadLetterTopic;
+    private final String taskEventsTopic;
+    private final Duration pollTimeout;
+    // Replays run one at a time; a lock rather than a monitor, since a replay blocks on Kafka
+    private final ReentrantLock replayLock = new ReentrantLock();
+
+    @Autowired
+    public TaskEventDltReplayer(
+            KafkaProperties kafkaProperties,
+            @Qualifier("taskEventKafkaTemplate") KafkaTemplate<String, byte[]> kafkaTemplate,
+            TaskEventFailureRouter failureRouter,
+            @Value("${paklog.kafka.topics.task-events:wes-task-events}") String taskEventsTopic,
+            @Value("${paklog.kafka.consumer.group-id:pick-execution-service}") String groupId,
+            @Value("${pick.consumer.retry.replay-poll-timeout:PT2S}") Duration pollTimeout
+    ) {
+        this(() -> createConsumer(kafkaProperties, groupId + "-dlt-replay"),
+                kafkaTemplate, failureRouter.deadLetterTopic(), taskEventsTopic, pollTimeout);
+    }
+
+    TaskEventDltReplayer(Supplier<Consumer<String, byte[]>> consumerFactory,
+                         KafkaTemplate<String, byte[]> kafkaTemplate,
+                         String deadLetterTopic,
+                         String taskEventsTopic,
+                         Duration pollTimeout) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.deadLetterTopic = deadLetterTopic;
+        this.taskEventsTopic = taskEventsTopic;
+        this.pollTimeout = pollTimeout;
+    }
+
+    /**
+     * Replay up to limit dead-lettered events
+     *
+     * @return number of events sent back to the task event topic
+     */
+    public int replay(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Replay limit must be positive");
+        }
+
+        replayLock.lock();
+        try (Consumer<String, byte[]> consumer = consumerFactory.get()) {
+            consumer.assign(consumer.partitionsFor(deadLetterTopic).stream()
+                    .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                    .toList());
+
+            List<CompletableFuture<?>> sends = new ArrayList<>();
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            while (sends.size() < limit) {
+                List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+                consumer.poll(pollTimeout).forEach(records::add);
+                if (records.isEmpty()) {
+                    break;
+                }
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    if (sends.size() == limit) {
+                        break;
+                    }
+                    sends.add(kafkaTemplate.send(toTaskEvent(record)));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+
+            // Only commit once every replayed event is durably back on the main topic
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+            if (!offsets.isEmpty()) {
+                consumer.commitSync(offsets);
+            }
+            logger.info("Replayed {} task events from {} to {}", sends.size(), deadLetterTopic, taskEventsTopic);
+            return sends.size();
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    public String deadLetterTopic() {
+        return deadLetterTopic;
+    }
+
+    private ProducerRecord<String, byte[]> toTaskEvent(ConsumerRecord<String, byte[]> record) {
+        ProducerRecord<String, byte[]> replayed = new ProducerRecord<>(taskEventsTopic, null, record.key(), record.value());
+        for (Header header : record.headers()) {
+            if (FAILURE_HEADER_PREFIXES.stream().noneMatch(header.key()::startsWith)) {
+                replayed.headers().add(header);
+            }
+        }
+        return replayed;
+    }
+
+    private static Consumer<String, byte[]> createConsumer(KafkaProperties kafkaProperties, String groupId) {
+        Map<String, Object> properties = kafkaProperties.buildConsumerProperties(null);
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new KafkaConsumer<>(properties, new StringDeserializer(), new ByteArrayDeserializer());
+    }
+}
@@ -0,0 +1,110 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Moves task events that could not be handled off the main topic.
+ * Transient failures go to the retry topic, whose listener backs off through
+ * the retry tiers; deterministic failures go straight to the dead-letter topic.
+ * Inside a Kafka transaction the events are forwarded through the transactional
+ * producer, so they are moved exactly when the consumed offsets are committed.
+ */
+@Component
+public class TaskEventFailureRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventFailureRouter.class);
+
+    public static final String DLT_SUFFIX = "-dlt";
+    public static final String ORIGINAL_TOPIC_HEADER = "x-original-topic";
+    public static final String ORIGINAL_PARTITION_HEADER = "x-original-partition";
+    public static final String ORIGINAL_OFFSET_HEADER = "x-original-offset";
+    public static final String EXCEPTION_HEADER = "x-exception";
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final KafkaTemplate<String, Object> transactionalTemplate;
+    private final String retryTopic;
+
+    public TaskEventFailureRouter(
+            @Qualifier("taskEventKafkaTemplate") KafkaTemplate<String, byte[]> kafkaTemplate,
+            @Qualifier("taskEventTransactionalKafkaTemplate") KafkaTemplate<String, Object> transactionalTemplate,
+            @Value("${paklog.kafka.topics.task-events-retry:wes-task-events-retry}") String retryTopic
+    ) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionalTemplate = transactionalTemplate;
+        this.retryTopic = retryTopic;
+    }
+
+    /**
+     * Route events that failed together, e.g. one bulk creation
+     */
+    public CompletableFuture<Void> route(Collection<ConsumerRecord<String, byte[]>> records, Throwable cause) {
+        String topic = isRetryable(cause) ? retryTopic : deadLetterTopic();
+        logger.warn("Routing {} task events to {} after failure: {}", records.size(), topic, cause.toString());
+        return CompletableFuture.allOf(records.stream()
+                .map(record -> send(topic, record, cause))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Park an event that can never be handled
+     */
+    public CompletableFuture<Void> deadLetter(ConsumerRecord<String, byte[]> record, Throwable cause) {
+        logger.error("Dead-lettering task event {}-{}@{}: {}",
+                record.topic(), record.partition(), record.offset(), cause.toString());
+        return send(deadLetterTopic(), record, cause);
+    }
+
+    public String deadLetterTopic() {
+        return retryTopic + DLT_SUFFIX;
+    }
+
+    /**
+     * Malformed payloads and rejected commands fail the same way on every attempt
+     */
+    static boolean isRetryable(Throwable cause) {
+        for (Throwable current = cause; current != null; current = current.getCause()) {
+            if (current instanceof IOException
+                    || current instanceof IllegalArgumentException
+                    || current instanceof IllegalStateException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CompletableFuture<Void> send(String topic, ConsumerRecord<String, byte[]> record, Throwable cause) {
+        ProducerRecord<String, byte[]> forwarded = new ProducerRecord<>(topic, null, record.key(), record.value());
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith("x-")) {
+                forwarded.headers().add(header);
+            }
+        }
+        forwarded.headers()
+                .add(ORIGINAL_TOPIC_HEADER, bytes(record.topic()))
+                .add(ORIGINAL_PARTITION_HEADER, bytes(String.valueOf(record.partition())))
+                .add(ORIGINAL_OFFSET_HEADER, bytes(String.valueOf(record.offset())))
+                .add(EXCEPTION_HEADER, bytes(String.valueOf(cause)));
+        if (transactionalTemplate.inTransaction()) {
+            return transactionalTemplate.send(new ProducerRecord<>(topic, null, forwarded.key(), (Object) forwarded.value(),
+                    forwarded.headers())).thenApply(result -> null);
+        }
+        return kafkaTemplate.send(forwarded).thenApply(result -> null);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
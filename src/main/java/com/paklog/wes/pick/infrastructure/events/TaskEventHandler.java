@@ -7,19 +7,20 @@ import com.paklog.wes.pick.domain.aggregate.PickSession;
 import com.paklog.wes.pick.domain.entity.PickInstruction;
 import com.paklog.wes.pick.domain.valueobject.Location;
 import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.events.PickingStartedEvent;
+import com.paklog.wes.pick.integration.contracts.TaskAssignedContract;
+import com.paklog.wes.pick.integration.contracts.TaskCreatedContract;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 
 /**
  * Event handler for Task events
- * Listens to task-related events and creates pick sessions
+ * Translates task contracts into pick session commands (Anti-Corruption Layer)
  */
 @Component
 public class TaskEventHandler {
@@ -27,143 +28,116 @@ public class TaskEventHandler {
     private static final Logger logger = LoggerFactory.getLogger(TaskEventHandler.class);
 
     private final PickSessionService pickSessionService;
+    private final PickEventPublisher pickEventPublisher;
+    private final String pickEventsTopic;
 
-    public TaskEventHandler(PickSessionService pickSessionService) {
+    public TaskEventHandler(PickSessionService pickSessionService,
+                            PickEventPublisher pickEventPublisher,
+                            @Value("${paklog.kafka.topics.pick-events:wes-pick-events}") String pickEventsTopic) {
         this.pickSessionService = pickSessionService;
+        this.pickEventPublisher = pickEventPublisher;
+        this.pickEventsTopic = pickEventsTopic;
     }
 
     /**
-     * Handle TaskCreatedEvent from task-execution-service
-     * Creates pick sessions for PICK tasks
+     * Handle TaskCreatedEvents from task-execution-service
+     * Creates pick sessions for PICK tasks in one bulk operation and announces them.
+     * Tasks that already had a session, i.e. redelivered events, announce that session
+     * again under the same event id.
+     *
+     * @return tasks whose session could not be created, for the caller to retry
      */
-    @KafkaListener(
-            topics = "${paklog.kafka.topics.task-events:wes-task-events}",
-            groupId = "${paklog.kafka.consumer.group-id:pick-execution-service}"
-    )
-    public void handleTaskCreated(Map<String, Object> eventData) {
-        try {
-            String eventType = (String) eventData.get("type");
-
-            if (!"TaskCreatedEvent".equals(eventType)) {
-                return; // Ignore other event types
+    public List<PickSessionService.CreateFailure> handleTaskCreated(List<TaskCreatedContract> events) {
+        List<StartPickSessionCommand> commands = new ArrayList<>(events.size());
+        List<PickSessionService.CreateFailure> failures = new ArrayList<>();
+        for (TaskCreatedContract event : events) {
+            if (!event.isPickTask()) {
+                continue; // Only handle PICK tasks
             }
-
-            String taskType = (String) eventData.get("taskType");
-            if (!"PICK".equals(taskType)) {
-                return; // Only handle PICK tasks
+            try {
+                StartPickSessionCommand command = toCommand(event);
+                if (command != null) {
+                    commands.add(command);
+                }
+            } catch (Exception e) {
+                logger.error("Error creating pick session for task {}", event.taskId(), e);
+                failures.add(new PickSessionService.CreateFailure(event.taskId(), null, e.toString()));
             }
-
-            logger.info("Received TaskCreatedEvent for PICK task: {}", eventData);
-
-            String taskId = (String) eventData.get("taskId");
-            String warehouseId = (String) eventData.get("warehouseId");
-            String referenceId = (String) eventData.get("referenceId"); // Wave ID
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> context = (Map<String, Object>) eventData.get("context");
-
-            // Create pick session for this task
-            createPickSession(taskId, warehouseId, referenceId, context);
-
-            logger.info("Created pick session for task {}", taskId);
-
-        } catch (Exception e) {
-            logger.error("Error handling TaskCreatedEvent", e);
-            // In production, publish to dead letter queue
         }
-    }
 
-    private void createPickSession(String taskId,
-                                   String warehouseId,
-                                   String waveId,
-                                   Map<String, Object> context) {
-        if (context == null) {
-            logger.warn("Ignoring task {} creation event - missing context payload", taskId);
-            return;
+        if (commands.isEmpty()) {
+            return failures;
         }
 
-        try {
-            PickStrategy strategy = parseStrategy(context.get("strategy"));
-            List<PickInstruction> instructions = extractPickInstructions(context);
-
-            if (instructions.isEmpty()) {
-                logger.warn("Ignoring task {} creation event - no pick instructions provided", taskId);
-                return;
-            }
+        PickSessionService.BulkCreateResult result = pickSessionService.createSessions(commands);
+        result.created().forEach(session -> logger.debug("Created pick session {} for task {} using strategy {}",
+                session.getSessionId(), session.getTaskId(), session.getStrategy()));
+        result.failures().forEach(failure -> logger.error("Error creating pick session for task {}: {}",
+                failure.taskId(), failure.reason()));
 
-            String workerId = stringValue(context.get("workerId"), "UNASSIGNED");
-            String cartId = stringValue(context.get("cartId"), waveId != null ? waveId : "SYSTEM-CART");
-
-            StartPickSessionCommand command = new StartPickSessionCommand(
-                    taskId,
-                    workerId,
-                    warehouseId,
-                    strategy,
-                    cartId,
-                    instructions
-            );
-
-            PickSession session = pickSessionService.createSession(command);
-
-            logger.debug("Created pick session {} for task {} using strategy {}",
-                    session.getSessionId(), taskId, strategy);
-
-        } catch (Exception e) {
-            logger.error("Error creating pick session for task {}", taskId, e);
-        }
+        result.created().forEach(this::publishStarted);
+        result.existing().forEach(this::publishStarted);
+        failures.addAll(result.failures());
+        return failures;
     }
 
     /**
      * Handle TaskAssignedEvent from task-execution-service
-     * Notifies picker of new assignment
+     * Binds the assigned picker to the task's session
      */
-    @KafkaListener(
-            topics = "${paklog.kafka.topics.task-events:wes-task-events}",
-            groupId = "${paklog.kafka.consumer.group-id:pick-execution-service}"
-    )
-    public void handleTaskAssigned(Map<String, Object> eventData) {
-        try {
-            String eventType = (String) eventData.get("type");
-
-            if (!"TaskAssignedEvent".equals(eventType)) {
-                return;
-            }
-
-            String taskType = (String) eventData.get("taskType");
-            if (!"PICK".equals(taskType)) {
-                return;
-            }
-
-            logger.info("Received TaskAssignedEvent for PICK task: {}", eventData);
+    public void handleTaskAssigned(TaskAssignedContract event) {
+        if (!event.isPickTask()) {
+            return;
+        }
 
-            String taskId = (String) eventData.get("taskId");
-            String assignedTo = (String) eventData.get("assignedTo");
+        String taskId = event.taskId();
+        String assignedTo = event.workerId();
 
-            if (assignedTo == null || assignedTo.isBlank()) {
-                logger.warn("Ignoring TaskAssignedEvent for task {} - missing assigned picker", taskId);
-                return;
-            }
+        if (assignedTo == null || assignedTo.isBlank()) {
+            logger.warn("Ignoring TaskAssignedEvent for task {} - missing assigned picker", taskId);
+            return;
+        }
 
-            boolean sessionExists = pickSessionService.getActiveSessions().stream()
-                    .anyMatch(session -> Objects.equals(session.getTaskId(), taskId));
+        // Failures propagate so the listener can move the event to the retry topic
+        if (pickSessionService.assignWorker(taskId, assignedTo)) {
+            logger.info("Picker {} assigned to pick session for task {}", assignedTo, taskId);
+        } else {
+            logger.warn("No active pick session found for task {} when assigning picker {}", taskId, assignedTo);
+        }
+    }
 
-            if (sessionExists) {
-                logger.info("Picker {} assigned to pick session for task {}", assignedTo, taskId);
-            } else {
-                logger.warn("No active pick session found for task {} when assigning picker {}", taskId, assignedTo);
-            }
+    private void publishStarted(PickSession session) {
+        pickEventPublisher.publishAsync(pickEventsTopic, session.getSessionId(), PickEventMapper.startedEventId(session),
+                PickingStartedEvent.EVENT_TYPE, PickEventMapper.started(session));
+    }
 
-        } catch (Exception e) {
-            logger.error("Error handling TaskAssignedEvent", e);
+    private StartPickSessionCommand toCommand(TaskCreatedContract event) {
+        String taskId = event.taskId();
+        TaskCreatedContract.PickContext context = event.context();
+        if (context == null) {
+            logger.warn("Ignoring task {} creation event - missing context payload", taskId);
+            return null;
         }
-    }
 
-    private PickStrategy parseStrategy(Object rawStrategy) {
-        if (rawStrategy instanceof PickStrategy strategy) {
-            return strategy;
+        List<PickInstruction> instructions = toPickInstructions(context.instructions());
+        if (instructions.isEmpty()) {
+            logger.warn("Ignoring task {} creation event - no pick instructions provided", taskId);
+            return null;
         }
 
-        if (rawStrategy instanceof String strategyName && !strategyName.isBlank()) {
+        String waveId = event.waveId();
+        return new StartPickSessionCommand(
+                taskId,
+                stringValue(context.workerId(), PickSession.UNASSIGNED_WORKER),
+                event.warehouseId(),
+                parseStrategy(context.strategy()),
+                stringValue(context.cartId(), waveId != null ? waveId : "SYSTEM-CART"),
+                instructions
+        );
+    }
+
+    private PickStrategy parseStrategy(String strategyName) {
+        if (strategyName != null && !strategyName.isBlank()) {
             try {
                 return PickStrategy.valueOf(strategyName.toUpperCase());
             } catch (IllegalArgumentException ex) {
@@ -174,62 +148,46 @@ public class TaskEventHandler {
         return PickStrategy.SINGLE;
     }
 
-    @SuppressWarnings("unchecked")
-    private List<PickInstruction> extractPickInstructions(Map<String, Object> context) {
-        Object rawInstructions = context.get("instructions");
-        if (!(rawInstructions instanceof Iterable<?> iterable)) {
+    private List<PickInstruction> toPickInstructions(List<TaskCreatedContract.Instruction> rawInstructions) {
+        if (rawInstructions == null) {
             return List.of();
         }
 
-        List<PickInstruction> instructions = new ArrayList<>();
-        for (Object raw : iterable) {
-            if (!(raw instanceof Map<?, ?> instructionMap)) {
+        List<PickInstruction> instructions = new ArrayList<>(rawInstructions.size());
+        for (TaskCreatedContract.Instruction raw : rawInstructions) {
+            if (raw == null) {
                 continue;
             }
 
-            String instructionId = stringValue(instructionMap.get("instructionId"), null);
-            String sku = stringValue(instructionMap.get("itemSku"), null);
-            Number quantityValue = asNumber(instructionMap.get("expectedQuantity"));
-
-            Location location = buildLocation(instructionMap.get("location"));
+            Location location = buildLocation(raw.location());
 
-            if (instructionId == null || sku == null || quantityValue == null || location == null) {
-                logger.warn("Skipping instruction due to missing required fields: {}", instructionMap);
+            if (raw.instructionId() == null || raw.itemSku() == null || raw.expectedQuantity() == null || location == null) {
+                logger.warn("Skipping instruction due to missing required fields: {}", raw);
                 continue;
             }
 
-            int expectedQuantity = quantityValue.intValue();
+            int expectedQuantity = raw.expectedQuantity();
             if (expectedQuantity <= 0) {
-                logger.warn("Skipping instruction {} due to invalid quantity {}", instructionId, expectedQuantity);
+                logger.warn("Skipping instruction {} due to invalid quantity {}", raw.instructionId(), expectedQuantity);
                 continue;
             }
 
-            String description = stringValue(instructionMap.get("itemDescription"), null);
-            String orderId = stringValue(instructionMap.get("orderId"), null);
-            Priority priority = parsePriority(instructionMap.get("priority"));
-
-            PickInstruction instruction = new PickInstruction(
-                    instructionId,
-                    sku,
-                    description,
+            instructions.add(new PickInstruction(
+                    raw.instructionId(),
+                    raw.itemSku(),
+                    raw.itemDescription(),
                     expectedQuantity,
                     location,
-                    orderId,
-                    priority
-            );
-
-            instructions.add(instruction);
+                    raw.orderId(),
+                    parsePriority(raw.priority())
+            ));
         }
 
         return instructions;
     }
 
-    private Priority parsePriority(Object rawPriority) {
-        if (rawPriority instanceof Priority priority) {
-            return priority;
-        }
-
-        if (rawPriority instanceof String priorityName && !priorityName.isBlank()) {
+    private Priority parsePriority(String priorityName) {
+        if (priorityName != null && !priorityName.isBlank()) {
             try {
                 return Priority.valueOf(priorityName.toUpperCase());
             } catch (IllegalArgumentException ex) {
@@ -240,16 +198,15 @@ public class TaskEventHandler {
         return Priority.NORMAL;
     }
 
-    @SuppressWarnings("unchecked")
-    private Location buildLocation(Object rawLocation) {
-        if (!(rawLocation instanceof Map<?, ?> locationMap)) {
+    private Location buildLocation(TaskCreatedContract.InstructionLocation rawLocation) {
+        if (rawLocation == null) {
             return null;
         }
 
-        String aisle = stringValue(locationMap.get("aisle"), null);
-        String bay = stringValue(locationMap.get("bay"), null);
-        String level = stringValue(locationMap.get("level"), null);
-        String position = stringValue(locationMap.get("position"), null);
+        String aisle = stringValue(rawLocation.aisle(), null);
+        String bay = stringValue(rawLocation.bay(), null);
+        String level = stringValue(rawLocation.level(), null);
+        String position = stringValue(rawLocation.position(), null);
 
         if (aisle == null || bay == null || level == null) {
             return null;
@@ -258,27 +215,7 @@ public class TaskEventHandler {
         return new Location(aisle, bay, level, position);
     }
 
-    private Number asNumber(Object value) {
-        if (value instanceof Number number) {
-            return number;
-        }
-
-        if (value instanceof String text && !text.isBlank()) {
-            try {
-                return Integer.parseInt(text.trim());
-            } catch (NumberFormatException ex) {
-                logger.warn("Unable to parse numeric value '{}'", text);
-            }
-        }
-
-        return null;
-    }
-
-    private String stringValue(Object value, String defaultValue) {
-        if (value == null) {
-            return defaultValue;
-        }
-        String text = Objects.toString(value, defaultValue);
-        return text != null && !text.isBlank() ? text : defaultValue;
+    private String stringValue(String value, String defaultValue) {
+        return value != null && !value.isBlank() ? value : defaultValue;
     }
 }
@@ -0,0 +1,548 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.paklog.wes.pick.application.service.PickSessionService;
+import com.paklog.wes.pick.infrastructure.persistence.ProcessedEventStore;
+import com.paklog.wes.pick.integration.contracts.TaskAssignedContract;
+import com.paklog.wes.pick.integration.contracts.TaskCreatedContract;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.DltHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Single batch consumer for the task event topic.
+ * Each record is scanned with a streaming parser for its CloudEvent type and only
+ * bound to a typed contract when the type is routed; all other events are skipped
+ * without being materialized. Accepts binary CloudEvents (ce_type header),
+ * structured CloudEvents and the legacy flat task messages.
+ * <p>
+ * Handling is handed to the {@link KeyedTaskExecutor} keyed by task ID, so tasks are
+ * processed in parallel while each task sees its events in order. A batch is
+ * acknowledged once its events and those of every earlier batch have finished. A batch
+ * whose failed events could not even be parked stops the consumer: no later batch is
+ * acknowledged, and after {@code pick.consumer.restart-delay} the container restarts
+ * from the last committed offset, so the batch is redelivered.
+ * Events that fail, including the single tasks of a bulk creation whose session could
+ * not be created, are moved to the retry topic, which this listener also consumes
+ * with exponential backoff tiers and a final dead-letter topic, so a failure never
+ * blocks or drops the main topic.
+ * <p>
+ * Redelivered events are skipped: each event is keyed by its CloudEvent id, or by
+ * type and task ID for legacy messages, and checked against the {@link ProcessedEventStore}.
+ * <p>
+ * With {@code pick.consumer.exactly-once.enabled} a transactional listener takes over:
+ * each batch is handled on the consumer thread inside a Kafka transaction that carries
+ * the emitted pick events, the events moved to the retry topic and the consumed offsets.
+ * Session creation is idempotent per task, so a batch redelivered after an aborted
+ * transaction re-emits the same events instead of creating sessions twice.
+ */
+@Component
+public class TaskEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventListener.class);
+
+    static final String LISTENER_ID = "taskEvents";
+    static final String CE_TYPE_HEADER = "ce_type";
+    static final String CE_ID_HEADER = "ce_id";
+    private static final String TYPE_FIELD = "type";
+    private static final String ID_FIELD = "id";
+    private static final String SPEC_VERSION_FIELD = "specversion";
+    private static final String DATA_FIELD = "data";
+
+    private final TaskEventHandler taskEventHandler;
+    private final KeyedTaskExecutor keyedTaskExecutor;
+    private final TaskEventFailureRouter failureRouter;
+    private final ProcessedEventStore processedEventStore;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final Duration restartDelay;
+    private final JsonFactory jsonFactory;
+    private final Map<String, Route<?>> routes;
+    // A restart starts new ack chains; chains of the previous run never acknowledge again
+    private final AtomicInteger generation = new AtomicInteger();
+    private final AtomicBoolean restarting = new AtomicBoolean();
+    // Acks must reach each consumer in offset order; every consumer has its own thread
+    private final ThreadLocal<AckChain> lastAck =
+            ThreadLocal.withInitial(() -> new AckChain(generation.get(), CompletableFuture.completedFuture(null)));
+
+    public TaskEventListener(TaskEventHandler taskEventHandler,
+                             KeyedTaskExecutor keyedTaskExecutor,
+                             TaskEventFailureRouter failureRouter,
+                             ProcessedEventStore processedEventStore,
+                             KafkaListenerEndpointRegistry listenerRegistry,
+                             ObjectMapper objectMapper,
+                             @Value("${pick.consumer.restart-delay:PT10S}") Duration restartDelay) {
+        this.taskEventHandler = taskEventHandler;
+        this.keyedTaskExecutor = keyedTaskExecutor;
+        this.failureRouter = failureRouter;
+        this.processedEventStore = processedEventStore;
+        this.listenerRegistry = listenerRegistry;
+        this.restartDelay = restartDelay;
+        this.jsonFactory = objectMapper.getFactory();
+
+        // Without a CloudEvent id, a task is created once but may be assigned several times
+        Route<TaskCreatedContract> created = new Route<>(reader(objectMapper, TaskCreatedContract.class),
+                TaskCreatedContract::taskId, (batch, event) -> batch.created.add(event));
+        Route<TaskAssignedContract> assigned = new Route<>(reader(objectMapper, TaskAssignedContract.class),
+                event -> event.taskId() != null ? event.taskId() + ":" + event.workerId() + ":" + event.assignedAt() : null,
+                (batch, event) -> batch.assigned.add(event));
+        this.routes = Map.of(
+                TaskCreatedContract.EVENT_TYPE, created,
+                TaskCreatedContract.LEGACY_EVENT_TYPE, created,
+                TaskAssignedContract.EVENT_TYPE, assigned,
+                TaskAssignedContract.LEGACY_EVENT_TYPE, assigned
+        );
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            topics = "${paklog.kafka.topics.task-events:wes-task-events}",
+            groupId = "${paklog.kafka.consumer.group-id:pick-execution-service}",
+            containerFactory = "taskEventListenerContainerFactory",
+            autoStartup = "#{!${pick.consumer.exactly-once.enabled:false}}"
+    )
+    public void onTaskEvents(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        CompletableFuture<Void> handled = dispatch(records).whenComplete((result, error) -> {
+            if (error != null) {
+                // Offsets stay uncommitted from here on, so the batch is redelivered after the restart
+                logger.error("Task events could neither be handled nor parked; restarting the consumer in {}",
+                        restartDelay, error);
+                restartConsumer();
+            }
+        });
+        int current = generation.get();
+        AckChain chain = lastAck.get();
+        CompletableFuture<Void> previous = chain.generation() == current
+                ? chain.ack()
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<Void> ack = previous
+                .thenCombine(handled, (earlier, batch) -> null)
+                .thenRun(acknowledgment::acknowledge);
+        lastAck.set(new AckChain(current, ack));
+    }
+
+    /**
+     * Stop the batch consumer and start it again after the restart delay, once per failure
+     */
+    void restartConsumer() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+        if (container == null || !restarting.compareAndSet(false, true)) {
+            return;
+        }
+        container.stop(() -> CompletableFuture.runAsync(() -> {
+            generation.incrementAndGet();
+            restarting.set(false);
+            container.start();
+            logger.info("Task event consumer restarted from the last committed offsets");
+        }, CompletableFuture.delayedExecutor(restartDelay.toMillis(), TimeUnit.MILLISECONDS)));
+    }
+
+    /**
+     * Handle a batch inside the container's Kafka transaction.
+     * The processed-event store is not consulted: its marks are not part of the transaction
+     * and would hide a batch whose transaction aborted after the sessions were written.
+     */
+    @KafkaListener(
+            id = "taskEventsExactlyOnce",
+            topics = "${paklog.kafka.topics.task-events:wes-task-events}",
+            groupId = "${paklog.kafka.consumer.group-id:pick-execution-service}",
+            containerFactory = "taskEventTransactionalContainerFactory",
+            autoStartup = "${pick.consumer.exactly-once.enabled:false}"
+    )
+    public void onTaskEventsExactlyOnce(List<ConsumerRecord<String, byte[]>> records) {
+        Batch batch = new Batch();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                collect(record, batch);
+            } catch (Exception e) {
+                failureRouter.deadLetter(record, e);
+            }
+        }
+        // Repeats within the batch are still dropped; creation is idempotent either way
+        batch.removeProcessed(Set.of());
+
+        if (!batch.created.isEmpty()) {
+            routeOnFailure(batch.created, () -> create(batch.created));
+        }
+        batch.assigned.forEach(assigned -> routeOnFailure(List.of(assigned), () -> {
+            taskEventHandler.handleTaskAssigned(assigned.event());
+            return Unhandled.NONE;
+        }));
+    }
+
+    /**
+     * Consume events moved to the retry topic; failures back off through the retry tiers
+     */
+    @RetryableTopic(
+            attempts = "${pick.consumer.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${pick.consumer.retry.initial-delay-ms:1000}",
+                    multiplierExpression = "${pick.consumer.retry.multiplier:4.0}",
+                    maxDelayExpression = "${pick.consumer.retry.max-delay-ms:60000}"
+            ),
+            retryTopicSuffix = "-backoff",
+            dltTopicSuffix = TaskEventFailureRouter.DLT_SUFFIX,
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            exclude = {IOException.class, IllegalArgumentException.class, IllegalStateException.class},
+            traversingCauses = "true",
+            kafkaTemplate = "taskEventKafkaTemplate",
+            listenerContainerFactory = "taskEventRetryContainerFactory"
+    )
+    @KafkaListener(
+            topics = "${paklog.kafka.topics.task-events-retry:wes-task-events-retry}",
+            groupId = "${paklog.kafka.consumer.group-id:pick-execution-service}",
+            containerFactory = "taskEventRetryContainerFactory"
+    )
+    public void onRetry(ConsumerRecord<String, byte[]> record) throws IOException {
+        Batch batch = new Batch();
+        collect(record, batch);
+        batch.removeProcessed(processed(batch.keys()));
+        if (!batch.created.isEmpty()) {
+            Unhandled unhandled = create(batch.created);
+            if (!unhandled.events().isEmpty()) {
+                throw unhandled.cause();
+            }
+        }
+        batch.assigned.forEach(assigned -> taskEventHandler.handleTaskAssigned(assigned.event()));
+        markProcessed(batch.keys());
+    }
+
+    @DltHandler
+    public void onDeadLetter(ConsumerRecord<String, byte[]> record) {
+        logger.error("Task event parked in dead-letter topic {} at offset {}; replay it once the cause is fixed",
+                record.topic(), record.offset());
+    }
+
+    /**
+     * Parse a record batch in one pass and submit its events per task
+     *
+     * @return completes when every event of the batch has been handled or parked
+     */
+    CompletableFuture<Void> dispatch(List<ConsumerRecord<String, byte[]>> records) {
+        Batch batch = new Batch();
+        List<CompletableFuture<Void>> work = new ArrayList<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                collect(record, batch);
+            } catch (Exception e) {
+                work.add(failureRouter.deadLetter(record, e));
+            }
+        }
+
+        int duplicates = batch.removeProcessed(processed(batch.keys()));
+        logger.debug("Task event batch: {} records, {} created, {} assigned, {} duplicates",
+                records.size(), batch.created.size(), batch.assigned.size(), duplicates);
+
+        if (!batch.created.isEmpty()) {
+            // One bulk creation for the batch; later events of these tasks wait for it
+            List<Received<TaskCreatedContract>> created = List.copyOf(batch.created);
+            List<String> taskIds = created.stream().map(received -> String.valueOf(received.event().taskId())).toList();
+            work.add(keyedTaskExecutor.submit(taskIds, guarded(created, () -> create(created))));
+        }
+        for (Received<TaskAssignedContract> assigned : batch.assigned) {
+            work.add(keyedTaskExecutor.submit(String.valueOf(assigned.event().taskId()),
+                    guarded(List.of(assigned), () -> {
+                        taskEventHandler.handleTaskAssigned(assigned.event());
+                        return Unhandled.NONE;
+                    })));
+        }
+
+        return CompletableFuture.allOf(work.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Run a handler and park the events it could not handle instead of failing the batch;
+     * only the events it handled are recorded as processed
+     */
+    private Runnable guarded(List<? extends Received<?>> events, Supplier<Unhandled> handler) {
+        return () -> {
+            Unhandled unhandled = handle(events, handler);
+            if (!unhandled.events().isEmpty()) {
+                failureRouter.route(records(unhandled.events()), unhandled.cause()).join();
+            }
+            List<String> handled = events.stream()
+                    .filter(received -> !unhandled.events().contains(received))
+                    .map(Received::key)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (!handled.isEmpty()) {
+                markProcessed(handled);
+            }
+        };
+    }
+
+    /**
+     * Run a handler in the current transaction and move the events it could not handle;
+     * the forwarded records commit together with the batch
+     */
+    private void routeOnFailure(List<? extends Received<?>> events, Supplier<Unhandled> handler) {
+        Unhandled unhandled = handle(events, handler);
+        if (!unhandled.events().isEmpty()) {
+            failureRouter.route(records(unhandled.events()), unhandled.cause());
+        }
+    }
+
+    private static Unhandled handle(List<? extends Received<?>> events, Supplier<Unhandled> handler) {
+        try {
+            return handler.get();
+        } catch (RuntimeException e) {
+            return new Unhandled(List.copyOf(events), e);
+        }
+    }
+
+    /**
+     * Create the sessions of a batch in one bulk call
+     *
+     * @return the events of tasks whose session was not created
+     */
+    private Unhandled create(List<Received<TaskCreatedContract>> created) {
+        List<PickSessionService.CreateFailure> failures = taskEventHandler.handleTaskCreated(events(created));
+        if (failures.isEmpty()) {
+            return Unhandled.NONE;
+        }
+        Set<String> failedTasks = failures.stream()
+                .map(PickSessionService.CreateFailure::taskId)
+                .collect(Collectors.toSet());
+        List<Received<TaskCreatedContract>> failed = created.stream()
+                .filter(received -> failedTasks.contains(received.event().taskId()))
+                .toList();
+        // Not a rejected command: a busy worker or a failed insert may succeed on a later attempt
+        return new Unhandled(failed, new RuntimeException("Pick sessions not created: " + failures.stream()
+                .map(failure -> failure.taskId() + " (" + failure.reason() + ")")
+                .collect(Collectors.joining(", "))));
+    }
+
+    private static List<ConsumerRecord<String, byte[]>> records(List<? extends Received<?>> events) {
+        return events.stream().map(Received::record).toList();
+    }
+
+    private Set<String> processed(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            return processedEventStore.findProcessed(keys);
+        } catch (RuntimeException e) {
+            // Handlers still reject duplicate sessions; a dedup outage must not stop consumption
+            logger.warn("Could not check task events for redelivery, handling all of them", e);
+            return Set.of();
+        }
+    }
+
+    private void markProcessed(Collection<String> keys) {
+        try {
+            processedEventStore.markProcessed(keys);
+        } catch (RuntimeException e) {
+            logger.warn("Could not record {} handled task events; a redelivery would handle them again", keys.size(), e);
+        }
+    }
+
+    private static <T> List<T> events(List<Received<T>> received) {
+        return received.stream().map(Received::event).toList();
+    }
+
+    private void collect(ConsumerRecord<String, byte[]> record, Batch batch) throws IOException {
+        byte[] value = record.value();
+        if (value == null || value.length == 0) {
+            return;
+        }
+
+        String headerType = header(record, CE_TYPE_HEADER);
+        if (headerType != null) {
+            // Binary mode: the record value is the event data
+            Route<?> route = routes.get(headerType);
+            if (route != null) {
+                route.bind(record, headerType, header(record, CE_ID_HEADER), value, batch);
+            }
+            return;
+        }
+
+        Envelope envelope = scanEnvelope(value);
+        Route<?> route = envelope.type() != null ? routes.get(envelope.type()) : null;
+        if (route == null) {
+            logger.trace("Ignoring task event type: {}", envelope.type());
+            return;
+        }
+
+        if (!envelope.structured()) {
+            // Legacy flat message: the whole value is the payload
+            route.bind(record, envelope.type(), envelope.id(), value, batch);
+            return;
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(value)) {
+            if (seekTopLevelField(parser, DATA_FIELD)) {
+                route.bind(record, envelope.type(), envelope.id(), parser, batch);
+            }
+        }
+    }
+
+    private static ObjectReader reader(ObjectMapper objectMapper, Class<?> contractType) {
+        // Envelope attributes and fields added by newer producers are not part of the contract
+        return objectMapper.readerFor(contractType).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private String header(ConsumerRecord<String, byte[]> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Read only the top-level type and id attributes, skipping every nested value
+     */
+    private Envelope scanEnvelope(byte[] value) throws IOException {
+        String type = null;
+        String id = null;
+        boolean structured = false;
+        try (JsonParser parser = jsonFactory.createParser(value)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new Envelope(null, null, false);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (TYPE_FIELD.equals(field) && token == JsonToken.VALUE_STRING) {
+                    type = parser.getText();
+                } else if (ID_FIELD.equals(field) && token == JsonToken.VALUE_STRING) {
+                    id = parser.getText();
+                } else if (SPEC_VERSION_FIELD.equals(field)) {
+                    structured = true;
+                } else {
+                    parser.skipChildren();
+                }
+                if (type != null && id != null && structured) {
+                    break;
+                }
+            }
+        }
+        // Only CloudEvent ids are unique per event; legacy messages are keyed by task
+        return new Envelope(type, structured ? id : null, structured);
+    }
+
+    private boolean seekTopLevelField(JsonParser parser, String name) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (name.equals(field)) {
+                return token == JsonToken.START_OBJECT;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private record Envelope(String type, String id, boolean structured) {}
+
+    /**
+     * Acknowledgement of a consumer's latest batch, in the consumer run it belongs to
+     */
+    private record AckChain(int generation, CompletableFuture<Void> ack) {}
+
+    /**
+     * Events a handler could not handle and why
+     */
+    private record Unhandled(List<? extends Received<?>> events, RuntimeException cause) {
+        static final Unhandled NONE = new Unhandled(List.of(), null);
+    }
+
+    /**
+     * Lookup table entry: how to bind an event type and where to collect it
+     */
+    private record Route<T>(ObjectReader reader, Function<T, String> naturalKey, BiConsumer<Batch, Received<T>> collector) {
+
+        void bind(ConsumerRecord<String, byte[]> record, String type, String id, byte[] value, Batch batch)
+                throws IOException {
+            accept(record, type, id, reader.readValue(value), batch);
+        }
+
+        void bind(ConsumerRecord<String, byte[]> record, String type, String id, JsonParser parser, Batch batch)
+                throws IOException {
+            accept(record, type, id, reader.readValue(parser), batch);
+        }
+
+        private void accept(ConsumerRecord<String, byte[]> record, String type, String id, T event, Batch batch) {
+            String key = id;
+            if (key == null) {
+                String natural = naturalKey.apply(event);
+                key = natural != null ? type + ":" + natural : null;
+            }
+            collector.accept(batch, new Received<>(record, key, event));
+        }
+    }
+
+    /**
+     * A typed event with the record it came from and its dedup key
+     */
+    private record Received<T>(ConsumerRecord<String, byte[]> record, String key, T event) {}
+
+    /**
+     * Typed events of one record batch
+     */
+    private static final class Batch {
+        final List<Received<TaskCreatedContract>> created = new ArrayList<>();
+        final List<Received<TaskAssignedContract>> assigned = new ArrayList<>();
+
+        Set<String> keys() {
+            Set<String> keys = new HashSet<>();
+            created.forEach(received -> addKey(keys, received));
+            assigned.forEach(received -> addKey(keys, received));
+            return keys;
+        }
+
+        /**
+         * Drop events already processed, and repeats of an event within the batch
+         *
+         * @return number of events dropped
+         */
+        int removeProcessed(Set<String> processed) {
+            Set<String> seen = new HashSet<>(processed);
+            int before = created.size() + assigned.size();
+            created.removeIf(received -> received.key() != null && !seen.add(received.key()));
+            assigned.removeIf(received -> received.key() != null && !seen.add(received.key()));
+            return before - created.size() - assigned.size();
+        }
+
+        private static void addKey(Set<String> keys, Received<?> received) {
+            if (received.key() != null) {
+                keys.add(received.key());
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.paklog.wes.pick.infrastructure.events.codec;
+
+/**
+ * Hand-written compact encoding of one pick event type.
+ * Fields are written positionally in declaration order; new fields may only be appended.
+ */
+public interface PickEventCodec<T> {
+
+    Class<T> eventClass();
+
+    String eventType();
+
+    void encode(T event, CompactWriter writer);
+
+    T decode(CompactReader reader);
+}
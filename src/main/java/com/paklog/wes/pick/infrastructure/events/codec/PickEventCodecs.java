@@ -0,0 +1,68 @@
+package com.paklog.wes.pick.infrastructure.events.codec;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of the compact pick event codecs.
+ * Payloads start with a schema version byte followed by the event's fields.
+ */
+@Component
+public class PickEventCodecs {
+
+    public static final String CONTENT_TYPE = "application/vnd.paklog.pick-event.compact";
+    public static final int SCHEMA_VERSION = 1;
+
+    private final Map<Class<?>, PickEventCodec<?>> byClass;
+    private final Map<String, PickEventCodec<?>> byType;
+
+    public PickEventCodecs() {
+        List<PickEventCodec<?>> codecs = List.of(
+                new PickingStartedEventCodec(),
+                new PickingCompletedEventCodec(),
+                new PickingExceptionEventCodec(),
+                new PickPathOptimizedEventCodec()
+        );
+        this.byClass = codecs.stream().collect(Collectors.toUnmodifiableMap(PickEventCodec::eventClass, Function.identity()));
+        this.byType = codecs.stream().collect(Collectors.toUnmodifiableMap(PickEventCodec::eventType, Function.identity()));
+    }
+
+    public boolean supports(Object event) {
+        return event != null && byClass.containsKey(event.getClass());
+    }
+
+    /**
+     * Encode a supported event
+     */
+    @SuppressWarnings("unchecked")
+    public <T> byte[] encode(T event) {
+        PickEventCodec<T> codec = (PickEventCodec<T>) byClass.get(event.getClass());
+        if (codec == null) {
+            throw new IllegalArgumentException("No compact codec for " + event.getClass().getName());
+        }
+        CompactWriter writer = new CompactWriter(128);
+        writer.writeByte(SCHEMA_VERSION);
+        codec.encode(event, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decode a payload of the given CloudEvent type
+     */
+    public Object decode(String eventType, byte[] payload) {
+        PickEventCodec<?> codec = byType.get(eventType);
+        if (codec == null) {
+            throw new IllegalArgumentException("No compact codec for event type " + eventType);
+        }
+        CompactReader reader = new CompactReader(payload);
+        int version = reader.readByte();
+        if (version != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported compact schema version " + version);
+        }
+        return codec.decode(reader);
+    }
+}
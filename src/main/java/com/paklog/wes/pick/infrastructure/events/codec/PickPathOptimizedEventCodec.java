@@ -0,0 +1,47 @@
+package com.paklog.wes.pick.infrastructure.events.codec;
+
+import com.paklog.wes.pick.events.PickPathOptimizedEvent;
+
+/**
+ * Compact codec for {@link PickPathOptimizedEvent}
+ */
+final class PickPathOptimizedEventCodec implements PickEventCodec<PickPathOptimizedEvent> {
+
+    @Override
+    public Class<PickPathOptimizedEvent> eventClass() {
+        return PickPathOptimizedEvent.class;
+    }
+
+    @Override
+    public String eventType() {
+        return PickPathOptimizedEvent.EVENT_TYPE;
+    }
+
+    @Override
+    public void encode(PickPathOptimizedEvent event, CompactWriter writer) {
+        writer.writeString(event.pickTaskId())
+                .writeString(event.waveId())
+                .writeDouble(event.originalDistanceMeters())
+                .writeDouble(event.optimizedDistanceMeters())
+                .writeDouble(event.distanceSavedMeters())
+                .writeDouble(event.improvementPercentage())
+                .writeString(event.algorithmUsed())
+                .writeLong(event.optimizationTimeMs())
+                .writeInstant(event.optimizedAt());
+    }
+
+    @Override
+    public PickPathOptimizedEvent decode(CompactReader reader) {
+        return new PickPathOptimizedEvent(
+                reader.readString(),
+                reader.readString(),
+                reader.readDouble(),
+                reader.readDouble(),
+                reader.readDouble(),
+                reader.readDouble(),
+                reader.readString(),
+                reader.readLong(),
+                reader.readInstant()
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package com.paklog.wes.pick.infrastructure.events.codec;
+
+import com.paklog.wes.pick.events.PickingCompletedEvent;
+
+/**
+ * Compact codec for {@link PickingCompletedEvent}
+ */
+final class PickingCompletedEventCodec implements PickEventCodec<PickingCompletedEvent> {
+
+    @Override
+    public Class<PickingCompletedEvent> eventClass() {
+        return PickingCompletedEvent.class;
+    }
+
+    @Override
+    public String eventType() {
+        return PickingCompletedEvent.EVENT_TYPE;
+    }
+
+    @Override
+    public void encode(PickingCompletedEvent event, CompactWriter writer) {
+        writer.writeString(event.pickTaskId())
+                .writeString(event.taskId())
+                .writeString(event.waveId())
+                .writeString(event.workerId())
+                .writeInstant(event.completedAt())
+                .writeLong(event.durationSeconds())
+                .writeInt(event.itemsPicked())
+                .writeInt(event.locationsVisited())
+                .writeDouble(event.actualDistanceMeters())
+                .writeInt(event.pickRateItemsPerHour());
+    }
+
+    @Override
+    public PickingCompletedEvent decode(CompactReader reader) {
+        return new PickingCompletedEvent(
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readInstant(),
+                reader.readLong(),
+                reader.readInt(),
+                reader.readInt(),
+                reader.readDouble(),
+                reader.readInt()
+        );
+    }
+}
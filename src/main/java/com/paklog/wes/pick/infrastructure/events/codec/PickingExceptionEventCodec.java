@@ -0,0 +1,49 @@
+package com.paklog.wes.pick.infrastructure.events.codec;
+
+import com.paklog.wes.pick.events.PickingExceptionEvent;
+
+/**
+ * Compact codec for {@link PickingExceptionEvent}
+ */
+final class PickingExceptionEventCodec implements PickEventCodec<PickingExceptionEvent> {
+
+    @Override
+    public Class<PickingExceptionEvent> eventClass() {
+        return PickingExceptionEvent.class;
+    }
+
+    @Override
+    public String eventType() {
+        return PickingExceptionEvent.EVENT_TYPE;
+    }
+
+    @Override
+    public void encode(PickingExceptionEvent event, CompactWriter writer) {
+        writer.writeString(event.pickTaskId())
+                .writeString(event.taskId())
+                .writeString(event.orderId())
+                .writeString(event.skuCode())
+                .writeString(event.locationId())
+                .writeString(event.exceptionType())
+                .writeInt(event.requestedQuantity())
+                .writeInt(event.actualQuantity())
+                .writeInstant(event.reportedAt())
+                .writeString(event.reportedBy());
+    }
+
+    @Override
+    public PickingExceptionEvent decode(CompactReader reader) {
+        return new PickingExceptionEvent(
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readInt(),
+                reader.readInt(),
+                reader.readInstant(),
+                reader.readString()
+        );
+    }
+}
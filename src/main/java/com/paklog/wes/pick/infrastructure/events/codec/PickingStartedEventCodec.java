@@ -0,0 +1,45 @@
+package com.paklog.wes.pick.infrastructure.events.codec;
+
+import com.paklog.wes.pick.events.PickingStartedEvent;
+
+/**
+ * Compact codec for {@link PickingStartedEvent}
+ */
+final class PickingStartedEventCodec implements PickEventCodec<PickingStartedEvent> {
+
+    @Override
+    public Class<PickingStartedEvent> eventClass() {
+        return PickingStartedEvent.class;
+    }
+
+    @Override
+    public String eventType() {
+        return PickingStartedEvent.EVENT_TYPE;
+    }
+
+    @Override
+    public void encode(PickingStartedEvent event, CompactWriter writer) {
+        writer.writeString(event.pickTaskId())
+                .writeString(event.taskId())
+                .writeString(event.waveId())
+                .writeString(event.workerId())
+                .writeStrings(event.locationSequence())
+                .writeInt(event.totalItems())
+                .writeInstant(event.startedAt())
+                .writeDouble(event.optimizedPathDistanceMeters());
+    }
+
+    @Override
+    public PickingStartedEvent decode(CompactReader reader) {
+        return new PickingStartedEvent(
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readStrings(),
+                reader.readInt(),
+                reader.readInstant(),
+                reader.readDouble()
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package com.paklog.wes.pick.infrastructure.persistence;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoException;
+import com.mongodb.MongoServerException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Time-bound ownership of a job that must run on a single replica.
+ * The holder renews the lease each time it runs; once it stops renewing,
+ * another replica takes the lease over after it has expired.
+ */
+public class MongoLease {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoLease.class);
+
+    public static final String COLLECTION = "pick_leases";
+    static final String OWNER = "owner";
+    static final String EXPIRES_AT = "expiresAt";
+
+    private final MongoTemplate mongoTemplate;
+    private final String name;
+    private final String owner;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public MongoLease(MongoTemplate mongoTemplate, String name, Duration ttl) {
+        this(mongoTemplate, name, UUID.randomUUID().toString(), ttl, Clock.systemUTC());
+    }
+
+    MongoLease(MongoTemplate mongoTemplate, String name, String owner, Duration ttl, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.name = name;
+        this.owner = owner;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Take or renew the lease
+     *
+     * @return whether this replica holds the lease for the next TTL
+     */
+    public boolean acquire() {
+        Instant now = clock.instant();
+        try {
+            Document lease = collection().findOneAndUpdate(
+                    Filters.and(
+                            Filters.eq("_id", name),
+                            Filters.or(Filters.eq(OWNER, owner), Filters.lt(EXPIRES_AT, Date.from(now)))
+                    ),
+                    Updates.combine(
+                            Updates.set(OWNER, owner),
+                            Updates.set(EXPIRES_AT, Date.from(now.plus(ttl)))
+                    ),
+                    new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+            return lease != null;
+        } catch (MongoException e) {
+            // A duplicate key means the upsert collided with the lease another replica holds
+            if (!(e instanceof MongoServerException server)
+                    || ErrorCategory.fromErrorCode(server.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                logger.warn("Could not renew lease {}", name, e);
+            }
+            return false;
+        }
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
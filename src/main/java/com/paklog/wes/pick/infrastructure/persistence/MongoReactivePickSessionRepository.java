@@ -0,0 +1,103 @@
+package com.paklog.wes.pick.infrastructure.persistence;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.repository.ReactivePickSessionRepository;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionSchema;
+import org.bson.BsonNumber;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive-streams driver implementation of {@link ReactivePickSessionRepository}.
+ * Documents go through {@code PickSessionCodec} like the blocking repository; legacy
+ * documents are read as they are and left to the blocking repository to migrate.
+ */
+@Repository
+public class MongoReactivePickSessionRepository implements ReactivePickSessionRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoExceptionTranslator exceptionTranslator = new MongoExceptionTranslator();
+
+    public MongoReactivePickSessionRepository(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<PickSession> findActiveSessionByWorkerId(String workerId) {
+        return sessions()
+                .flatMap(collection -> Mono.from(collection.find(activeFor(workerId)).first()))
+                .onErrorMap(MongoException.class, this::translate);
+    }
+
+    @Override
+    public Mono<SessionVersion> findActiveSessionVersionByWorkerId(String workerId) {
+        return sessions()
+                .flatMap(collection -> Mono.from(collection.withDocumentClass(RawBsonDocument.class)
+                        .find(activeFor(workerId))
+                        .projection(Projections.include(PickSessionSchema.ID, PickSessionSchema.VERSION))
+                        .first()))
+                .filter(document -> document.get(PickSessionSchema.VERSION) instanceof BsonNumber)
+                .map(document -> new SessionVersion(
+                        document.getString(PickSessionSchema.ID).getValue(),
+                        document.getNumber(PickSessionSchema.VERSION).longValue()))
+                .onErrorMap(MongoException.class, this::translate);
+    }
+
+    @Override
+    public Mono<PickSession> save(PickSession session) {
+        return Mono.defer(() -> {
+            Long currentVersion = session.getVersion();
+            if (currentVersion == null) {
+                session.setVersion(0L);
+                return sessions()
+                        .flatMap(collection -> Mono.from(collection.insertOne(session)))
+                        .thenReturn(session)
+                        .doOnError(error -> session.setVersion(null));
+            }
+
+            session.setVersion(currentVersion + 1);
+            return sessions()
+                    .flatMap(collection -> Mono.from(collection.replaceOne(
+                            Filters.and(
+                                    Filters.eq(PickSessionSchema.ID, session.getSessionId()),
+                                    Filters.eq(PickSessionSchema.VERSION, currentVersion)
+                            ),
+                            session)))
+                    .flatMap(result -> result.getMatchedCount() > 0
+                            ? Mono.just(session)
+                            : Mono.<PickSession>error(new OptimisticLockingFailureException(String.format(
+                                    "Cannot save session %s with version %d; it was modified or deleted concurrently",
+                                    session.getSessionId(), currentVersion))))
+                    .doOnError(error -> session.setVersion(currentVersion));
+        }).onErrorMap(MongoException.class, this::translate);
+    }
+
+    private static Bson activeFor(String workerId) {
+        return Filters.and(
+                Filters.eq(PickSessionSchema.WORKER_ID, workerId),
+                Filters.in(PickSessionSchema.STATUS, SessionStatus.IN_PROGRESS.name(), SessionStatus.PAUSED.name())
+        );
+    }
+
+    private Mono<MongoCollection<PickSession>> sessions() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(PickSession.class))
+                .map(collection -> collection.withDocumentClass(PickSession.class));
+    }
+
+    private Throwable translate(MongoException e) {
+        DataAccessException translated = exceptionTranslator.translateExceptionIfPossible(e);
+        return translated != null ? translated : e;
+    }
+}
@@ -0,0 +1,189 @@
+package com.paklog.wes.pick.infrastructure.persistence;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.repository.PickSessionRepository;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionSchema;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves terminal pick sessions older than the configured age from the hot
+ * collection into the archive collection, in bounded batches.
+ * Runs are skipped while the floor is busy so archival never competes with peak traffic.
+ */
+@Component
+public class PickSessionArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(PickSessionArchiver.class);
+
+    private static final List<String> TERMINAL_STATUSES = Arrays.stream(SessionStatus.values())
+            .filter(SessionStatus::isTerminal)
+            .map(Enum::name)
+            .toList();
+
+    private final MongoTemplate mongoTemplate;
+    private final PickSessionRepository sessionRepository;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration minAge;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pauseBetweenBatches;
+    private final long maxActiveSessions;
+
+    public PickSessionArchiver(
+            MongoTemplate mongoTemplate,
+            PickSessionRepository sessionRepository,
+            @Value("${pick.archive.enabled:true}") boolean enabled,
+            @Value("${pick.archive.min-age:7d}") Duration minAge,
+            @Value("${pick.archive.batch-size:500}") int batchSize,
+            @Value("${pick.archive.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${pick.archive.pause-between-batches:200ms}") Duration pauseBetweenBatches,
+            @Value("${pick.archive.max-active-sessions:1000}") long maxActiveSessions
+    ) {
+        this(mongoTemplate, sessionRepository, Clock.systemDefaultZone(), enabled, minAge, batchSize,
+                maxBatchesPerRun, pauseBetweenBatches, maxActiveSessions);
+    }
+
+    PickSessionArchiver(MongoTemplate mongoTemplate, PickSessionRepository sessionRepository, Clock clock,
+                        boolean enabled, Duration minAge, int batchSize, int maxBatchesPerRun,
+                        Duration pauseBetweenBatches, long maxActiveSessions) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Archive batch size must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.sessionRepository = sessionRepository;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseBetweenBatches = pauseBetweenBatches;
+        this.maxActiveSessions = maxActiveSessions;
+    }
+
+    @Scheduled(fixedDelayString = "${pick.archive.interval:PT5M}", initialDelayString = "${pick.archive.initial-delay:PT1M}")
+    public void scheduledArchive() {
+        try {
+            archive();
+        } catch (Exception e) {
+            logger.error("Pick session archival run failed", e);
+        }
+    }
+
+    /**
+     * Run one archival pass
+     *
+     * @return number of sessions moved to the archive
+     */
+    public int archive() {
+        if (!enabled) {
+            return 0;
+        }
+
+        long activeSessions = sessionRepository.countActiveSessions();
+        if (activeSessions > maxActiveSessions) {
+            logger.debug("Skipping archival run: {} active sessions exceeds threshold {}",
+                    activeSessions, maxActiveSessions);
+            return 0;
+        }
+
+        Date cutoff = Date.from(Instant.now(clock).minus(minAge));
+        int archived = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int moved = archiveBatch(cutoff);
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            logger.info("Archived {} terminal pick sessions completed before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveBatch(Date cutoff) {
+        MongoCollection<RawBsonDocument> hot = mongoTemplate.getCollection(mongoTemplate.getCollectionName(PickSession.class))
+                .withDocumentClass(RawBsonDocument.class);
+        MongoCollection<RawBsonDocument> archive = mongoTemplate.getCollection(PickSessionSchema.ARCHIVE_COLLECTION)
+                .withDocumentClass(RawBsonDocument.class);
+
+        List<RawBsonDocument> documents = hot.find(Filters.and(
+                        Filters.in(PickSessionSchema.STATUS, TERMINAL_STATUSES),
+                        Filters.lt(PickSessionSchema.COMPLETED_AT, cutoff)))
+                .limit(batchSize)
+                .into(new ArrayList<>());
+        if (documents.isEmpty()) {
+            return 0;
+        }
+
+        Set<Integer> failed = new HashSet<>();
+        try {
+            archive.insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            // A duplicate key means an earlier run copied the session but did not get to delete it
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    failed.add(error.getIndex());
+                }
+            }
+            if (!failed.isEmpty()) {
+                logger.warn("Failed to archive {} of {} pick sessions", failed.size(), documents.size());
+            }
+        }
+
+        List<BsonValue> archivedIds = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            if (!failed.contains(i)) {
+                archivedIds.add(documents.get(i).get(PickSessionSchema.ID));
+            }
+        }
+        if (archivedIds.isEmpty()) {
+            return 0;
+        }
+
+        return (int) hot.deleteMany(Filters.in(PickSessionSchema.ID, archivedIds)).getDeletedCount();
+    }
+
+    private boolean pause() {
+        if (pauseBetweenBatches.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseBetweenBatches.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
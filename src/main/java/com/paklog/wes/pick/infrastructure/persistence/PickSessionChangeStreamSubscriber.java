@@ -0,0 +1,223 @@
+package com.paklog.wes.pick.infrastructure.persistence;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.paklog.wes.pick.application.projection.LiveSessionProjection;
+import com.paklog.wes.pick.application.projection.LiveSessionView;
+import com.paklog.wes.pick.application.projection.PickSessionChangeListener;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.repository.PickSessionRepository;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionSchema;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Tails the pick_sessions change stream and keeps the live session projection current.
+ * Every change is also handed to the registered {@link PickSessionChangeListener}s,
+ * such as the session-state feed and the handheld push channel.
+ * A dropped cursor resumes after the last change it delivered. The projection lives in
+ * memory, so a starting instance builds it from the collection rather than from a stored token.
+ */
+@Component
+public class PickSessionChangeStreamSubscriber implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PickSessionChangeStreamSubscriber.class);
+
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final List<SessionStatus> LIVE_STATUSES =
+            List.of(SessionStatus.CREATED, SessionStatus.IN_PROGRESS, SessionStatus.PAUSED);
+
+    private final MongoTemplate mongoTemplate;
+    private final PickSessionRepository sessionRepository;
+    private final LiveSessionProjection projection;
+    private final List<PickSessionChangeListener> changeListeners;
+    private final boolean enabled;
+    private final Duration retryBackoff;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<PickSession>> cursor;
+    private BsonDocument resumeToken;
+
+    public PickSessionChangeStreamSubscriber(
+            MongoTemplate mongoTemplate,
+            PickSessionRepository sessionRepository,
+            LiveSessionProjection projection,
+            List<PickSessionChangeListener> changeListeners,
+            @Value("${pick.live-feed.enabled:true}") boolean enabled,
+            @Value("${pick.live-feed.retry-backoff:5s}") Duration retryBackoff
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.sessionRepository = sessionRepository;
+        this.projection = projection;
+        this.changeListeners = List.copyOf(changeListeners);
+        this.enabled = enabled;
+        this.retryBackoff = retryBackoff;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform()
+                .name("pick-session-change-stream")
+                .daemon(true)
+                .start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        MongoChangeStreamCursor<?> current = cursor;
+        if (current != null) {
+            current.close();
+        }
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        boolean seeded = false;
+        boolean historyLost = false;
+
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<PickSession>> changes = open()) {
+                cursor = changes;
+                if (!seeded) {
+                    // Seed after the cursor is open so no change falls between the snapshot and the stream
+                    seed(historyLost);
+                    seeded = true;
+                }
+                while (running) {
+                    ChangeStreamDocument<PickSession> change = changes.tryNext();
+                    if (change != null) {
+                        handle(change);
+                    }
+                    BsonDocument token = changes.getResumeToken();
+                    if (token != null) {
+                        resumeToken = token;
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    logger.warn("Resume token is no longer in the oplog, rebuilding live session projection");
+                    resumeToken = null;
+                    seeded = false;
+                    historyLost = true;
+                } else if (running) {
+                    logger.warn("Pick session change stream failed, retrying in {}", retryBackoff, e);
+                    backoff();
+                }
+            } catch (MongoException | IllegalStateException e) {
+                if (running) {
+                    logger.warn("Pick session change stream failed, retrying in {}", retryBackoff, e);
+                    backoff();
+                }
+            } finally {
+                cursor = null;
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<PickSession>> open() {
+        MongoCollection<PickSession> sessions = mongoTemplate.getCollection(mongoTemplate.getCollectionName(PickSession.class))
+                .withDocumentClass(PickSession.class);
+        ChangeStreamIterable<PickSession> stream = sessions
+                .watch(List.of(Aggregates.match(Filters.in("operationType",
+                        List.of("insert", "update", "replace", "delete")))), PickSession.class)
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    /**
+     * Load the live sessions into the projection. Listeners only track changes, so they are
+     * told about the sessions only on a rebuild, when the changes of a gap in the stream are lost;
+     * sessions deleted or archived during that gap are dropped from the projection first.
+     */
+    void seed(boolean rebuild) {
+        if (rebuild) {
+            projection.clear();
+        }
+        int seeded = 0;
+        for (SessionStatus status : LIVE_STATUSES) {
+            for (PickSession session : sessionRepository.findByStatus(status)) {
+                projection.apply(LiveSessionView.from(session));
+                if (rebuild) {
+                    notifyListeners(session.getSessionId(), listener -> listener.onChange(session));
+                }
+                seeded++;
+            }
+        }
+        logger.info("Seeded live session projection with {} sessions", seeded);
+    }
+
+    void handle(ChangeStreamDocument<PickSession> change) {
+        OperationType operation = change.getOperationType();
+        if (operation == OperationType.DELETE) {
+            BsonDocument key = change.getDocumentKey();
+            if (key != null && key.get(PickSessionSchema.ID) instanceof BsonString id) {
+                projection.remove(id.getValue());
+                notifyListeners(id.getValue(), listener -> listener.onDelete(id.getValue()));
+            }
+            return;
+        }
+
+        PickSession session = change.getFullDocument();
+        if (session != null) {
+            projection.apply(LiveSessionView.from(session));
+            notifyListeners(session.getSessionId(), listener -> listener.onChange(session));
+        }
+    }
+
+    private void notifyListeners(String sessionId, Consumer<PickSessionChangeListener> notification) {
+        for (PickSessionChangeListener listener : changeListeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                // One failing consumer must not stall the stream for the others
+                logger.warn("Session change listener {} failed for session {}",
+                        listener.getClass().getSimpleName(), sessionId, e);
+            }
+        }
+    }
+
+    private void backoff() {
+        try {
+            Thread.sleep(retryBackoff.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
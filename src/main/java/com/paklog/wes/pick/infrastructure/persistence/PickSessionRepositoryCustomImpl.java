@@ -0,0 +1,590 @@
+package com.paklog.wes.pick.infrastructure.persistence;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.repository.BulkInsertResult;
+import com.paklog.wes.pick.domain.repository.PickSessionRepositoryCustom;
+import com.paklog.wes.pick.domain.repository.SessionField;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
+import com.paklog.wes.pick.domain.repository.WorkerAssignment;
+import com.paklog.wes.pick.domain.valueobject.InstructionStatus;
+import com.paklog.wes.pick.domain.valueobject.SessionCounters;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionSchema;
+import org.bson.BsonDocument;
+import org.bson.BsonNumber;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Codec-backed implementation of the pick session repository operations.
+ * Reads and writes go straight through the driver with {@code PickSessionCodec},
+ * keeping Spring Data's optimistic locking semantics on the {@code version} field.
+ * Documents still in an older schema version are rewritten in the current one on read,
+ * and lookups that can match terminal sessions also consult the archive collection.
+ */
+public class PickSessionRepositoryCustomImpl implements PickSessionRepositoryCustom {
+
+    private static final Logger logger = LoggerFactory.getLogger(PickSessionRepositoryCustomImpl.class);
+
+    // Computed fields of a partial read, never stored
+    private static final String COUNTERS = "_counters";
+    private static final String TOTAL = "total";
+    private static final String COMPLETED = "completed";
+    private static final String SHORT_PICKS = "shortPicks";
+    private static final String PICKED = "picked";
+    private static final String EXPECTED = "expected";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoExceptionTranslator exceptionTranslator = new MongoExceptionTranslator();
+
+    public PickSessionRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public <S extends PickSession> S save(S session) {
+        Long currentVersion = session.getVersion();
+        try {
+            if (currentVersion == null) {
+                session.setVersion(0L);
+                sessions().insertOne(session);
+                return session;
+            }
+
+            session.setVersion(currentVersion + 1);
+            UpdateResult result = sessions().replaceOne(
+                    Filters.and(
+                            Filters.eq(PickSessionSchema.ID, session.getSessionId()),
+                            Filters.eq(PickSessionSchema.VERSION, currentVersion)
+                    ),
+                    session
+            );
+
+            if (result.getMatchedCount() == 0) {
+                session.setVersion(currentVersion);
+                throw new OptimisticLockingFailureException(String.format(
+                        "Cannot save session %s with version %d; it was modified or deleted concurrently",
+                        session.getSessionId(), currentVersion));
+            }
+            return session;
+        } catch (MongoException e) {
+            session.setVersion(currentVersion);
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public BulkInsertResult insertAll(List<PickSession> sessions) {
+        if (sessions.isEmpty()) {
+            return new BulkInsertResult(List.of(), List.of());
+        }
+        for (PickSession session : sessions) {
+            if (session.getVersion() != null) {
+                throw new IllegalArgumentException("Session already persisted: " + session.getSessionId());
+            }
+            session.setVersion(0L);
+        }
+
+        Map<Integer, String> errors = new HashMap<>();
+        try {
+            sessions().insertMany(sessions, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            for (BulkWriteError error : e.getWriteErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+        } catch (MongoException e) {
+            sessions.forEach(session -> session.setVersion(null));
+            throw translate(e);
+        }
+
+        List<PickSession> inserted = new ArrayList<>(sessions.size() - errors.size());
+        List<BulkInsertResult.Failure> failures = new ArrayList<>(errors.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            PickSession session = sessions.get(i);
+            String error = errors.get(i);
+            if (error == null) {
+                inserted.add(session);
+            } else {
+                session.setVersion(null);
+                failures.add(new BulkInsertResult.Failure(session, error));
+            }
+        }
+        return new BulkInsertResult(inserted, failures);
+    }
+
+    @Override
+    public Set<String> findWorkersWithActiveSessions(Collection<String> workerIds) {
+        if (workerIds.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            Set<String> busyWorkers = new HashSet<>();
+            for (BsonValue workerId : rawSessions().distinct(PickSessionSchema.WORKER_ID, Filters.and(
+                    Filters.in(PickSessionSchema.WORKER_ID, workerIds),
+                    Filters.in(PickSessionSchema.STATUS, SessionStatus.IN_PROGRESS.name(), SessionStatus.PAUSED.name())
+            ), BsonValue.class)) {
+                if (workerId instanceof BsonString value) {
+                    busyWorkers.add(value.getValue());
+                }
+            }
+            return busyWorkers;
+        } catch (MongoException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public Optional<PickSession> findById(String sessionId) {
+        return findOneWithArchive(Filters.eq(PickSessionSchema.ID, sessionId));
+    }
+
+    @Override
+    public Optional<PickSession> findById(String sessionId, Set<SessionField> fields) {
+        List<Bson> pipeline = partialRead(Filters.eq(PickSessionSchema.ID, sessionId), fields);
+        Optional<PickSession> session = findOne(rawSessions(), pipeline);
+        if (session.isPresent()) {
+            return session;
+        }
+        return findOne(rawArchive(), pipeline);
+    }
+
+    @Override
+    public Optional<PickSession> findActiveSessionByWorkerId(String workerId) {
+        return findOne(rawSessions(), Filters.and(
+                Filters.eq(PickSessionSchema.WORKER_ID, workerId),
+                Filters.in(PickSessionSchema.STATUS, SessionStatus.IN_PROGRESS.name(), SessionStatus.PAUSED.name())
+        ));
+    }
+
+    @Override
+    public Optional<PickSession> findByTaskId(String taskId) {
+        return findOneWithArchive(Filters.eq(PickSessionSchema.TASK_ID, taskId));
+    }
+
+    @Override
+    public List<PickSession> findByTaskIdIn(Collection<String> taskIds) {
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+        List<PickSession> sessions = findAll(Filters.in(PickSessionSchema.TASK_ID, taskIds), false);
+        Set<String> missing = new HashSet<>(taskIds);
+        sessions.forEach(session -> missing.remove(session.getTaskId()));
+        if (missing.isEmpty()) {
+            return sessions;
+        }
+        // The unique task index only spans the hot collection; archived tasks must not get a second session
+        try {
+            MongoCollection<RawBsonDocument> archive = rawArchive();
+            for (RawBsonDocument document : archive.find(Filters.in(PickSessionSchema.TASK_ID, missing))) {
+                sessions.add(decode(archive, document));
+            }
+        } catch (MongoException e) {
+            throw translate(e);
+        }
+        return sessions;
+    }
+
+    @Override
+    public Optional<String> findSessionIdByTaskId(String taskId) {
+        try {
+            RawBsonDocument document = rawSessions().find(Filters.eq(PickSessionSchema.TASK_ID, taskId))
+                    .projection(Projections.include(PickSessionSchema.ID))
+                    .first();
+            return Optional.ofNullable(document).map(raw -> raw.getString(PickSessionSchema.ID).getValue());
+        } catch (MongoException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public Optional<SessionVersion> findVersionById(String sessionId) {
+        Bson filter = Filters.eq(PickSessionSchema.ID, sessionId);
+        Optional<SessionVersion> version = findVersion(rawSessions(), filter);
+        if (version.isPresent()) {
+            return version;
+        }
+        return findVersion(rawArchive(), filter);
+    }
+
+    @Override
+    public Optional<SessionVersion> findActiveSessionVersionByWorkerId(String workerId) {
+        return findVersion(rawSessions(), Filters.and(
+                Filters.eq(PickSessionSchema.WORKER_ID, workerId),
+                Filters.in(PickSessionSchema.STATUS, SessionStatus.IN_PROGRESS.name(), SessionStatus.PAUSED.name())
+        ));
+    }
+
+    @Override
+    public WorkerAssignment assignWorker(String sessionId, String workerId) {
+        try {
+            Bson active = Filters.in(PickSessionSchema.STATUS, SessionStatus.IN_PROGRESS.name(), SessionStatus.PAUSED.name());
+            long otherSessions = rawSessions().countDocuments(Filters.and(
+                    Filters.eq(PickSessionSchema.WORKER_ID, workerId),
+                    Filters.ne(PickSessionSchema.ID, sessionId),
+                    active
+            ), new CountOptions().limit(1));
+            if (otherSessions > 0) {
+                return WorkerAssignment.WORKER_BUSY;
+            }
+
+            // Bumping the version makes concurrent saves of the old state fail their optimistic lock.
+            // The unique active worker index rejects the update if another session won the worker meanwhile.
+            UpdateResult result;
+            try {
+                result = rawSessions().updateOne(
+                        Filters.and(
+                                Filters.eq(PickSessionSchema.ID, sessionId),
+                                Filters.ne(PickSessionSchema.WORKER_ID, workerId),
+                                active
+                        ),
+                        Updates.combine(
+                                Updates.set(PickSessionSchema.WORKER_ID, workerId),
+                                Updates.set(PickSessionSchema.ASSIGNED_ACTIVE, true),
+                                Updates.inc(PickSessionSchema.VERSION, 1L)
+                        )
+                );
+            } catch (MongoWriteException e) {
+                if (e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                    return WorkerAssignment.WORKER_BUSY;
+                }
+                throw e;
+            }
+            if (result.getModifiedCount() > 0) {
+                return WorkerAssignment.ASSIGNED;
+            }
+
+            boolean alreadyBound = rawSessions().countDocuments(Filters.and(
+                    Filters.eq(PickSessionSchema.ID, sessionId),
+                    Filters.eq(PickSessionSchema.WORKER_ID, workerId),
+                    active
+            ), new CountOptions().limit(1)) > 0;
+            return alreadyBound ? WorkerAssignment.UNCHANGED : WorkerAssignment.NOT_ACTIVE;
+        } catch (MongoException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public List<PickSession> findByWorkerId(String workerId) {
+        return findAll(Filters.eq(PickSessionSchema.WORKER_ID, workerId), true);
+    }
+
+    @Override
+    public List<PickSession> findByStatus(SessionStatus status) {
+        return findAll(Filters.eq(PickSessionSchema.STATUS, status.name()), status.isTerminal());
+    }
+
+    @Override
+    public List<PickSession> findByStatus(SessionStatus status, Set<SessionField> fields) {
+        List<Bson> pipeline = partialRead(Filters.eq(PickSessionSchema.STATUS, status.name()), fields);
+        List<PickSession> sessions = new ArrayList<>();
+        try {
+            MongoCollection<RawBsonDocument> hot = rawSessions();
+            for (RawBsonDocument document : hot.aggregate(pipeline)) {
+                sessions.add(decodePartial(hot, document));
+            }
+            if (status.isTerminal()) {
+                MongoCollection<RawBsonDocument> archive = rawArchive();
+                for (RawBsonDocument document : archive.aggregate(pipeline)) {
+                    sessions.add(decodePartial(archive, document));
+                }
+            }
+        } catch (MongoException e) {
+            throw translate(e);
+        }
+        return sessions;
+    }
+
+    @Override
+    public List<PickSession> findByWarehouseIdAndStatus(String warehouseId, SessionStatus status) {
+        return findAll(Filters.and(
+                Filters.eq(PickSessionSchema.WAREHOUSE_ID, warehouseId),
+                Filters.eq(PickSessionSchema.STATUS, status.name())
+        ), status.isTerminal());
+    }
+
+    @Override
+    public List<PickSession> findByWarehouseId(String warehouseId) {
+        return findAll(Filters.eq(PickSessionSchema.WAREHOUSE_ID, warehouseId), true);
+    }
+
+    @Override
+    public List<PickSession> findByCreatedAtAfter(LocalDateTime date) {
+        return findAll(Filters.gt(PickSessionSchema.CREATED_AT, toStoredDate(date)), true);
+    }
+
+    @Override
+    public List<PickSession> findByCompletedAtAfter(LocalDateTime date) {
+        return findAll(Filters.gt(PickSessionSchema.COMPLETED_AT, toStoredDate(date)), true);
+    }
+
+    @Override
+    public List<PickSession> findByWorkerIdAndStatus(String workerId, SessionStatus status) {
+        return findAll(Filters.and(
+                Filters.eq(PickSessionSchema.WORKER_ID, workerId),
+                Filters.eq(PickSessionSchema.STATUS, status.name())
+        ), status.isTerminal());
+    }
+
+    // Helper methods
+
+    private Optional<PickSession> findOneWithArchive(Bson filter) {
+        Optional<PickSession> session = findOne(rawSessions(), filter);
+        if (session.isPresent()) {
+            return session;
+        }
+        return findOne(rawArchive(), filter);
+    }
+
+    private Optional<PickSession> findOne(MongoCollection<RawBsonDocument> collection, Bson filter) {
+        try {
+            RawBsonDocument document = collection.find(filter).first();
+            return Optional.ofNullable(document).map(raw -> decode(collection, raw));
+        } catch (MongoException e) {
+            throw translate(e);
+        }
+    }
+
+    private Optional<PickSession> findOne(MongoCollection<RawBsonDocument> collection, List<Bson> pipeline) {
+        try {
+            RawBsonDocument document = collection.aggregate(pipeline).first();
+            return Optional.ofNullable(document).map(raw -> decodePartial(collection, raw));
+        } catch (MongoException e) {
+            throw translate(e);
+        }
+    }
+
+    private Optional<SessionVersion> findVersion(MongoCollection<RawBsonDocument> collection, Bson filter) {
+        try {
+            RawBsonDocument document = collection.find(filter)
+                    .projection(Projections.include(PickSessionSchema.ID, PickSessionSchema.VERSION))
+                    .first();
+            if (document == null || !(document.get(PickSessionSchema.VERSION) instanceof BsonNumber version)) {
+                return Optional.empty();
+            }
+            return Optional.of(new SessionVersion(document.getString(PickSessionSchema.ID).getValue(), version.longValue()));
+        } catch (MongoException e) {
+            throw translate(e);
+        }
+    }
+
+    private List<PickSession> findAll(Bson filter, boolean includeArchive) {
+        List<PickSession> sessions = new ArrayList<>();
+        try {
+            MongoCollection<RawBsonDocument> hot = rawSessions();
+            for (RawBsonDocument document : hot.find(filter)) {
+                sessions.add(decode(hot, document));
+            }
+            if (includeArchive) {
+                MongoCollection<RawBsonDocument> archive = rawArchive();
+                for (RawBsonDocument document : archive.find(filter)) {
+                    sessions.add(decode(archive, document));
+                }
+            }
+        } catch (MongoException e) {
+            throw translate(e);
+        }
+        return sessions;
+    }
+
+    private PickSession decode(MongoCollection<RawBsonDocument> collection, RawBsonDocument document) {
+        Codec<PickSession> codec = collection.getCodecRegistry().get(PickSession.class);
+        PickSession session = document.decode(codec);
+        // Archived sessions are immutable and cold; only hot documents are worth upgrading
+        if (collection.getNamespace().getCollectionName().equals(hotCollectionName())
+                && !document.containsKey(PickSessionSchema.SCHEMA_VERSION)) {
+            migrate(session);
+        }
+        return session;
+    }
+
+    /**
+     * Decode a projected document; it is never migrated, since it is not the whole session
+     */
+    private PickSession decodePartial(MongoCollection<RawBsonDocument> collection, RawBsonDocument document) {
+        PickSession session = document.decode(collection.getCodecRegistry().get(PickSession.class));
+        if (document.containsKey(COUNTERS)) {
+            BsonDocument counters = document.getDocument(COUNTERS);
+            session.setCounters(new SessionCounters(
+                    counters.getNumber(TOTAL).intValue(),
+                    counters.getNumber(COMPLETED).intValue(),
+                    counters.getNumber(SHORT_PICKS).intValue(),
+                    counters.getNumber(PICKED).intValue(),
+                    counters.getNumber(EXPECTED).intValue()
+            ));
+        }
+        return session;
+    }
+
+    /**
+     * Match and project the requested parts; counters are computed by the {@code $project} stage
+     */
+    private static List<Bson> partialRead(Bson filter, Set<SessionField> fields) {
+        List<String> stored = new ArrayList<>();
+        stored.add(PickSessionSchema.ID);
+        stored.add(PickSessionSchema.VERSION);
+        fields.forEach(field -> stored.addAll(storedFields(field)));
+        Bson projection = fields.contains(SessionField.COUNTERS)
+                ? Projections.fields(Projections.include(stored), Projections.computed(COUNTERS, counters()))
+                : Projections.include(stored);
+        return List.of(Aggregates.match(filter), Aggregates.project(projection));
+    }
+
+    /**
+     * Counters over the instruction array with the semantics of {@link SessionCounters#of}.
+     * Legacy documents name the array and its fields in full and store statuses by name.
+     */
+    private static Document counters() {
+        Object instructions = ifNull("$" + PickSessionSchema.INSTRUCTIONS, "$pickInstructions", List.of());
+        Object status = ifNull("$$i." + PickSessionSchema.INSTRUCTION_STATUS, "$$i.status");
+        Document complete = new Document("$in", List.of(status, statuses(InstructionStatus::isComplete)));
+        Document shortPick = new Document("$in",
+                List.of(status, statuses(instructionStatus -> instructionStatus == InstructionStatus.SHORT_PICKED)));
+        Object picked = ifNull("$$i." + PickSessionSchema.PICKED_QUANTITY, "$$i.pickedQuantity", 0);
+        Object expected = ifNull("$$i." + PickSessionSchema.EXPECTED_QUANTITY, "$$i.expectedQuantity", 0);
+
+        Document computed = new Document(TOTAL, new Document("$size", "$$ins"))
+                .append(COMPLETED, new Document("$size", filter("$$ins", complete)))
+                .append(SHORT_PICKS, new Document("$size", filter("$$ins", shortPick)))
+                .append(PICKED, new Document("$sum", map(filter("$$ins", complete), picked)))
+                .append(EXPECTED, new Document("$sum", map("$$ins", expected)));
+        return new Document("$let", new Document("vars", new Document("ins", instructions)).append("in", computed));
+    }
+
+    /**
+     * Codes and legacy names of the matching instruction statuses
+     */
+    private static List<Object> statuses(Predicate<InstructionStatus> predicate) {
+        List<Object> statuses = new ArrayList<>();
+        for (InstructionStatus status : InstructionStatus.values()) {
+            if (predicate.test(status)) {
+                statuses.add(PickSessionSchema.code(status));
+                statuses.add(status.name());
+            }
+        }
+        return statuses;
+    }
+
+    private static Document filter(Object input, Document condition) {
+        return new Document("$filter", new Document("input", input).append("as", "i").append("cond", condition));
+    }
+
+    private static Document map(Object input, Object expression) {
+        return new Document("$map", new Document("input", input).append("as", "i").append("in", expression));
+    }
+
+    /**
+     * The first of the expressions that is not null or missing
+     */
+    private static Object ifNull(Object... expressions) {
+        Object first = expressions[expressions.length - 1];
+        for (int i = expressions.length - 2; i >= 0; i--) {
+            first = new Document("$ifNull", List.of(expressions[i], first));
+        }
+        return first;
+    }
+
+    /**
+     * Stored names of a session part, including its name in the legacy layout
+     */
+    private static List<String> storedFields(SessionField field) {
+        return switch (field) {
+            case TASK_ID -> List.of(PickSessionSchema.TASK_ID);
+            case WORKER_ID -> List.of(PickSessionSchema.WORKER_ID);
+            case WAREHOUSE_ID -> List.of(PickSessionSchema.WAREHOUSE_ID);
+            case STRATEGY -> List.of(PickSessionSchema.STRATEGY);
+            case STATUS -> List.of(PickSessionSchema.STATUS);
+            case CART_ID -> List.of(PickSessionSchema.CART_ID, "cartId");
+            case INSTRUCTIONS -> List.of(PickSessionSchema.INSTRUCTIONS, "pickInstructions");
+            case COUNTERS -> List.of();
+            case CURRENT_INDEX -> List.of(PickSessionSchema.CURRENT_INDEX, "currentInstructionIndex");
+            case CREATED_AT -> List.of(PickSessionSchema.CREATED_AT);
+            case STARTED_AT -> List.of(PickSessionSchema.STARTED_AT, "startedAt");
+            case COMPLETED_AT -> List.of(PickSessionSchema.COMPLETED_AT);
+        };
+    }
+
+    /**
+     * Rewrite a legacy document in the current schema without bumping its version.
+     * The filter only matches the untouched legacy document, so a concurrent save wins.
+     */
+    private void migrate(PickSession session) {
+        try {
+            sessions().replaceOne(
+                    Filters.and(
+                            Filters.eq(PickSessionSchema.ID, session.getSessionId()),
+                            Filters.eq(PickSessionSchema.VERSION, session.getVersion()),
+                            Filters.exists(PickSessionSchema.SCHEMA_VERSION, false)
+                    ),
+                    session
+            );
+            logger.debug("Migrated session {} to schema version {}",
+                    session.getSessionId(), PickSessionSchema.CURRENT_VERSION);
+        } catch (MongoException e) {
+            logger.warn("Could not migrate session {} to schema version {}",
+                    session.getSessionId(), PickSessionSchema.CURRENT_VERSION, e);
+        }
+    }
+
+    private Date toStoredDate(LocalDateTime dateTime) {
+        // Matches how the codec stores LocalDateTime values
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private MongoCollection<PickSession> sessions() {
+        return rawSessions().withDocumentClass(PickSession.class);
+    }
+
+    private MongoCollection<RawBsonDocument> rawSessions() {
+        return mongoTemplate.getCollection(hotCollectionName()).withDocumentClass(RawBsonDocument.class);
+    }
+
+    private MongoCollection<RawBsonDocument> rawArchive() {
+        return mongoTemplate.getCollection(PickSessionSchema.ARCHIVE_COLLECTION).withDocumentClass(RawBsonDocument.class);
+    }
+
+    private String hotCollectionName() {
+        return mongoTemplate.getCollectionName(PickSession.class);
+    }
+
+    private RuntimeException translate(MongoException e) {
+        DataAccessException translated = exceptionTranslator.translateExceptionIfPossible(e);
+        return translated != null ? translated : e;
+    }
+}
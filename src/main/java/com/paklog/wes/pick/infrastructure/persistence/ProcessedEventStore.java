@@ -0,0 +1,192 @@
+package com.paklog.wes.pick.infrastructure.persistence;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dedup store of task events that have already been handled.
+ * Processed event keys are kept in a TTL'd collection and mirrored in an in-memory
+ * Bloom filter, so a key the filter has never seen is known to be new without a
+ * round trip; only possible duplicates are confirmed against MongoDB. The filter is
+ * topped up from the collection whenever partitions are assigned, which picks up
+ * events handled by the instance that owned them before a rebalance.
+ */
+@Component
+public final class ProcessedEventStore implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessedEventStore.class);
+
+    public static final String COLLECTION = "processed_task_events";
+    public static final String PROCESSED_AT = "processedAt";
+
+    // Markers written by other instances can land slightly before the previous refresh
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+    private final long expectedEvents;
+    private final double falsePositiveRate;
+    private final Duration ttl;
+    private final Counter processedCounter;
+    private final Counter duplicateCounter;
+    private final Counter lookupCounter;
+    // Not a monitor: refresh reads MongoDB and would pin a virtual carrier thread
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile BloomFilter filter;
+    // Until the filter has been loaded every key is confirmed against MongoDB
+    private volatile boolean seeded;
+    private Instant lastRefresh;
+
+    @Autowired
+    public ProcessedEventStore(
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${pick.dedup.expected-events:1000000}") long expectedEvents,
+            @Value("${pick.dedup.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${pick.dedup.ttl:7d}") Duration ttl
+    ) {
+        this(mongoTemplate, meterRegistry, Clock.systemUTC(), expectedEvents, falsePositiveRate, ttl);
+    }
+
+    ProcessedEventStore(MongoTemplate mongoTemplate, MeterRegistry meterRegistry, Clock clock,
+                        long expectedEvents, double falsePositiveRate, Duration ttl) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+        this.expectedEvents = expectedEvents;
+        this.falsePositiveRate = falsePositiveRate;
+        this.ttl = ttl;
+        this.filter = new BloomFilter(expectedEvents, falsePositiveRate);
+        this.processedCounter = Counter.builder("pick.task.events.processed")
+                .description("Task events handled and recorded in the dedup store")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("pick.task.events.duplicates")
+                .description("Redelivered task events skipped as already processed")
+                .register(meterRegistry);
+        this.lookupCounter = Counter.builder("pick.task.events.dedup.lookups")
+                .description("Task events the filter could not clear without a MongoDB lookup")
+                .register(meterRegistry);
+        Gauge.builder("pick.task.events.dedup.filter.size", this, store -> store.filter.insertions())
+                .description("Keys held by the in-memory dedup filter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Seed before the listener containers start consuming
+        refresh();
+    }
+
+    /**
+     * Find which of the given event keys have already been processed
+     */
+    public Set<String> findProcessed(Collection<String> keys) {
+        BloomFilter current = filter;
+        List<String> candidates = seeded
+                ? keys.stream().filter(current::mightContain).toList()
+                : List.copyOf(keys);
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+
+        lookupCounter.increment(candidates.size());
+        Set<String> processed = new HashSet<>();
+        for (Document document : collection().find(Filters.in("_id", candidates)).projection(Projections.include("_id"))) {
+            processed.add(document.getString("_id"));
+        }
+        duplicateCounter.increment(processed.size());
+        return processed;
+    }
+
+    /**
+     * Record event keys as processed
+     */
+    public void markProcessed(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        Date now = Date.from(clock.instant());
+        List<Document> markers = keys.stream()
+                .map(key -> new Document("_id", key).append(PROCESSED_AT, now))
+                .toList();
+        try {
+            collection().insertMany(markers, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            // A key that is already recorded was processed concurrently; anything else is a real failure
+            boolean onlyDuplicates = e.getWriteErrors().stream()
+                    .allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+
+        BloomFilter current = filter;
+        keys.forEach(current::put);
+        processedCounter.increment(keys.size());
+    }
+
+    /**
+     * Load keys recorded since the last refresh into the filter, rebuilding it once it is full
+     */
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            Instant now = clock.instant();
+            BloomFilter target = filter;
+            Instant since = lastRefresh != null ? lastRefresh.minus(REFRESH_OVERLAP) : now.minus(ttl);
+            if (target.insertions() >= expectedEvents) {
+                // Expired keys are never removed from a Bloom filter; start over from the live window
+                target = new BloomFilter(expectedEvents, falsePositiveRate);
+                since = now.minus(ttl);
+            }
+
+            try {
+                long loaded = 0;
+                for (Document document : collection().find(Filters.gte(PROCESSED_AT, Date.from(since)))
+                        .projection(Projections.include("_id"))
+                        .batchSize(10_000)) {
+                    target.put(document.getString("_id"));
+                    loaded++;
+                }
+                filter = target;
+                lastRefresh = now;
+                seeded = true;
+                logger.debug("Loaded {} processed task event keys recorded since {}", loaded, since);
+            } catch (RuntimeException e) {
+                logger.warn("Could not load processed task event keys; confirming every event against MongoDB", e);
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
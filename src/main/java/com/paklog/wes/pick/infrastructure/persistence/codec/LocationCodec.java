@@ -0,0 +1,85 @@
+package com.paklog.wes.pick.infrastructure.persistence.codec;
+
+import com.paklog.wes.pick.domain.valueobject.Location;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * BSON codec for {@link Location}.
+ * Writes the compact {@code [aisle, bay, level, position?]} array and reads
+ * either that form or the legacy sub-document.
+ */
+public class LocationCodec implements Codec<Location> {
+
+    @Override
+    public void encode(BsonWriter writer, Location location, EncoderContext encoderContext) {
+        writer.writeStartArray();
+        writer.writeString(location.aisle());
+        writer.writeString(location.bay());
+        writer.writeString(location.level());
+        if (location.position() != null) {
+            writer.writeString(location.position());
+        }
+        writer.writeEndArray();
+    }
+
+    @Override
+    public Location decode(BsonReader reader, DecoderContext decoderContext) {
+        if (reader.getCurrentBsonType() == BsonType.ARRAY) {
+            return decodeCompact(reader);
+        }
+        return decodeLegacy(reader);
+    }
+
+    private Location decodeCompact(BsonReader reader) {
+        String[] parts = new String[4];
+        int index = 0;
+
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (index >= parts.length) {
+                reader.skipValue();
+            } else if (!BsonSupport.skipNull(reader)) {
+                parts[index] = reader.readString();
+            }
+            index++;
+        }
+        reader.readEndArray();
+
+        return new Location(parts[0], parts[1], parts[2], parts[3]);
+    }
+
+    private Location decodeLegacy(BsonReader reader) {
+        String aisle = null;
+        String bay = null;
+        String level = null;
+        String position = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (BsonSupport.skipNull(reader)) {
+                continue;
+            }
+            switch (name) {
+                case "aisle" -> aisle = reader.readString();
+                case "bay" -> bay = reader.readString();
+                case "level" -> level = reader.readString();
+                case "position" -> position = reader.readString();
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new Location(aisle, bay, level, position);
+    }
+
+    @Override
+    public Class<Location> getEncoderClass() {
+        return Location.class;
+    }
+}
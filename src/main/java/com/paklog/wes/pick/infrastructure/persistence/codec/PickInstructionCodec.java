@@ -0,0 +1,131 @@
+package com.paklog.wes.pick.infrastructure.persistence.codec;
+
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.InstructionStatus;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.Priority;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionSchema.*;
+
+/**
+ * BSON codec for {@link PickInstruction}.
+ * Writes the version 2 compact layout and reads both compact and legacy keys.
+ */
+public class PickInstructionCodec implements Codec<PickInstruction> {
+
+    private final Codec<Location> locationCodec;
+
+    public PickInstructionCodec(Codec<Location> locationCodec) {
+        this.locationCodec = locationCodec;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, PickInstruction instruction, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonSupport.writeString(writer, INSTRUCTION_ID, instruction.getInstructionId());
+        BsonSupport.writeString(writer, SKU, instruction.getItemSku());
+        BsonSupport.writeString(writer, DESCRIPTION, instruction.getItemDescription());
+        writer.writeInt32(EXPECTED_QUANTITY, instruction.getExpectedQuantity());
+        if (instruction.getPickedQuantity() != 0) {
+            writer.writeInt32(PICKED_QUANTITY, instruction.getPickedQuantity());
+        }
+        if (instruction.getLocation() != null) {
+            writer.writeName(LOCATION);
+            locationCodec.encode(writer, instruction.getLocation(), encoderContext);
+        }
+        BsonSupport.writeString(writer, ORDER_ID, instruction.getOrderId());
+        if (instruction.getStatus() != null) {
+            writer.writeInt32(INSTRUCTION_STATUS, code(instruction.getStatus()));
+        }
+        writer.writeInt32(SEQUENCE, instruction.getSequenceNumber());
+        if (instruction.getPriority() != null) {
+            writer.writeInt32(PRIORITY, code(instruction.getPriority()));
+        }
+        if (instruction.getWeight() != 0.0) {
+            writer.writeDouble(WEIGHT, instruction.getWeight());
+        }
+        BsonSupport.writeString(writer, UOM, instruction.getUom());
+        if (instruction.getSpecialHandling() != null && !instruction.getSpecialHandling().isEmpty()) {
+            writer.writeStartArray(SPECIAL_HANDLING);
+            for (String handling : instruction.getSpecialHandling()) {
+                writer.writeString(handling);
+            }
+            writer.writeEndArray();
+        }
+        BsonSupport.writeString(writer, SHORT_PICK_REASON, instruction.getShortPickReason());
+        BsonSupport.writeDateTime(writer, PICKED_AT, instruction.getPickedAt());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public PickInstruction decode(BsonReader reader, DecoderContext decoderContext) {
+        PickInstruction instruction = new PickInstruction();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (BsonSupport.skipNull(reader)) {
+                continue;
+            }
+            switch (name) {
+                case INSTRUCTION_ID, "instructionId" -> instruction.setInstructionId(reader.readString());
+                case SKU, "itemSku" -> instruction.setItemSku(reader.readString());
+                case DESCRIPTION, "itemDescription" -> instruction.setItemDescription(reader.readString());
+                case EXPECTED_QUANTITY, "expectedQuantity" -> instruction.setExpectedQuantity(BsonSupport.readInt(reader));
+                case PICKED_QUANTITY, "pickedQuantity" -> instruction.setPickedQuantity(BsonSupport.readInt(reader));
+                case LOCATION, "location" -> instruction.setLocation(locationCodec.decode(reader, decoderContext));
+                case ORDER_ID, "orderId" -> instruction.setOrderId(reader.readString());
+                case INSTRUCTION_STATUS, "status" -> instruction.setStatus(readStatus(reader));
+                case SEQUENCE, "sequenceNumber" -> instruction.setSequenceNumber(BsonSupport.readInt(reader));
+                case PRIORITY, "priority" -> instruction.setPriority(readPriority(reader));
+                case WEIGHT, "weight" -> instruction.setWeight(BsonSupport.readDouble(reader));
+                case UOM, "uom" -> instruction.setUom(reader.readString());
+                case SPECIAL_HANDLING, "specialHandling" -> instruction.setSpecialHandling(readStrings(reader));
+                case SHORT_PICK_REASON, "shortPickReason" -> instruction.setShortPickReason(reader.readString());
+                case PICKED_AT, "pickedAt" -> instruction.setPickedAt(BsonSupport.readDateTime(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return instruction;
+    }
+
+    private InstructionStatus readStatus(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return InstructionStatus.valueOf(reader.readString());
+        }
+        return instructionStatus(BsonSupport.readInt(reader));
+    }
+
+    private Priority readPriority(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return Priority.valueOf(reader.readString());
+        }
+        return priority(BsonSupport.readInt(reader));
+    }
+
+    private List<String> readStrings(BsonReader reader) {
+        List<String> values = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            values.add(reader.readString());
+        }
+        reader.readEndArray();
+        return values;
+    }
+
+    @Override
+    public Class<PickInstruction> getEncoderClass() {
+        return PickInstruction.class;
+    }
+}
@@ -0,0 +1,151 @@
+package com.paklog.wes.pick.infrastructure.persistence.codec;
+
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import org.bson.BsonReader;
+import org.bson.BsonSerializationException;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionSchema.*;
+
+/**
+ * BSON codec for {@link PickPath}.
+ * Inside a session document, nodes reference their instruction by index in the
+ * instruction array; standalone paths carry the instruction ID and location inline.
+ */
+public class PickPathCodec implements Codec<PickPath> {
+
+    private final Codec<Location> locationCodec;
+
+    public PickPathCodec(Codec<Location> locationCodec) {
+        this.locationCodec = locationCodec;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, PickPath path, EncoderContext encoderContext) {
+        encode(writer, path, Map.of(), encoderContext);
+    }
+
+    /**
+     * Encode a path whose nodes are resolved against the owning session's instructions
+     */
+    public void encode(BsonWriter writer, PickPath path, Map<String, Integer> instructionIndex,
+                       EncoderContext encoderContext) {
+        writer.writeStartDocument();
+
+        writer.writeStartArray(PATH_NODES);
+        for (PickPath.PathNode node : path.nodes()) {
+            writer.writeStartDocument();
+            Integer index = instructionIndex.get(node.instructionId());
+            if (index != null) {
+                writer.writeInt32(NODE_INSTRUCTION_INDEX, index);
+            } else {
+                writer.writeString(NODE_INSTRUCTION_ID, node.instructionId());
+                writer.writeName(NODE_LOCATION);
+                locationCodec.encode(writer, node.location(), encoderContext);
+            }
+            writer.writeInt32(NODE_SEQUENCE, node.sequenceNumber());
+            writer.writeDouble(NODE_DISTANCE, node.distanceFromPrevious());
+            writer.writeEndDocument();
+        }
+        writer.writeEndArray();
+
+        writer.writeDouble(PATH_TOTAL_DISTANCE, path.totalDistance());
+        if (path.estimatedDuration() != null) {
+            writer.writeInt64(PATH_DURATION_MILLIS, path.estimatedDuration().toMillis());
+        }
+        writer.writeString(PATH_ALGORITHM, path.algorithm());
+
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public PickPath decode(BsonReader reader, DecoderContext decoderContext) {
+        return decode(reader, List.of(), decoderContext);
+    }
+
+    /**
+     * Decode a path, resolving indexed nodes against already decoded instructions
+     */
+    public PickPath decode(BsonReader reader, List<PickInstruction> instructions, DecoderContext decoderContext) {
+        List<PickPath.PathNode> nodes = new ArrayList<>();
+        double totalDistance = 0.0;
+        Duration estimatedDuration = null;
+        String algorithm = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (BsonSupport.skipNull(reader)) {
+                continue;
+            }
+            switch (name) {
+                case PATH_NODES, "nodes" -> {
+                    reader.readStartArray();
+                    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                        nodes.add(decodeNode(reader, instructions, decoderContext));
+                    }
+                    reader.readEndArray();
+                }
+                case PATH_TOTAL_DISTANCE, "totalDistance" -> totalDistance = BsonSupport.readDouble(reader);
+                case PATH_DURATION_MILLIS -> estimatedDuration = Duration.ofMillis(BsonSupport.readLong(reader));
+                case "estimatedDuration" -> estimatedDuration = Duration.parse(reader.readString());
+                case PATH_ALGORITHM, "algorithm" -> algorithm = reader.readString();
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new PickPath(nodes, totalDistance, estimatedDuration, algorithm);
+    }
+
+    private PickPath.PathNode decodeNode(BsonReader reader, List<PickInstruction> instructions,
+                                         DecoderContext decoderContext) {
+        String instructionId = null;
+        Location location = null;
+        int sequenceNumber = 0;
+        double distanceFromPrevious = 0.0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (BsonSupport.skipNull(reader)) {
+                continue;
+            }
+            switch (name) {
+                case NODE_INSTRUCTION_INDEX -> {
+                    int index = BsonSupport.readInt(reader);
+                    if (index < 0 || index >= instructions.size()) {
+                        throw new BsonSerializationException("Path node references unknown instruction index: " + index);
+                    }
+                    PickInstruction instruction = instructions.get(index);
+                    instructionId = instruction.getInstructionId();
+                    location = instruction.getLocation();
+                }
+                case NODE_INSTRUCTION_ID, "instructionId" -> instructionId = reader.readString();
+                case NODE_LOCATION, "location" -> location = locationCodec.decode(reader, decoderContext);
+                case NODE_SEQUENCE, "sequenceNumber" -> sequenceNumber = BsonSupport.readInt(reader);
+                case NODE_DISTANCE, "distanceFromPrevious" -> distanceFromPrevious = BsonSupport.readDouble(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new PickPath.PathNode(instructionId, location, sequenceNumber, distanceFromPrevious);
+    }
+
+    @Override
+    public Class<PickPath> getEncoderClass() {
+        return PickPath.class;
+    }
+}
@@ -0,0 +1,134 @@
+package com.paklog.wes.pick.infrastructure.persistence.codec;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionSchema.*;
+
+/**
+ * Hand-written BSON codec for the {@link PickSession} aggregate.
+ * Always writes the current {@link PickSessionSchema} version and reads
+ * both the compact layout and the legacy Spring Data layout, so older
+ * documents are upgraded transparently the next time they are written.
+ */
+public class PickSessionCodec implements Codec<PickSession> {
+
+    private final PickInstructionCodec instructionCodec;
+    private final PickPathCodec pathCodec;
+
+    public PickSessionCodec(PickInstructionCodec instructionCodec, PickPathCodec pathCodec) {
+        this.instructionCodec = instructionCodec;
+        this.pathCodec = pathCodec;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, PickSession session, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonSupport.writeString(writer, ID, session.getSessionId());
+        if (session.getVersion() != null) {
+            writer.writeInt64(VERSION, session.getVersion());
+        }
+        writer.writeInt32(SCHEMA_VERSION, CURRENT_VERSION);
+        BsonSupport.writeString(writer, TASK_ID, session.getTaskId());
+        BsonSupport.writeString(writer, WORKER_ID, session.getWorkerId());
+        BsonSupport.writeString(writer, WAREHOUSE_ID, session.getWarehouseId());
+        if (session.getStrategy() != null) {
+            writer.writeString(STRATEGY, session.getStrategy().name());
+        }
+        if (session.getStatus() != null) {
+            writer.writeString(STATUS, session.getStatus().name());
+        }
+        BsonSupport.writeString(writer, CART_ID, session.getCartId());
+        BsonSupport.writeDateTime(writer, CREATED_AT, session.getCreatedAt());
+        BsonSupport.writeDateTime(writer, STARTED_AT, session.getStartedAt());
+        BsonSupport.writeDateTime(writer, COMPLETED_AT, session.getCompletedAt());
+        BsonSupport.writeDateTime(writer, PAUSED_AT, session.getPausedAt());
+        writer.writeInt32(CURRENT_INDEX, session.getCurrentInstructionIndex());
+        BsonSupport.writeString(writer, CANCELLATION_REASON, session.getCancellationReason());
+        if (session.getStatus() != null && session.getStatus().isActive() && session.hasAssignedWorker()) {
+            writer.writeBoolean(ASSIGNED_ACTIVE, true);
+        }
+
+        Map<String, Integer> instructionIndex = new HashMap<>();
+        if (session.getPickInstructions() != null) {
+            writer.writeStartArray(INSTRUCTIONS);
+            List<PickInstruction> instructions = session.getPickInstructions();
+            for (int i = 0; i < instructions.size(); i++) {
+                PickInstruction instruction = instructions.get(i);
+                instructionIndex.put(instruction.getInstructionId(), i);
+                instructionCodec.encode(writer, instruction, encoderContext);
+            }
+            writer.writeEndArray();
+        }
+        if (session.getOptimizedPath() != null) {
+            writer.writeName(PATH);
+            pathCodec.encode(writer, session.getOptimizedPath(), instructionIndex, encoderContext);
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public PickSession decode(BsonReader reader, DecoderContext decoderContext) {
+        PickSession session = new PickSession();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (BsonSupport.skipNull(reader)) {
+                continue;
+            }
+            switch (name) {
+                case ID -> session.setSessionId(reader.readString());
+                case VERSION -> session.setVersion(BsonSupport.readLong(reader));
+                case TASK_ID -> session.setTaskId(reader.readString());
+                case WORKER_ID -> session.setWorkerId(reader.readString());
+                case WAREHOUSE_ID -> session.setWarehouseId(reader.readString());
+                case STRATEGY -> session.setStrategy(PickStrategy.valueOf(reader.readString()));
+                case STATUS -> session.setStatus(SessionStatus.valueOf(reader.readString()));
+                case CART_ID, "cartId" -> session.setCartId(reader.readString());
+                case CREATED_AT -> session.setCreatedAt(BsonSupport.readDateTime(reader));
+                case STARTED_AT, "startedAt" -> session.setStartedAt(BsonSupport.readDateTime(reader));
+                case COMPLETED_AT -> session.setCompletedAt(BsonSupport.readDateTime(reader));
+                case PAUSED_AT, "pausedAt" -> session.setPausedAt(BsonSupport.readDateTime(reader));
+                case CURRENT_INDEX, "currentInstructionIndex" -> session.setCurrentInstructionIndex(BsonSupport.readInt(reader));
+                case CANCELLATION_REASON, "cancellationReason" -> session.setCancellationReason(reader.readString());
+                case INSTRUCTIONS, "pickInstructions" -> session.setPickInstructions(readInstructions(reader, decoderContext));
+                // Instructions are always written before the path, so indexed nodes can be resolved in one pass
+                case PATH, "optimizedPath" -> session.setOptimizedPath(
+                        pathCodec.decode(reader, session.getPickInstructions(), decoderContext));
+                default -> reader.skipValue(); // _v, _class and legacy fields such as domainEvents
+            }
+        }
+        reader.readEndDocument();
+
+        return session;
+    }
+
+    private List<PickInstruction> readInstructions(BsonReader reader, DecoderContext decoderContext) {
+        List<PickInstruction> instructions = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            instructions.add(instructionCodec.decode(reader, decoderContext));
+        }
+        reader.readEndArray();
+        return instructions;
+    }
+
+    @Override
+    public Class<PickSession> getEncoderClass() {
+        return PickSession.class;
+    }
+}
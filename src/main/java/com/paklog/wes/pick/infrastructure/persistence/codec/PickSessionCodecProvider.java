@@ -0,0 +1,38 @@
+package com.paklog.wes.pick.infrastructure.persistence.codec;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * Supplies the hand-written pick session codecs to the MongoDB driver
+ */
+public class PickSessionCodecProvider implements CodecProvider {
+
+    private final LocationCodec locationCodec = new LocationCodec();
+    private final PickPathCodec pathCodec = new PickPathCodec(locationCodec);
+    private final PickInstructionCodec instructionCodec = new PickInstructionCodec(locationCodec);
+    private final PickSessionCodec sessionCodec = new PickSessionCodec(instructionCodec, pathCodec);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+        if (clazz == PickSession.class) {
+            return (Codec<T>) sessionCodec;
+        }
+        if (clazz == PickInstruction.class) {
+            return (Codec<T>) instructionCodec;
+        }
+        if (clazz == PickPath.class) {
+            return (Codec<T>) pathCodec;
+        }
+        if (clazz == Location.class) {
+            return (Codec<T>) locationCodec;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.paklog.wes.pick.infrastructure.persistence.codec;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import org.bson.BsonDocumentReader;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+/**
+ * Lets Spring Data read pick_sessions documents in any schema version.
+ * Derived repository queries and {@code MongoTemplate} reads receive an already
+ * decoded {@link Document}, so this bridges it back through {@link PickSessionCodec}.
+ */
+@ReadingConverter
+public class PickSessionReadingConverter implements Converter<Document, PickSession> {
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    private final CodecRegistry codecRegistry;
+    private final Codec<PickSession> sessionCodec;
+
+    public PickSessionReadingConverter(CodecRegistry codecRegistry) {
+        this.codecRegistry = codecRegistry;
+        this.sessionCodec = codecRegistry.get(PickSession.class);
+    }
+
+    @Override
+    public PickSession convert(Document source) {
+        return sessionCodec.decode(
+                new BsonDocumentReader(source.toBsonDocument(Document.class, codecRegistry)),
+                DECODER_CONTEXT
+        );
+    }
+}
@@ -0,0 +1,126 @@
+package com.paklog.wes.pick.infrastructure.persistence.codec;
+
+import com.paklog.wes.pick.domain.valueobject.InstructionStatus;
+import com.paklog.wes.pick.domain.valueobject.Priority;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Storage schema for pick_sessions documents.
+ *
+ * <p>Version 1 is the verbose layout produced by Spring Data's reflective mapping.
+ * Version 2 keeps the indexed and queried top-level fields under their original names,
+ * shortens every other key, stores instruction enums as stable integer codes and
+ * stores path nodes as references into the instruction array instead of repeating
+ * instruction IDs and locations. Code tables are append-only.
+ */
+public final class PickSessionSchema {
+
+    public static final int CURRENT_VERSION = 2;
+
+    /**
+     * Cold collection that terminal sessions are moved to once they age out
+     */
+    public static final String ARCHIVE_COLLECTION = "pick_sessions_archive";
+
+    // Top-level fields
+    public static final String SCHEMA_VERSION = "_v";
+    public static final String ID = "_id";
+    public static final String VERSION = "version";
+    public static final String TASK_ID = "taskId";
+    public static final String WORKER_ID = "workerId";
+    public static final String WAREHOUSE_ID = "warehouseId";
+    public static final String STATUS = "status";
+    public static final String STRATEGY = "strategy";
+    public static final String CREATED_AT = "createdAt";
+    public static final String COMPLETED_AT = "completedAt";
+    public static final String CART_ID = "cart";
+    public static final String STARTED_AT = "sa";
+    public static final String PAUSED_AT = "pa";
+    public static final String CURRENT_INDEX = "ci";
+    public static final String CANCELLATION_REASON = "cr";
+    public static final String INSTRUCTIONS = "ins";
+    public static final String PATH = "p";
+    /**
+     * Set while the session is active and bound to a real picker; the unique active worker index is partial on it
+     */
+    public static final String ASSIGNED_ACTIVE = "aa";
+
+    // Instruction fields
+    public static final String INSTRUCTION_ID = "i";
+    public static final String SKU = "s";
+    public static final String DESCRIPTION = "d";
+    public static final String EXPECTED_QUANTITY = "q";
+    public static final String PICKED_QUANTITY = "pq";
+    public static final String LOCATION = "l";
+    public static final String ORDER_ID = "o";
+    public static final String INSTRUCTION_STATUS = "st";
+    public static final String SEQUENCE = "n";
+    public static final String PRIORITY = "pr";
+    public static final String WEIGHT = "w";
+    public static final String UOM = "u";
+    public static final String SPECIAL_HANDLING = "sh";
+    public static final String SHORT_PICK_REASON = "r";
+    public static final String PICKED_AT = "t";
+
+    // Path fields
+    public static final String PATH_NODES = "nd";
+    public static final String PATH_TOTAL_DISTANCE = "td";
+    public static final String PATH_DURATION_MILLIS = "ed";
+    public static final String PATH_ALGORITHM = "a";
+    public static final String NODE_INSTRUCTION_INDEX = "x";
+    public static final String NODE_INSTRUCTION_ID = "i";
+    public static final String NODE_LOCATION = "l";
+    public static final String NODE_SEQUENCE = "n";
+    public static final String NODE_DISTANCE = "d";
+
+    private static final InstructionStatus[] STATUS_CODES = {
+            InstructionStatus.PENDING,
+            InstructionStatus.IN_PROGRESS,
+            InstructionStatus.PICKED,
+            InstructionStatus.SHORT_PICKED,
+            InstructionStatus.SKIPPED,
+            InstructionStatus.CANCELLED
+    };
+
+    private static final Priority[] PRIORITY_CODES = {
+            Priority.URGENT,
+            Priority.HIGH,
+            Priority.NORMAL,
+            Priority.LOW
+    };
+
+    private static final Map<InstructionStatus, Integer> STATUS_TO_CODE = codes(InstructionStatus.class, STATUS_CODES);
+    private static final Map<Priority, Integer> PRIORITY_TO_CODE = codes(Priority.class, PRIORITY_CODES);
+
+    private PickSessionSchema() {
+    }
+
+    public static int code(InstructionStatus status) {
+        return STATUS_TO_CODE.get(status);
+    }
+
+    public static InstructionStatus instructionStatus(int code) {
+        return STATUS_CODES[code];
+    }
+
+    public static int code(Priority priority) {
+        return PRIORITY_TO_CODE.get(priority);
+    }
+
+    public static Priority priority(int code) {
+        return PRIORITY_CODES[code];
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> codes(Class<E> type, E[] table) {
+        Map<E, Integer> codes = new EnumMap<>(type);
+        for (int i = 0; i < table.length; i++) {
+            codes.put(table[i], i);
+        }
+        if (codes.size() != type.getEnumConstants().length) {
+            throw new IllegalStateException("Missing storage code for " + type.getSimpleName());
+        }
+        return codes;
+    }
+}
@@ -1,18 +1,29 @@
 package com.paklog.wes.pick.integration.contracts;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.Instant;
 
 /**
  * Contract for TaskAssignedEvent from task-execution-service
  * Anti-Corruption Layer for external events
+ * Aliases accept the camelCase payload of the legacy TaskAssignedEvent message
  */
 public record TaskAssignedContract(
-    @JsonProperty("task_id") String taskId,
-    @JsonProperty("worker_id") String workerId,
-    @JsonProperty("assigned_at") Instant assignedAt,
+    @JsonProperty("task_id") @JsonAlias("taskId") String taskId,
+    @JsonProperty("worker_id") @JsonAlias({"workerId", "assignedTo"}) String workerId,
+    @JsonProperty("assigned_at") @JsonAlias("assignedAt") Instant assignedAt,
     @JsonProperty("priority") String priority,
-    @JsonProperty("zone_id") String zoneId
+    @JsonProperty("zone_id") @JsonAlias("zoneId") String zoneId,
+    @JsonProperty("task_type") @JsonAlias("taskType") String taskType
 ) {
     public static final String EVENT_TYPE = "com.paklog.wes.task-execution.task.task.assigned.v1";
+    public static final String LEGACY_EVENT_TYPE = "TaskAssignedEvent";
+
+    /**
+     * Check if this is a picking task; events without a task type are assumed to be
+     */
+    public boolean isPickTask() {
+        return taskType == null || "PICK".equalsIgnoreCase(taskType);
+    }
 }
@@ -1,22 +1,28 @@
 package com.paklog.wes.pick.integration.contracts;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Contract for TaskCreatedEvent from task-execution-service
  * Anti-Corruption Layer for external events
+ * Aliases accept the camelCase payload of the legacy TaskCreatedEvent message
  */
 public record TaskCreatedContract(
-    @JsonProperty("task_id") String taskId,
-    @JsonProperty("wave_id") String waveId,
-    @JsonProperty("order_id") String orderId,
-    @JsonProperty("task_type") String taskType,
+    @JsonProperty("task_id") @JsonAlias("taskId") String taskId,
+    @JsonProperty("wave_id") @JsonAlias({"waveId", "referenceId"}) String waveId,
+    @JsonProperty("order_id") @JsonAlias("orderId") String orderId,
+    @JsonProperty("task_type") @JsonAlias("taskType") String taskType,
     @JsonProperty("priority") String priority,
-    @JsonProperty("zone_id") String zoneId,
-    @JsonProperty("created_at") Instant createdAt
+    @JsonProperty("zone_id") @JsonAlias("zoneId") String zoneId,
+    @JsonProperty("created_at") @JsonAlias("createdAt") Instant createdAt,
+    @JsonProperty("warehouse_id") @JsonAlias("warehouseId") String warehouseId,
+    @JsonProperty("context") PickContext context
 ) {
     public static final String EVENT_TYPE = "com.paklog.wes.task-execution.task.task.created.v1";
+    public static final String LEGACY_EVENT_TYPE = "TaskCreatedEvent";
 
     /**
      * Check if this is a picking task
@@ -24,4 +30,37 @@ public record TaskCreatedContract(
     public boolean isPickTask() {
         return "PICK".equalsIgnoreCase(taskType);
     }
+
+    /**
+     * Picking details attached to a PICK task
+     */
+    public record PickContext(
+        @JsonProperty("strategy") String strategy,
+        @JsonProperty("worker_id") @JsonAlias("workerId") String workerId,
+        @JsonProperty("cart_id") @JsonAlias("cartId") String cartId,
+        @JsonProperty("instructions") List<Instruction> instructions
+    ) {}
+
+    /**
+     * Pick instruction as published by task-execution-service
+     */
+    public record Instruction(
+        @JsonProperty("instruction_id") @JsonAlias("instructionId") String instructionId,
+        @JsonProperty("item_sku") @JsonAlias("itemSku") String itemSku,
+        @JsonProperty("item_description") @JsonAlias("itemDescription") String itemDescription,
+        @JsonProperty("expected_quantity") @JsonAlias("expectedQuantity") Integer expectedQuantity,
+        @JsonProperty("order_id") @JsonAlias("orderId") String orderId,
+        @JsonProperty("priority") String priority,
+        @JsonProperty("location") InstructionLocation location
+    ) {}
+
+    /**
+     * Storage location of a pick instruction
+     */
+    public record InstructionLocation(
+        @JsonProperty("aisle") String aisle,
+        @JsonProperty("bay") String bay,
+        @JsonProperty("level") String level,
+        @JsonProperty("position") String position
+    ) {}
 }
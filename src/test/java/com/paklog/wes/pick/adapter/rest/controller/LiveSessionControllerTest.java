@@ -0,0 +1,63 @@
+package com.paklog.wes.pick.adapter.rest.controller;
+
+import com.paklog.wes.pick.adapter.sse.SupervisorFloorBroadcaster;
+import com.paklog.wes.pick.application.projection.LiveSessionProjection;
+import com.paklog.wes.pick.application.projection.LiveSessionView;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LiveSessionController.class)
+class LiveSessionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LiveSessionProjection liveSessionProjection;
+
+    @MockBean
+    private SupervisorFloorBroadcaster floorBroadcaster;
+
+    @Test
+    @DisplayName("Should serve live sessions from the projection")
+    void shouldListLiveSessions() throws Exception {
+        when(liveSessionProjection.snapshot("WH-1")).thenReturn(List.of(new LiveSessionView(
+                "SESSION-1", "WH-1", "WORKER-1", "TASK-1", SessionStatus.IN_PROGRESS,
+                50.0, 1, 2, new Location("A", "01", "01", "01"), 3)));
+
+        mockMvc.perform(get("/api/v1/picks/sessions/live").param("warehouseId", "WH-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].workerId").value("WORKER-1"))
+                .andExpect(jsonPath("$[0].currentLocation.aisle").value("A"));
+    }
+
+    @Test
+    @DisplayName("Should open a floor stream for the warehouse")
+    void shouldStreamLiveSessions() throws Exception {
+        when(floorBroadcaster.open("WH-1")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/picks/sessions/live/stream")
+                        .param("warehouseId", "WH-1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+}
@@ -1,30 +1,44 @@
 package com.paklog.wes.pick.adapter.rest.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.paklog.wes.pick.domain.valueobject.Priority;
 import com.paklog.wes.pick.adapter.rest.dto.ConfirmPickRequest;
+import com.paklog.wes.pick.adapter.rest.dto.PickInstructionDto;
+import com.paklog.wes.pick.adapter.rest.dto.PickJournalRequest;
+import com.paklog.wes.pick.adapter.rest.dto.SessionResponse;
 import com.paklog.wes.pick.adapter.rest.dto.ShortPickRequest;
 import com.paklog.wes.pick.application.command.ConfirmPickCommand;
 import com.paklog.wes.pick.application.command.HandleShortPickCommand;
+import com.paklog.wes.pick.application.command.ReplayPickJournalCommand;
 import com.paklog.wes.pick.application.service.PickSessionService;
 import com.paklog.wes.pick.domain.aggregate.PickSession;
 import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
 import com.paklog.wes.pick.domain.valueobject.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +55,9 @@ class MobilePickControllerTest {
     @MockBean
     private PickSessionService pickSessionService;
 
+    @MockBean
+    private NextInstructionLongPoll longPoll;
+
     private PickSession session;
 
     @BeforeEach
@@ -85,6 +102,31 @@ class MobilePickControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Should answer idle polling with 304 from the session version")
+    void shouldReturnNotModifiedForIdlePolling() throws Exception {
+        session.setVersion(2L);
+        when(pickSessionService.getActiveSessionVersionForWorker("WORKER-1"))
+                .thenReturn(Optional.of(new SessionVersion(session.getSessionId(), 2L)));
+
+        String etag = mockMvc.perform(get("/api/v1/mobile/picks/current-instruction")
+                        .header("X-Worker-Id", "WORKER-1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/mobile/picks/current-instruction")
+                        .header("X-Worker-Id", "WORKER-1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/mobile/picks/my-session")
+                        .header("X-Worker-Id", "WORKER-1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(pickSessionService).getActiveSessionForWorker("WORKER-1");
+        verify(pickSessionService, never()).getSessionProgress(session.getSessionId());
+    }
+
     @Test
     @DisplayName("Should return current instruction")
     void shouldGetCurrentInstruction() throws Exception {
@@ -120,6 +162,101 @@ class MobilePickControllerTest {
                 .andExpect(jsonPath("$.shortPicks").value(session.getShortPickCount()));
     }
 
+    @Test
+    @DisplayName("Should accept and return CBOR when the handheld asks for it")
+    void shouldNegotiateCbor() throws Exception {
+        CBORMapper cborMapper = CBORMapper.builder().findAndAddModules().build();
+
+        byte[] cbor = mockMvc.perform(post("/api/v1/mobile/picks/confirm")
+                        .header("X-Worker-Id", "WORKER-1")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(new ConfirmPickRequest("INST-1", 5))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(get("/api/v1/mobile/picks/my-session")
+                        .header("X-Worker-Id", "WORKER-1"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        SessionResponse response = cborMapper.readValue(cbor, SessionResponse.class);
+        assertThat(response.sessionId()).isEqualTo(session.getSessionId());
+        assertThat(response.instructions()).hasSize(session.getPickInstructions().size());
+        assertThat(cbor.length).isLessThan(json.length);
+        verify(pickSessionService).confirmPick(new ConfirmPickCommand(session.getSessionId(), "INST-1", 5));
+    }
+
+    @Test
+    @DisplayName("Should answer a scan with only the changed and next instruction when minimal is preferred")
+    void shouldReturnDeltaForConfirm() throws Exception {
+        session.setVersion(4L);
+        ConfirmPickRequest request = new ConfirmPickRequest("INST-1", 5);
+
+        mockMvc.perform(post("/api/v1/mobile/picks/confirm")
+                        .header("X-Worker-Id", "WORKER-1")
+                        .header("Prefer", "handling=lenient, return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Preference-Applied", "return=minimal"))
+                .andExpect(jsonPath("$.version").value(4))
+                .andExpect(jsonPath("$.updatedInstruction.instructionId").value("INST-1"))
+                .andExpect(jsonPath("$.nextInstruction.instructionId").value("INST-2"))
+                .andExpect(jsonPath("$.completedInstructions").value(1))
+                .andExpect(jsonPath("$.instructions").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should keep the scan response small for large sessions")
+    void shouldShrinkScanResponse() throws Exception {
+        List<PickInstruction> instructions = new ArrayList<>();
+        List<PickPath.PathNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Location location = new Location("A", String.format("%02d", i % 40), "01", String.format("%02d", i / 40));
+            instructions.add(new PickInstruction("INST-" + i, "SKU-" + i, "Item " + i, 2, location, "ORDER-" + i, Priority.NORMAL));
+            nodes.add(new PickPath.PathNode("INST-" + i, location, i, i));
+        }
+        PickSession wave = PickSession.create("TASK-2", "WORKER-3", "WH-1", PickStrategy.WAVE, "CART-2", instructions);
+        wave.start(new PickPath(nodes, 300.0, Duration.ofMinutes(60), "TEST"));
+        wave.confirmPick("INST-0", 2);
+        when(pickSessionService.getActiveSessionForWorker("WORKER-3")).thenReturn(Optional.of(wave));
+        when(pickSessionService.handleShortPick(any(HandleShortPickCommand.class))).thenReturn(wave);
+        String body = objectMapper.writeValueAsString(new ShortPickRequest("INST-0", 1, "Damaged"));
+
+        int full = mockMvc.perform(post("/api/v1/mobile/picks/short-pick")
+                        .header("X-Worker-Id", "WORKER-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse().getContentAsByteArray().length;
+        int minimal = mockMvc.perform(post("/api/v1/mobile/picks/short-pick")
+                        .header("X-Worker-Id", "WORKER-3")
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse().getContentAsByteArray().length;
+
+        assertThat(minimal).isPositive().isLessThan(full / 50);
+    }
+
+    @Test
+    @DisplayName("Should return the full session only when it changed after the client's version")
+    void shouldReturnChangesSinceVersion() throws Exception {
+        session.setVersion(3L);
+
+        mockMvc.perform(get("/api/v1/mobile/picks/my-session/changes")
+                        .param("sinceVersion", "3")
+                        .header("X-Worker-Id", "WORKER-1"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/mobile/picks/my-session/changes")
+                        .param("sinceVersion", "1")
+                        .header("X-Worker-Id", "WORKER-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3))
+                .andExpect(jsonPath("$.instructions.length()").value(2));
+    }
+
     @Test
     @DisplayName("Should get session progress for worker")
     void shouldGetProgress() throws Exception {
@@ -129,6 +266,84 @@ class MobilePickControllerTest {
                 .andExpect(jsonPath("$.sessionId").value(session.getSessionId()));
     }
 
+    @Test
+    @DisplayName("Should long-poll the current instruction asynchronously")
+    void shouldLongPollCurrentInstruction() throws Exception {
+        DeferredResult<ResponseEntity<PickInstructionDto>> poll = new DeferredResult<>();
+        when(longPoll.await("WORKER-1", "\"S-1:3\"")).thenReturn(poll);
+
+        MvcResult started = mockMvc.perform(get("/api/v1/mobile/picks/current-instruction/wait")
+                        .header("X-Worker-Id", "WORKER-1")
+                        .header("If-None-Match", "\"S-1:3\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        poll.setResult(ResponseEntity.ok(MobilePickController.toInstructionDto(session.getCurrentInstruction())));
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.instructionId").value("INST-2"));
+    }
+
+    @Test
+    @DisplayName("Should prefetch the open instructions for offline picking")
+    void shouldPrefetchInstructions() throws Exception {
+        session.setVersion(4L);
+
+        mockMvc.perform(get("/api/v1/mobile/picks/prefetch")
+                        .param("limit", "10")
+                        .header("X-Worker-Id", "WORKER-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", SessionETags.strong(session)))
+                .andExpect(jsonPath("$.version").value(4))
+                .andExpect(jsonPath("$.instructions.length()").value(1))
+                .andExpect(jsonPath("$.instructions[0].instructionId").value("INST-2"))
+                .andExpect(jsonPath("$.remainingInstructions").value(1));
+    }
+
+    @Test
+    @DisplayName("Should replay an uploaded journal and report each entry")
+    void shouldUploadJournal() throws Exception {
+        when(pickSessionService.replayJournal(any(ReplayPickJournalCommand.class)))
+                .thenReturn(new PickSessionService.JournalReplayResult(session, List.of(
+                        new PickSessionService.JournalEntryResult(0, "INST-1", PickSessionService.JournalEntryOutcome.DUPLICATE, null),
+                        new PickSessionService.JournalEntryResult(1, "INST-2", PickSessionService.JournalEntryOutcome.REJECTED, "Use confirmPick for full quantity picks")
+                )));
+        PickJournalRequest request = new PickJournalRequest(session.getSessionId(), List.of(
+                new PickJournalRequest.Entry(ReplayPickJournalCommand.EntryType.CONFIRM, "INST-1", 5, null),
+                new PickJournalRequest.Entry(ReplayPickJournalCommand.EntryType.SHORT_PICK, "INST-2", 5, "Empty bin")
+        ));
+
+        mockMvc.perform(post("/api/v1/mobile/picks/journal")
+                        .header("X-Worker-Id", "WORKER-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[0].outcome").value("DUPLICATE"))
+                .andExpect(jsonPath("$.entries[1].outcome").value("REJECTED"))
+                .andExpect(jsonPath("$.nextInstruction.instructionId").value("INST-2"));
+
+        ArgumentCaptor<ReplayPickJournalCommand> command = ArgumentCaptor.forClass(ReplayPickJournalCommand.class);
+        verify(pickSessionService).replayJournal(command.capture());
+        assertThat(command.getValue().workerId()).isEqualTo("WORKER-1");
+        assertThat(command.getValue().entries()).extracting(ReplayPickJournalCommand.Entry::instructionId)
+                .containsExactly("INST-1", "INST-2");
+    }
+
+    @Test
+    @DisplayName("Should reject a journal short pick without a reason")
+    void shouldRejectJournalShortPickWithoutReason() throws Exception {
+        PickJournalRequest request = new PickJournalRequest(session.getSessionId(), List.of(
+                new PickJournalRequest.Entry(ReplayPickJournalCommand.EntryType.SHORT_PICK, "INST-2", 3, null)
+        ));
+
+        mockMvc.perform(post("/api/v1/mobile/picks/journal")
+                        .header("X-Worker-Id", "WORKER-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        verify(pickSessionService, never()).replayJournal(any());
+    }
+
     private PickSession createSession() {
         List<PickInstruction> instructions = List.of(
                 new PickInstruction("INST-1", "SKU-1", "Item 1", 5, new Location("A", "01", "01", "01"), "ORDER-1", Priority.NORMAL),
@@ -0,0 +1,151 @@
+package com.paklog.wes.pick.adapter.rest.controller;
+
+import com.paklog.wes.pick.adapter.rest.dto.PickInstructionDto;
+import com.paklog.wes.pick.application.service.PickSessionService;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.domain.valueobject.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("NextInstructionLongPoll Tests")
+@ExtendWith(MockitoExtension.class)
+class NextInstructionLongPollTest {
+
+    @Mock
+    private PickSessionService pickSessionService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NextInstructionLongPoll longPoll;
+    private PickSession session;
+
+    @BeforeEach
+    void setUp() {
+        longPoll = new NextInstructionLongPoll(pickSessionService, meterRegistry, Duration.ofSeconds(30), 10);
+        session = createSession("WORKER-1");
+        session.setVersion(3L);
+    }
+
+    @Test
+    @DisplayName("Should park a current poll and answer it from the next change of the session")
+    void shouldWakeOnSessionChange() {
+        when(pickSessionService.getActiveSessionVersionForWorker("WORKER-1"))
+                .thenReturn(Optional.of(new SessionVersion(session.getSessionId(), 3L)));
+
+        DeferredResult<ResponseEntity<PickInstructionDto>> poll = longPoll.await("WORKER-1", SessionETags.strong(session));
+
+        assertThat(poll.hasResult()).isFalse();
+        assertThat(longPoll.waiting()).isEqualTo(1);
+
+        session.confirmPick("INST-1", 5);
+        session.setVersion(4L);
+        longPoll.onChange(session);
+
+        assertThat(response(poll).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response(poll).getBody().instructionId()).isEqualTo("INST-2");
+        assertThat(response(poll).getHeaders().getETag()).isEqualTo(SessionETags.strong(session));
+        assertThat(longPoll.waiting()).isZero();
+        verify(pickSessionService, never()).getActiveSessionForWorker("WORKER-1");
+        assertThat(meterRegistry.counter("pick.long-poll.responses", "outcome", "changed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should ignore changes the client already has and other workers' sessions")
+    void shouldIgnoreStaleAndUnrelatedChanges() {
+        when(pickSessionService.getActiveSessionVersionForWorker("WORKER-1"))
+                .thenReturn(Optional.of(new SessionVersion(session.getSessionId(), 3L)));
+        DeferredResult<ResponseEntity<PickInstructionDto>> poll = longPoll.await("WORKER-1", SessionETags.strong(session));
+
+        longPoll.onChange(session);
+        PickSession other = createSession("WORKER-2");
+        other.setVersion(9L);
+        longPoll.onChange(other);
+
+        assertThat(poll.hasResult()).isFalse();
+        assertThat(longPoll.waiting()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should answer at once when the client's copy is stale")
+    void shouldAnswerStalePollImmediately() {
+        when(pickSessionService.getActiveSessionVersionForWorker("WORKER-1"))
+                .thenReturn(Optional.of(new SessionVersion(session.getSessionId(), 3L)));
+        when(pickSessionService.getActiveSessionForWorker("WORKER-1")).thenReturn(Optional.of(session));
+
+        DeferredResult<ResponseEntity<PickInstructionDto>> poll = longPoll.await("WORKER-1", "\"" + session.getSessionId() + ":2\"");
+
+        assertThat(response(poll).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response(poll).getBody().instructionId()).isEqualTo("INST-1");
+        assertThat(longPoll.waiting()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should wait for a session to be assigned to a worker without one")
+    void shouldWakeWhenSessionIsAssigned() {
+        when(pickSessionService.getActiveSessionVersionForWorker("WORKER-1")).thenReturn(Optional.empty());
+
+        DeferredResult<ResponseEntity<PickInstructionDto>> poll = longPoll.await("WORKER-1", null);
+        assertThat(poll.hasResult()).isFalse();
+
+        longPoll.onChange(session);
+
+        assertThat(response(poll).getBody().instructionId()).isEqualTo("INST-1");
+    }
+
+    @Test
+    @DisplayName("Should degrade to a conditional read when too many polls are parked")
+    void shouldNotParkOverCapacity() {
+        longPoll = new NextInstructionLongPoll(pickSessionService, meterRegistry, Duration.ofSeconds(30), 0);
+        when(pickSessionService.getActiveSessionVersionForWorker("WORKER-1"))
+                .thenReturn(Optional.of(new SessionVersion(session.getSessionId(), 3L)));
+
+        DeferredResult<ResponseEntity<PickInstructionDto>> poll = longPoll.await("WORKER-1", SessionETags.strong(session));
+
+        assertThat(response(poll).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(longPoll.waiting()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<PickInstructionDto> response(DeferredResult<ResponseEntity<PickInstructionDto>> poll) {
+        return (ResponseEntity<PickInstructionDto>) poll.getResult();
+    }
+
+    private static PickSession createSession(String workerId) {
+        List<PickInstruction> instructions = List.of(
+                new PickInstruction("INST-1", "SKU-1", "Item 1", 5, new Location("A", "01", "01", "01"), "ORDER-1", Priority.NORMAL),
+                new PickInstruction("INST-2", "SKU-2", "Item 2", 5, new Location("A", "02", "01", "01"), "ORDER-1", Priority.NORMAL)
+        );
+        PickSession pickSession = PickSession.create("TASK-1", workerId, "WH-1", PickStrategy.BATCH, "CART-1", instructions);
+        pickSession.start(new PickPath(
+                List.of(
+                        new PickPath.PathNode("INST-1", instructions.get(0).getLocation(), 0, 0.0),
+                        new PickPath.PathNode("INST-2", instructions.get(1).getLocation(), 1, 10.0)
+                ),
+                10.0,
+                Duration.ofMinutes(10),
+                "TEST"
+        ));
+        return pickSession;
+    }
+}
@@ -9,6 +9,8 @@ import com.paklog.wes.pick.application.command.StartPickSessionCommand;
 import com.paklog.wes.pick.application.service.PickSessionService;
 import com.paklog.wes.pick.domain.aggregate.PickSession;
 import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.SessionField;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
 import com.paklog.wes.pick.domain.valueobject.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,9 +23,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -112,6 +118,98 @@ class PickSessionControllerTest {
                 .andExpect(jsonPath("$.workerId").value("WORKER-1"));
     }
 
+    @Test
+    @DisplayName("Should tag session reads with the session version")
+    void shouldTagSessionWithVersion() throws Exception {
+        session.setVersion(7L);
+        String etag = "\"" + session.getSessionId() + ":7\"";
+
+        mockMvc.perform(get("/api/v1/picks/sessions/{id}", session.getSessionId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match from the version without loading the session")
+    void shouldReturnNotModifiedFromVersion() throws Exception {
+        when(pickSessionService.getSessionVersion(session.getSessionId()))
+                .thenReturn(Optional.of(new SessionVersion(session.getSessionId(), 7L)));
+        String etag = "\"" + session.getSessionId() + ":7\"";
+
+        mockMvc.perform(get("/api/v1/picks/sessions/{id}", session.getSessionId())
+                        .header("If-None-Match", "\"stale\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/picks/sessions/{id}/current-instruction", session.getSessionId())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/picks/sessions/{id}/progress", session.getSessionId())
+                        .header("If-None-Match", "W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/" + etag));
+
+        verify(pickSessionService, never()).getSession(session.getSessionId());
+        verify(pickSessionService, never()).getCurrentInstruction(session.getSessionId());
+        verify(pickSessionService, never()).getSessionProgress(session.getSessionId());
+    }
+
+    @Test
+    @DisplayName("Should return the session when the client's version is stale")
+    void shouldReturnChangedSession() throws Exception {
+        session.setVersion(8L);
+        when(pickSessionService.getSessionVersion(session.getSessionId()))
+                .thenReturn(Optional.of(new SessionVersion(session.getSessionId(), 8L)));
+
+        mockMvc.perform(get("/api/v1/picks/sessions/{id}", session.getSessionId())
+                        .header("If-None-Match", "\"" + session.getSessionId() + ":7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + session.getSessionId() + ":8\""))
+                .andExpect(jsonPath("$.version").value(8));
+    }
+
+    @Test
+    @DisplayName("Should read and write only the requested session fields")
+    void shouldGetSparseSession() throws Exception {
+        session.setVersion(7L);
+        when(pickSessionService.getSession(session.getSessionId(), Set.of(SessionField.STATUS, SessionField.COUNTERS)))
+                .thenReturn(session);
+
+        mockMvc.perform(get("/api/v1/picks/sessions/{id}", session.getSessionId())
+                        .param("fields", "status,completedInstructions, totalInstructions"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + session.getSessionId() + ":7\""))
+                .andExpect(jsonPath("$.sessionId").value(session.getSessionId()))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.totalInstructions").value(2))
+                .andExpect(jsonPath("$.completedInstructions").exists())
+                .andExpect(jsonPath("$.instructions").doesNotExist())
+                .andExpect(jsonPath("$.workerId").doesNotExist());
+
+        verify(pickSessionService, never()).getSession(session.getSessionId());
+    }
+
+    @Test
+    @DisplayName("Should list active sessions with only the requested fields")
+    void shouldListSparseActiveSessions() throws Exception {
+        when(pickSessionService.getActiveSessions(Set.of(SessionField.WORKER_ID))).thenReturn(List.of(session));
+
+        mockMvc.perform(get("/api/v1/picks/sessions/active").param("fields", "workerId"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].workerId").value("WORKER-1"))
+                .andExpect(jsonPath("$[0].status").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown session fields")
+    void shouldRejectUnknownFields() throws Exception {
+        mockMvc.perform(get("/api/v1/picks/sessions/{id}", session.getSessionId()).param("fields", "status,pickPath"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/picks/sessions/active").param("fields", "secret"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should confirm pick")
     void shouldConfirmPick() throws Exception {
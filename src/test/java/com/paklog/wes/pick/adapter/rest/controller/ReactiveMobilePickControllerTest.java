@@ -0,0 +1,140 @@
+package com.paklog.wes.pick.adapter.rest.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pick.adapter.rest.dto.ConfirmPickRequest;
+import com.paklog.wes.pick.application.service.ReactivePickSessionService;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.SessionVersion;
+import com.paklog.wes.pick.domain.valueobject.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveMobilePickController.class)
+class ReactiveMobilePickControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReactivePickSessionService pickSessionService;
+
+    private PickSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = createSession();
+    }
+
+    @Test
+    @DisplayName("Should serve the worker's session asynchronously")
+    void shouldGetWorkerSession() throws Exception {
+        when(pickSessionService.getActiveSessionForWorker("WORKER-1")).thenReturn(Mono.just(session));
+
+        mockMvc.perform(dispatched(get("/api/v1/reactive/mobile/picks/my-session")
+                        .header("X-Worker-Id", "WORKER-1")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", SessionETags.strong(session)))
+                .andExpect(jsonPath("$.sessionId").value(session.getSessionId()))
+                .andExpect(jsonPath("$.instructions.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return not found when the worker has no active session")
+    void shouldReturnNotFoundForMissingSession() throws Exception {
+        when(pickSessionService.getActiveSessionForWorker("WORKER-2")).thenReturn(Mono.empty());
+
+        mockMvc.perform(dispatched(get("/api/v1/reactive/mobile/picks/current-instruction")
+                        .header("X-Worker-Id", "WORKER-2")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match from the version alone")
+    void shouldReturnNotModified() throws Exception {
+        SessionVersion version = new SessionVersion(session.getSessionId(), 7L);
+        when(pickSessionService.getActiveSessionVersionForWorker("WORKER-1")).thenReturn(Mono.just(version));
+
+        mockMvc.perform(dispatched(get("/api/v1/reactive/mobile/picks/current-instruction")
+                        .header("X-Worker-Id", "WORKER-1")
+                        .header("If-None-Match", SessionETags.strong(version))))
+                .andExpect(status().isNotModified());
+        verify(pickSessionService, never()).getActiveSessionForWorker("WORKER-1");
+    }
+
+    @Test
+    @DisplayName("Should confirm a pick and honour Prefer: return=minimal")
+    void shouldConfirmPick() throws Exception {
+        session.confirmPick("INST-1", 5);
+        when(pickSessionService.confirmPick("WORKER-1", "INST-1", 5)).thenReturn(Mono.just(session));
+
+        mockMvc.perform(dispatched(post("/api/v1/reactive/mobile/picks/confirm")
+                        .header("X-Worker-Id", "WORKER-1")
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ConfirmPickRequest("INST-1", 5)))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Preference-Applied", "return=minimal"))
+                .andExpect(jsonPath("$.updatedInstruction.instructionId").value("INST-1"))
+                .andExpect(jsonPath("$.nextInstruction.instructionId").value("INST-2"));
+    }
+
+    @Test
+    @DisplayName("Should report progress with a weak ETag")
+    void shouldGetProgress() throws Exception {
+        when(pickSessionService.getActiveSessionForWorker("WORKER-1")).thenReturn(Mono.just(session));
+
+        mockMvc.perform(dispatched(get("/api/v1/reactive/mobile/picks/progress")
+                        .header("X-Worker-Id", "WORKER-1")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/" + SessionETags.strong(session)))
+                .andExpect(jsonPath("$.totalInstructions").value(2));
+    }
+
+    private RequestBuilder dispatched(RequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return asyncDispatch(started);
+    }
+
+    private PickSession createSession() {
+        List<PickInstruction> instructions = List.of(
+                new PickInstruction("INST-1", "SKU-1", "Item 1", 5, new Location("A", "01", "01", "01"), "ORDER-1", Priority.NORMAL),
+                new PickInstruction("INST-2", "SKU-2", "Item 2", 5, new Location("A", "02", "01", "01"), "ORDER-1", Priority.NORMAL)
+        );
+        PickSession pickSession = PickSession.create("TASK-1", "WORKER-1", "WH-1", PickStrategy.BATCH, "CART-1", instructions);
+        pickSession.start(new PickPath(
+                List.of(
+                        new PickPath.PathNode("INST-1", instructions.get(0).getLocation(), 0, 0.0),
+                        new PickPath.PathNode("INST-2", instructions.get(1).getLocation(), 1, 10.0)
+                ),
+                10.0,
+                Duration.ofMinutes(10),
+                "TEST"
+        ));
+        pickSession.setVersion(7L);
+        return pickSession;
+    }
+}
@@ -0,0 +1,48 @@
+package com.paklog.wes.pick.adapter.rest.controller;
+
+import com.paklog.wes.pick.infrastructure.events.TaskEventDltReplayer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TaskEventAdminController.class)
+class TaskEventAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskEventDltReplayer dltReplayer;
+
+    @Test
+    @DisplayName("Should replay dead-lettered task events")
+    void shouldReplayDeadLetters() throws Exception {
+        when(dltReplayer.replay(50)).thenReturn(3);
+        when(dltReplayer.deadLetterTopic()).thenReturn("task-events-retry-dlt");
+
+        mockMvc.perform(post("/api/v1/admin/task-events/dlt/replay").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.topic").value("task-events-retry-dlt"))
+                .andExpect(jsonPath("$.replayed").value(3));
+    }
+
+    @Test
+    @DisplayName("Should reject replay limits out of range")
+    void shouldRejectInvalidLimit() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/task-events/dlt/replay").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(dltReplayer, never()).replay(anyInt());
+    }
+}
@@ -0,0 +1,142 @@
+package com.paklog.wes.pick.adapter.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pick.application.projection.LiveSessionProjection;
+import com.paklog.wes.pick.application.projection.LiveSessionView;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SupervisorFloorBroadcaster Tests")
+class SupervisorFloorBroadcasterTest {
+
+    private final LiveSessionProjection projection = new LiveSessionProjection();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should open with a snapshot of the warehouse")
+    void shouldSendSnapshotOnOpen() {
+        projection.apply(view("S-1", "WH-1", 1));
+        projection.apply(view("S-2", "WH-2", 1));
+        SupervisorFloorBroadcaster broadcaster = broadcaster(Duration.ofSeconds(15));
+
+        broadcaster.open("WH-1");
+
+        assertThat(emitters).hasSize(1);
+        assertThat(emitters.get(0).events).singleElement().satisfies(event -> {
+            assertThat(event).startsWith("event:snapshot");
+            assertThat(event).contains("\"sessionId\":\"S-1\"").doesNotContain("S-2");
+        });
+        assertThat(broadcaster.viewerCount("WH-1")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should coalesce changes and write one delta to every viewer")
+    void shouldCoalesceChangesForAllViewers() {
+        SupervisorFloorBroadcaster broadcaster = broadcaster(Duration.ofSeconds(15));
+        broadcaster.open("WH-1");
+        broadcaster.open("WH-1");
+
+        projection.apply(view("S-1", "WH-1", 1));
+        projection.apply(view("S-1", "WH-1", 2));
+        projection.apply(view("S-1", "WH-1", 3));
+        projection.apply(view("S-2", "WH-1", 1));
+        projection.remove("S-2");
+        projection.apply(view("S-3", "WH-2", 1));
+
+        assertThat(broadcaster.flush()).isEqualTo(1);
+        assertThat(broadcaster.flush()).isZero();
+
+        for (RecordingEmitter emitter : emitters) {
+            assertThat(emitter.events).hasSize(2);
+            assertThat(emitter.events.get(1))
+                    .startsWith("event:delta")
+                    .contains("\"version\":3")
+                    .doesNotContain("\"version\":2")
+                    .contains("\"removed\":[\"S-2\"]")
+                    .doesNotContain("S-3");
+        }
+        assertThat(meterRegistry.get("pick.supervisor.stream.events").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("pick.supervisor.stream.coalesced").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("pick.supervisor.stream.viewers").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop failed viewers and release the warehouse feed with the last one")
+    void shouldReleaseFeedWhenLastViewerLeaves() {
+        SupervisorFloorBroadcaster broadcaster = broadcaster(Duration.ofSeconds(15));
+        broadcaster.open("WH-1");
+        emitters.get(0).failing = true;
+
+        projection.apply(view("S-1", "WH-1", 1));
+        broadcaster.flush();
+
+        assertThat(broadcaster.viewerCount("WH-1")).isZero();
+
+        projection.apply(view("S-1", "WH-1", 2));
+        assertThat(broadcaster.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep idle streams alive with comments")
+    void shouldSendHeartbeatWhenIdle() {
+        SupervisorFloorBroadcaster broadcaster = broadcaster(Duration.ZERO);
+        broadcaster.open("WH-1");
+
+        assertThat(broadcaster.flush()).isZero();
+
+        assertThat(emitters.get(0).events).hasSize(2);
+        assertThat(emitters.get(0).events.get(1)).startsWith(":keepalive");
+    }
+
+    private SupervisorFloorBroadcaster broadcaster(Duration heartbeat) {
+        Clock clock = Clock.fixed(Instant.parse("2026-01-01T08:00:00Z"), ZoneOffset.UTC);
+        return new SupervisorFloorBroadcaster(projection, new ObjectMapper(), meterRegistry,
+                Duration.ofMinutes(30), heartbeat, clock) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private static LiveSessionView view(String sessionId, String warehouseId, long version) {
+        return new LiveSessionView(sessionId, warehouseId, "WORKER-" + sessionId, "TASK-" + sessionId,
+                SessionStatus.IN_PROGRESS, 50.0, 1, 2, new Location("A", "01", "01", "01"), version);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(items.stream()
+                    .map(item -> String.valueOf(item.getData()))
+                    .collect(Collectors.joining()));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.paklog.wes.pick.adapter.websocket;
+
+import com.paklog.wes.pick.adapter.websocket.WorkerPushMessage.Type;
+import com.paklog.wes.pick.application.service.PickSessionService;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MobilePushController Tests")
+class MobilePushControllerTest {
+
+    @Mock
+    private PickSessionService pickSessionService;
+
+    @Mock
+    private WorkerInstructionPusher pusher;
+
+    @InjectMocks
+    private MobilePushController controller;
+
+    @Test
+    @DisplayName("Should resume the worker's active session from the client's version")
+    void shouldResumeActiveSession() {
+        PickSession session = mock(PickSession.class);
+        WorkerPushMessage snapshot = WorkerPushMessage.upToDate("SESSION-1", 4L);
+        when(pickSessionService.getActiveSessionForWorker("WORKER-1")).thenReturn(Optional.of(session));
+        when(pusher.resume(session, 4L)).thenReturn(snapshot);
+
+        assertThat(controller.resume(() -> "WORKER-1", 4L)).isSameAs(snapshot);
+    }
+
+    @Test
+    @DisplayName("Should tell a worker without an active session")
+    void shouldReportNoActiveSession() {
+        when(pickSessionService.getActiveSessionForWorker("WORKER-2")).thenReturn(Optional.empty());
+
+        assertThat(controller.resume(() -> "WORKER-2", null).type()).isEqualTo(Type.NO_ACTIVE_SESSION);
+    }
+
+    @Test
+    @DisplayName("Should bind connections to the worker and refuse anonymous ones")
+    void shouldBindConnectionToWorker() {
+        WorkerHandshakeHandler handshakeHandler = new WorkerHandshakeHandler();
+        MockHttpServletResponse anonymousResponse = new MockHttpServletResponse();
+
+        boolean anonymous = handshakeHandler.beforeHandshake(new ServletServerHttpRequest(new MockHttpServletRequest()),
+                new ServletServerHttpResponse(anonymousResponse), null, new HashMap<>());
+
+        assertThat(anonymous).isFalse();
+        assertThat(anonymousResponse.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ws/picks");
+        request.setQueryString("workerId=WORKER-1");
+        Map<String, Object> attributes = new HashMap<>();
+        ServletServerHttpRequest serverRequest = new ServletServerHttpRequest(request);
+        boolean accepted = handshakeHandler.beforeHandshake(serverRequest,
+                new ServletServerHttpResponse(new MockHttpServletResponse()), null, attributes);
+
+        Principal worker = handshakeHandler.determineUser(serverRequest, null, attributes);
+        assertThat(accepted).isTrue();
+        assertThat(worker.getName()).isEqualTo("WORKER-1");
+    }
+}
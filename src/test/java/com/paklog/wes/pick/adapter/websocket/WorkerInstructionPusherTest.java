@@ -0,0 +1,157 @@
+package com.paklog.wes.pick.adapter.websocket;
+
+import com.paklog.wes.pick.adapter.websocket.WorkerPushMessage.Type;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.domain.valueobject.Priority;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkerInstructionPusher Tests")
+class WorkerInstructionPusherTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private SimpUserRegistry userRegistry;
+
+    @Mock
+    private SimpUser connectedWorker;
+
+    private WorkerInstructionPusher pusher;
+
+    @BeforeEach
+    void setUp() {
+        pusher = new WorkerInstructionPusher(messagingTemplate, userRegistry, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should push the status transition with the route, then each next instruction")
+    void shouldPushTransitionsAndNextInstructions() {
+        when(userRegistry.getUser("WORKER-1")).thenReturn(connectedWorker);
+        PickSession session = startedSession(1L);
+
+        pusher.onChange(session);
+        session.confirmPick("INST-1", 5);
+        session.setVersion(2L);
+        pusher.onChange(session);
+
+        List<WorkerPushMessage> pushed = pushed(2);
+        assertThat(pushed.get(0).type()).isEqualTo(Type.STATUS_CHANGED);
+        assertThat(pushed.get(0).remainingRoute()).hasSize(2);
+        assertThat(pushed.get(0).nextInstruction().instructionId()).isEqualTo("INST-1");
+        assertThat(pushed.get(1).type()).isEqualTo(Type.NEXT_INSTRUCTION);
+        assertThat(pushed.get(1).remainingRoute()).isNull();
+        assertThat(pushed.get(1).nextInstruction().instructionId()).isEqualTo("INST-2");
+        assertThat(pushed.get(1).completedInstructions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not push a version the worker already has")
+    void shouldSkipStaleVersions() {
+        when(userRegistry.getUser("WORKER-1")).thenReturn(connectedWorker);
+        PickSession session = startedSession(3L);
+        pusher.onChange(session);
+
+        pusher.onChange(startedSession(3L));
+        PickSession older = startedSession(2L);
+        older.setSessionId(session.getSessionId());
+        pusher.onChange(older);
+
+        verify(messagingTemplate, times(1)).convertAndSendToUser(eq("WORKER-1"), eq(WorkerInstructionPusher.DESTINATION), any());
+    }
+
+    @Test
+    @DisplayName("Should ignore workers not connected to this instance")
+    void shouldIgnoreDisconnectedWorkers() {
+        pusher.onChange(startedSession(1L));
+
+        verifyNoInteractions(messagingTemplate);
+        assertThat(pusher.trackedWorkers()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should resume a client behind the current version with a snapshot")
+    void shouldResumeWithSnapshot() {
+        PickSession session = startedSession(5L);
+
+        WorkerPushMessage behind = pusher.resume(session, 3L);
+        WorkerPushMessage current = pusher.resume(session, 5L);
+
+        assertThat(behind.type()).isEqualTo(Type.SNAPSHOT);
+        assertThat(behind.status()).isEqualTo(SessionStatus.IN_PROGRESS);
+        assertThat(behind.remainingRoute()).hasSize(2);
+        assertThat(current.type()).isEqualTo(Type.UP_TO_DATE);
+        assertThat(current.nextInstruction()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should diff pushes after a resume against the resumed state")
+    void shouldDiffAfterResume() {
+        when(userRegistry.getUser("WORKER-1")).thenReturn(connectedWorker);
+        PickSession session = startedSession(5L);
+        pusher.resume(session, 5L);
+
+        session.confirmPick("INST-1", 5);
+        session.setVersion(6L);
+        pusher.onChange(session);
+
+        assertThat(pushed(1).get(0).type()).isEqualTo(Type.NEXT_INSTRUCTION);
+    }
+
+    @Test
+    @DisplayName("Should survive a full outbound channel")
+    void shouldSurviveRejectedPush() {
+        when(userRegistry.getUser("WORKER-1")).thenReturn(connectedWorker);
+        doThrow(new MessageDeliveryException("Outbound channel full"))
+                .when(messagingTemplate).convertAndSendToUser(any(), any(), any());
+
+        assertThatCode(() -> pusher.onChange(startedSession(1L))).doesNotThrowAnyException();
+    }
+
+    private List<WorkerPushMessage> pushed(int count) {
+        ArgumentCaptor<Object> messages = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(count))
+                .convertAndSendToUser(eq("WORKER-1"), eq(WorkerInstructionPusher.DESTINATION), messages.capture());
+        return messages.getAllValues().stream().map(WorkerPushMessage.class::cast).toList();
+    }
+
+    private PickSession startedSession(long version) {
+        Location first = new Location("A", "01", "01", "01");
+        Location second = new Location("A", "02", "01", "01");
+        PickSession session = PickSession.create("TASK-1", "WORKER-1", "WH-1", PickStrategy.SINGLE, "CART-1", List.of(
+                new PickInstruction("INST-1", "SKU-1", "Item 1", 5, first, "ORDER-1", Priority.NORMAL),
+                new PickInstruction("INST-2", "SKU-2", "Item 2", 3, second, "ORDER-1", Priority.NORMAL)));
+        session.setSessionId("SESSION-1");
+        session.start(new PickPath(List.of(
+                new PickPath.PathNode("INST-1", first, 0, 0.0),
+                new PickPath.PathNode("INST-2", second, 1, 5.0)), 5.0, Duration.ofMinutes(1), "TEST"));
+        session.setVersion(version);
+        return session;
+    }
+}
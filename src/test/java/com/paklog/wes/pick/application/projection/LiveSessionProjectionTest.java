@@ -0,0 +1,85 @@
+package com.paklog.wes.pick.application.projection;
+
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LiveSessionProjection Tests")
+class LiveSessionProjectionTest {
+
+    private final LiveSessionProjection projection = new LiveSessionProjection();
+
+    @Test
+    @DisplayName("Should keep live sessions grouped by warehouse")
+    void shouldGroupByWarehouse() {
+        projection.apply(view("S-1", "WH-1", "WORKER-2", SessionStatus.IN_PROGRESS, 0));
+        projection.apply(view("S-2", "WH-1", "WORKER-1", SessionStatus.PAUSED, 0));
+        projection.apply(view("S-3", "WH-2", "WORKER-3", SessionStatus.IN_PROGRESS, 0));
+
+        assertThat(projection.snapshot("WH-1"))
+                .extracting(LiveSessionView::sessionId)
+                .containsExactly("S-2", "S-1");
+        assertThat(projection.snapshot("WH-2")).hasSize(1);
+        assertThat(projection.snapshot("WH-3")).isEmpty();
+        assertThat(projection.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should ignore stale versions and drop terminal sessions")
+    void shouldApplyVersionsAndTerminalStatus() {
+        projection.apply(view("S-1", "WH-1", "WORKER-1", SessionStatus.IN_PROGRESS, 3));
+        projection.apply(view("S-1", "WH-1", "WORKER-1", SessionStatus.PAUSED, 2));
+
+        assertThat(projection.snapshot("WH-1"))
+                .extracting(LiveSessionView::status)
+                .containsExactly(SessionStatus.IN_PROGRESS);
+
+        projection.apply(view("S-1", "WH-1", "WORKER-1", SessionStatus.COMPLETED, 4));
+
+        assertThat(projection.snapshot("WH-1")).isEmpty();
+        assertThat(projection.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fan out changes to listeners of the warehouse only")
+    void shouldNotifyListeners() {
+        RecordingListener wh1 = new RecordingListener();
+        RecordingListener wh2 = new RecordingListener();
+        Runnable unsubscribe = projection.subscribe("WH-1", wh1);
+        projection.subscribe("WH-2", wh2);
+
+        projection.apply(view("S-1", "WH-1", "WORKER-1", SessionStatus.IN_PROGRESS, 0));
+        projection.apply(view("S-1", "WH-1", "WORKER-1", SessionStatus.IN_PROGRESS, 0));
+        projection.remove("S-1");
+        unsubscribe.run();
+        projection.apply(view("S-2", "WH-1", "WORKER-2", SessionStatus.IN_PROGRESS, 0));
+
+        assertThat(wh1.events).containsExactly("update:S-1", "remove:S-1");
+        assertThat(wh2.events).isEmpty();
+    }
+
+    private LiveSessionView view(String sessionId, String warehouseId, String workerId, SessionStatus status, long version) {
+        return new LiveSessionView(sessionId, warehouseId, workerId, "TASK-" + sessionId, status,
+                50.0, 1, 2, new Location("A", "01", "01", "01"), version);
+    }
+
+    private static class RecordingListener implements LiveSessionListener {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onUpdate(LiveSessionView view) {
+            events.add("update:" + view.sessionId());
+        }
+
+        @Override
+        public void onRemove(String warehouseId, String sessionId) {
+            events.add("remove:" + sessionId);
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.paklog.wes.pick.application.service;
 import com.paklog.wes.pick.domain.valueobject.Priority;
 import com.paklog.wes.pick.application.command.ConfirmPickCommand;
 import com.paklog.wes.pick.application.command.HandleShortPickCommand;
+import com.paklog.wes.pick.application.command.ReplayPickJournalCommand;
 import com.paklog.wes.pick.application.command.StartPickSessionCommand;
 import com.paklog.wes.pick.domain.aggregate.PickSession;
 import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.BulkInsertResult;
 import com.paklog.wes.pick.domain.repository.PickSessionRepository;
+import com.paklog.wes.pick.domain.repository.WorkerAssignment;
 import com.paklog.wes.pick.domain.service.PathOptimizationService;
 import com.paklog.wes.pick.domain.valueobject.InstructionStatus;
 import com.paklog.wes.pick.domain.valueobject.Location;
@@ -21,14 +24,21 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @DisplayName("PickSessionService Tests")
@@ -119,6 +129,144 @@ class PickSessionServiceTest {
                 .hasMessageContaining("already has an active session");
     }
 
+    @Test
+    @DisplayName("Should report a worker busy when a concurrent session wins the active worker index")
+    void shouldMapActiveWorkerConflictOnCreate() {
+        PickSession winner = PickSession.create("TASK-OTHER", "WORKER-1", "WH-1", PickStrategy.SINGLE, "CART-1", instructions);
+        when(repository.findActiveSessionByWorkerId("WORKER-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(repository.save(any(PickSession.class))).thenThrow(new DuplicateKeyException("idx_worker_active_unique"));
+
+        StartPickSessionCommand command = new StartPickSessionCommand(
+                "TASK-1", "WORKER-1", "WH-1", PickStrategy.BATCH, "CART-1", instructions);
+
+        assertThatThrownBy(() -> service.createSession(command))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already has an active session: " + winner.getSessionId())
+                .hasCauseInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    @DisplayName("Should report bulk inserts that lost the active worker index as busy workers")
+    void shouldMapActiveWorkerConflictInBulk() {
+        stubPathPerCommand();
+        when(repository.findWorkersWithActiveSessions(any()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("WORKER-1"));
+        when(repository.insertAll(any())).thenAnswer(invocation -> {
+            List<PickSession> sessions = invocation.getArgument(0);
+            return new BulkInsertResult(List.of(), List.of(new BulkInsertResult.Failure(sessions.get(0), "E11000")));
+        });
+
+        PickSessionService.BulkCreateResult result = service.createSessions(List.of(command("TASK-1", "WORKER-1")));
+
+        assertThat(result.failures())
+                .extracting(PickSessionService.CreateFailure::reason)
+                .containsExactly("Worker WORKER-1 already has an active session");
+    }
+
+    @Test
+    @DisplayName("Should create sessions in bulk with a single guard query and insert")
+    @SuppressWarnings("unchecked")
+    void shouldCreateSessionsInBulk() {
+        stubPathPerCommand();
+        when(repository.findWorkersWithActiveSessions(any())).thenReturn(Set.of("WORKER-BUSY"));
+        when(repository.insertAll(any())).thenAnswer(invocation ->
+                new BulkInsertResult(invocation.getArgument(0), List.of()));
+
+        PickSessionService.BulkCreateResult result = service.createSessions(List.of(
+                command("TASK-1", "WORKER-1"),
+                command("TASK-2", "WORKER-2"),
+                command("TASK-3", "WORKER-BUSY"),
+                command("TASK-4", "WORKER-1")
+        ));
+
+        assertThat(result.created())
+                .extracting(PickSession::getTaskId)
+                .containsExactlyInAnyOrder("TASK-1", "TASK-2");
+        assertThat(result.created()).allMatch(session -> session.getStatus() == SessionStatus.IN_PROGRESS);
+        assertThat(result.failures())
+                .extracting(PickSessionService.CreateFailure::taskId)
+                .containsExactlyInAnyOrder("TASK-3", "TASK-4");
+
+        ArgumentCaptor<Collection<String>> workers = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).findWorkersWithActiveSessions(workers.capture());
+        assertThat(workers.getValue()).containsExactlyInAnyOrder("WORKER-1", "WORKER-2", "WORKER-BUSY");
+        verify(repository).insertAll(any());
+        verify(repository, never()).save(any(PickSession.class));
+        verify(repository, never()).findActiveSessionByWorkerId(any());
+    }
+
+    @Test
+    @DisplayName("Should report per-session failures from path optimization and insert")
+    void shouldReportBulkFailures() {
+        stubPathPerCommand();
+        StartPickSessionCommand unroutable = command("TASK-2", "WORKER-2");
+        doThrow(new IllegalArgumentException("No route"))
+                .when(pathOptimizationService).optimizePath(eq(unroutable.instructions()), any());
+        when(repository.findWorkersWithActiveSessions(any())).thenReturn(Set.of());
+        when(repository.insertAll(any())).thenAnswer(invocation -> {
+            List<PickSession> sessions = invocation.getArgument(0);
+            return new BulkInsertResult(List.of(), List.of(new BulkInsertResult.Failure(sessions.get(0), "duplicate key")));
+        });
+
+        PickSessionService.BulkCreateResult result = service.createSessions(List.of(
+                command("TASK-1", "WORKER-1"),
+                unroutable
+        ));
+
+        assertThat(result.created()).isEmpty();
+        assertThat(result.failures())
+                .extracting(PickSessionService.CreateFailure::taskId, PickSessionService.CreateFailure::reason)
+                .containsExactlyInAnyOrder(
+                        tuple("TASK-2", "No route"),
+                        tuple("TASK-1", "duplicate key")
+                );
+    }
+
+    @Test
+    @DisplayName("Should return the existing session of a redelivered task instead of creating another")
+    void shouldCreateSessionsIdempotentlyPerTask() {
+        stubPathPerCommand();
+        PickSession existing = startSession();
+        when(repository.findByTaskIdIn(any())).thenReturn(List.of(existing));
+        when(repository.findWorkersWithActiveSessions(any())).thenReturn(Set.of(existing.getWorkerId()));
+        when(repository.insertAll(any())).thenAnswer(invocation ->
+                new BulkInsertResult(invocation.getArgument(0), List.of()));
+
+        PickSessionService.BulkCreateResult result = service.createSessions(List.of(
+                command(existing.getTaskId(), existing.getWorkerId()),
+                command("TASK-NEW", "WORKER-NEW"),
+                command("TASK-NEW", "WORKER-NEW")
+        ));
+
+        assertThat(result.existing()).containsExactly(existing);
+        assertThat(result.created()).extracting(PickSession::getTaskId).containsExactly("TASK-NEW");
+        assertThat(result.failures()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should create any number of sessions awaiting a picker in one batch")
+    void shouldCreateUnassignedSessionsInBulk() {
+        stubPathPerCommand();
+        when(repository.findWorkersWithActiveSessions(any())).thenReturn(Set.of());
+        when(repository.insertAll(any())).thenAnswer(invocation ->
+                new BulkInsertResult(invocation.getArgument(0), List.of()));
+
+        PickSessionService.BulkCreateResult result = service.createSessions(List.of(
+                command("TASK-1", PickSession.UNASSIGNED_WORKER),
+                command("TASK-2", PickSession.UNASSIGNED_WORKER),
+                command("TASK-3", PickSession.UNASSIGNED_WORKER)
+        ));
+
+        assertThat(result.created())
+                .extracting(PickSession::getTaskId)
+                .containsExactlyInAnyOrder("TASK-1", "TASK-2", "TASK-3");
+        assertThat(result.failures()).isEmpty();
+        verify(repository).findWorkersWithActiveSessions(List.of());
+    }
+
     @Test
     @DisplayName("Should confirm pick via service layer")
     void shouldConfirmPick() {
@@ -255,6 +403,130 @@ class PickSessionServiceTest {
         assertThat(service.getActiveSessionForWorker("WORKER-1")).contains(session);
     }
 
+    @Test
+    @DisplayName("Should bind assigned worker by task without reloading a session it created")
+    void shouldAssignWorkerThroughCreatedSession() {
+        PickSession session = startSession();
+        when(repository.assignWorker(session.getSessionId(), "WORKER-2")).thenReturn(WorkerAssignment.ASSIGNED);
+
+        assertThat(service.assignWorker("TASK-1", "WORKER-2")).isTrue();
+
+        verify(repository, never()).findSessionIdByTaskId(any());
+    }
+
+    @Test
+    @DisplayName("Should look a task's session up once and evict it when it is no longer active")
+    void shouldLookUpAndEvictTaskSession() {
+        when(repository.findSessionIdByTaskId("TASK-9")).thenReturn(Optional.of("SESSION-9"));
+        when(repository.assignWorker("SESSION-9", "WORKER-9"))
+                .thenReturn(WorkerAssignment.ASSIGNED, WorkerAssignment.UNCHANGED, WorkerAssignment.NOT_ACTIVE);
+
+        assertThat(service.assignWorker("TASK-9", "WORKER-9")).isTrue();
+        assertThat(service.assignWorker("TASK-9", "WORKER-9")).isTrue();
+        verify(repository, times(1)).findSessionIdByTaskId("TASK-9");
+
+        assertThat(service.assignWorker("TASK-9", "WORKER-9")).isFalse();
+        when(repository.findSessionIdByTaskId("TASK-9")).thenReturn(Optional.empty());
+        assertThat(service.assignWorker("TASK-9", "WORKER-9")).isFalse();
+        verify(repository, times(2)).findSessionIdByTaskId("TASK-9");
+        verify(repository, never()).findByStatus(any());
+    }
+
+    @Test
+    @DisplayName("Should reject assigning a worker who is busy with another session")
+    void shouldRejectBusyWorkerAssignment() {
+        when(repository.findSessionIdByTaskId("TASK-9")).thenReturn(Optional.of("SESSION-9"));
+        when(repository.assignWorker("SESSION-9", "WORKER-1")).thenReturn(WorkerAssignment.WORKER_BUSY);
+
+        assertThatThrownBy(() -> service.assignWorker("TASK-9", "WORKER-1"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already has an active session");
+    }
+
+    @Test
+    @DisplayName("Should replay an offline journal in order with a single save")
+    void shouldReplayJournal() {
+        PickSession session = startSession();
+        clearInvocations(repository);
+        when(repository.findById(session.getSessionId())).thenReturn(Optional.of(session));
+
+        PickSessionService.JournalReplayResult result = service.replayJournal(new ReplayPickJournalCommand(
+                session.getSessionId(), "WORKER-1", List.of(
+                        confirm("INST-1", 5),
+                        confirm("INST-1", 5),
+                        new ReplayPickJournalCommand.Entry(ReplayPickJournalCommand.EntryType.SHORT_PICK, "INST-2", 9, "Damaged"),
+                        new ReplayPickJournalCommand.Entry(ReplayPickJournalCommand.EntryType.SHORT_PICK, "INST-2", 3, "Damaged"),
+                        confirm("INST-9", 1)
+                )));
+
+        assertThat(result.entries())
+                .extracting(PickSessionService.JournalEntryResult::index, PickSessionService.JournalEntryResult::outcome)
+                .containsExactly(
+                        tuple(0, PickSessionService.JournalEntryOutcome.APPLIED),
+                        tuple(1, PickSessionService.JournalEntryOutcome.DUPLICATE),
+                        tuple(2, PickSessionService.JournalEntryOutcome.REJECTED),
+                        tuple(3, PickSessionService.JournalEntryOutcome.APPLIED),
+                        tuple(4, PickSessionService.JournalEntryOutcome.REJECTED)
+                );
+        assertThat(result.session().getStatus()).isEqualTo(SessionStatus.COMPLETED);
+        assertThat(result.session().getShortPickCount()).isEqualTo(1);
+        verify(repository, times(1)).save(session);
+    }
+
+    @Test
+    @DisplayName("Should keep the server's pick when a journal entry conflicts with it")
+    void shouldKeepServerStateOnJournalConflict() {
+        PickSession session = startSession();
+        session.confirmPick("INST-1", 5);
+        clearInvocations(repository);
+        when(repository.findById(session.getSessionId())).thenReturn(Optional.of(session));
+
+        PickSessionService.JournalReplayResult result = service.replayJournal(new ReplayPickJournalCommand(
+                session.getSessionId(), "WORKER-1", List.of(confirm("INST-1", 4))));
+
+        assertThat(result.entries()).singleElement().satisfies(entry -> {
+            assertThat(entry.outcome()).isEqualTo(PickSessionService.JournalEntryOutcome.CONFLICT);
+            assertThat(entry.detail()).contains("PICKED");
+        });
+        assertThat(session.getPickInstructions().get(0).getPickedQuantity()).isEqualTo(5);
+        verify(repository, never()).save(any(PickSession.class));
+    }
+
+    @Test
+    @DisplayName("Should replay the journal again on a fresh session after a concurrent write")
+    void shouldRetryJournalReplayOnConcurrentWrite() {
+        PickSession stale = startSession();
+        // Reloaded copy with its own instructions, where INST-1 was confirmed online meanwhile
+        PickSession fresh = PickSession.create("TASK-1", "WORKER-1", "WH-1", PickStrategy.BATCH, "CART-1", List.of(
+                new PickInstruction("INST-1", "SKU-1", "Item 1", 5, location("02"), "ORDER-1", Priority.NORMAL),
+                new PickInstruction("INST-2", "SKU-2", "Item 2", 5, location("03"), "ORDER-1", Priority.NORMAL)));
+        fresh.start(optimizedPath);
+        fresh.confirmPick("INST-1", 5);
+        when(repository.findById(stale.getSessionId())).thenReturn(Optional.of(stale)).thenReturn(Optional.of(fresh));
+        doThrow(new OptimisticLockingFailureException("Concurrent update"))
+                .doAnswer(invocation -> invocation.getArgument(0))
+                .when(repository).save(any(PickSession.class));
+
+        PickSessionService.JournalReplayResult result = service.replayJournal(new ReplayPickJournalCommand(
+                stale.getSessionId(), "WORKER-1", List.of(confirm("INST-1", 5), confirm("INST-2", 5))));
+
+        assertThat(result.session()).isSameAs(fresh);
+        assertThat(result.entries()).extracting(PickSessionService.JournalEntryResult::outcome)
+                .containsExactly(PickSessionService.JournalEntryOutcome.DUPLICATE, PickSessionService.JournalEntryOutcome.APPLIED);
+    }
+
+    @Test
+    @DisplayName("Should reject a journal for another worker's session")
+    void shouldRejectJournalOfAnotherWorker() {
+        PickSession session = startSession();
+        when(repository.findById(session.getSessionId())).thenReturn(Optional.of(session));
+
+        assertThatThrownBy(() -> service.replayJournal(new ReplayPickJournalCommand(
+                session.getSessionId(), "WORKER-2", List.of(confirm("INST-1", 5)))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not assigned to worker WORKER-2");
+    }
+
     private PickSession startSession() {
         when(repository.findActiveSessionByWorkerId("WORKER-1")).thenReturn(Optional.empty());
         StartPickSessionCommand command = new StartPickSessionCommand(
@@ -269,6 +541,30 @@ class PickSessionServiceTest {
         return session;
     }
 
+    private void stubPathPerCommand() {
+        when(pathOptimizationService.optimizePath(any(), any())).thenAnswer(invocation -> {
+            List<PickInstruction> commandInstructions = invocation.getArgument(0);
+            List<PickPath.PathNode> nodes = new ArrayList<>();
+            for (int i = 0; i < commandInstructions.size(); i++) {
+                PickInstruction instruction = commandInstructions.get(i);
+                nodes.add(new PickPath.PathNode(instruction.getInstructionId(), instruction.getLocation(), i, i * 10.0));
+            }
+            return new PickPath(nodes, 10.0, Duration.ofMinutes(5), "NEAREST_NEIGHBOR");
+        });
+    }
+
+    private StartPickSessionCommand command(String taskId, String workerId) {
+        List<PickInstruction> taskInstructions = List.of(
+                new PickInstruction(taskId + "-1", "SKU-1", "Item 1", 5, location("02"), "ORDER-1", Priority.NORMAL),
+                new PickInstruction(taskId + "-2", "SKU-2", "Item 2", 5, location("03"), "ORDER-1", Priority.NORMAL)
+        );
+        return new StartPickSessionCommand(taskId, workerId, "WH-1", PickStrategy.BATCH, "CART-" + taskId, taskInstructions);
+    }
+
+    private ReplayPickJournalCommand.Entry confirm(String instructionId, int quantity) {
+        return new ReplayPickJournalCommand.Entry(ReplayPickJournalCommand.EntryType.CONFIRM, instructionId, quantity, null);
+    }
+
     private Location location(String bay) {
         return new Location("A", bay, "01", "01");
     }
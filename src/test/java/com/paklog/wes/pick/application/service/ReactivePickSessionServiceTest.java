@@ -0,0 +1,99 @@
+package com.paklog.wes.pick.application.service;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.ReactivePickSessionRepository;
+import com.paklog.wes.pick.domain.valueobject.InstructionStatus;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.domain.valueobject.Priority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReactivePickSessionService Tests")
+@ExtendWith(MockitoExtension.class)
+class ReactivePickSessionServiceTest {
+
+    @Mock
+    private ReactivePickSessionRepository repository;
+
+    @InjectMocks
+    private ReactivePickSessionService service;
+
+    private PickSession session;
+
+    @BeforeEach
+    void setUp() {
+        List<PickInstruction> instructions = List.of(
+                new PickInstruction("INST-1", "SKU-1", "Item 1", 5, new Location("A", "01", "01", "01"), "ORDER-1", Priority.NORMAL),
+                new PickInstruction("INST-2", "SKU-2", "Item 2", 3, new Location("A", "02", "01", "01"), "ORDER-1", Priority.NORMAL)
+        );
+        session = PickSession.create("TASK-1", "WORKER-1", "WH-1", PickStrategy.SINGLE, "CART-1", instructions);
+        session.start(new PickPath(List.of(
+                new PickPath.PathNode("INST-1", instructions.get(0).getLocation(), 0, 0.0),
+                new PickPath.PathNode("INST-2", instructions.get(1).getLocation(), 1, 5.0)
+        ), 5.0, Duration.ofMinutes(2), "TEST"));
+        session.setVersion(3L);
+    }
+
+    @Test
+    @DisplayName("Should confirm a pick in the worker's active session and save it")
+    void shouldConfirmPick() {
+        when(repository.findActiveSessionByWorkerId("WORKER-1")).thenReturn(Mono.just(session));
+        when(repository.save(session)).thenReturn(Mono.just(session));
+
+        PickSession confirmed = service.confirmPick("WORKER-1", "INST-1", 5).block();
+
+        assertThat(confirmed).isSameAs(session);
+        assertThat(session.getPickInstructions().get(0).getStatus()).isEqualTo(InstructionStatus.PICKED);
+        verify(repository).save(session);
+    }
+
+    @Test
+    @DisplayName("Should record a short pick in the worker's active session")
+    void shouldHandleShortPick() {
+        when(repository.findActiveSessionByWorkerId("WORKER-1")).thenReturn(Mono.just(session));
+        when(repository.save(session)).thenReturn(Mono.just(session));
+
+        service.handleShortPick("WORKER-1", "INST-1", 2, "Damaged").block();
+
+        assertThat(session.getShortPickCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should complete empty when the worker has no active session")
+    void shouldCompleteEmptyWithoutSession() {
+        when(repository.findActiveSessionByWorkerId("WORKER-2")).thenReturn(Mono.empty());
+
+        assertThat(service.confirmPick("WORKER-2", "INST-1", 5).blockOptional()).isEmpty();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should surface concurrent modification from the repository")
+    void shouldPropagateOptimisticLockFailure() {
+        when(repository.findActiveSessionByWorkerId("WORKER-1")).thenReturn(Mono.just(session));
+        when(repository.save(session)).thenReturn(Mono.error(new OptimisticLockingFailureException("stale")));
+
+        assertThatThrownBy(() -> service.confirmPick("WORKER-1", "INST-1", 5).block())
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+}
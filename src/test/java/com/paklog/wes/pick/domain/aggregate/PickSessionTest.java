@@ -229,6 +229,23 @@ class PickSessionTest {
         assertThat(secondInstruction.getSequenceNumber()).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("Should list upcoming open instructions from the current one")
+    void shouldGetUpcomingInstructions() {
+        // Given
+        PickSession session = createStartedSession(4);
+        session.confirmPick("INST-1", 10);
+        session.shortPick("INST-3", 4, "Damaged");
+
+        // When
+        List<PickInstruction> upcoming = session.getUpcomingInstructions(5);
+
+        // Then
+        assertThat(upcoming).extracting(PickInstruction::getInstructionId)
+                .containsExactly("INST-2", "INST-4");
+        assertThat(session.getUpcomingInstructions(1)).hasSize(1);
+    }
+
     @Test
     @DisplayName("Should validate state transitions")
     void shouldValidateStateTransitions() {
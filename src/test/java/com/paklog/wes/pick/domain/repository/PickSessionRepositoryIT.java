@@ -4,11 +4,16 @@ import com.paklog.wes.pick.domain.valueobject.Priority;
 import com.paklog.wes.pick.domain.aggregate.PickSession;
 import com.paklog.wes.pick.domain.entity.PickInstruction;
 import com.paklog.wes.pick.domain.valueobject.*;
+import com.paklog.wes.pick.infrastructure.persistence.PickSessionArchiver;
+import com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionSchema;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MongoDBContainer;
@@ -17,8 +22,10 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @Testcontainers
@@ -36,9 +43,13 @@ class PickSessionRepositoryIT {
     @Autowired
     private PickSessionRepository repository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @BeforeEach
     void clean() {
         repository.deleteAll();
+        mongoTemplate.dropCollection(PickSessionSchema.ARCHIVE_COLLECTION);
     }
 
     @Test
@@ -71,14 +82,205 @@ class PickSessionRepositoryIT {
         assertThat(repository.findByCompletedAtAfter(session.getCompletedAt().minusMinutes(1))).hasSize(1);
     }
 
+    @Test
+    @DisplayName("Should reject saves of a stale session version")
+    void shouldRejectStaleSave() {
+        PickSession session = repository.save(startSession("WORKER-3", PickStrategy.SINGLE));
+        PickSession stale = repository.findById(session.getSessionId()).orElseThrow();
+
+        session.pause();
+        repository.save(session);
+
+        stale.cancel("Stale update");
+        assertThatThrownBy(() -> repository.save(stale))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(repository.findById(session.getSessionId()))
+                .get()
+                .extracting(PickSession::getStatus)
+                .isEqualTo(SessionStatus.PAUSED);
+    }
+
+    @Test
+    @DisplayName("Should read only the requested parts of a session")
+    void shouldReadProjectedSession() {
+        PickSession session = repository.save(startSession("WORKER-13", PickStrategy.SINGLE));
+
+        PickSession partial = repository.findById(session.getSessionId(), Set.of(SessionField.STATUS)).orElseThrow();
+
+        assertThat(partial.getSessionId()).isEqualTo(session.getSessionId());
+        assertThat(partial.getVersion()).isEqualTo(session.getVersion());
+        assertThat(partial.getStatus()).isEqualTo(SessionStatus.IN_PROGRESS);
+        assertThat(partial.getWorkerId()).isNull();
+        assertThat(partial.getPickInstructions()).isEmpty();
+        assertThat(repository.findByStatus(SessionStatus.IN_PROGRESS, Set.of(SessionField.INSTRUCTIONS)))
+                .singleElement()
+                .satisfies(read -> {
+                    assertThat(read.getPickInstructions()).hasSameSizeAs(session.getPickInstructions());
+                    assertThat(read.getTaskId()).isNull();
+                });
+    }
+
+    @Test
+    @DisplayName("Should compute instruction counters without reading the instructions")
+    void shouldReadProjectedCounters() {
+        PickSession session = startSession("WORKER-14", PickStrategy.SINGLE);
+        session.confirmPick("INST-1", 5);
+        session.shortPick("INST-2", 3, "Damaged");
+        repository.save(session);
+
+        PickSession partial = repository.findById(session.getSessionId(), Set.of(SessionField.COUNTERS)).orElseThrow();
+
+        assertThat(partial.getPickInstructions()).isEmpty();
+        assertThat(partial.getCounters()).isEqualTo(new SessionCounters(2, 2, 1, 8, 10));
+        assertThat(partial.getCounters().progress()).isEqualTo(session.getProgress());
+        assertThat(partial.getCounters().accuracy()).isEqualTo(session.calculateAccuracy());
+    }
+
+    @Test
+    @DisplayName("Should insert sessions in bulk and report duplicates per session")
+    void shouldInsertInBulk() {
+        PickSession first = startSession("WORKER-6", PickStrategy.SINGLE);
+        PickSession second = startSession("WORKER-7", PickStrategy.SINGLE);
+
+        BulkInsertResult result = repository.insertAll(List.of(first, second));
+
+        assertThat(result.inserted()).containsExactly(first, second);
+        assertThat(result.failures()).isEmpty();
+        assertThat(repository.findWorkersWithActiveSessions(List.of("WORKER-6", "WORKER-7", "WORKER-8")))
+                .containsExactlyInAnyOrder("WORKER-6", "WORKER-7");
+
+        first.setVersion(null);
+        PickSession third = startSession("WORKER-8", PickStrategy.SINGLE);
+        BulkInsertResult retry = repository.insertAll(List.of(first, third));
+
+        assertThat(retry.inserted()).containsExactly(third);
+        assertThat(retry.failures())
+                .extracting(BulkInsertResult.Failure::session)
+                .containsExactly(first);
+        assertThat(repository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep a single session per task")
+    void shouldRejectSecondSessionForTask() {
+        PickSession first = repository.save(startSession("WORKER-12", PickStrategy.SINGLE));
+        PickSession second = startSession("WORKER-12", PickStrategy.SINGLE);
+
+        BulkInsertResult result = repository.insertAll(List.of(second));
+
+        assertThat(result.inserted()).isEmpty();
+        assertThat(result.failures()).hasSize(1);
+        assertThat(repository.findByTaskIdIn(List.of("TASK-WORKER-12", "TASK-UNKNOWN")))
+                .extracting(PickSession::getSessionId)
+                .containsExactly(first.getSessionId());
+    }
+
+    @Test
+    @DisplayName("Should bind a worker to an active session by task")
+    void shouldAssignWorker() {
+        PickSession session = repository.save(startSession("WORKER-9", PickStrategy.SINGLE));
+        repository.save(startSession("WORKER-10", PickStrategy.SINGLE));
+
+        assertThat(repository.findSessionIdByTaskId("TASK-WORKER-9")).contains(session.getSessionId());
+        assertThat(repository.findSessionIdByTaskId("TASK-UNKNOWN")).isEmpty();
+        assertThat(repository.findVersionById(session.getSessionId()))
+                .contains(new SessionVersion(session.getSessionId(), session.getVersion()));
+        assertThat(repository.findActiveSessionVersionByWorkerId("WORKER-9"))
+                .contains(new SessionVersion(session.getSessionId(), session.getVersion()));
+
+        assertThat(repository.assignWorker(session.getSessionId(), "WORKER-10")).isEqualTo(WorkerAssignment.WORKER_BUSY);
+        assertThat(repository.assignWorker(session.getSessionId(), "WORKER-11")).isEqualTo(WorkerAssignment.ASSIGNED);
+        assertThat(repository.assignWorker(session.getSessionId(), "WORKER-11")).isEqualTo(WorkerAssignment.UNCHANGED);
+        assertThat(repository.findById(session.getSessionId()))
+                .get()
+                .extracting(PickSession::getWorkerId)
+                .isEqualTo("WORKER-11");
+
+        session.cancel("Stale copy");
+        assertThatThrownBy(() -> repository.save(session))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(repository.assignWorker("SESSION-UNKNOWN", "WORKER-11")).isEqualTo(WorkerAssignment.NOT_ACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should keep a single active session per worker in the database")
+    void shouldRejectSecondActiveSessionForWorker() {
+        PickSession first = repository.save(startSession("TASK-A", "WORKER-13", PickStrategy.SINGLE));
+
+        assertThatThrownBy(() -> repository.save(startSession("TASK-B", "WORKER-13", PickStrategy.SINGLE)))
+                .isInstanceOf(DuplicateKeyException.class);
+        BulkInsertResult result = repository.insertAll(List.of(
+                startSession("TASK-C", "WORKER-14", PickStrategy.SINGLE),
+                startSession("TASK-D", "WORKER-14", PickStrategy.SINGLE)));
+        assertThat(result.inserted()).hasSize(1);
+        assertThat(result.failures()).hasSize(1);
+
+        first.cancel("Reassigned");
+        repository.save(first);
+        assertThat(repository.save(startSession("TASK-E", "WORKER-13", PickStrategy.SINGLE)).getVersion()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold any number of active sessions awaiting a picker")
+    void shouldAllowManyUnassignedSessions() {
+        BulkInsertResult result = repository.insertAll(List.of(
+                startSession("TASK-A", PickSession.UNASSIGNED_WORKER, PickStrategy.SINGLE),
+                startSession("TASK-B", PickSession.UNASSIGNED_WORKER, PickStrategy.SINGLE),
+                startSession("TASK-C", PickSession.UNASSIGNED_WORKER, PickStrategy.SINGLE)));
+        repository.save(startSession("TASK-D", "WORKER-15", PickStrategy.SINGLE));
+
+        assertThat(result.inserted()).hasSize(3);
+        assertThat(result.failures()).isEmpty();
+        assertThat(repository.assignWorker(result.inserted().get(0).getSessionId(), "WORKER-16"))
+                .isEqualTo(WorkerAssignment.ASSIGNED);
+        assertThat(repository.assignWorker(result.inserted().get(1).getSessionId(), "WORKER-15"))
+                .isEqualTo(WorkerAssignment.WORKER_BUSY);
+    }
+
+    @Test
+    @DisplayName("Should archive terminal sessions and keep reading them transparently")
+    void shouldReadArchivedSessions() {
+        PickSession completed = startSession("WORKER-4", PickStrategy.SINGLE);
+        completed.getPickInstructions().forEach(i -> completed.confirmPick(i.getInstructionId(), i.getExpectedQuantity()));
+        repository.save(completed);
+        PickSession active = repository.save(startSession("WORKER-5", PickStrategy.SINGLE));
+
+        PickSessionArchiver archiver = new PickSessionArchiver(mongoTemplate, repository,
+                true, Duration.ofSeconds(-1), 10, 1, Duration.ZERO, 100);
+
+        assertThat(archiver.archive()).isEqualTo(1);
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(mongoTemplate.getCollection(PickSessionSchema.ARCHIVE_COLLECTION).countDocuments()).isEqualTo(1);
+
+        assertThat(repository.findById(completed.getSessionId())).isPresent();
+        assertThat(repository.findVersionById(completed.getSessionId())).isPresent();
+        assertThat(repository.findByTaskId(completed.getTaskId())).isPresent();
+        assertThat(repository.findByTaskIdIn(List.of(completed.getTaskId(), active.getTaskId(), "TASK-UNKNOWN")))
+                .extracting(PickSession::getSessionId)
+                .containsExactlyInAnyOrder(completed.getSessionId(), active.getSessionId());
+        assertThat(repository.findByStatus(SessionStatus.COMPLETED)).hasSize(1);
+        assertThat(repository.findByWarehouseId("WH-1")).hasSize(2);
+        assertThat(repository.findByCompletedAtAfter(completed.getCompletedAt().minusMinutes(1)))
+                .extracting(PickSession::getSessionId)
+                .containsExactly(completed.getSessionId());
+        assertThat(repository.findActiveSessionByWorkerId("WORKER-5"))
+                .get()
+                .extracting(PickSession::getSessionId)
+                .isEqualTo(active.getSessionId());
+    }
+
     private PickSession startSession(String workerId, PickStrategy strategy) {
+        return startSession("TASK-" + workerId, workerId, strategy);
+    }
+
+    private PickSession startSession(String taskId, String workerId, PickStrategy strategy) {
         List<PickInstruction> instructions = List.of(
                 new PickInstruction("INST-1", "SKU-1", "Item 1", 5, new Location("A", "01", "01", "01"), "ORDER-1", Priority.NORMAL),
                 new PickInstruction("INST-2", "SKU-2", "Item 2", 5, new Location("A", "02", "01", "01"), "ORDER-1", Priority.NORMAL)
         );
 
         PickSession session = PickSession.create(
-                "TASK-" + workerId,
+                taskId,
                 workerId,
                 "WH-1",
                 strategy,
@@ -0,0 +1,55 @@
+package com.paklog.wes.pick.domain.valueobject;
+
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SessionCounters Tests")
+class SessionCountersTest {
+
+    @Test
+    @DisplayName("Should count instructions as the session does")
+    void shouldMatchSessionCounters() {
+        List<PickInstruction> instructions = List.of(
+                new PickInstruction("INST-1", "SKU-1", "Item 1", 10, new Location("A", "01", "01", "01"), "ORDER-1", Priority.NORMAL),
+                new PickInstruction("INST-2", "SKU-2", "Item 2", 10, new Location("A", "02", "01", "01"), "ORDER-1", Priority.NORMAL),
+                new PickInstruction("INST-3", "SKU-3", "Item 3", 5, new Location("A", "03", "01", "01"), "ORDER-1", Priority.NORMAL)
+        );
+        PickSession session = PickSession.create("TASK-1", "WORKER-1", "WH-1", PickStrategy.SINGLE, "CART-1", instructions);
+        session.start(new PickPath(
+                List.of(
+                        new PickPath.PathNode("INST-1", instructions.get(0).getLocation(), 0, 0.0),
+                        new PickPath.PathNode("INST-2", instructions.get(1).getLocation(), 1, 10.0),
+                        new PickPath.PathNode("INST-3", instructions.get(2).getLocation(), 2, 20.0)
+                ),
+                20.0,
+                Duration.ofMinutes(5),
+                "TEST"
+        ));
+        session.confirmPick("INST-1", 10);
+        session.shortPick("INST-2", 4, "Damaged");
+
+        SessionCounters counters = SessionCounters.of(session.getPickInstructions());
+
+        assertThat(counters).isEqualTo(new SessionCounters(3, 2, 1, 14, 25));
+        assertThat(counters.completedInstructions()).isEqualTo(session.getCompletedInstructionCount());
+        assertThat(counters.shortPicks()).isEqualTo(session.getShortPickCount());
+        assertThat(counters.progress()).isEqualTo(session.getProgress());
+        assertThat(counters.accuracy()).isEqualTo(session.calculateAccuracy());
+    }
+
+    @Test
+    @DisplayName("Should treat a session without instructions as done")
+    void shouldHandleNoInstructions() {
+        SessionCounters counters = SessionCounters.of(List.of());
+
+        assertThat(counters.progress()).isEqualTo(100.0);
+        assertThat(counters.accuracy()).isEqualTo(100.0);
+    }
+}
@@ -1,16 +1,25 @@
 package com.paklog.wes.pick.infrastructure.config;
 
 import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.infrastructure.persistence.ProcessedEventStore;
+import com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionSchema;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
 import org.springframework.data.mongodb.core.index.IndexOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
+import java.time.Duration;
+import java.util.List;
+
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,18 +32,88 @@ class MongoConfigTest {
     @Mock
     private IndexOperations indexOperations;
 
-    @InjectMocks
-    private MongoConfig mongoConfig;
+    @Mock
+    private IndexOperations archiveIndexOperations;
+
+    @Mock
+    private IndexOperations dedupIndexOperations;
 
     @Test
     @DisplayName("Should create all configured indexes at startup")
     void shouldCreateIndexes() {
         when(mongoTemplate.indexOps(PickSession.class)).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of());
+        when(mongoTemplate.indexOps(PickSessionSchema.ARCHIVE_COLLECTION)).thenReturn(archiveIndexOperations);
+        when(mongoTemplate.indexOps(ProcessedEventStore.COLLECTION)).thenReturn(dedupIndexOperations);
 
-        mongoConfig.initIndexes();
+        new MongoConfig(mongoTemplate, null, Duration.ofDays(7)).initIndexes();
 
         verify(mongoTemplate).indexOps(PickSession.class);
-        verify(indexOperations, times(7)).ensureIndex(any(Index.class));
-        verifyNoMoreInteractions(indexOperations);
+        verify(indexOperations).getIndexInfo();
+        verify(indexOperations, times(9)).ensureIndex(any(Index.class));
+        verify(indexOperations).ensureIndex(argThat(index ->
+                "idx_task_id_unique".equals(index.getIndexOptions().get("name"))
+                        && Boolean.TRUE.equals(index.getIndexOptions().get("unique"))));
+        verify(indexOperations).ensureIndex(argThat(index ->
+                "idx_worker_active_unique".equals(index.getIndexOptions().get("name"))
+                        && Boolean.TRUE.equals(index.getIndexOptions().get("unique"))
+                        && index.getIndexOptions().get("partialFilterExpression").toString()
+                                .contains(PickSessionSchema.ASSIGNED_ACTIVE)));
+        verify(archiveIndexOperations, times(4)).ensureIndex(any(Index.class));
+        verify(dedupIndexOperations).ensureIndex(argThat(index ->
+                Long.valueOf(Duration.ofDays(7).toSeconds()).equals(index.getIndexOptions().get("expireAfterSeconds"))));
+        verifyNoMoreInteractions(indexOperations, archiveIndexOperations, dedupIndexOperations);
+    }
+
+    @Test
+    @DisplayName("Should expire archived sessions when a TTL is configured")
+    void shouldCreateArchiveTtlIndex() {
+        when(mongoTemplate.indexOps(PickSession.class)).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of());
+        when(mongoTemplate.indexOps(PickSessionSchema.ARCHIVE_COLLECTION)).thenReturn(archiveIndexOperations);
+        when(mongoTemplate.indexOps(ProcessedEventStore.COLLECTION)).thenReturn(dedupIndexOperations);
+
+        new MongoConfig(mongoTemplate, Duration.ofDays(90), Duration.ofDays(7)).initIndexes();
+
+        verify(archiveIndexOperations).ensureIndex(argThat(index ->
+                "idx_archive_completed_at".equals(index.getIndexOptions().get("name"))
+                        && Long.valueOf(Duration.ofDays(90).toSeconds())
+                        .equals(index.getIndexOptions().get("expireAfterSeconds"))));
+    }
+
+    @Test
+    @DisplayName("Should replace the non-unique task index of earlier releases")
+    void shouldDropLegacyTaskIndex() {
+        when(mongoTemplate.indexOps(PickSession.class)).thenReturn(indexOperations);
+        when(mongoTemplate.indexOps(PickSessionSchema.ARCHIVE_COLLECTION)).thenReturn(archiveIndexOperations);
+        when(mongoTemplate.indexOps(ProcessedEventStore.COLLECTION)).thenReturn(dedupIndexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(
+                new IndexInfo(List.of(IndexField.create("taskId", Sort.Direction.ASC)), "idx_task_id", false, false, "")));
+
+        new MongoConfig(mongoTemplate, null, Duration.ofDays(7)).initIndexes();
+
+        InOrder inOrder = inOrder(indexOperations);
+        inOrder.verify(indexOperations).ensureIndex(argThat(index ->
+                "idx_task_id_unique".equals(index.getIndexOptions().get("name"))));
+        inOrder.verify(indexOperations).dropIndex("idx_task_id");
+    }
+
+    @Test
+    @DisplayName("Should keep the legacy task index and start when existing duplicates block the unique one")
+    void shouldKeepLegacyTaskIndexWhenUniqueBuildFails() {
+        when(mongoTemplate.indexOps(PickSession.class)).thenReturn(indexOperations);
+        when(mongoTemplate.indexOps(PickSessionSchema.ARCHIVE_COLLECTION)).thenReturn(archiveIndexOperations);
+        when(mongoTemplate.indexOps(ProcessedEventStore.COLLECTION)).thenReturn(dedupIndexOperations);
+        doThrow(new DuplicateKeyException("E11000 duplicate key error"))
+                .when(indexOperations).ensureIndex(argThat(index ->
+                        "idx_task_id_unique".equals(index.getIndexOptions().get("name"))));
+
+        new MongoConfig(mongoTemplate, null, Duration.ofDays(7)).initIndexes();
+
+        verify(indexOperations, never()).getIndexInfo();
+        verify(indexOperations, never()).dropIndex(any(String.class));
+        verify(indexOperations).ensureIndex(argThat(index ->
+                "idx_worker_active_unique".equals(index.getIndexOptions().get("name"))));
+        verify(dedupIndexOperations).ensureIndex(any(Index.class));
     }
 }
@@ -0,0 +1,64 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CloudEventBinarySerializer Tests")
+class CloudEventBinarySerializerTest {
+
+    private final CloudEventBinarySerializer serializer = new CloudEventBinarySerializer();
+
+    @Test
+    @DisplayName("Should move attributes to headers and keep the data as the value")
+    void shouldWriteBinaryMode() {
+        CloudEvent event = CloudEventBuilder.v1()
+                .withId("EVT-1")
+                .withSource(URI.create("paklog://pick-execution-service"))
+                .withType("pick.started")
+                .withDataContentType("application/vnd.paklog.pick-event.compact")
+                .withTime(OffsetDateTime.of(2025, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC))
+                .withData(new byte[]{1, 2, 3})
+                .build();
+        Headers headers = new RecordHeaders();
+
+        byte[] value = serializer.serialize("pick-events", headers, event);
+
+        assertThat(value).containsExactly(1, 2, 3);
+        assertThat(header(headers, "ce_specversion")).isEqualTo("1.0");
+        assertThat(header(headers, "ce_id")).isEqualTo("EVT-1");
+        assertThat(header(headers, "ce_type")).isEqualTo("pick.started");
+        assertThat(header(headers, "ce_time")).isEqualTo("2025-01-01T10:00:00Z");
+        assertThat(header(headers, "content-type")).isEqualTo("application/vnd.paklog.pick-event.compact");
+        assertThat(headers.lastHeader("ce_subject")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse to serialize without record headers")
+    void shouldRequireHeaders() {
+        CloudEvent event = CloudEventBuilder.v1()
+                .withId("EVT-2")
+                .withSource(URI.create("paklog://pick-execution-service"))
+                .withType("pick.started")
+                .build();
+
+        assertThatThrownBy(() -> serializer.serialize("pick-events", event))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private static String header(Headers headers, String name) {
+        return new String(headers.lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,60 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CloudEventJsonSerializer Tests")
+class CloudEventJsonSerializerTest {
+
+    private final CloudEventJsonSerializer serializer = new CloudEventJsonSerializer();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should write a structured CloudEvent with JSON data embedded")
+    void shouldWriteStructuredJson() throws Exception {
+        CloudEvent event = CloudEventBuilder.v1()
+                .withId("EVT-1")
+                .withSource(URI.create("paklog://pick-execution-service"))
+                .withType("pick.started")
+                .withDataContentType("application/json")
+                .withTime(OffsetDateTime.of(2025, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC))
+                .withData("{\"sessionId\":\"SESSION-1\"}".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        JsonNode json = objectMapper.readTree(serializer.serialize("pick-events", event));
+
+        assertThat(json.get("specversion").asText()).isEqualTo("1.0");
+        assertThat(json.get("id").asText()).isEqualTo("EVT-1");
+        assertThat(json.get("type").asText()).isEqualTo("pick.started");
+        assertThat(json.get("time").asText()).isEqualTo("2025-01-01T10:00:00Z");
+        assertThat(json.get("data").get("sessionId").asText()).isEqualTo("SESSION-1");
+    }
+
+    @Test
+    @DisplayName("Should carry non-JSON data base64 encoded")
+    void shouldEncodeBinaryData() throws Exception {
+        CloudEvent event = CloudEventBuilder.v1()
+                .withId("EVT-2")
+                .withSource(URI.create("paklog://pick-execution-service"))
+                .withType("pick.started")
+                .withDataContentType("application/octet-stream")
+                .withData(new byte[]{1, 2, 3})
+                .build();
+
+        JsonNode json = objectMapper.readTree(serializer.serialize("pick-events", event));
+
+        assertThat(json.has("data")).isFalse();
+        assertThat(json.get("data_base64").binaryValue()).containsExactly(1, 2, 3);
+    }
+}
@@ -0,0 +1,159 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("KeyedTaskExecutor Tests")
+class KeyedTaskExecutorTest {
+
+    private KeyedTaskExecutor executor = new KeyedTaskExecutor(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should run tasks of one key in submission order")
+    void shouldKeepPerKeyOrder() {
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int value = i;
+            futures.add(executor.submit("TASK-1", () -> {
+                if (value % 7 == 0) {
+                    sleep(2);
+                }
+                seen.add(value);
+            }));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(seen).isSorted().hasSize(50);
+    }
+
+    @Test
+    @DisplayName("Should not hold back other keys behind a slow key")
+    void shouldRunKeysInParallel() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = executor.submit("TASK-SLOW", () -> await(release));
+        CompletableFuture<Void> fast = executor.submit("TASK-FAST", () -> {});
+
+        fast.get(1, TimeUnit.SECONDS);
+        assertThat(slow).isNotDone();
+
+        release.countDown();
+        slow.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should order a multi-key task after and before the tasks of each key")
+    void shouldOrderMultiKeyTasks() {
+        List<String> seen = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.submit("TASK-1", () -> {
+            await(release);
+            seen.add("first");
+        });
+        executor.submit(List.of("TASK-1", "TASK-2"), () -> seen.add("bulk"));
+        CompletableFuture<Void> last = executor.submit("TASK-2", () -> seen.add("after"));
+
+        release.countDown();
+        last.join();
+
+        assertThat(seen).containsExactly("first", "bulk", "after");
+    }
+
+    @Test
+    @DisplayName("Should keep processing a key after a failed task")
+    void shouldContinueAfterFailure() {
+        AtomicBoolean ran = new AtomicBoolean();
+
+        CompletableFuture<Void> failed = executor.submit("TASK-1", () -> {
+            throw new IllegalStateException("boom");
+        });
+        executor.submit("TASK-1", () -> ran.set(true)).join();
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(ran).isTrue();
+        assertThat(executor.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should block submitters once the in-flight bound is reached")
+    void shouldBoundInFlightTasks() throws Exception {
+        executor.destroy();
+        executor = new KeyedTaskExecutor(2);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit("TASK-1", () -> await(release));
+        executor.submit("TASK-2", () -> await(release));
+
+        CompletableFuture<CompletableFuture<Void>> third =
+                CompletableFuture.supplyAsync(() -> executor.submit("TASK-3", () -> {}));
+        Thread.sleep(100);
+        assertThat(third).isNotDone();
+        assertThat(executor.inFlight()).isEqualTo(2);
+
+        release.countDown();
+        third.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should apply a lowered bound once running tasks finish")
+    void shouldLowerBoundAtRuntime() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit("TASK-1", () -> await(release));
+        executor.submit("TASK-2", () -> await(release));
+
+        executor.limit(1);
+        CompletableFuture<CompletableFuture<Void>> third =
+                CompletableFuture.supplyAsync(() -> executor.submit("TASK-3", () -> {}));
+        Thread.sleep(100);
+        assertThat(third).isNotDone();
+        assertThat(executor.inFlight()).isEqualTo(2);
+
+        release.countDown();
+        third.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS);
+
+        executor.limit(100);
+        assertThat(executor.limit()).isEqualTo(8);
+        assertThat(executor.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive bound")
+    void shouldRejectInvalidBound() {
+        assertThatThrownBy(() -> new KeyedTaskExecutor(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
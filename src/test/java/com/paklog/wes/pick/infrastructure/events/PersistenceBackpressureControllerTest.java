@@ -0,0 +1,117 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.paklog.wes.pick.infrastructure.events.PersistenceBackpressureController.Level;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PersistenceBackpressureController Tests")
+class PersistenceBackpressureControllerTest {
+
+    private static final String METRIC = "spring.data.repository.invocations";
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final KeyedTaskExecutor executor = new KeyedTaskExecutor(64);
+    private PersistenceBackpressureController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new PersistenceBackpressureController(meterRegistry, listenerRegistry, executor, METRIC, true,
+                Duration.ofMillis(50), Duration.ofMillis(250), 0.2, 8, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should throttle the consumers while repository calls are slow")
+    void shouldThrottleOnSlowCalls() {
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+        record("save", "SUCCESS", 10, Duration.ofMillis(5));
+        assertThat(controller.sample()).isEqualTo(Level.NORMAL);
+
+        record("save", "SUCCESS", 10, Duration.ofMillis(80));
+
+        assertThat(controller.sample()).isEqualTo(Level.THROTTLED);
+        assertThat(executor.limit()).isEqualTo(8);
+        verify(container, never()).pause();
+    }
+
+    @Test
+    @DisplayName("Should pause the consumers when repository calls fail and resume step by step")
+    void shouldPauseOnErrorsAndRecover() {
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+        when(container.isRunning()).thenReturn(true);
+        record("insertAll", "SUCCESS", 6, Duration.ofMillis(5));
+        record("insertAll", "ERROR", 4, Duration.ofMillis(5));
+
+        assertThat(controller.sample()).isEqualTo(Level.PAUSED);
+        verify(container).pause();
+
+        // Two healthy samples per step down; an idle window counts as healthy
+        assertThat(controller.sample()).isEqualTo(Level.PAUSED);
+        when(container.isPauseRequested()).thenReturn(true);
+        record("findById", "SUCCESS", 10, Duration.ofMillis(2));
+        assertThat(controller.sample()).isEqualTo(Level.THROTTLED);
+        verify(container).resume();
+        assertThat(executor.limit()).isEqualTo(8);
+
+        controller.sample();
+        assertThat(controller.sample()).isEqualTo(Level.NORMAL);
+        assertThat(executor.limit()).isEqualTo(64);
+    }
+
+    @Test
+    @DisplayName("Should ignore timers of other repositories")
+    void shouldIgnoreOtherRepositories() {
+        Timer.builder(METRIC).tag("repository", "OtherRepository").tag("state", "ERROR")
+                .register(meterRegistry).record(Duration.ofSeconds(1));
+
+        assertThat(controller.sample()).isEqualTo(Level.NORMAL);
+        verifyNoInteractions(listenerRegistry);
+    }
+
+    @Test
+    @DisplayName("Should reject a pause latency below the throttle latency")
+    void shouldRejectInvertedThresholds() {
+        assertThatThrownBy(() -> new PersistenceBackpressureController(meterRegistry, listenerRegistry, executor,
+                METRIC, true, Duration.ofMillis(300), Duration.ofMillis(250), 0.2, 8, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void record(String method, String state, int calls, Duration latency) {
+        Timer timer = Timer.builder(METRIC)
+                .tag("repository", PersistenceBackpressureController.REPOSITORY)
+                .tag("method", method)
+                .tag("state", state)
+                .register(meterRegistry);
+        for (int i = 0; i < calls; i++) {
+            timer.record(latency);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.UpdateOptions;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PickEventParkingLot Tests")
+class PickEventParkingLotTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private KafkaTemplate<String, CloudEvent> kafkaTemplate;
+
+    @Mock
+    private FindIterable<Document> parked;
+
+    private PickEventParkingLot parkingLot;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollection(PickEventParkingLot.COLLECTION)).thenReturn(collection);
+        parkingLot = new PickEventParkingLot(mongoTemplate, kafkaTemplate, new SimpleMeterRegistry(), 10, Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should republish parked events with their original id and keep the ones that fail again")
+    @SuppressWarnings("unchecked")
+    void shouldRepublishParkedEvents() {
+        when(collection.find()).thenReturn(parked);
+        when(parked.sort(any())).thenReturn(parked);
+        when(parked.limit(10)).thenReturn(parked);
+        when(parked.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.addAll(List.of(parkedEvent("EVT-1"), parkedEvent("EVT-2")));
+            return target;
+        });
+        ArgumentCaptor<CloudEvent> eventCaptor = ArgumentCaptor.forClass(CloudEvent.class);
+        when(kafkaTemplate.send(eq("pick-events"), eq("SESSION-1"), eventCaptor.capture()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+        assertThat(parkingLot.republish()).isEqualTo(1);
+
+        assertThat(eventCaptor.getAllValues()).extracting(CloudEvent::getId).containsExactly("EVT-1", "EVT-2");
+        assertThat(eventCaptor.getAllValues().get(0).getData().toBytes()).containsExactly(1, 2);
+        verify(collection).deleteMany(any(Bson.class));
+        verify(collection).updateOne(any(Bson.class), any(Bson.class));
+    }
+
+    @Test
+    @DisplayName("Should wait for a whole batch under one deadline and keep unacknowledged events parked")
+    @SuppressWarnings("unchecked")
+    void shouldBoundRepublishByOneDeadline() {
+        parkingLot = new PickEventParkingLot(mongoTemplate, kafkaTemplate, new SimpleMeterRegistry(), 10,
+                Duration.ofMillis(200));
+        when(collection.find()).thenReturn(parked);
+        when(parked.sort(any())).thenReturn(parked);
+        when(parked.limit(10)).thenReturn(parked);
+        when(parked.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.addAll(List.of(parkedEvent("EVT-1"), parkedEvent("EVT-2"), parkedEvent("EVT-3")));
+            return target;
+        });
+        when(kafkaTemplate.send(eq("pick-events"), eq("SESSION-1"), any(CloudEvent.class)))
+                .thenReturn(new CompletableFuture<>())
+                .thenReturn(new CompletableFuture<>())
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(parkingLot.republish()).isEqualTo(1);
+
+        verify(collection).deleteMany(any(Bson.class));
+        ArgumentCaptor<Bson> updates = ArgumentCaptor.forClass(Bson.class);
+        verify(collection, times(2)).updateOne(any(Bson.class), updates.capture());
+        assertThat(updates.getAllValues()).allMatch(update -> update.toString().contains("No broker acknowledgement"));
+    }
+
+    @Test
+    @DisplayName("Should park an event again under its id instead of failing on the copy already parked")
+    void shouldParkSameEventTwice() {
+        CloudEvent event = CloudEventBuilder.v1()
+                .withId("EVT-1")
+                .withSource(URI.create("paklog://pick-execution-service"))
+                .withType("pick.started")
+                .build();
+
+        parkingLot.park("pick-events", "SESSION-1", event, new RuntimeException("Broker unavailable"));
+        parkingLot.park("pick-events", "SESSION-1", event, new RuntimeException("Broker unavailable"));
+
+        ArgumentCaptor<Bson> filters = ArgumentCaptor.forClass(Bson.class);
+        ArgumentCaptor<UpdateOptions> options = ArgumentCaptor.forClass(UpdateOptions.class);
+        verify(collection, times(2)).updateOne(filters.capture(), any(Bson.class), options.capture());
+        assertThat(filters.getAllValues()).allMatch(filter -> filter.toString().contains("EVT-1"));
+        assertThat(options.getAllValues()).allMatch(UpdateOptions::isUpsert);
+        verify(collection, never()).insertOne(any());
+    }
+
+    private Document parkedEvent(String id) {
+        return new Document("_id", id)
+                .append("topic", "pick-events")
+                .append("key", "SESSION-1")
+                .append("type", "pick.started")
+                .append("source", "paklog://pick-execution-service")
+                .append("time", new Date())
+                .append("contentType", "application/json")
+                .append("data", new Binary(new byte[]{1, 2}));
+    }
+}
@@ -0,0 +1,124 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pick.events.PickingStartedEvent;
+import com.paklog.wes.pick.infrastructure.events.codec.PickEventCodecs;
+import io.cloudevents.CloudEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PickEventPublisher Tests")
+class PickEventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, CloudEvent> kafkaTemplate;
+
+    @Mock
+    private KafkaTemplate<String, Object> transactionalTemplate;
+
+    @Mock
+    private PickEventParkingLot parkingLot;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PickEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new PickEventPublisher(kafkaTemplate, transactionalTemplate, new ObjectMapper(), parkingLot, meterRegistry,
+                new PickEventCodecs(), PickEventEncoding.JSON);
+    }
+
+    @Test
+    @DisplayName("Should complete with the broker position and record the send latency")
+    void shouldCompleteWithMetadata() {
+        ArgumentCaptor<CloudEvent> eventCaptor = ArgumentCaptor.forClass(CloudEvent.class);
+        when(kafkaTemplate.send(eq("pick-events"), eq("SESSION-1"), eventCaptor.capture()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(new SendResult<>(
+                        new ProducerRecord<>("pick-events", "SESSION-1", invocation.getArgument(2)),
+                        new RecordMetadata(new TopicPartition("pick-events", 3), 42L, 0, 0L, 0, 0))));
+
+        PickEventPublisher.PublishResult result = publisher
+                .publishAsync("pick-events", "SESSION-1", "pick.started", Map.of("sessionId", "SESSION-1"))
+                .join();
+
+        assertThat(result.parked()).isFalse();
+        assertThat(result.partition()).isEqualTo(3);
+        assertThat(result.offset()).isEqualTo(42L);
+        assertThat(result.eventId()).isEqualTo(eventCaptor.getValue().getId());
+        assertThat(new String(eventCaptor.getValue().getData().toBytes())).contains("SESSION-1");
+        assertThat(meterRegistry.timer("pick.events.publish.latency", "topic", "pick-events", "outcome", "success").count())
+                .isEqualTo(1);
+        verifyNoInteractions(parkingLot);
+    }
+
+    @Test
+    @DisplayName("Should park events the producer gave up on")
+    void shouldParkFailedSends() {
+        RuntimeException failure = new RuntimeException("Delivery timed out");
+        when(kafkaTemplate.send(eq("pick-events"), eq("SESSION-1"), any(CloudEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(failure));
+
+        PickEventPublisher.PublishResult result = publisher
+                .publishAsync("pick-events", "SESSION-1", "pick.started", Map.of("sessionId", "SESSION-1"))
+                .join();
+
+        assertThat(result.parked()).isTrue();
+        verify(parkingLot).park(eq("pick-events"), eq("SESSION-1"), any(CloudEvent.class), eq(failure));
+        assertThat(meterRegistry.counter("pick.events.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail the future when an event can neither be sent nor parked")
+    void shouldFailWhenParkingFails() {
+        when(kafkaTemplate.send(any(), any(), any(CloudEvent.class)))
+                .thenThrow(new RuntimeException("Buffer exhausted"));
+        doThrow(new RuntimeException("Mongo unavailable")).when(parkingLot).park(any(), any(), any(), any());
+
+        assertThatThrownBy(() -> publisher.publishAsync("pick-events", "SESSION-1", "pick.started", Map.of()).join())
+                .hasRootCauseMessage("Mongo unavailable");
+    }
+
+    @Test
+    @DisplayName("Should encode known pick events compactly when configured")
+    void shouldEncodeCompact() {
+        PickEventCodecs codecs = new PickEventCodecs();
+        publisher = new PickEventPublisher(kafkaTemplate, transactionalTemplate, new ObjectMapper(), parkingLot, meterRegistry,
+                codecs, PickEventEncoding.COMPACT);
+        PickingStartedEvent started = new PickingStartedEvent("SESSION-1", "TASK-1", "WAVE-1", "WORKER-1",
+                List.of("A-01-01-01"), 3, Instant.now(), 12.5);
+        ArgumentCaptor<CloudEvent> eventCaptor = ArgumentCaptor.forClass(CloudEvent.class);
+        when(kafkaTemplate.send(eq("pick-events"), eq("SESSION-1"), eventCaptor.capture()))
+                .thenReturn(new CompletableFuture<>());
+
+        publisher.publish("pick-events", "SESSION-1", PickingStartedEvent.EVENT_TYPE, started);
+        publisher.publish("pick-events", "SESSION-1", "pick.custom", Map.of("sessionId", "SESSION-1"));
+
+        CloudEvent compact = eventCaptor.getAllValues().get(0);
+        assertThat(compact.getDataContentType()).isEqualTo(PickEventCodecs.CONTENT_TYPE);
+        assertThat(codecs.decode(PickingStartedEvent.EVENT_TYPE, compact.getData().toBytes())).isEqualTo(started);
+        assertThat(eventCaptor.getAllValues().get(1).getDataContentType()).isEqualTo("application/json");
+    }
+}
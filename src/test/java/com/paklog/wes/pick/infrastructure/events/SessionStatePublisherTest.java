@@ -0,0 +1,213 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.domain.valueobject.Priority;
+import com.paklog.wes.pick.infrastructure.persistence.MongoLease;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SessionStatePublisher Tests")
+class SessionStatePublisherTest {
+
+    private static final String TOPIC = "session-state";
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private MongoLease lease;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private SessionStatePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(lease.acquire()).thenReturn(true);
+        publisher = publisher(Duration.ofSeconds(30), true);
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst of confirms into one record per flush")
+    void shouldCoalesceBurst() throws Exception {
+        PickSession session = startedSession();
+        publisher.offer(session);
+        for (PickInstruction instruction : session.getPickInstructions()) {
+            session.confirmPick(instruction.getInstructionId(), instruction.getExpectedQuantity());
+            session.setVersion(session.getVersion() + 1);
+            publisher.offer(session);
+        }
+        ArgumentCaptor<byte[]> value = ArgumentCaptor.forClass(byte[].class);
+        when(kafkaTemplate.send(eq(TOPIC), eq(session.getSessionId()), value.capture()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(publisher.flush()).isEqualTo(1);
+        assertThat(publisher.flush()).isZero();
+
+        JsonNode snapshot = objectMapper.readTree(value.getValue());
+        assertThat(snapshot.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(snapshot.get("version").asLong()).isEqualTo(2);
+        assertThat(snapshot.get("completed_instructions").asInt()).isEqualTo(2);
+        assertThat(snapshot.get("worker_id").asText()).isEqualTo("WORKER-1");
+        assertThat(snapshot.get("current_instruction").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the newest version when changes arrive out of order")
+    void shouldKeepNewestVersion() throws Exception {
+        PickSession session = startedSession();
+        session.setVersion(5L);
+        publisher.offer(session);
+        PickSession stale = startedSession();
+        stale.setSessionId(session.getSessionId());
+        stale.setVersion(4L);
+        publisher.offer(stale);
+        ArgumentCaptor<byte[]> value = ArgumentCaptor.forClass(byte[].class);
+        when(kafkaTemplate.send(eq(TOPIC), eq(session.getSessionId()), value.capture()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.flush();
+
+        JsonNode snapshot = objectMapper.readTree(value.getValue());
+        assertThat(snapshot.get("version").asLong()).isEqualTo(5);
+        assertThat(snapshot.get("current_instruction").get("location").asText())
+                .isEqualTo(new Location("A", "01", "01", "01").toDisplayString());
+    }
+
+    @Test
+    @DisplayName("Should write a tombstone for a removed session")
+    void shouldWriteTombstone() {
+        PickSession session = startedSession();
+        publisher.offer(session);
+        publisher.tombstone(session.getSessionId());
+        when(kafkaTemplate.send(eq(TOPIC), eq(session.getSessionId()), isNull()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(publisher.flush()).isEqualTo(1);
+
+        verify(kafkaTemplate).send(TOPIC, session.getSessionId(), null);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed record on the next flush")
+    void shouldRetryFailedRecord() {
+        PickSession session = startedSession();
+        publisher.offer(session);
+        when(kafkaTemplate.send(eq(TOPIC), eq(session.getSessionId()), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.flush();
+        assertThat(publisher.pendingCount()).isEqualTo(1);
+        publisher.flush();
+
+        assertThat(publisher.pendingCount()).isZero();
+        verify(kafkaTemplate, times(2)).send(eq(TOPIC), eq(session.getSessionId()), any());
+    }
+
+    @Test
+    @DisplayName("Should queue nothing when disabled")
+    void shouldIgnoreChangesWhenDisabled() {
+        SessionStatePublisher disabled = publisher(Duration.ofSeconds(30), false);
+
+        disabled.offer(startedSession());
+        disabled.tombstone("SESSION-1");
+
+        assertThat(disabled.flush()).isZero();
+        verifyNoInteractions(kafkaTemplate, lease);
+    }
+
+    @Test
+    @DisplayName("Should not retry a failed record once a newer record of the session was sent")
+    void shouldNotRequeueSupersededRecord() {
+        PickSession session = startedSession();
+        publisher.offer(session);
+        CompletableFuture<SendResult<String, byte[]>> first = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), eq(session.getSessionId()), any()))
+                .thenReturn(first)
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.flush();
+        session.setVersion(1L);
+        publisher.offer(session);
+        publisher.flush();
+        first.completeExceptionally(new RuntimeException("Broker unavailable"));
+
+        assertThat(publisher.pendingCount()).isZero();
+        assertThat(publisher.flush()).isZero();
+        verify(kafkaTemplate, times(2)).send(eq(TOPIC), eq(session.getSessionId()), any());
+    }
+
+    @Test
+    @DisplayName("Should publish only while holding the lease and take over the changes it kept as standby")
+    void shouldPublishOnlyAsLeaseHolder() {
+        when(lease.acquire()).thenReturn(false).thenReturn(true);
+        PickSession session = startedSession();
+        publisher.offer(session);
+        when(kafkaTemplate.send(eq(TOPIC), eq(session.getSessionId()), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(publisher.flush()).isZero();
+        assertThat(publisher.pendingCount()).isEqualTo(1);
+        verifyNoInteractions(kafkaTemplate);
+
+        assertThat(publisher.flush()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let a standby forget changes the lease holder has long published")
+    void shouldExpireStandbyChanges() {
+        SessionStatePublisher standby = publisher(Duration.ZERO, true);
+        when(lease.acquire()).thenReturn(false);
+
+        standby.offer(startedSession());
+        standby.tombstone("SESSION-2");
+
+        assertThat(standby.flush()).isZero();
+        assertThat(standby.pendingCount()).isZero();
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private SessionStatePublisher publisher(Duration standbyRetention, boolean enabled) {
+        return new SessionStatePublisher(kafkaTemplate, objectMapper, new SimpleMeterRegistry(), lease,
+                standbyRetention, TOPIC, enabled);
+    }
+
+    private PickSession startedSession() {
+        Location first = new Location("A", "01", "01", "01");
+        Location second = new Location("A", "02", "01", "01");
+        PickSession session = PickSession.create("TASK-1", "WORKER-1", "WH-1", PickStrategy.SINGLE, "CART-1", List.of(
+                new PickInstruction("INST-1", "SKU-1", "Item 1", 5, first, "ORDER-1", Priority.NORMAL),
+                new PickInstruction("INST-2", "SKU-2", "Item 2", 3, second, "ORDER-1", Priority.NORMAL)));
+        session.start(new PickPath(List.of(
+                new PickPath.PathNode("INST-1", first, 0, 0.0),
+                new PickPath.PathNode("INST-2", second, 1, 5.0)), 5.0, Duration.ofMinutes(1), "TEST"));
+        session.setVersion(0L);
+        return session;
+    }
+}
@@ -0,0 +1,110 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskEventDltReplayer Tests")
+class TaskEventDltReplayerTest {
+
+    private static final String DLT = "task-events-retry-dlt";
+    private static final TopicPartition PARTITION = new TopicPartition(DLT, 0);
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, byte[]>> sentCaptor;
+
+    private MockConsumer<String, byte[]> consumer;
+    private TaskEventDltReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+            @Override
+            public synchronized void close() {
+                // Kept open so committed offsets can be inspected after the replay
+            }
+        };
+        consumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        replayer = new TaskEventDltReplayer(() -> consumer, kafkaTemplate, DLT, "task-events", Duration.ofMillis(10));
+    }
+
+    @Test
+    @DisplayName("Should replay up to the limit without failure headers and commit only what was replayed")
+    void shouldReplayUpToLimit() {
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+        consumer.schedulePollTask(() -> {
+            for (long offset = 0; offset < 3; offset++) {
+                ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(DLT, 0, offset, "TASK-" + offset,
+                        "{}".getBytes(StandardCharsets.UTF_8));
+                record.headers().add("ce_type", "task.created".getBytes(StandardCharsets.UTF_8));
+                record.headers().add(TaskEventFailureRouter.EXCEPTION_HEADER, "boom".getBytes(StandardCharsets.UTF_8));
+                record.headers().add("kafka_dlt-exception-message", "boom".getBytes(StandardCharsets.UTF_8));
+                consumer.addRecord(record);
+            }
+        });
+
+        int replayed = replayer.replay(2);
+
+        assertThat(replayed).isEqualTo(2);
+        verify(kafkaTemplate, times(2)).send(sentCaptor.capture());
+        assertThat(sentCaptor.getAllValues()).allSatisfy(sent -> {
+            assertThat(sent.topic()).isEqualTo("task-events");
+            assertThat(sent.headers().lastHeader("ce_type")).isNotNull();
+            assertThat(sent.headers().lastHeader(TaskEventFailureRouter.EXCEPTION_HEADER)).isNull();
+            assertThat(sent.headers().lastHeader("kafka_dlt-exception-message")).isNull();
+        });
+        assertThat(sentCaptor.getAllValues()).extracting(ProducerRecord::key).containsExactly("TASK-0", "TASK-1");
+        assertThat(consumer.committed(Set.of(PARTITION)).get(PARTITION).offset()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should not commit when a replayed event could not be sent")
+    void shouldNotCommitFailedReplay() {
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+        consumer.schedulePollTask(() -> consumer.addRecord(
+                new ConsumerRecord<>(DLT, 0, 0L, "TASK-0", "{}".getBytes(StandardCharsets.UTF_8))));
+
+        assertThatThrownBy(() -> replayer.replay(10)).hasRootCauseMessage("Broker unavailable");
+        assertThat(consumer.committed(Set.of(PARTITION)).get(PARTITION)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive limits")
+    void shouldRejectInvalidLimit() {
+        assertThatThrownBy(() -> replayer.replay(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ProducerRecord<String, byte[]> anyRecord() {
+        return any();
+    }
+}
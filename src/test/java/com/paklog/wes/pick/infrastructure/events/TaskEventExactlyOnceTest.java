@@ -0,0 +1,169 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pick.application.service.PickSessionService;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.domain.valueobject.Priority;
+import com.paklog.wes.pick.events.PickingStartedEvent;
+import com.paklog.wes.pick.infrastructure.events.codec.PickEventCodecs;
+import com.paklog.wes.pick.infrastructure.persistence.ProcessedEventStore;
+import com.paklog.wes.pick.integration.contracts.TaskCreatedContract;
+import io.cloudevents.CloudEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Task event to session to started event, with transactional mock producers standing in for Kafka
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Exactly-once task event pipeline Tests")
+class TaskEventExactlyOnceTest {
+
+    @Mock
+    private PickSessionService pickSessionService;
+
+    @Mock
+    private KafkaTemplate<String, CloudEvent> pickEventKafkaTemplate;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> taskEventKafkaTemplate;
+
+    @Mock
+    private PickEventParkingLot parkingLot;
+
+    @Mock
+    private ProcessedEventStore processedEventStore;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<MockProducer<String, Object>> producers = new CopyOnWriteArrayList<>();
+    private KafkaTemplate<String, Object> transactionalTemplate;
+    private TaskEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        // One producer per transaction: the template closes it once the transaction ends
+        transactionalTemplate = new KafkaTemplate<>(new MockProducerFactory<>((transactional, transactionId) -> {
+            MockProducer<String, Object> producer = new MockProducer<>(true, new StringSerializer(),
+                    new DelegatingByTypeSerializer(Map.of(
+                            byte[].class, new ByteArraySerializer(),
+                            CloudEvent.class, new CloudEventJsonSerializer()), true));
+            producer.initTransactions();
+            producers.add(producer);
+            return producer;
+        }, "pick-tx-"));
+
+        PickEventPublisher publisher = new PickEventPublisher(pickEventKafkaTemplate, transactionalTemplate, objectMapper,
+                parkingLot, new SimpleMeterRegistry(), new PickEventCodecs(), PickEventEncoding.JSON);
+        TaskEventHandler handler = new TaskEventHandler(pickSessionService, publisher, "pick-events");
+        TaskEventFailureRouter router = new TaskEventFailureRouter(taskEventKafkaTemplate, transactionalTemplate,
+                "task-events-retry");
+        listener = new TaskEventListener(handler, new KeyedTaskExecutor(16), router, processedEventStore,
+                mock(KafkaListenerEndpointRegistry.class), objectMapper, Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("Should commit exactly one started event when a batch is redelivered after an abort")
+    void shouldEmitOneStartedEventAcrossRedelivery() throws Exception {
+        PickSession session = startedSession("TASK-1");
+        when(pickSessionService.createSessions(any()))
+                .thenReturn(new PickSessionService.BulkCreateResult(List.of(session), List.of()))
+                .thenReturn(new PickSessionService.BulkCreateResult(List.of(), List.of(), List.of(session)));
+        List<ConsumerRecord<String, byte[]>> batch = List.of(taskCreated("TASK-1"));
+
+        // The session is written, then the process dies before the transaction commits
+        assertThatThrownBy(() -> transactionalTemplate.executeInTransaction(operations -> {
+            listener.onTaskEventsExactlyOnce(batch);
+            throw new IllegalStateException("Crashed before commit");
+        })).hasMessage("Crashed before commit");
+        assertThat(committed()).isEmpty();
+
+        transactionalTemplate.executeInTransaction(operations -> {
+            listener.onTaskEventsExactlyOnce(batch);
+            return null;
+        });
+
+        List<ProducerRecord<String, Object>> committed = committed();
+        assertThat(committed).singleElement().satisfies(record -> {
+            assertThat(record.topic()).isEqualTo("pick-events");
+            assertThat(record.key()).isEqualTo(session.getSessionId());
+        });
+        JsonNode event = objectMapper.readTree(new CloudEventJsonSerializer()
+                .serialize("pick-events", (CloudEvent) committed.get(0).value()));
+        assertThat(event.get("id").asText()).isEqualTo(PickEventMapper.startedEventId(session));
+        assertThat(event.get("type").asText()).isEqualTo(PickingStartedEvent.EVENT_TYPE);
+        assertThat(event.get("data").get("task_id").asText()).isEqualTo("TASK-1");
+        verify(pickSessionService, times(2)).createSessions(any());
+        verifyNoInteractions(pickEventKafkaTemplate, parkingLot, processedEventStore);
+    }
+
+    @Test
+    @DisplayName("Should move failed events to the retry topic within the batch's transaction")
+    void shouldRouteFailuresInTransaction() {
+        when(pickSessionService.createSessions(any())).thenThrow(new RuntimeException("Mongo unavailable"));
+        ConsumerRecord<String, byte[]> record = taskCreated("TASK-2");
+
+        transactionalTemplate.executeInTransaction(operations -> {
+            listener.onTaskEventsExactlyOnce(List.of(record));
+            return null;
+        });
+
+        assertThat(committed()).singleElement().satisfies(forwarded -> {
+            assertThat(forwarded.topic()).isEqualTo("task-events-retry");
+            assertThat(forwarded.value()).isEqualTo(record.value());
+        });
+        verifyNoInteractions(taskEventKafkaTemplate);
+    }
+
+    private List<ProducerRecord<String, Object>> committed() {
+        return producers.stream().flatMap(producer -> producer.history().stream()).toList();
+    }
+
+    private ConsumerRecord<String, byte[]> taskCreated(String taskId) {
+        String value = """
+                {"specversion": "1.0", "id": "EVT-%s", "type": "%s",
+                 "data": {"task_id": "%s", "task_type": "PICK", "warehouse_id": "WH-1",
+                   "context": {"worker_id": "WORKER-1", "instructions": [{"instruction_id": "INST-1",
+                     "item_sku": "SKU-1", "expected_quantity": 2, "location": {"aisle": "A", "bay": "01", "level": "01"}}]}}}"""
+                .formatted(taskId, TaskCreatedContract.EVENT_TYPE, taskId);
+        return new ConsumerRecord<>("task-events", 0, 0L, taskId, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PickSession startedSession(String taskId) {
+        Location location = new Location("A", "01", "01", "01");
+        PickSession session = PickSession.create(taskId, "WORKER-1", "WH-1", PickStrategy.SINGLE, "CART-1",
+                List.of(new PickInstruction("INST-1", "SKU-1", "Item 1", 2, location, "ORDER-1", Priority.NORMAL)));
+        session.start(new PickPath(List.of(new PickPath.PathNode("INST-1", location, 0, 0.0)), 0.0,
+                Duration.ofMinutes(1), "TEST"));
+        return session;
+    }
+}
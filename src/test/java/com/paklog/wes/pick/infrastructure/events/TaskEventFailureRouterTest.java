@@ -0,0 +1,124 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskEventFailureRouter Tests")
+class TaskEventFailureRouterTest {
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private KafkaTemplate<String, Object> transactionalTemplate;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, byte[]>> sentCaptor;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, Object>> transactionalCaptor;
+
+    private TaskEventFailureRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new TaskEventFailureRouter(kafkaTemplate, transactionalTemplate, "task-events-retry");
+    }
+
+    @Test
+    @DisplayName("Should send transient failures to the retry topic with their origin")
+    void shouldRouteTransientFailuresToRetryTopic() {
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+        ConsumerRecord<String, byte[]> record = record(7L);
+        record.headers().add("ce_type", bytes("task.created"));
+        record.headers().add(TaskEventFailureRouter.EXCEPTION_HEADER, bytes("previous failure"));
+
+        router.route(List.of(record), new DataAccessResourceFailureException("Mongo unavailable")).join();
+
+        verify(kafkaTemplate).send(sentCaptor.capture());
+        ProducerRecord<String, byte[]> sent = sentCaptor.getValue();
+        assertThat(sent.topic()).isEqualTo("task-events-retry");
+        assertThat(sent.key()).isEqualTo("TASK-1");
+        assertThat(sent.value()).isEqualTo(record.value());
+        assertThat(header(sent, "ce_type")).isEqualTo("task.created");
+        assertThat(header(sent, TaskEventFailureRouter.ORIGINAL_TOPIC_HEADER)).isEqualTo("task-events");
+        assertThat(header(sent, TaskEventFailureRouter.ORIGINAL_OFFSET_HEADER)).isEqualTo("7");
+        assertThat(header(sent, TaskEventFailureRouter.EXCEPTION_HEADER)).contains("Mongo unavailable");
+        assertThat(sent.headers().headers(TaskEventFailureRouter.EXCEPTION_HEADER)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should send deterministic failures straight to the dead-letter topic")
+    void shouldDeadLetterDeterministicFailures() {
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+        router.route(List.of(record(1L), record(2L)),
+                new RuntimeException(new IllegalStateException("Worker already has an active session"))).join();
+
+        verify(kafkaTemplate, times(2)).send(sentCaptor.capture());
+        assertThat(sentCaptor.getAllValues())
+                .extracting(ProducerRecord::topic)
+                .containsOnly("task-events-retry-dlt");
+        assertThat(router.deadLetterTopic()).isEqualTo("task-events-retry-dlt");
+    }
+
+    @Test
+    @DisplayName("Should classify unreadable payloads as not retryable")
+    void shouldClassifyFailures() {
+        assertThat(TaskEventFailureRouter.isRetryable(new JsonParseException(null, "bad json"))).isFalse();
+        assertThat(TaskEventFailureRouter.isRetryable(new IllegalArgumentException("bad command"))).isFalse();
+        assertThat(TaskEventFailureRouter.isRetryable(new DataAccessResourceFailureException("timeout"))).isTrue();
+    }
+
+    private ConsumerRecord<String, byte[]> record(long offset) {
+        return new ConsumerRecord<>("task-events", 0, offset, "TASK-1", bytes("{\"taskId\": \"TASK-1\"}"));
+    }
+
+    @Test
+    @DisplayName("Should forward through the transactional producer inside a Kafka transaction")
+    void shouldJoinRunningTransaction() {
+        when(transactionalTemplate.inTransaction()).thenReturn(true);
+        when(transactionalTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        router.route(List.of(record(3L)), new DataAccessResourceFailureException("Mongo unavailable")).join();
+
+        verify(transactionalTemplate).send(transactionalCaptor.capture());
+        assertThat(transactionalCaptor.getValue().topic()).isEqualTo("task-events-retry");
+        assertThat(transactionalCaptor.getValue().headers().lastHeader(TaskEventFailureRouter.ORIGINAL_OFFSET_HEADER))
+                .isNotNull();
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private String header(ProducerRecord<String, byte[]> record, String key) {
+        return new String(record.headers().lastHeader(key).value(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ProducerRecord<String, byte[]> anyRecord() {
+        return any();
+    }
+}
@@ -7,21 +7,23 @@ import com.paklog.wes.pick.domain.aggregate.PickSession;
 import com.paklog.wes.pick.domain.entity.PickInstruction;
 import com.paklog.wes.pick.domain.valueobject.Location;
 import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.events.PickingStartedEvent;
+import com.paklog.wes.pick.integration.contracts.TaskAssignedContract;
+import com.paklog.wes.pick.integration.contracts.TaskCreatedContract;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,33 +33,31 @@ class TaskEventHandlerTest {
     @Mock
     private PickSessionService pickSessionService;
 
-    @InjectMocks
+    @Mock
+    private PickEventPublisher pickEventPublisher;
+
     private TaskEventHandler handler;
 
     @Captor
-    private ArgumentCaptor<StartPickSessionCommand> commandCaptor;
+    private ArgumentCaptor<List<StartPickSessionCommand>> commandCaptor;
+
+    @BeforeEach
+    void setUp() {
+        handler = new TaskEventHandler(pickSessionService, pickEventPublisher, "pick-events");
+    }
 
     @Test
     @DisplayName("Should create pick session when TaskCreatedEvent contains valid instructions")
     void shouldCreateSessionForValidTaskCreatedEvent() {
-        Map<String, Object> instruction = validInstructionPayload(3);
-        instruction.put("priority", "HIGH");
-
-        Map<String, Object> context = new HashMap<>();
-        context.put("strategy", "batch");
-        context.put("workerId", "WORKER-123");
-        context.put("cartId", "CART-9");
-        context.put("instructions", List.of(instruction));
+        TaskCreatedContract.PickContext context = new TaskCreatedContract.PickContext(
+                "batch", "WORKER-123", "CART-9", List.of(validInstruction(3, "HIGH")));
 
-        Map<String, Object> event = taskCreatedEvent(context);
+        when(pickSessionService.createSessions(any())).thenReturn(created("TASK-1", "WORKER-123", PickStrategy.BATCH));
 
-        when(pickSessionService.createSession(any()))
-                .thenReturn(stubSession("TASK-1", "WORKER-123", PickStrategy.BATCH));
+        handler.handleTaskCreated(List.of(taskCreatedEvent("TASK-1", context)));
 
-        handler.handleTaskCreated(event);
-
-        verify(pickSessionService).createSession(commandCaptor.capture());
-        StartPickSessionCommand command = commandCaptor.getValue();
+        verify(pickSessionService).createSessions(commandCaptor.capture());
+        StartPickSessionCommand command = commandCaptor.getValue().get(0);
 
         assertThat(command.workerId()).isEqualTo("WORKER-123");
         assertThat(command.cartId()).isEqualTo("CART-9");
@@ -66,42 +66,67 @@ class TaskEventHandlerTest {
         assertThat(command.instructions().get(0).getPriority()).isEqualTo(Priority.HIGH);
     }
 
+    @Test
+    @DisplayName("Should create the sessions of a whole batch in one bulk call")
+    void shouldCreateBatchInOneCall() {
+        TaskCreatedContract.PickContext first = new TaskCreatedContract.PickContext(
+                "single", "WORKER-1", "CART-1", List.of(validInstruction(1, null)));
+        TaskCreatedContract.PickContext second = new TaskCreatedContract.PickContext(
+                "single", "WORKER-2", "CART-2", List.of(validInstruction(1, null)));
+
+        when(pickSessionService.createSessions(any())).thenReturn(created("TASK-1", "WORKER-1", PickStrategy.SINGLE));
+
+        handler.handleTaskCreated(List.of(taskCreatedEvent("TASK-1", first), taskCreatedEvent("TASK-2", second)));
+
+        verify(pickSessionService).createSessions(commandCaptor.capture());
+        assertThat(commandCaptor.getValue())
+                .extracting(StartPickSessionCommand::taskId)
+                .containsExactly("TASK-1", "TASK-2");
+        verify(pickSessionService, never()).createSession(any());
+    }
+
+    @Test
+    @DisplayName("Should report the tasks whose session could not be created")
+    void shouldReturnCreationFailures() {
+        TaskCreatedContract.PickContext context = new TaskCreatedContract.PickContext(
+                "single", "WORKER-1", "CART-1", List.of(validInstruction(1, null)));
+        PickSessionService.CreateFailure failure =
+                new PickSessionService.CreateFailure("TASK-2", "WORKER-1", "Worker WORKER-1 already has an active session");
+        when(pickSessionService.createSessions(any())).thenReturn(new PickSessionService.BulkCreateResult(
+                List.of(stubSession("TASK-1", "WORKER-1", PickStrategy.SINGLE)), List.of(failure)));
+
+        List<PickSessionService.CreateFailure> failures =
+                handler.handleTaskCreated(List.of(taskCreatedEvent("TASK-1", context), taskCreatedEvent("TASK-2", context)));
+
+        assertThat(failures).containsExactly(failure);
+        verify(pickEventPublisher).publishAsync(eq("pick-events"), any(), any(), eq(PickingStartedEvent.EVENT_TYPE), any());
+    }
+
     @Test
     @DisplayName("Should ignore TaskCreatedEvent when instructions are missing")
     void shouldIgnoreTaskCreatedEventWithoutInstructions() {
-        Map<String, Object> context = new HashMap<>();
-        context.put("strategy", "single");
-        context.put("workerId", "WORKER-1");
-        context.put("cartId", "CART-1");
-        context.put("instructions", List.of());
+        TaskCreatedContract.PickContext context = new TaskCreatedContract.PickContext(
+                "single", "WORKER-1", "CART-1", List.of());
 
-        handler.handleTaskCreated(taskCreatedEvent(context));
+        handler.handleTaskCreated(List.of(taskCreatedEvent("TASK-1", context)));
 
-        verify(pickSessionService, never()).createSession(any());
+        verifyNoInteractions(pickSessionService);
     }
 
     @Test
     @DisplayName("Should fall back to defaults when strategy, cart or priority are invalid")
     void shouldFallbackToDefaultsForInvalidData() {
-        Map<String, Object> instruction = validInstructionPayload("5");
-        instruction.put("priority", "UNKNOWN");
-
-        Map<String, Object> context = new HashMap<>();
-        context.put("strategy", "invalid");
-        context.put("workerId", "UNASSIGNED");
-        context.put("cartId", " ");
-        context.put("instructions", List.of(instruction));
+        TaskCreatedContract.PickContext context = new TaskCreatedContract.PickContext(
+                "invalid", "UNASSIGNED", " ", List.of(validInstruction(5, "UNKNOWN")));
+        TaskCreatedContract event = new TaskCreatedContract(
+                "TASK-1", "WAVE-99", null, "PICK", null, null, null, "WH-1", context);
 
-        Map<String, Object> event = taskCreatedEvent(context);
-        event.put("referenceId", "WAVE-99");
+        when(pickSessionService.createSessions(any())).thenReturn(created("TASK-1", "UNASSIGNED", PickStrategy.SINGLE));
 
-        when(pickSessionService.createSession(any()))
-                .thenReturn(stubSession("TASK-1", "UNASSIGNED", PickStrategy.SINGLE));
+        handler.handleTaskCreated(List.of(event));
 
-        handler.handleTaskCreated(event);
-
-        verify(pickSessionService).createSession(commandCaptor.capture());
-        StartPickSessionCommand command = commandCaptor.getValue();
+        verify(pickSessionService).createSessions(commandCaptor.capture());
+        StartPickSessionCommand command = commandCaptor.getValue().get(0);
 
         assertThat(command.strategy()).isEqualTo(PickStrategy.SINGLE);
         assertThat(command.cartId()).isEqualTo("WAVE-99");
@@ -114,110 +139,96 @@ class TaskEventHandlerTest {
     @Test
     @DisplayName("Should ignore TaskCreatedEvent when context payload missing")
     void shouldIgnoreTaskCreatedEventWithoutContext() {
-        handler.handleTaskCreated(taskCreatedEvent(null));
+        handler.handleTaskCreated(List.of(taskCreatedEvent("TASK-1", null)));
 
-        verify(pickSessionService, never()).createSession(any());
+        verifyNoInteractions(pickSessionService);
     }
 
     @Test
     @DisplayName("Should skip instructions that lack a valid location")
     void shouldSkipInstructionWithInvalidLocation() {
-        Map<String, Object> instruction = new HashMap<>();
-        instruction.put("instructionId", "INST-2");
-        instruction.put("itemSku", "SKU-2");
-        instruction.put("expectedQuantity", 2);
-        instruction.put("location", Map.of("aisle", "A")); // Missing bay/level
+        TaskCreatedContract.Instruction instruction = new TaskCreatedContract.Instruction(
+                "INST-2", "SKU-2", null, 2, null, null,
+                new TaskCreatedContract.InstructionLocation("A", null, null, null)); // Missing bay/level
+        TaskCreatedContract.PickContext context = new TaskCreatedContract.PickContext(
+                "single", "WORKER-1", "CART-1", List.of(instruction));
 
-        Map<String, Object> context = new HashMap<>();
-        context.put("strategy", "single");
-        context.put("workerId", "WORKER-1");
-        context.put("cartId", "CART-1");
-        context.put("instructions", List.of(instruction));
+        handler.handleTaskCreated(List.of(taskCreatedEvent("TASK-1", context)));
 
-        handler.handleTaskCreated(taskCreatedEvent(context));
-
-        verify(pickSessionService, never()).createSession(any());
+        verifyNoInteractions(pickSessionService);
     }
 
     @Test
     @DisplayName("Should ignore TaskCreatedEvent for non-pick tasks")
     void shouldIgnoreNonPickTaskCreatedEvent() {
-        Map<String, Object> event = taskCreatedEvent(validInstructionContext());
-        event.put("taskType", "PACK");
+        TaskCreatedContract.PickContext context = new TaskCreatedContract.PickContext(
+                "batch", "WORKER-123", "CART-9", List.of(validInstruction(2, null)));
+        TaskCreatedContract event = new TaskCreatedContract(
+                "TASK-1", "WAVE-1", null, "PACK", null, null, null, "WH-1", context);
 
-        handler.handleTaskCreated(event);
+        handler.handleTaskCreated(List.of(event));
 
         verifyNoInteractions(pickSessionService);
     }
 
     @Test
-    @DisplayName("Should check active sessions when TaskAssignedEvent received")
-    void shouldConsultActiveSessionsOnTaskAssignedEvent() {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "TaskAssignedEvent");
-        event.put("taskType", "PICK");
-        event.put("taskId", "TASK-ASSIGNED");
-        event.put("assignedTo", "WORKER-99");
-
-        when(pickSessionService.getActiveSessions())
-                .thenReturn(List.of(stubSession("TASK-ASSIGNED", "WORKER-99", PickStrategy.SINGLE)));
+    @DisplayName("Should bind the assigned picker through the task's session")
+    void shouldAssignWorkerOnTaskAssignedEvent() {
+        when(pickSessionService.assignWorker("TASK-ASSIGNED", "WORKER-99")).thenReturn(true);
 
-        handler.handleTaskAssigned(event);
+        handler.handleTaskAssigned(new TaskAssignedContract("TASK-ASSIGNED", "WORKER-99", null, null, null, "PICK"));
 
-        verify(pickSessionService).getActiveSessions();
+        verify(pickSessionService).assignWorker("TASK-ASSIGNED", "WORKER-99");
         verifyNoMoreInteractions(pickSessionService);
     }
 
     @Test
     @DisplayName("Should ignore TaskAssignedEvent when picker missing")
     void shouldIgnoreTaskAssignedEventWithoutPicker() {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "TaskAssignedEvent");
-        event.put("taskType", "PICK");
-        event.put("taskId", "TASK-ASSIGNED");
-
-        handler.handleTaskAssigned(event);
-
-        verify(pickSessionService, never()).getActiveSessions();
-    }
-
-    private Map<String, Object> taskCreatedEvent(Map<String, Object> context) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "TaskCreatedEvent");
-        event.put("taskType", "PICK");
-        event.put("taskId", "TASK-1");
-        event.put("warehouseId", "WH-1");
-        event.put("referenceId", "WAVE-1");
-        if (context != null) {
-            event.put("context", context);
-        }
-        return event;
-    }
-
-    private Map<String, Object> validInstructionContext() {
-        Map<String, Object> context = new HashMap<>();
-        context.put("strategy", "batch");
-        context.put("workerId", "WORKER-123");
-        context.put("cartId", "CART-9");
-        context.put("instructions", List.of(validInstructionPayload(2)));
-        return context;
-    }
-
-    private Map<String, Object> validInstructionPayload(Object expectedQuantity) {
-        Map<String, Object> location = new HashMap<>();
-        location.put("aisle", "A");
-        location.put("bay", "01");
-        location.put("level", "01");
-        location.put("position", "01");
-
-        Map<String, Object> instruction = new HashMap<>();
-        instruction.put("instructionId", "INST-1");
-        instruction.put("itemSku", "SKU-1");
-        instruction.put("itemDescription", "Widget");
-        instruction.put("expectedQuantity", expectedQuantity);
-        instruction.put("orderId", "ORDER-1");
-        instruction.put("location", location);
-        return instruction;
+        handler.handleTaskAssigned(new TaskAssignedContract("TASK-ASSIGNED", null, null, null, null, "PICK"));
+
+        verifyNoInteractions(pickSessionService);
+    }
+
+    @Test
+    @DisplayName("Should announce created and already existing sessions under a stable event id")
+    void shouldPublishStartedEvents() {
+        PickSession created = stubSession("TASK-1", "WORKER-1", PickStrategy.SINGLE);
+        PickSession existing = stubSession("TASK-2", "WORKER-2", PickStrategy.SINGLE);
+        when(pickSessionService.createSessions(any())).thenReturn(
+                new PickSessionService.BulkCreateResult(List.of(created), List.of(), List.of(existing)));
+        TaskCreatedContract.PickContext context = new TaskCreatedContract.PickContext(
+                "single", "WORKER-1", "CART-1", List.of(validInstruction(1, null)));
+
+        handler.handleTaskCreated(List.of(taskCreatedEvent("TASK-1", context), taskCreatedEvent("TASK-2", context)));
+
+        verify(pickEventPublisher).publishAsync(eq("pick-events"), eq(created.getSessionId()),
+                eq(PickEventMapper.startedEventId(created)), eq(PickingStartedEvent.EVENT_TYPE),
+                argThat(event -> ((PickingStartedEvent) event).taskId().equals("TASK-1")));
+        verify(pickEventPublisher).publishAsync(eq("pick-events"), eq(existing.getSessionId()),
+                eq(PickEventMapper.startedEventId(existing)), eq(PickingStartedEvent.EVENT_TYPE), any());
+        assertThat(PickEventMapper.startedEventId(created)).isEqualTo(PickEventMapper.startedEventId(created))
+                .isNotEqualTo(PickEventMapper.startedEventId(existing));
+    }
+
+    private TaskCreatedContract taskCreatedEvent(String taskId, TaskCreatedContract.PickContext context) {
+        return new TaskCreatedContract(taskId, "WAVE-1", null, "PICK", null, null, null, "WH-1", context);
+    }
+
+    private TaskCreatedContract.Instruction validInstruction(int expectedQuantity, String priority) {
+        return new TaskCreatedContract.Instruction(
+                "INST-1",
+                "SKU-1",
+                "Widget",
+                expectedQuantity,
+                "ORDER-1",
+                priority,
+                new TaskCreatedContract.InstructionLocation("A", "01", "01", "01")
+        );
+    }
+
+    private PickSessionService.BulkCreateResult created(String taskId, String workerId, PickStrategy strategy) {
+        return new PickSessionService.BulkCreateResult(List.of(stubSession(taskId, workerId, strategy)), List.of());
     }
 
     private PickSession stubSession(String taskId, String workerId, PickStrategy strategy) {
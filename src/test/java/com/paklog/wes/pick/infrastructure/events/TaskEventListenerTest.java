@@ -0,0 +1,358 @@
+package com.paklog.wes.pick.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pick.application.service.PickSessionService;
+import com.paklog.wes.pick.infrastructure.persistence.ProcessedEventStore;
+import com.paklog.wes.pick.integration.contracts.TaskAssignedContract;
+import com.paklog.wes.pick.integration.contracts.TaskCreatedContract;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskEventListener Tests")
+class TaskEventListenerTest {
+
+    private static final String PICK_CONTEXT = """
+            "context": {
+              "strategy": "batch",
+              "worker_id": "WORKER-1",
+              "cart_id": "CART-1",
+              "instructions": [{
+                "instruction_id": "INST-1",
+                "item_sku": "SKU-1",
+                "expected_quantity": 2,
+                "location": {"aisle": "A", "bay": "01", "level": "01"}
+              }]
+            }""";
+
+    @Mock
+    private TaskEventHandler taskEventHandler;
+
+    @Mock
+    private TaskEventFailureRouter failureRouter;
+
+    @Mock
+    private ProcessedEventStore processedEventStore;
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Captor
+    private ArgumentCaptor<List<TaskCreatedContract>> createdCaptor;
+
+    private TaskEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new TaskEventListener(taskEventHandler, new KeyedTaskExecutor(16), failureRouter, processedEventStore,
+                listenerRegistry, new ObjectMapper().findAndRegisterModules(), Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should bind structured CloudEvents to typed contracts whatever the attribute order")
+    void shouldReadStructuredCloudEvents() {
+        String created = """
+                {"specversion": "1.0", "id": "1", "source": "/tasks",
+                 "data": {"task_id": "TASK-1", "task_type": "PICK", "warehouse_id": "WH-1", %s},
+                 "type": "%s"}""".formatted(PICK_CONTEXT, TaskCreatedContract.EVENT_TYPE);
+        String assigned = """
+                {"type": "%s", "specversion": "1.0", "id": "2",
+                 "data": {"task_id": "TASK-1", "worker_id": "WORKER-1", "assigned_at": "2025-01-01T10:00:00Z"}}"""
+                .formatted(TaskAssignedContract.EVENT_TYPE);
+
+        listener.dispatch(List.of(record(created), record(assigned))).join();
+
+        verify(taskEventHandler).handleTaskCreated(createdCaptor.capture());
+        TaskCreatedContract event = createdCaptor.getValue().get(0);
+        assertThat(event.taskId()).isEqualTo("TASK-1");
+        assertThat(event.warehouseId()).isEqualTo("WH-1");
+        assertThat(event.context().workerId()).isEqualTo("WORKER-1");
+        assertThat(event.context().instructions()).singleElement()
+                .satisfies(instruction -> assertThat(instruction.location().bay()).isEqualTo("01"));
+
+        verify(taskEventHandler).handleTaskAssigned(argThat(contract ->
+                contract.taskId().equals("TASK-1") && contract.workerId().equals("WORKER-1")));
+    }
+
+    @Test
+    @DisplayName("Should bind binary CloudEvents using the ce_type header")
+    void shouldReadBinaryCloudEvents() {
+        ConsumerRecord<String, byte[]> record = record("""
+                {"task_id": "TASK-2", "task_type": "PICK", "warehouse_id": "WH-1", %s}""".formatted(PICK_CONTEXT));
+        record.headers().add(TaskEventListener.CE_TYPE_HEADER,
+                TaskCreatedContract.EVENT_TYPE.getBytes(StandardCharsets.UTF_8));
+
+        listener.dispatch(List.of(record)).join();
+
+        verify(taskEventHandler).handleTaskCreated(createdCaptor.capture());
+        assertThat(createdCaptor.getValue()).extracting(TaskCreatedContract::taskId).containsExactly("TASK-2");
+    }
+
+    @Test
+    @DisplayName("Should still accept the legacy flat task messages")
+    void shouldReadLegacyMessages() {
+        String created = """
+                {"type": "TaskCreatedEvent", "taskType": "PICK", "taskId": "TASK-3", "warehouseId": "WH-1",
+                 "referenceId": "WAVE-1",
+                 "context": {"workerId": "WORKER-3", "instructions": [{"instructionId": "INST-1", "itemSku": "SKU-1",
+                   "expectedQuantity": "5", "location": {"aisle": "A", "bay": "01", "level": "01"}}]}}""";
+        String assigned = """
+                {"type": "TaskAssignedEvent", "taskType": "PICK", "taskId": "TASK-3", "assignedTo": "WORKER-3"}""";
+
+        listener.dispatch(List.of(record(created), record(assigned))).join();
+
+        verify(taskEventHandler).handleTaskCreated(createdCaptor.capture());
+        TaskCreatedContract event = createdCaptor.getValue().get(0);
+        assertThat(event.waveId()).isEqualTo("WAVE-1");
+        assertThat(event.context().instructions().get(0).expectedQuantity()).isEqualTo(5);
+        verify(taskEventHandler).handleTaskAssigned(argThat(contract -> contract.workerId().equals("WORKER-3")));
+    }
+
+    @Test
+    @DisplayName("Should collect a batch and run a task's assignment after its creation")
+    void shouldDispatchBatchInOnePass() {
+        String assigned = """
+                {"type": "TaskAssignedEvent", "taskId": "TASK-1", "assignedTo": "WORKER-1"}""";
+        String created = """
+                {"type": "TaskCreatedEvent", "taskType": "PICK", "taskId": "TASK-%d", "warehouseId": "WH-1"}""";
+
+        listener.dispatch(List.of(record(assigned), record(created.formatted(1)), record(created.formatted(2)))).join();
+
+        InOrder inOrder = inOrder(taskEventHandler);
+        inOrder.verify(taskEventHandler).handleTaskCreated(createdCaptor.capture());
+        inOrder.verify(taskEventHandler).handleTaskAssigned(any());
+        assertThat(createdCaptor.getValue()).extracting(TaskCreatedContract::taskId).containsExactly("TASK-1", "TASK-2");
+    }
+
+    @Test
+    @DisplayName("Should skip unrouted events and dead-letter unreadable ones without failing the batch")
+    void shouldSkipIrrelevantAndDeadLetterBrokenEvents() {
+        when(failureRouter.deadLetter(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        String other = """
+                {"specversion": "1.0", "type": "com.paklog.wes.task-execution.task.task.completed.v1",
+                 "data": {"task_id": "TASK-9", "anything": [1, 2, {"deep": true}]}}""";
+        String broken = """
+                {"type": "TaskCreatedEvent", "taskId": ["not", "a", "string"]}""";
+        String assigned = """
+                {"type": "TaskAssignedEvent", "taskId": "TASK-1", "assignedTo": "WORKER-1"}""";
+        ConsumerRecord<String, byte[]> brokenRecord = record(broken);
+        ConsumerRecord<String, byte[]> notJson = record("not json");
+
+        listener.dispatch(List.of(record(other), brokenRecord, notJson, record(assigned))).join();
+
+        verify(taskEventHandler, never()).handleTaskCreated(any());
+        verify(taskEventHandler).handleTaskAssigned(any());
+        verify(failureRouter).deadLetter(eq(brokenRecord), any(IOException.class));
+        verify(failureRouter).deadLetter(eq(notJson), any(IOException.class));
+        verifyNoMoreInteractions(failureRouter);
+    }
+
+    @Test
+    @DisplayName("Should route the records of a failed bulk creation and still complete the batch")
+    void shouldRouteFailedEvents() {
+        when(failureRouter.route(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        RuntimeException failure = new RuntimeException("Mongo unavailable");
+        doThrow(failure).when(taskEventHandler).handleTaskCreated(any());
+        String created = """
+                {"type": "TaskCreatedEvent", "taskType": "PICK", "taskId": "TASK-%d", "warehouseId": "WH-1"}""";
+        ConsumerRecord<String, byte[]> first = record(created.formatted(1));
+        ConsumerRecord<String, byte[]> second = record(created.formatted(2));
+
+        listener.dispatch(List.of(first, second)).join();
+
+        verify(failureRouter).route(List.of(first, second), failure);
+    }
+
+    @Test
+    @DisplayName("Should route only the tasks of a bulk creation that failed and record the others")
+    void shouldRouteOnlyFailedCreations() {
+        when(failureRouter.route(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(taskEventHandler.handleTaskCreated(any())).thenReturn(List.of(
+                new PickSessionService.CreateFailure("TASK-2", "WORKER-1", "Worker WORKER-1 already has an active session")));
+        String created = """
+                {"specversion": "1.0", "id": "EVT-%d", "type": "%s",
+                 "data": {"task_id": "TASK-%d", "task_type": "PICK", "warehouse_id": "WH-1"}}""";
+        ConsumerRecord<String, byte[]> first = record(created.formatted(1, TaskCreatedContract.EVENT_TYPE, 1));
+        ConsumerRecord<String, byte[]> second = record(created.formatted(2, TaskCreatedContract.EVENT_TYPE, 2));
+
+        listener.dispatch(List.of(first, second)).join();
+
+        verify(failureRouter).route(eq(List.of(second)),
+                argThat(cause -> TaskEventFailureRouter.isRetryable(cause) && cause.getMessage().contains("TASK-2")));
+        verify(processedEventStore).markProcessed(List.of("EVT-1"));
+        verifyNoMoreInteractions(failureRouter);
+    }
+
+    @Test
+    @DisplayName("Should hand a retried creation that failed back to the retry tiers")
+    void shouldPropagateFailedRetriedCreation() {
+        when(taskEventHandler.handleTaskCreated(any())).thenReturn(List.of(
+                new PickSessionService.CreateFailure("TASK-1", "WORKER-1", "Insert failed")));
+
+        assertThatThrownBy(() -> listener.onRetry(record("""
+                {"type": "TaskCreatedEvent", "taskType": "PICK", "taskId": "TASK-1", "warehouseId": "WH-1"}""")))
+                .hasMessageContaining("TASK-1");
+        verify(processedEventStore, never()).markProcessed(any());
+    }
+
+    @Test
+    @DisplayName("Should not acknowledge a batch whose failed events could not be parked")
+    void shouldNotAcknowledgeWhenParkingFails() {
+        when(failureRouter.route(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+        doThrow(new RuntimeException("Mongo unavailable")).when(taskEventHandler).handleTaskAssigned(any());
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        listener.onTaskEvents(List.of(record("""
+                {"type": "TaskAssignedEvent", "taskId": "TASK-1", "assignedTo": "WORKER-1"}""")), acknowledgment);
+
+        verify(failureRouter, timeout(1000)).route(any(), any());
+        verify(acknowledgment, after(200).never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should restart the consumer after an unparked failure and acknowledge the batches it redelivers")
+    void shouldRestartConsumerAfterUnparkedFailure() {
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(listenerRegistry.getListenerContainer(TaskEventListener.LISTENER_ID)).thenReturn(container);
+        when(failureRouter.route(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+        doThrow(new RuntimeException("Mongo unavailable"))
+                .doNothing()
+                .when(taskEventHandler).handleTaskAssigned(any());
+        ConsumerRecord<String, byte[]> assigned = record("""
+                {"type": "TaskAssignedEvent", "taskId": "TASK-1", "assignedTo": "WORKER-1"}""");
+        Acknowledgment failed = mock(Acknowledgment.class);
+
+        listener.onTaskEvents(List.of(assigned), failed);
+
+        ArgumentCaptor<Runnable> stopped = ArgumentCaptor.forClass(Runnable.class);
+        verify(container, timeout(1000)).stop(stopped.capture());
+        listener.restartConsumer();
+        verify(container, times(1)).stop(any(Runnable.class));
+
+        stopped.getValue().run();
+        verify(container, timeout(1000)).start();
+
+        Acknowledgment redelivered = mock(Acknowledgment.class);
+        listener.onTaskEvents(List.of(assigned), redelivered);
+
+        verify(redelivered, timeout(1000)).acknowledge();
+        verify(failed, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should let retry topic failures propagate to the retry tiers")
+    void shouldPropagateRetryFailures() {
+        doThrow(new RuntimeException("Mongo unavailable")).when(taskEventHandler).handleTaskAssigned(any());
+
+        assertThatThrownBy(() -> listener.onRetry(record("""
+                {"type": "TaskAssignedEvent", "taskId": "TASK-1", "assignedTo": "WORKER-1"}""")))
+                .hasMessage("Mongo unavailable");
+        verifyNoInteractions(failureRouter);
+    }
+
+    @Test
+    @DisplayName("Should skip redelivered events and record the ones it handled")
+    void shouldSkipProcessedEvents() {
+        when(processedEventStore.findProcessed(any())).thenReturn(Set.of("EVT-1"));
+        String assigned = """
+                {"specversion": "1.0", "id": "%s", "type": "%s",
+                 "data": {"task_id": "%s", "worker_id": "WORKER-1"}}""";
+        String legacy = """
+                {"type": "TaskAssignedEvent", "taskId": "TASK-3", "assignedTo": "WORKER-3"}""";
+
+        listener.dispatch(List.of(
+                record(assigned.formatted("EVT-1", TaskAssignedContract.EVENT_TYPE, "TASK-1")),
+                record(assigned.formatted("EVT-2", TaskAssignedContract.EVENT_TYPE, "TASK-2")),
+                record(assigned.formatted("EVT-2", TaskAssignedContract.EVENT_TYPE, "TASK-2")),
+                record(legacy))).join();
+
+        verify(processedEventStore).findProcessed(Set.of("EVT-1", "EVT-2", "TaskAssignedEvent:TASK-3:WORKER-3:null"));
+        verify(taskEventHandler, never()).handleTaskAssigned(argThat(event -> event.taskId().equals("TASK-1")));
+        verify(taskEventHandler).handleTaskAssigned(argThat(event -> event.taskId().equals("TASK-2")));
+        verify(taskEventHandler).handleTaskAssigned(argThat(event -> event.taskId().equals("TASK-3")));
+        verify(processedEventStore).markProcessed(List.of("EVT-2"));
+        verify(processedEventStore).markProcessed(List.of("TaskAssignedEvent:TASK-3:WORKER-3:null"));
+    }
+
+    @Test
+    @DisplayName("Should acknowledge a batch only after it and all earlier batches are handled")
+    void shouldAcknowledgeInOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            TaskAssignedContract event = invocation.getArgument(0);
+            if (event.taskId().equals("TASK-SLOW")) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(taskEventHandler).handleTaskAssigned(any());
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment second = mock(Acknowledgment.class);
+        String assigned = """
+                {"type": "TaskAssignedEvent", "taskId": "%s", "assignedTo": "WORKER-1"}""";
+
+        listener.onTaskEvents(List.of(record(assigned.formatted("TASK-SLOW"))), first);
+        listener.onTaskEvents(List.of(record(assigned.formatted("TASK-FAST"))), second);
+
+        verify(taskEventHandler, timeout(1000)).handleTaskAssigned(argThat(e -> e.taskId().equals("TASK-FAST")));
+        Thread.sleep(100);
+        verifyNoInteractions(first, second);
+
+        release.countDown();
+
+        InOrder inOrder = inOrder(first, second);
+        inOrder.verify(first, timeout(1000)).acknowledge();
+        inOrder.verify(second, timeout(1000)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should handle a batch on the consumer thread in exactly-once mode without the dedup store")
+    void shouldHandleBatchInTransaction() {
+        RuntimeException failure = new RuntimeException("Mongo unavailable");
+        doThrow(failure).when(taskEventHandler).handleTaskAssigned(any());
+        String created = """
+                {"specversion": "1.0", "id": "EVT-1", "type": "%s",
+                 "data": {"task_id": "TASK-1", "task_type": "PICK", "warehouse_id": "WH-1"}}"""
+                .formatted(TaskCreatedContract.EVENT_TYPE);
+        ConsumerRecord<String, byte[]> assigned = record("""
+                {"type": "TaskAssignedEvent", "taskId": "TASK-1", "assignedTo": "WORKER-1"}""");
+
+        listener.onTaskEventsExactlyOnce(List.of(record(created), record(created), assigned));
+
+        verify(taskEventHandler).handleTaskCreated(createdCaptor.capture());
+        assertThat(createdCaptor.getValue()).extracting(TaskCreatedContract::taskId).containsExactly("TASK-1");
+        verify(failureRouter).route(List.of(assigned), failure);
+        verifyNoInteractions(processedEventStore);
+    }
+
+    private ConsumerRecord<String, byte[]> record(String value) {
+        return new ConsumerRecord<>("task-events", 0, 0L, "key", value.getBytes(StandardCharsets.UTF_8));
+    }
+}
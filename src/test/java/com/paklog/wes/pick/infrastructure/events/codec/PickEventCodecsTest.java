@@ -0,0 +1,92 @@
+package com.paklog.wes.pick.infrastructure.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.paklog.wes.pick.events.PickPathOptimizedEvent;
+import com.paklog.wes.pick.events.PickingCompletedEvent;
+import com.paklog.wes.pick.events.PickingExceptionEvent;
+import com.paklog.wes.pick.events.PickingStartedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PickEventCodecs Tests")
+class PickEventCodecsTest {
+
+    private final PickEventCodecs codecs = new PickEventCodecs();
+
+    @Test
+    @DisplayName("Should round-trip every pick event")
+    void shouldRoundTripEvents() {
+        Instant now = Instant.parse("2025-01-01T10:00:00.123456789Z");
+        List<Object> events = List.of(
+                new PickingStartedEvent("SESSION-1", "TASK-1", "WAVE-1", "WORKER-1",
+                        List.of("A-01-01-01", "A-02-01-01"), 12, now, 48.5),
+                new PickingCompletedEvent("SESSION-1", "TASK-1", "WAVE-1", "WORKER-1",
+                        now, 3_600L, 12, 2, 51.25, -1),
+                new PickingExceptionEvent("SESSION-1", "TASK-1", "ORDER-1", "SKU-1", "A-01-01-01",
+                        "SHORT_PICK", 5, 3, now, "WORKER-1"),
+                new PickPathOptimizedEvent("SESSION-1", "WAVE-1", 80.0, 48.5, 31.5, 39.375,
+                        "TWO_OPT", Long.MAX_VALUE, now)
+        );
+
+        for (Object event : events) {
+            assertThat(codecs.supports(event)).isTrue();
+            String type = typeOf(event);
+            assertThat(codecs.decode(type, codecs.encode(event))).isEqualTo(event);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep nulls and non-ASCII text")
+    void shouldRoundTripNullsAndUnicode() {
+        PickingStartedEvent event = new PickingStartedEvent("SESSION-1", null, null, "Lagerist-Müller",
+                null, Integer.MIN_VALUE, null, 0.0);
+
+        assertThat(codecs.decode(PickingStartedEvent.EVENT_TYPE, codecs.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Should be smaller than the JSON encoding")
+    void shouldBeSmallerThanJson() throws Exception {
+        PickingStartedEvent event = new PickingStartedEvent("SESSION-1", "TASK-1", "WAVE-1", "WORKER-1",
+                List.of("A-01-01-01", "A-02-01-01"), 12, Instant.now(), 48.5);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        assertThat(codecs.encode(event).length).isLessThan(objectMapper.writeValueAsBytes(event).length / 2);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown types, schema versions and truncated payloads")
+    void shouldRejectInvalidPayloads() {
+        byte[] encoded = codecs.encode(new PickingCompletedEvent("SESSION-1", "TASK-1", "WAVE-1", "WORKER-1",
+                Instant.now(), 60L, 1, 1, 1.0, 60));
+
+        assertThat(codecs.supports("not an event")).isFalse();
+        assertThatThrownBy(() -> codecs.decode("pick.unknown", encoded))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> codecs.decode(PickingCompletedEvent.EVENT_TYPE, new byte[]{2}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("schema version");
+        assertThatThrownBy(() -> codecs.decode(PickingCompletedEvent.EVENT_TYPE,
+                Arrays.copyOf(encoded, encoded.length - 3)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    private static String typeOf(Object event) {
+        return switch (event) {
+            case PickingStartedEvent ignored -> PickingStartedEvent.EVENT_TYPE;
+            case PickingCompletedEvent ignored -> PickingCompletedEvent.EVENT_TYPE;
+            case PickingExceptionEvent ignored -> PickingExceptionEvent.EVENT_TYPE;
+            case PickPathOptimizedEvent ignored -> PickPathOptimizedEvent.EVENT_TYPE;
+            default -> throw new IllegalArgumentException(event.getClass().getName());
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.paklog.wes.pick.infrastructure.persistence;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MongoLease Tests")
+class MongoLeaseTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    private MongoLease lease;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollection(MongoLease.COLLECTION)).thenReturn(collection);
+        lease = new MongoLease(mongoTemplate, "session-state", "REPLICA-1", Duration.ofSeconds(15),
+                Clock.fixed(Instant.parse("2025-01-01T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should hold the lease when it is free, expired or already ours")
+    void shouldAcquireLease() {
+        when(collection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class)))
+                .thenReturn(new Document("_id", "session-state").append(MongoLease.OWNER, "REPLICA-1"));
+
+        assertThat(lease.acquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not hold the lease while another replica does")
+    void shouldNotAcquireHeldLease() {
+        BsonDocument response = new BsonDocument("ok", new BsonInt32(0))
+                .append("code", new BsonInt32(11000))
+                .append("errmsg", new BsonString("E11000 duplicate key error"));
+        when(collection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class)))
+                .thenThrow(new MongoCommandException(response, new ServerAddress()));
+
+        assertThat(lease.acquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should give the lease up while MongoDB is unreachable")
+    void shouldNotAcquireWithoutMongo() {
+        when(collection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class)))
+                .thenThrow(new MongoTimeoutException("No server"));
+
+        assertThat(lease.acquire()).isFalse();
+    }
+}
@@ -0,0 +1,181 @@
+package com.paklog.wes.pick.infrastructure.persistence;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.result.DeleteResult;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.repository.PickSessionRepository;
+import com.paklog.wes.pick.infrastructure.persistence.codec.PickSessionSchema;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("PickSessionArchiver Tests")
+class PickSessionArchiverTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-10T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private PickSessionRepository sessionRepository;
+
+    @Mock
+    private MongoCollection<Document> hotDocuments;
+
+    @Mock
+    private MongoCollection<Document> archiveDocuments;
+
+    @Mock
+    private MongoCollection<RawBsonDocument> hot;
+
+    @Mock
+    private MongoCollection<RawBsonDocument> archive;
+
+    @Mock
+    private FindIterable<RawBsonDocument> findIterable;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(PickSession.class)).thenReturn("pick_sessions");
+        when(mongoTemplate.getCollection("pick_sessions")).thenReturn(hotDocuments);
+        when(mongoTemplate.getCollection(PickSessionSchema.ARCHIVE_COLLECTION)).thenReturn(archiveDocuments);
+        when(hotDocuments.withDocumentClass(RawBsonDocument.class)).thenReturn(hot);
+        when(archiveDocuments.withDocumentClass(RawBsonDocument.class)).thenReturn(archive);
+        when(hot.find(any(Bson.class))).thenReturn(findIterable);
+        when(findIterable.limit(anyInt())).thenReturn(findIterable);
+    }
+
+    @Test
+    @DisplayName("Should skip archival while too many sessions are active")
+    void shouldSkipWhenBusy() {
+        when(sessionRepository.countActiveSessions()).thenReturn(500L);
+
+        assertThat(archiver(10, 5).archive()).isZero();
+
+        verify(mongoTemplate, never()).getCollection(anyString());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when archival is disabled")
+    void shouldSkipWhenDisabled() {
+        PickSessionArchiver archiver = new PickSessionArchiver(mongoTemplate, sessionRepository, CLOCK,
+                false, Duration.ofDays(7), 10, 5, Duration.ZERO, 100);
+
+        assertThat(archiver.archive()).isZero();
+
+        verifyNoInteractions(sessionRepository, mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should copy a batch to the archive and delete it from the hot collection")
+    void shouldMoveBatch() {
+        List<RawBsonDocument> batch = documents("S-1", "S-2");
+        stubBatches(batch);
+        when(hot.deleteMany(any(Bson.class))).thenReturn(DeleteResult.acknowledged(2));
+
+        assertThat(archiver(10, 5).archive()).isEqualTo(2);
+
+        verify(archive).insertMany(eq(batch), any(InsertManyOptions.class));
+        verify(hot).deleteMany(argThat(filter -> deletedIds(filter).equals(Set.of("S-1", "S-2"))));
+    }
+
+    @Test
+    @DisplayName("Should keep going in batches until a partial batch is read")
+    void shouldStopAfterPartialBatch() {
+        stubBatches(documents("S-1", "S-2"), documents("S-3"));
+        when(hot.deleteMany(any(Bson.class)))
+                .thenReturn(DeleteResult.acknowledged(2))
+                .thenReturn(DeleteResult.acknowledged(1));
+
+        assertThat(archiver(2, 5).archive()).isEqualTo(3);
+
+        verify(hot, times(2)).deleteMany(any(Bson.class));
+    }
+
+    @Test
+    @DisplayName("Should treat already archived sessions as moved and keep failed ones in place")
+    void shouldHandlePartialInsertFailure() {
+        List<RawBsonDocument> batch = documents("S-1", "S-2", "S-3");
+        stubBatches(batch);
+        MongoBulkWriteException failure = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+                List.of(
+                        new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0),
+                        new BulkWriteError(2, "bad value", new BsonDocument(), 2)
+                ),
+                null,
+                new ServerAddress(),
+                Set.of());
+        doThrow(failure).when(archive).insertMany(anyList(), any(InsertManyOptions.class));
+        when(hot.deleteMany(any(Bson.class))).thenReturn(DeleteResult.acknowledged(2));
+
+        assertThat(archiver(10, 5).archive()).isEqualTo(2);
+
+        verify(hot).deleteMany(argThat(filter -> deletedIds(filter).equals(Set.of("S-1", "S-2"))));
+    }
+
+    private PickSessionArchiver archiver(int batchSize, int maxBatches) {
+        return new PickSessionArchiver(mongoTemplate, sessionRepository, CLOCK,
+                true, Duration.ofDays(7), batchSize, maxBatches, Duration.ZERO, 100);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void stubBatches(List<RawBsonDocument>... batches) {
+        var stubbing = when(findIterable.into(any(Collection.class)));
+        for (List<RawBsonDocument> batch : batches) {
+            stubbing = stubbing.thenReturn(new ArrayList<>(batch));
+        }
+        stubbing.thenReturn(new ArrayList<>());
+    }
+
+    private List<RawBsonDocument> documents(String... ids) {
+        List<RawBsonDocument> documents = new ArrayList<>();
+        for (String id : ids) {
+            documents.add(new RawBsonDocument(new BsonDocument(PickSessionSchema.ID, new BsonString(id)), new BsonDocumentCodec()));
+        }
+        return documents;
+    }
+
+    private Set<String> deletedIds(Bson filter) {
+        BsonDocument document = filter.toBsonDocument();
+        return document.getDocument(PickSessionSchema.ID).getArray("$in").stream()
+                .map(value -> value.asString().getValue())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,174 @@
+package com.paklog.wes.pick.infrastructure.persistence;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.paklog.wes.pick.application.projection.LiveSessionProjection;
+import com.paklog.wes.pick.application.projection.LiveSessionView;
+import com.paklog.wes.pick.application.projection.PickSessionChangeListener;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.repository.PickSessionRepository;
+import com.paklog.wes.pick.domain.valueobject.Location;
+import com.paklog.wes.pick.domain.valueobject.PickPath;
+import com.paklog.wes.pick.domain.valueobject.PickStrategy;
+import com.paklog.wes.pick.domain.valueobject.Priority;
+import com.paklog.wes.pick.domain.valueobject.SessionStatus;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PickSessionChangeStreamSubscriber Tests")
+class PickSessionChangeStreamSubscriberTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private PickSessionRepository sessionRepository;
+
+    @Mock
+    private PickSessionChangeListener changeListener;
+
+    private LiveSessionProjection projection;
+    private PickSessionChangeStreamSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        projection = new LiveSessionProjection();
+        subscriber = new PickSessionChangeStreamSubscriber(mongoTemplate, sessionRepository, projection,
+                List.of(changeListener), true, Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should project inserted and updated sessions and notify change listeners")
+    void shouldProjectChanges() {
+        PickSession session = startedSession();
+
+        subscriber.handle(change(OperationType.INSERT, session, session.getSessionId()));
+
+        assertThat(projection.snapshot("WH-1"))
+                .singleElement()
+                .satisfies(view -> {
+                    assertThat(view.workerId()).isEqualTo("WORKER-1");
+                    assertThat(view.currentLocation()).isEqualTo(new Location("A", "01", "01", "01"));
+                    assertThat(view.totalInstructions()).isEqualTo(1);
+                });
+
+        session.getPickInstructions().forEach(i -> session.confirmPick(i.getInstructionId(), i.getExpectedQuantity()));
+        session.setVersion(1L);
+        subscriber.handle(change(OperationType.UPDATE, session, session.getSessionId()));
+
+        assertThat(projection.snapshot("WH-1")).isEmpty();
+        verify(changeListener, times(2)).onChange(session);
+    }
+
+    @Test
+    @DisplayName("Should drop deleted sessions")
+    void shouldRemoveDeletedSessions() {
+        PickSession session = startedSession();
+        subscriber.handle(change(OperationType.INSERT, session, session.getSessionId()));
+
+        subscriber.handle(change(OperationType.DELETE, null, session.getSessionId()));
+
+        assertThat(projection.size()).isZero();
+        verify(changeListener).onDelete(session.getSessionId());
+    }
+
+    @Test
+    @DisplayName("Should keep notifying listeners after one of them fails")
+    void shouldIsolateFailingListeners() {
+        PickSessionChangeListener failing = mock(PickSessionChangeListener.class);
+        PickSession session = startedSession();
+        doThrow(new IllegalStateException("boom")).when(failing).onChange(session);
+        PickSessionChangeStreamSubscriber isolating = new PickSessionChangeStreamSubscriber(mongoTemplate,
+                sessionRepository, projection, List.of(failing, changeListener), true, Duration.ofSeconds(1));
+
+        isolating.handle(change(OperationType.INSERT, session, session.getSessionId()));
+
+        verify(changeListener).onChange(session);
+        assertThat(projection.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should seed the projection on start without replaying sessions to change listeners")
+    void shouldSeedWithoutNotifying() {
+        PickSession session = startedSession();
+        when(sessionRepository.findByStatus(any(SessionStatus.class))).thenReturn(List.of());
+        when(sessionRepository.findByStatus(SessionStatus.IN_PROGRESS)).thenReturn(List.of(session));
+
+        subscriber.seed(false);
+
+        assertThat(projection.snapshot("WH-1")).singleElement()
+                .satisfies(view -> assertThat(view.sessionId()).isEqualTo(session.getSessionId()));
+        verifyNoInteractions(changeListener);
+    }
+
+    @Test
+    @DisplayName("Should drop sessions that left during lost stream history when rebuilding")
+    void shouldClearProjectionOnRebuild() {
+        PickSession archived = startedSession();
+        PickSession live = startedSession();
+        subscriber.handle(change(OperationType.INSERT, archived, archived.getSessionId()));
+        when(sessionRepository.findByStatus(any(SessionStatus.class))).thenReturn(List.of());
+        when(sessionRepository.findByStatus(SessionStatus.IN_PROGRESS)).thenReturn(List.of(live));
+
+        subscriber.seed(true);
+
+        assertThat(projection.snapshot("WH-1"))
+                .extracting(LiveSessionView::sessionId)
+                .containsExactly(live.getSessionId());
+        verify(changeListener).onChange(live);
+    }
+
+    @Test
+    @DisplayName("Should not start when the live feed is disabled")
+    void shouldStayStoppedWhenDisabled() {
+        PickSessionChangeStreamSubscriber disabled = new PickSessionChangeStreamSubscriber(mongoTemplate,
+                sessionRepository, projection, List.of(changeListener), false, Duration.ofSeconds(1));
+
+        disabled.start();
+
+        assertThat(disabled.isRunning()).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChangeStreamDocument<PickSession> change(OperationType type, PickSession session, String sessionId) {
+        ChangeStreamDocument<PickSession> change = mock(ChangeStreamDocument.class);
+        when(change.getOperationType()).thenReturn(type);
+        if (type == OperationType.DELETE) {
+            when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonString(sessionId)));
+        } else {
+            when(change.getFullDocument()).thenReturn(session);
+        }
+        return change;
+    }
+
+    private PickSession startedSession() {
+        Location location = new Location("A", "01", "01", "01");
+        PickSession session = PickSession.create("TASK-1", "WORKER-1", "WH-1", PickStrategy.SINGLE, "CART-1",
+                List.of(new PickInstruction("INST-1", "SKU-1", "Item 1", 5, location, "ORDER-1", Priority.NORMAL)));
+        session.start(new PickPath(List.of(new PickPath.PathNode("INST-1", location, 0, 0.0)),
+                0.0, Duration.ofMinutes(1), "TEST"));
+        session.setVersion(0L);
+        return session;
+    }
+}
@@ -0,0 +1,114 @@
+package com.paklog.wes.pick.infrastructure.persistence;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ProcessedEventStore Tests")
+class ProcessedEventStoreTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Captor
+    private ArgumentCaptor<List<Document>> markersCaptor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProcessedEventStore store;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollection(ProcessedEventStore.COLLECTION)).thenReturn(collection);
+        store = new ProcessedEventStore(mongoTemplate, meterRegistry,
+                Clock.fixed(Instant.parse("2025-01-01T10:00:00Z"), ZoneOffset.UTC), 1000, 0.01, Duration.ofDays(7));
+    }
+
+    @Test
+    @DisplayName("Should confirm every key against MongoDB until the filter is seeded")
+    void shouldLookUpEverythingBeforeSeeding() {
+        stubFind(List.of("EVT-1"));
+
+        assertThat(store.findProcessed(List.of("EVT-1", "EVT-2"))).containsExactly("EVT-1");
+
+        verify(collection).find(any(Bson.class));
+        assertThat(meterRegistry.counter("pick.task.events.duplicates").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should clear unseen keys without a round trip once seeded")
+    void shouldSkipLookupForUnseenKeys() {
+        stubFind(List.of("EVT-1"));
+        store.refresh();
+
+        assertThat(store.findProcessed(List.of("EVT-2", "EVT-3"))).isEmpty();
+        // Only the refresh read MongoDB
+        verify(collection, times(1)).find(any(Bson.class));
+
+        assertThat(store.findProcessed(List.of("EVT-1", "EVT-2"))).containsExactly("EVT-1");
+        assertThat(meterRegistry.counter("pick.task.events.dedup.lookups").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record processed keys in MongoDB and in the filter")
+    void shouldMarkProcessed() {
+        stubFind(List.of());
+        store.refresh();
+
+        store.markProcessed(List.of("EVT-4", "EVT-5"));
+
+        verify(collection).insertMany(markersCaptor.capture(), any());
+        assertThat(markersCaptor.getValue())
+                .extracting(document -> document.getString("_id"))
+                .containsExactly("EVT-4", "EVT-5");
+        assertThat(meterRegistry.counter("pick.task.events.processed").count()).isEqualTo(2);
+
+        stubFind(List.of("EVT-4"));
+        assertThat(store.findProcessed(List.of("EVT-4"))).isEqualTo(Set.of("EVT-4"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubFind(List<String> ids) {
+        FindIterable<Document> iterable = mock(FindIterable.class);
+        when(collection.find(any(Bson.class))).thenReturn(iterable);
+        when(iterable.projection(any())).thenReturn(iterable);
+        when(iterable.batchSize(anyInt())).thenReturn(iterable);
+        when(iterable.iterator()).thenAnswer(invocation -> {
+            Iterator<String> remaining = ids.iterator();
+            MongoCursor<Document> cursor = mock(MongoCursor.class);
+            when(cursor.hasNext()).thenAnswer(call -> remaining.hasNext());
+            when(cursor.next()).thenAnswer(call -> new Document("_id", remaining.next()));
+            return cursor;
+        });
+    }
+}
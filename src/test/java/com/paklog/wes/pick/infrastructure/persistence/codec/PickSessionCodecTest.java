@@ -0,0 +1,217 @@
+package com.paklog.wes.pick.infrastructure.persistence.codec;
+
+import com.mongodb.MongoClientSettings;
+import com.paklog.wes.pick.domain.aggregate.PickSession;
+import com.paklog.wes.pick.domain.entity.PickInstruction;
+import com.paklog.wes.pick.domain.valueobject.*;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PickSessionCodec Tests")
+class PickSessionCodecTest {
+
+    private final CodecRegistry registry = CodecRegistries.fromRegistries(
+            CodecRegistries.fromProviders(new PickSessionCodecProvider()),
+            MongoClientSettings.getDefaultCodecRegistry()
+    );
+    private final PickSessionCodec codec = (PickSessionCodec) registry.get(PickSession.class);
+
+    @Test
+    @DisplayName("Should write the compact schema with indexed path nodes")
+    void shouldWriteCompactLayout() {
+        RawBsonDocument document = encodeWithCodec(startedSession());
+
+        assertThat(document.getInt32(PickSessionSchema.SCHEMA_VERSION).getValue())
+                .isEqualTo(PickSessionSchema.CURRENT_VERSION);
+        assertThat(document.getString(PickSessionSchema.STATUS).getValue()).isEqualTo("IN_PROGRESS");
+        assertThat(document.containsKey("_class")).isFalse();
+
+        BsonDocument firstNode = document.getDocument(PickSessionSchema.PATH)
+                .getArray(PickSessionSchema.PATH_NODES).get(0).asDocument();
+        assertThat(firstNode.containsKey(PickSessionSchema.NODE_INSTRUCTION_INDEX)).isTrue();
+        assertThat(firstNode.containsKey(PickSessionSchema.NODE_LOCATION)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should flag only active sessions bound to a picker for the unique worker index")
+    void shouldFlagAssignedActiveSessions() {
+        PickSession session = startedSession();
+        assertThat(encodeWithCodec(session).containsKey(PickSessionSchema.ASSIGNED_ACTIVE)).isTrue();
+
+        session.setWorkerId(PickSession.UNASSIGNED_WORKER);
+        assertThat(encodeWithCodec(session).containsKey(PickSessionSchema.ASSIGNED_ACTIVE)).isFalse();
+
+        session.setWorkerId("WORKER-1");
+        session.cancel("Reassigned");
+        assertThat(encodeWithCodec(session).containsKey(PickSessionSchema.ASSIGNED_ACTIVE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should be substantially smaller than the legacy layout")
+    void shouldShrinkDocuments() {
+        List<PickInstruction> instructions = new ArrayList<>();
+        List<PickPath.PathNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Location location = new Location("A" + (i / 10), String.format("%02d", i % 10), "01", "01");
+            instructions.add(new PickInstruction("INST-" + i, "SKU-" + i, "Item " + i, 2, location, "ORDER-1", Priority.NORMAL));
+            nodes.add(new PickPath.PathNode("INST-" + i, location, i, 10.0));
+        }
+        PickSession session = PickSession.create("TASK-1", "WORKER-1", "WH-1", PickStrategy.WAVE, "CART-1", instructions);
+        session.start(new PickPath(nodes, 500.0, Duration.ofMinutes(30), "S_SHAPE"));
+
+        int compactSize = encodeWithCodec(session).getByteBuffer().remaining();
+        int legacySize = encodeLegacy(session).getByteBuffer().remaining();
+
+        assertThat(compactSize).isLessThan(legacySize / 2);
+    }
+
+    @Test
+    @DisplayName("Should round trip session state")
+    void shouldRoundTripSession() {
+        PickSession session = startedSession();
+
+        PickSession decoded = encodeWithCodec(session).decode(codec);
+
+        assertSameState(decoded, session);
+        assertThat(decoded.getDomainEvents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read documents in the legacy Spring Data layout")
+    void shouldReadLegacyLayout() {
+        PickSession session = startedSession();
+
+        PickSession decoded = encodeLegacy(session).decode(codec);
+
+        assertSameState(decoded, session);
+    }
+
+    @Test
+    @DisplayName("Should let Spring Data read compact documents through the reading converter")
+    void shouldReadCompactDocumentsThroughConverter() {
+        PickSession session = startedSession();
+        Document document = encodeWithCodec(session).decode(new DocumentCodec());
+
+        PickSession decoded = converter(new PickSessionReadingConverter(registry)).read(PickSession.class, document);
+
+        assertSameState(decoded, session);
+    }
+
+    @Test
+    @DisplayName("Should skip legacy domain events stored by earlier versions")
+    void shouldIgnoreLegacyDomainEvents() {
+        PickSession session = startedSession();
+        BsonDocument document = BsonDocument.parse(encodeLegacy(session).toJson());
+        document.put("domainEvents", new BsonArray(List.of(new BsonDocument("sessionId", new BsonString("X")))));
+
+        PickSession decoded = new RawBsonDocument(document, new BsonDocumentCodec()).decode(codec);
+
+        assertThat(decoded.getSessionId()).isEqualTo(session.getSessionId());
+    }
+
+    private void assertSameState(PickSession decoded, PickSession session) {
+        assertThat(decoded.getSessionId()).isEqualTo(session.getSessionId());
+        assertThat(decoded.getVersion()).isEqualTo(4L);
+        assertThat(decoded.getStatus()).isEqualTo(SessionStatus.IN_PROGRESS);
+        assertThat(decoded.getStrategy()).isEqualTo(PickStrategy.BATCH);
+        assertThat(decoded.getCartId()).isEqualTo("CART-1");
+        assertThat(decoded.getCurrentInstructionIndex()).isEqualTo(1);
+        assertThat(decoded.getStartedAt()).isNotNull();
+        assertThat(decoded.getOptimizedPath()).isEqualTo(session.getOptimizedPath());
+        assertThat(decoded.getPickInstructions()).hasSize(2);
+
+        PickInstruction picked = decoded.getPickInstructions().get(0);
+        assertThat(picked.getStatus()).isEqualTo(InstructionStatus.PICKED);
+        assertThat(picked.getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(picked.getPickedQuantity()).isEqualTo(5);
+        assertThat(picked.getWeight()).isEqualTo(1.25);
+        assertThat(picked.getSpecialHandling()).containsExactly("FRAGILE");
+        assertThat(picked.getLocation().position()).isNull();
+
+        PickInstruction pending = decoded.getPickInstructions().get(1);
+        assertThat(pending.getStatus()).isEqualTo(InstructionStatus.PENDING);
+        assertThat(pending.getUom()).isEqualTo("EA");
+        assertThat(pending.getSpecialHandling()).isEmpty();
+        assertThat(pending.getLocation()).isEqualTo(new Location("A", "02", "01", "02"));
+    }
+
+    private RawBsonDocument encodeWithCodec(PickSession session) {
+        return new RawBsonDocument(session, codec);
+    }
+
+    /**
+     * Schema version 1: what Spring Data's reflective mapping wrote before the compact schema
+     */
+    private RawBsonDocument encodeLegacy(PickSession session) {
+        Document document = new Document();
+        converter().write(session, document);
+        Document renamed = new Document();
+        document.forEach((key, value) -> renamed.put(switch (key) {
+            case "cart" -> "cartId";
+            case "ins" -> "pickInstructions";
+            case "p" -> "optimizedPath";
+            case "sa" -> "startedAt";
+            case "pa" -> "pausedAt";
+            case "ci" -> "currentInstructionIndex";
+            case "cr" -> "cancellationReason";
+            default -> key;
+        }, value));
+        return new RawBsonDocument(renamed, new DocumentCodec());
+    }
+
+    private MappingMongoConverter converter(Object... converters) {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of(converters));
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private PickSession startedSession() {
+        PickInstruction first = new PickInstruction("INST-1", "SKU-1", "Item 1", 5,
+                new Location("A", "01", "01", null), "ORDER-1", Priority.HIGH);
+        first.addSpecialHandling("FRAGILE");
+        first.setWeight(1.25);
+        PickInstruction second = new PickInstruction("INST-2", "SKU-2", null, 3,
+                new Location("A", "02", "01", "02"), "ORDER-1", Priority.NORMAL);
+        second.setUom("EA");
+
+        PickSession session = PickSession.create("TASK-1", "WORKER-1", "WH-1", PickStrategy.BATCH, "CART-1",
+                List.of(first, second));
+        session.start(new PickPath(
+                List.of(
+                        new PickPath.PathNode("INST-1", first.getLocation(), 0, 0.0),
+                        new PickPath.PathNode("INST-2", second.getLocation(), 1, 10.0)
+                ),
+                10.0,
+                Duration.ofMinutes(3),
+                "NEAREST_NEIGHBOR"
+        ));
+        session.confirmPick("INST-1", 5);
+        session.setVersion(4L);
+        return session;
+    }
+}